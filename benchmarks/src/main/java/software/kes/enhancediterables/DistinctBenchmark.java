@@ -0,0 +1,42 @@
+package software.kes.enhancediterables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates the result of {@code distinct}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistinctBenchmark {
+
+    @Benchmark
+    public void enhanced(WrapperState state, Blackhole blackhole) {
+        for (Integer x : state.finite.distinct()) {
+            blackhole.consume(x);
+        }
+    }
+
+    @Benchmark
+    public void arrayListLoop(ListState state, Blackhole blackhole) {
+        HashSet<Integer> seen = new HashSet<>();
+        for (Integer n : state.list) {
+            if (seen.add(n)) {
+                blackhole.consume(n);
+            }
+        }
+    }
+
+}
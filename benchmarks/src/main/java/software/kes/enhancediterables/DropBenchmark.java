@@ -0,0 +1,38 @@
+package software.kes.enhancediterables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates the result of {@code drop}, skipping half of the elements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DropBenchmark {
+
+    @Benchmark
+    public void enhanced(WrapperState state, Blackhole blackhole) {
+        for (Integer x : state.enhanced.drop(state.size / 2)) {
+            blackhole.consume(x);
+        }
+    }
+
+    @Benchmark
+    public void arrayListLoop(ListState state, Blackhole blackhole) {
+        for (int i = state.size / 2; i < state.size; i++) {
+            blackhole.consume(state.list.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package software.kes.enhancediterables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums the result of {@code fmap} over an {@code IntFiniteIterable}, compared with the boxed equivalent.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntFmapBenchmark {
+
+    @Benchmark
+    public long intFiniteIterable(ListState state) {
+        return state.ints.fmap(n -> n * 2).sum();
+    }
+
+    @Benchmark
+    public void intFiniteIterableIterator(ListState state, Blackhole blackhole) {
+        PrimitiveIterator.OfInt iterator = state.ints.fmap(n -> n * 2).iterator();
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.nextInt());
+        }
+    }
+
+    @Benchmark
+    public long boxed(ListState state) {
+        return FiniteIterable.finiteIterable(state.list).fmap(n -> n * 2).foldLeft((acc, n) -> acc + n, 0L);
+    }
+
+}
@@ -0,0 +1,32 @@
+package software.kes.enhancediterables;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+
+/**
+ * Holds the raw {@code ArrayList} that every benchmark runs against.
+ */
+@State(Scope.Benchmark)
+public class ListState {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    public ArrayList<Integer> list;
+
+    public IntFiniteIterable ints;
+
+    @Setup
+    public void setUpList() {
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        ints = IntFiniteIterable.range(0, size);
+    }
+
+}
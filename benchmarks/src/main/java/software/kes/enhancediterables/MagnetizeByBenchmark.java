@@ -0,0 +1,51 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates every group produced by {@code magnetizeBy}, grouping runs of {@value #GROUP_SIZE} elements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MagnetizeByBenchmark {
+
+    private static final int GROUP_SIZE = 16;
+
+    private static final Fn2<Integer, Integer, Boolean> SAME_GROUP = (a, b) -> a / GROUP_SIZE == b / GROUP_SIZE;
+
+    @Benchmark
+    public void enhanced(WrapperState state, Blackhole blackhole) {
+        for (NonEmptyIterable<Integer> group : state.enhanced.magnetizeBy(SAME_GROUP)) {
+            for (Integer x : group) {
+                blackhole.consume(x);
+            }
+        }
+    }
+
+    @Benchmark
+    public void arrayListLoop(ListState state, Blackhole blackhole) {
+        int groupStart = 0;
+        for (int i = 1; i <= state.size; i++) {
+            if (i == state.size || !SAME_GROUP.apply(state.list.get(i - 1), state.list.get(i))) {
+                for (int j = groupStart; j < i; j++) {
+                    blackhole.consume(state.list.get(j));
+                }
+                groupStart = i;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package software.kes.enhancediterables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates every window produced by {@code slide}, using windows of {@value #WINDOW_SIZE} elements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlideBenchmark {
+
+    private static final int WINDOW_SIZE = 3;
+
+    @Benchmark
+    public void enhanced(WrapperState state, Blackhole blackhole) {
+        for (NonEmptyFiniteIterable<Integer> window : state.enhanced.slide(WINDOW_SIZE)) {
+            for (Integer x : window) {
+                blackhole.consume(x);
+            }
+        }
+    }
+
+    @Benchmark
+    public void arrayListLoop(ListState state, Blackhole blackhole) {
+        int windowCount = state.size - WINDOW_SIZE + 1;
+        for (int i = 0; i < windowCount; i++) {
+            for (int j = i; j < i + WINDOW_SIZE; j++) {
+                blackhole.consume(state.list.get(j));
+            }
+        }
+    }
+
+}
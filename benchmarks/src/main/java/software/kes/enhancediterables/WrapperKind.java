@@ -0,0 +1,65 @@
+package software.kes.enhancediterables;
+
+import java.util.List;
+
+/**
+ * The wrapper types that are benchmarked against each other.
+ * <p>
+ * Each kind is able to produce both an {@code EnhancedIterable} and, for operators that are only available on finite
+ * iterables, the closest equivalent {@code FiniteIterable}.
+ */
+public enum WrapperKind {
+
+    COLLECTION_WRAPPER {
+        @Override
+        EnhancedIterable<Integer> enhanced(List<Integer> list) {
+            return CollectionWrapper.wrap(list);
+        }
+
+        @Override
+        FiniteIterable<Integer> finite(List<Integer> list) {
+            return CollectionWrapper.wrap(list);
+        }
+    },
+
+    NON_EMPTY_COLLECTION_WRAPPER {
+        @Override
+        EnhancedIterable<Integer> enhanced(List<Integer> list) {
+            return NonEmptyCollectionWrapper.wrap(list);
+        }
+
+        @Override
+        FiniteIterable<Integer> finite(List<Integer> list) {
+            return NonEmptyCollectionWrapper.wrap(list);
+        }
+    },
+
+    ENHANCED_WRAPPER {
+        @Override
+        EnhancedIterable<Integer> enhanced(List<Integer> list) {
+            return EnhancedWrapper.wrap(list::iterator);
+        }
+
+        @Override
+        FiniteIterable<Integer> finite(List<Integer> list) {
+            return FiniteWrapper.wrap(list::iterator);
+        }
+    },
+
+    NON_EMPTY_ITERABLE {
+        @Override
+        EnhancedIterable<Integer> enhanced(List<Integer> list) {
+            return EnhancedIterables.nonEmptyIterable(list.get(0), list.subList(1, list.size()));
+        }
+
+        @Override
+        FiniteIterable<Integer> finite(List<Integer> list) {
+            return EnhancedIterables.nonEmptyFiniteIterable(list.get(0), list.subList(1, list.size()));
+        }
+    };
+
+    abstract EnhancedIterable<Integer> enhanced(List<Integer> list);
+
+    abstract FiniteIterable<Integer> finite(List<Integer> list);
+
+}
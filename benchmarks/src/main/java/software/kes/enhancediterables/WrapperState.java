@@ -0,0 +1,27 @@
+package software.kes.enhancediterables;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Wraps the elements of {@link ListState} in each of the {@link WrapperKind}s.
+ */
+@State(Scope.Benchmark)
+public class WrapperState extends ListState {
+
+    @Param
+    public WrapperKind kind;
+
+    public EnhancedIterable<Integer> enhanced;
+
+    public FiniteIterable<Integer> finite;
+
+    @Setup
+    public void setUpWrappers() {
+        enhanced = kind.enhanced(list);
+        finite = kind.finite(list);
+    }
+
+}
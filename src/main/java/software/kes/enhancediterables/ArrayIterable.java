@@ -0,0 +1,170 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+
+/**
+ * An {@code ImmutableNonEmptyFiniteIterable} backed by a slice of an array that is never modified.
+ * <p>
+ * {@code drop}, {@code take}, {@code tail}, {@code init} and {@code reverse} return new slices of the same array, so
+ * they are O(1) and do not copy, as are {@code get}, {@code last} and {@code size}.
+ *
+ * @param <A> the element type
+ */
+final class ArrayIterable<A> implements ImmutableNonEmptyFiniteIterable<A>, PushIterable<A>, Sized {
+    private final Object[] array;
+    private final int offset;
+    private final int length;
+    private final boolean reversed;
+
+    private ArrayIterable(Object[] array, int offset, int length, boolean reversed) {
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        this.reversed = reversed;
+    }
+
+    /**
+     * Takes ownership of {@code array}, which must contain at least one element and must never be modified
+     * afterwards.
+     */
+    static <A> ArrayIterable<A> wrap(Object[] array) {
+        return new ArrayIterable<>(array, 0, array.length, false);
+    }
+
+    /**
+     * Returns an {@code ArrayIterable} over {@code array}, which the caller must never modify afterwards, or an empty
+     * {@code ImmutableFiniteIterable} if {@code array} is empty.
+     */
+    static <A> ImmutableFiniteIterable<A> fromArray(Object[] array) {
+        return array.length == 0 ? EnhancedIterables.emptyEnhancedIterable() : wrap(array);
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            @Override
+            public A next() {
+                if (index >= length) {
+                    throw new NoSuchElementException();
+                }
+                return element(index++);
+            }
+        };
+    }
+
+    @Override
+    public boolean forEachWhile(Predicate<? super A> action) {
+        for (int i = 0; i < length; i++) {
+            if (!action.test(element(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int knownSize() {
+        return length;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public A head() {
+        return element(0);
+    }
+
+    @Override
+    public A last() {
+        return element(length - 1);
+    }
+
+    @Override
+    public Maybe<A> get(int index) {
+        Validation.validateGet(index);
+        return index < length ? just(element(index)) : nothing();
+    }
+
+    @Override
+    public ImmutableFiniteIterable<A> tail() {
+        return drop(1);
+    }
+
+    @Override
+    public ImmutableFiniteIterable<A> init() {
+        return take(length - 1);
+    }
+
+    @Override
+    public ImmutableFiniteIterable<A> drop(int count) {
+        Validation.validateDrop(count);
+        if (count == 0) {
+            return this;
+        } else if (count >= length) {
+            return EnhancedIterables.emptyEnhancedIterable();
+        } else {
+            return slice(count, length - count);
+        }
+    }
+
+    @Override
+    public ImmutableFiniteIterable<A> take(int count) {
+        Validation.validateTake(count);
+        if (count >= length) {
+            return this;
+        } else if (count == 0) {
+            return EnhancedIterables.emptyEnhancedIterable();
+        } else {
+            return slice(0, count);
+        }
+    }
+
+    @Override
+    public ImmutableNonEmptyFiniteIterable<A> reverse() {
+        return new ArrayIterable<>(array, offset, length, !reversed);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Spliterator<A> spliterator() {
+        if (reversed) {
+            return Spliterators.spliterator(iterator(), length, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        } else {
+            return (Spliterator<A>) Spliterators.spliterator(array, offset, offset + length,
+                    Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+    }
+
+    /**
+     * Returns the logical sub-range {@code [from, from + count)} of this {@code ArrayIterable}.
+     */
+    private ArrayIterable<A> slice(int from, int count) {
+        int physicalOffset = reversed ? offset + length - from - count : offset + from;
+        return new ArrayIterable<>(array, physicalOffset, count, reversed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private A element(int index) {
+        return (A) array[reversed ? offset + length - 1 - index : offset + index];
+    }
+
+}
@@ -0,0 +1,148 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Applies a function to the elements of an {@code Iterable} asynchronously, with at most a fixed number of
+ * applications in flight per iterator.
+ * <p>
+ * Elements are pulled from the source on the consuming thread, only as far ahead as needed to keep the window of
+ * in-flight applications full.  An exception thrown by the function is rethrown from {@code next} when its result is
+ * reached.
+ */
+final class AsyncMap {
+
+    private AsyncMap() {
+    }
+
+    static <A, B> Iterable<B> ordered(int parallelism, Fn1<? super A, ? extends B> f, Iterable<A> source,
+                                      Executor executor) {
+        return () -> new OrderedIterator<>(parallelism, f, source.iterator(), executor);
+    }
+
+    static <A, B> Iterable<B> unordered(int parallelism, Fn1<? super A, ? extends B> f, Iterable<A> source,
+                                        Executor executor) {
+        return () -> new UnorderedIterator<>(parallelism, f, source.iterator(), executor);
+    }
+
+    private static <B> B await(CompletableFuture<B> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Yields results in the order of the source elements, waiting for the oldest application even if later ones have
+     * already completed.
+     */
+    private static final class OrderedIterator<A, B> implements Iterator<B> {
+        private final int parallelism;
+        private final Fn1<? super A, ? extends B> f;
+        private final Iterator<A> source;
+        private final Executor executor;
+        private final ArrayDeque<CompletableFuture<B>> window;
+
+        private OrderedIterator(int parallelism, Fn1<? super A, ? extends B> f, Iterator<A> source,
+                                Executor executor) {
+            this.parallelism = parallelism;
+            this.f = f;
+            this.source = source;
+            this.executor = executor;
+            this.window = new ArrayDeque<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !window.isEmpty();
+        }
+
+        @Override
+        public B next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            B result = await(window.poll());
+            fill();
+            return result;
+        }
+
+        private void fill() {
+            while (window.size() < parallelism && source.hasNext()) {
+                A a = source.next();
+                window.add(CompletableFuture.supplyAsync(() -> f.apply(a), executor));
+            }
+        }
+    }
+
+    /**
+     * Yields results in the order in which the applications complete.
+     */
+    private static final class UnorderedIterator<A, B> implements Iterator<B> {
+        private final int parallelism;
+        private final Fn1<? super A, ? extends B> f;
+        private final Iterator<A> source;
+        private final Executor executor;
+        private final BlockingQueue<CompletableFuture<B>> completed;
+        private int inFlight;
+
+        private UnorderedIterator(int parallelism, Fn1<? super A, ? extends B> f, Iterator<A> source,
+                                  Executor executor) {
+            this.parallelism = parallelism;
+            this.f = f;
+            this.source = source;
+            this.executor = executor;
+            this.completed = new LinkedBlockingQueue<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return inFlight > 0;
+        }
+
+        @Override
+        public B next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CompletableFuture<B> first;
+            try {
+                first = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            inFlight--;
+            fill();
+            return await(first);
+        }
+
+        private void fill() {
+            while (inFlight < parallelism && source.hasNext()) {
+                A a = source.next();
+                CompletableFuture<B> future = CompletableFuture.supplyAsync(() -> f.apply(a), executor);
+                future.whenComplete((b, t) -> completed.add(future));
+                inFlight++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package software.kes.enhancediterables;
+
+/**
+ * A Bloom filter over 64-bit hashes, sized for an expected number of insertions and a false positive probability.
+ * <p>
+ * The {@code k} bit positions of a hash are derived from two hashes by double hashing ({@code h1 + i * h2}), so each
+ * insertion costs one extra mix rather than {@code k} independent hash functions.
+ */
+final class BloomFilter {
+    private static final double LN_2 = Math.log(2);
+    private static final long MAX_BITS = (long) Integer.MAX_VALUE * Long.SIZE;
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(int wordCount, int hashCount) {
+        this.words = new long[wordCount];
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Lazily yields each element of {@code source} whose hash is not yet in a Bloom filter, and adds it.  Each iterator
+     * has its own filter.
+     */
+    static <A> Iterable<A> approxDistinct(long expectedInsertions, double falsePositiveProbability,
+                                          Iterable<A> source) {
+        double optimalBits = -expectedInsertions * Math.log(falsePositiveProbability) / (LN_2 * LN_2);
+        if (optimalBits > MAX_BITS) {
+            throw new IllegalArgumentException("A Bloom filter for " + expectedInsertions
+                    + " elements with a false positive probability of " + falsePositiveProbability
+                    + " would need more than " + MAX_BITS + " bits");
+        }
+        int wordCount = (int) Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE));
+        int hashCount = (int) Math.max(1, Math.round((double) wordCount * Long.SIZE / expectedInsertions * LN_2));
+        return () -> {
+            BloomFilter filter = new BloomFilter(wordCount, hashCount);
+            return Pipeline.filter(a -> filter.add(Hashing.hash64(a)), source).iterator();
+        };
+    }
+
+    /**
+     * Adds a hash.
+     *
+     * @return true if the hash was definitely not present before; false if it may have been
+     */
+    boolean add(long hash) {
+        long h2 = Hashing.mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        long combined = hash;
+        boolean added = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(combined, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                added = true;
+            }
+            combined += h2;
+        }
+        return added;
+    }
+
+}
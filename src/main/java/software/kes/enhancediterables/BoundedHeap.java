@@ -0,0 +1,139 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+
+/**
+ * Keeps the {@code k} smallest elements added to it in a binary max-heap of at most {@code k} elements, so selecting
+ * them from {@code n} elements takes O(n log k) time and O(k) memory.
+ * <p>
+ * Ties are broken by the order in which elements were added, earliest first, so the elements kept, and their order
+ * once drained, are the same as those of a stable sort followed by taking the first {@code k}.
+ *
+ * @param <A> the element type
+ */
+final class BoundedHeap<A> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private final Comparator<? super A> comparator;
+    private Object[] elements;
+    private long[] positions;
+    private int size;
+    private long position;
+
+    private BoundedHeap(int k, Comparator<? super A> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.elements = new Object[Math.min(k, INITIAL_CAPACITY)];
+        this.positions = new long[elements.length];
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of {@code source}, or all of them if there are fewer, in ascending order.
+     */
+    static <A> Object[] smallest(int k, Comparator<? super A> comparator, Iterable<A> source) {
+        BoundedHeap<A> heap = new BoundedHeap<>(k, comparator);
+        source.forEach(heap::add);
+        return heap.drain();
+    }
+
+    /**
+     * Returns the {@code k}th smallest element of {@code source}, counting from 1, if it has at least {@code k}
+     * elements.
+     */
+    static <A> Maybe<A> kthSmallest(int k, Comparator<? super A> comparator, Iterable<A> source) {
+        BoundedHeap<A> heap = new BoundedHeap<>(k, comparator);
+        source.forEach(heap::add);
+        return heap.size == k ? just(heap.element(0)) : nothing();
+    }
+
+    private void add(A a) {
+        long p = position++;
+        if (size < k) {
+            if (size == elements.length) {
+                int capacity = (int) Math.min(k, 2L * size);
+                elements = Arrays.copyOf(elements, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            elements[size] = a;
+            positions[size] = p;
+            siftUp(size++);
+        } else if (comparator.compare(a, element(0)) < 0) {
+            elements[0] = a;
+            positions[0] = p;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Removes every element, largest first, and returns them in ascending order.
+     */
+    private Object[] drain() {
+        Object[] result = new Object[size];
+        while (size > 0) {
+            result[size - 1] = elements[0];
+            size--;
+            elements[0] = elements[size];
+            positions[0] = positions[size];
+            elements[size] = null;
+            siftDown(0);
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(index, parent) <= 0) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && compare(left, largest) > 0) {
+                largest = left;
+            }
+            if (right < size && compare(right, largest) > 0) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private int compare(int i, int j) {
+        int byElement = comparator.compare(element(i), element(j));
+        return byElement != 0 ? byElement : Long.compare(positions[i], positions[j]);
+    }
+
+    private void swap(int i, int j) {
+        Object element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+        long p = positions[i];
+        positions[i] = positions[j];
+        positions[j] = p;
+    }
+
+    @SuppressWarnings("unchecked")
+    private A element(int index) {
+        return (A) elements[index];
+    }
+
+}
@@ -0,0 +1,87 @@
+package software.kes.enhancediterables;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Splits an {@code Iterable} into consecutive, non-overlapping chunks of a fixed size.
+ * <p>
+ * Each chunk is copied into its own array and returned as an {@link ArrayIterable}, so it holds no reference to the
+ * source and its {@code size} is O(1).  Only the last chunk may be smaller than the chunk size.
+ *
+ * @param <A> the element type
+ */
+final class Chunked<A> implements PushIterable<ImmutableNonEmptyFiniteIterable<A>> {
+    private final int size;
+    private final Iterable<A> source;
+
+    private Chunked(int size, Iterable<A> source) {
+        this.size = size;
+        this.source = source;
+    }
+
+    static <A> Chunked<A> chunked(int size, Iterable<A> source) {
+        return new Chunked<>(size, source);
+    }
+
+    @Override
+    public Iterator<ImmutableNonEmptyFiniteIterable<A>> iterator() {
+        return new Iterator<ImmutableNonEmptyFiniteIterable<A>>() {
+            private final Iterator<A> underlying = source.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public ImmutableNonEmptyFiniteIterable<A> next() {
+                if (!underlying.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] chunk = new Object[initialCapacity()];
+                int count = 0;
+                while (count < size && underlying.hasNext()) {
+                    if (count == chunk.length) {
+                        chunk = Arrays.copyOf(chunk, Math.min(size, count * 2));
+                    }
+                    chunk[count++] = underlying.next();
+                }
+                return ArrayIterable.wrap(count == chunk.length ? chunk : Arrays.copyOf(chunk, count));
+            }
+        };
+    }
+
+    @Override
+    public boolean forEachWhile(Predicate<? super ImmutableNonEmptyFiniteIterable<A>> action) {
+        Object[][] chunk = {new Object[initialCapacity()]};
+        int[] count = {0};
+        boolean completed = EnhancedIterables.forEachWhile(source, a -> {
+            if (count[0] == chunk[0].length) {
+                chunk[0] = Arrays.copyOf(chunk[0], Math.min(size, count[0] * 2));
+            }
+            chunk[0][count[0]++] = a;
+            if (count[0] < size) {
+                return true;
+            }
+            Object[] full = chunk[0];
+            chunk[0] = new Object[initialCapacity()];
+            count[0] = 0;
+            return action.test(ArrayIterable.wrap(full));
+        });
+        if (completed && count[0] > 0) {
+            return action.test(ArrayIterable.wrap(Arrays.copyOf(chunk[0], count[0])));
+        }
+        return completed;
+    }
+
+    /**
+     * Chunks start small and grow, so that a huge chunk size does not allocate a huge array for a short source.
+     */
+    private int initialCapacity() {
+        return Math.min(size, 16);
+    }
+
+}
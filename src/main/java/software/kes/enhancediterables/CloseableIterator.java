@@ -0,0 +1,23 @@
+package software.kes.enhancediterables;
+
+import java.util.Iterator;
+
+/**
+ * An {@code Iterator} that holds resources, such as a background thread or temporary files, until it is exhausted or
+ * closed.
+ * <p>
+ * The iterators of operations that hold such resources implement this interface, as their documentation states.
+ * Closing one that is abandoned part of the way through releases its resources at once, rather than some time after
+ * it has been garbage collected.  Once closed, {@code hasNext} returns false.  Closing is idempotent.
+ *
+ * @param <A> the element type
+ */
+public interface CloseableIterator<A> extends Iterator<A>, AutoCloseable {
+
+    /**
+     * Releases the resources held by this iterator.
+     */
+    @Override
+    void close();
+
+}
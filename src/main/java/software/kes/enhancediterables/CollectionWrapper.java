@@ -1,6 +1,13 @@
 package software.kes.enhancediterables;
 
+import com.jnape.palatable.lambda.adt.Maybe;
+
 import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
 
 class CollectionWrapper<A> extends Wrapped<A> implements FiniteIterable<A> {
 
@@ -8,11 +15,61 @@ class CollectionWrapper<A> extends Wrapped<A> implements FiniteIterable<A> {
         super(underlying);
     }
 
+    @Override
+    public FiniteIterable<A> drop(int count) {
+        Validation.validateDrop(count);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return wrap(ListSlice.drop(count, (List<A>) underlying));
+        }
+        return FiniteIterable.super.drop(count);
+    }
+
+    @Override
+    public FiniteIterable<A> take(int count) {
+        Validation.validateTake(count);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return wrap(ListSlice.take(count, (List<A>) underlying));
+        }
+        return FiniteIterable.super.take(count);
+    }
+
+    @Override
+    public FiniteIterable<A> reverse() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return wrap(ReversedList.reverse((List<A>) underlying));
+        }
+        return FiniteIterable.super.reverse();
+    }
+
+    @Override
+    public FiniteIterable<? extends NonEmptyFiniteIterable<A>> slide(int k) {
+        Validation.validateSlide(k);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return wrap(WindowList.windows(k, (List<A>) underlying, NonEmptyCollectionWrapper::wrap));
+        }
+        return FiniteIterable.super.slide(k);
+    }
+
     @Override
     public int size() {
         return ((Collection<A>) getUnderlying()).size();
     }
 
+    @Override
+    public Spliterator<A> spliterator() {
+        return ((Collection<A>) getUnderlying()).spliterator();
+    }
+
+    @Override
+    public Maybe<? extends NonEmptyFiniteIterable<A>> toNonEmpty() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        return underlying.isEmpty() ? nothing() : just(NonEmptyCollectionWrapper.wrap(underlying));
+    }
+
     static <A> CollectionWrapper<A> wrap(Collection<A> underlying) {
         return new CollectionWrapper<>(underlying);
     }
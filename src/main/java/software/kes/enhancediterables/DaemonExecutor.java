@@ -0,0 +1,27 @@
+package software.kes.enhancediterables;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor used by asynchronous operations when none is supplied: a cached pool of daemon threads, so that an
+ * abandoned iterator never keeps the JVM alive.
+ */
+final class DaemonExecutor {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "enhanced-iterables-async-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DaemonExecutor() {
+    }
+
+    static Executor shared() {
+        return INSTANCE;
+    }
+
+}
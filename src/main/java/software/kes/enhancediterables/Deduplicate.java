@@ -0,0 +1,376 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Removes elements whose key has already been seen, keeping the first element for each key.
+ * <p>
+ * Seen keys are kept in a {@link KeyIndex}.  With a memory budget, once the budget is full and a new key arrives, the
+ * iterator switches to an external algorithm:
+ * <ol>
+ * <li>The rest of the source is read once.  The first position of each key is recorded in memory until the budget is
+ * full again, at which point the recorded keys are sorted and written to a run file.</li>
+ * <li>The runs are merged in levels by {@link Spill.Levels}, at most {@value Spill#MAX_FAN_IN} at a time, keeping
+ * only the earliest position of each key.  The earliest positions are marked in a bit set with one bit per remaining
+ * element.</li>
+ * <li>The source is iterated again, and only the elements at the marked positions are yielded.</li>
+ * </ol>
+ * The external algorithm therefore requires the source to yield the same elements in the same order each time it is
+ * iterated, and only supports {@code Integer}, {@code Long}, {@code String} and {@code null} keys.
+ */
+final class Deduplicate {
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte STRING = 3;
+
+    private Deduplicate() {
+    }
+
+    static <A> Iterable<A> distinctBy(Fn1<? super A, ?> key, Iterable<A> source) {
+        return distinctBy(Integer.MAX_VALUE, key, source);
+    }
+
+    static <A> Iterable<A> distinctBy(int maxKeysInMemory, Fn1<? super A, ?> key, Iterable<A> source) {
+        return () -> new DistinctIterator<>(maxKeysInMemory, key, source);
+    }
+
+    private static byte tag(Object key) {
+        if (key == null) {
+            return NULL;
+        } else if (key instanceof Integer) {
+            return INTEGER;
+        } else if (key instanceof Long) {
+            return LONG;
+        } else if (key instanceof String) {
+            return STRING;
+        }
+        throw new IllegalArgumentException("Only Integer, Long and String keys can be spilled to disk, but found "
+                + key.getClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object x, Object y) {
+        int byTag = Byte.compare(tag(x), tag(y));
+        if (byTag != 0 || x == null) {
+            return byTag;
+        }
+        return ((Comparable<Object>) x).compareTo(y);
+    }
+
+    private static final class DistinctIterator<A> implements Iterator<A> {
+        private final int maxKeysInMemory;
+        private final Fn1<? super A, ?> key;
+        private final Iterable<A> source;
+        private Iterator<A> underlying;
+        private KeyIndex seen = new KeyIndex();
+        private long position;
+        private long spillPosition;
+        private long[] keep;
+        private boolean hasBuffered;
+        private A buffered;
+
+        private DistinctIterator(int maxKeysInMemory, Fn1<? super A, ?> key, Iterable<A> source) {
+            this.maxKeysInMemory = maxKeysInMemory;
+            this.key = key;
+            this.source = source;
+            this.underlying = source.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasBuffered) {
+                if (!underlying.hasNext()) {
+                    return false;
+                }
+                A a = underlying.next();
+                long index = position++;
+                if (keep != null) {
+                    hasBuffered = isKept(index - spillPosition);
+                } else {
+                    Object k = key.apply(a);
+                    if (seen.size() >= maxKeysInMemory && !seen.contains(k)) {
+                        spill(index, k);
+                        continue;
+                    }
+                    hasBuffered = seen.add(k);
+                }
+                buffered = a;
+            }
+            return true;
+        }
+
+        @Override
+        public A next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            A a = buffered;
+            hasBuffered = false;
+            buffered = null;
+            return a;
+        }
+
+        private boolean isKept(long offset) {
+            return (keep[(int) (offset >>> 6)] & (1L << offset)) != 0;
+        }
+
+        /**
+         * Runs the external algorithm, starting from the element at {@code index}, whose key is {@code k}, and then
+         * restarts the source at that element.  Keys already yielded are written to the first run with a position of
+         * -1, so that no later occurrence is kept.
+         */
+        private void spill(long index, Object k) {
+            try (Spill spill = Spill.create("enhanced-iterables-distinct")) {
+                Spill.Levels<Run> runs = new Spill.Levels<>(merging -> Run.merge(spill, merging));
+                Object[] keys = new Object[maxKeysInMemory];
+                long[] positions = new long[maxKeysInMemory];
+                for (int i = 0; i < seen.size(); i++) {
+                    keys[i] = seen.key(i);
+                }
+                Arrays.fill(positions, -1);
+                runs.add(Run.write(spill, keys, positions, seen.size()));
+                seen = new KeyIndex();
+
+                spillPosition = index;
+                int count = 0;
+                while (true) {
+                    if (seen.add(k)) {
+                        tag(k);
+                        keys[count] = k;
+                        positions[count++] = index;
+                    }
+                    if (count == maxKeysInMemory) {
+                        runs.add(Run.write(spill, keys, positions, count));
+                        count = 0;
+                        seen = new KeyIndex();
+                    }
+                    index++;
+                    if (!underlying.hasNext()) {
+                        break;
+                    }
+                    k = key.apply(underlying.next());
+                }
+                if (count > 0) {
+                    runs.add(Run.write(spill, keys, positions, count));
+                }
+                seen = null;
+                keep = new long[(int) ((index - spillPosition + 63) >>> 6)];
+                Run.merge(runs.finish(), (mergedKey, earliest) -> {
+                    if (earliest >= 0) {
+                        long offset = earliest - spillPosition;
+                        keep[(int) (offset >>> 6)] |= 1L << offset;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            underlying = source.iterator();
+            for (long i = 0; i < spillPosition; i++) {
+                underlying.next();
+            }
+            position = spillPosition;
+        }
+    }
+
+    private interface MergedKeyConsumer {
+        void accept(Object key, long earliest) throws IOException;
+    }
+
+    /**
+     * A key, with the position of its first occurrence.
+     */
+    private static final class Entry {
+        private final Object key;
+        private final long position;
+
+        private Entry(Object key, long position) {
+            this.key = key;
+            this.position = position;
+        }
+    }
+
+    /**
+     * A file of distinct keys in ascending order, each followed by the position of its first occurrence, read lazily,
+     * which deletes itself once exhausted.
+     */
+    private static final class Run implements Iterator<Entry> {
+        private final Path file;
+        private DataInputStream input;
+        private long remaining;
+
+        private Run(Path file, long count) {
+            this.file = file;
+            this.remaining = count;
+        }
+
+        /**
+         * Sorts the first {@code count} keys, with their positions, and writes them to a new run.  The keys are cleared
+         * from the array.
+         */
+        private static Run write(Spill spill, Object[] keys, long[] positions, int count) {
+            sort(keys, positions, count);
+            Path file = spill.newFile();
+            try (DataOutputStream output = open(file)) {
+                for (int i = 0; i < count; i++) {
+                    writeRecord(output, keys[i], positions[i]);
+                    keys[i] = null;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Run(file, count);
+        }
+
+        /**
+         * Merges runs into a new run, and deletes them.
+         */
+        private static Run merge(Spill spill, List<Run> runs) {
+            Path file = spill.newFile();
+            long[] count = {0};
+            try (DataOutputStream output = open(file)) {
+                merge(runs, (key, earliest) -> {
+                    writeRecord(output, key, earliest);
+                    count[0]++;
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Run(file, count[0]);
+        }
+
+        /**
+         * Merges runs with a {@link LoserTree}, passing each distinct key to {@code consumer} in ascending order with
+         * its earliest position, and deletes them.
+         */
+        private static void merge(List<Run> runs, MergedKeyConsumer consumer) throws IOException {
+            try {
+                LoserTree<Entry> tree = new LoserTree<>((x, y) -> compareKeys(x.key, y.key), runs);
+                Entry current = null;
+                long earliest = 0;
+                while (tree.hasNext()) {
+                    Entry entry = tree.next();
+                    if (current != null && compareKeys(current.key, entry.key) == 0) {
+                        earliest = Math.min(earliest, entry.position);
+                    } else {
+                        if (current != null) {
+                            consumer.accept(current.key, earliest);
+                        }
+                        current = entry;
+                        earliest = entry.position;
+                    }
+                }
+                if (current != null) {
+                    consumer.accept(current.key, earliest);
+                }
+            } finally {
+                for (Run run : runs) {
+                    run.close();
+                }
+            }
+        }
+
+        private static void sort(Object[] keys, long[] positions, int count) {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (i, j) -> compareKeys(keys[i], keys[j]));
+            Object[] sortedKeys = new Object[count];
+            long[] sortedPositions = new long[count];
+            for (int i = 0; i < count; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedPositions[i] = positions[order[i]];
+            }
+            System.arraycopy(sortedKeys, 0, keys, 0, count);
+            System.arraycopy(sortedPositions, 0, positions, 0, count);
+        }
+
+        private static DataOutputStream open(Path file) throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        private static void writeRecord(DataOutputStream output, Object key, long position) throws IOException {
+            byte tag = tag(key);
+            output.writeByte(tag);
+            if (tag == INTEGER) {
+                output.writeInt((Integer) key);
+            } else if (tag == LONG) {
+                output.writeLong((Long) key);
+            } else if (tag == STRING) {
+                String s = (String) key;
+                output.writeInt(s.length());
+                output.writeChars(s);
+            }
+            output.writeLong(position);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining == 0) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                if (input == null) {
+                    input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                }
+                remaining--;
+                Object key;
+                byte tag = input.readByte();
+                if (tag == INTEGER) {
+                    key = input.readInt();
+                } else if (tag == LONG) {
+                    key = input.readLong();
+                } else if (tag == STRING) {
+                    char[] chars = new char[input.readInt()];
+                    for (int i = 0; i < chars.length; i++) {
+                        chars[i] = input.readChar();
+                    }
+                    key = new String(chars);
+                } else {
+                    key = null;
+                }
+                return new Entry(key, input.readLong());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() {
+            remaining = 0;
+            try {
+                if (input != null) {
+                    input.close();
+                    input = null;
+                }
+            } catch (IOException e) {
+                // The file is deleted regardless.
+            }
+            Spill.delete(file);
+        }
+    }
+
+}
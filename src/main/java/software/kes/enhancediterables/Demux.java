@@ -0,0 +1,141 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fans the elements of one traversal of an {@code Iterable} out to {@code n} branches, by the index that a classifier
+ * gives each element.
+ * <p>
+ * The source is iterated once, on demand, by whichever branch needs its next element.  Elements for other branches are
+ * buffered until those branches consume them, at most {@code bufferSize} per branch.  The classifier is applied once
+ * per element.  An element whose branch buffer is full is kept aside, rather than dropped, and is buffered by the
+ * next pull once its branch has room.
+ * <p>
+ * Only the first iteration of each branch shares the traversal.  Iterating a branch again starts a fresh traversal of
+ * the source, which filters it by the classifier, so that a branch can be iterated any number of times.
+ *
+ * @param <A> the element type
+ */
+final class Demux<A> {
+    private static final Object NULL = new Object();
+
+    private final Iterable<A> source;
+    private final ToIntFunction<? super A> classifier;
+    private final int bufferSize;
+    private final ArrayDeque<Object>[] buffers;
+    private final boolean[] claimed;
+    private Iterator<A> upstream;
+    private Object stashed;
+    private int stashedTarget = -1;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Demux(int n, int bufferSize, ToIntFunction<? super A> classifier, Iterable<A> source) {
+        this.source = source;
+        this.classifier = classifier;
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayDeque[n];
+        this.claimed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            buffers[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Returns the {@code n} branches, each passed through {@code wrap}.
+     */
+    static <A, B> Object[] demux(int n, int bufferSize, ToIntFunction<? super A> classifier, Iterable<A> source,
+                                 Fn1<Iterable<A>, B> wrap) {
+        Demux<A> demux = new Demux<>(n, bufferSize, classifier, source);
+        Object[] branches = new Object[n];
+        for (int i = 0; i < n; i++) {
+            int branch = i;
+            branches[i] = wrap.apply(() -> demux.iterator(branch));
+        }
+        return branches;
+    }
+
+    private Iterator<A> iterator(int branch) {
+        if (claimed[branch]) {
+            return Pipeline.<A>filter(a -> classify(a) == branch, source).iterator();
+        }
+        claimed[branch] = true;
+        return new Iterator<A>() {
+            @Override
+            public boolean hasNext() {
+                return fill(branch);
+            }
+
+            @Override
+            public A next() {
+                if (!fill(branch)) {
+                    throw new NoSuchElementException();
+                }
+                return unmask(buffers[branch].poll());
+            }
+        };
+    }
+
+    /**
+     * Pulls from the source until {@code branch} has an element buffered, or the source is exhausted.
+     */
+    private boolean fill(int branch) {
+        ArrayDeque<Object> buffer = buffers[branch];
+        if (!buffer.isEmpty()) {
+            return true;
+        }
+        if (stashedTarget >= 0) {
+            int target = stashedTarget;
+            Object element = stashed;
+            stashedTarget = -1;
+            stashed = null;
+            if (offer(branch, target, element)) {
+                return true;
+            }
+        }
+        if (upstream == null) {
+            upstream = source.iterator();
+        }
+        while (upstream.hasNext()) {
+            A a = upstream.next();
+            if (offer(branch, classify(a), a == null ? NULL : a)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Buffers an element for {@code target}, returning whether it is for {@code branch}.  If the buffer of
+     * {@code target} is full, the element is kept aside before throwing, so that it is not lost.
+     */
+    private boolean offer(int branch, int target, Object element) {
+        if (target != branch && buffers[target].size() == bufferSize) {
+            stashed = element;
+            stashedTarget = target;
+            throw new IllegalStateException("The buffer of branch " + target + " of demux is full; consume the "
+                    + "branches more evenly, or use a larger bufferSize");
+        }
+        buffers[target].add(element);
+        return target == branch;
+    }
+
+    private int classify(A a) {
+        int target = classifier.applyAsInt(a);
+        if (target < 0 || target >= buffers.length) {
+            throw new IllegalArgumentException("demux classifier returned " + target + ", but there are only "
+                    + buffers.length + " branches");
+        }
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> A unmask(Object element) {
+        return element == NULL ? null : (A) element;
+    }
+
+}
@@ -0,0 +1,329 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A finite sequence of {@code double}s that are not boxed.
+ * <p>
+ * This is also an {@code Iterable<Double>}, but its iterator is a {@code PrimitiveIterator.OfDouble}, and its
+ * operations do not box elements.  Use {@link DoubleFiniteIterable#boxed} to convert to a {@link FiniteIterable}.
+ */
+public interface DoubleFiniteIterable extends Iterable<Double> {
+
+    /**
+     * Returns an iterator over the elements of this {@code DoubleFiniteIterable}.
+     *
+     * @return a {@code PrimitiveIterator.OfDouble}
+     */
+    @Override
+    PrimitiveIterator.OfDouble iterator();
+
+    /**
+     * Returns a {@code FiniteIterable} containing the boxed elements of this {@code DoubleFiniteIterable}.
+     *
+     * @return a {@code FiniteIterable<Double>}
+     */
+    default FiniteIterable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} that drops the first {@code count} elements of this
+     * {@code DoubleFiniteIterable}.
+     *
+     * @param count the number of elements to drop from this {@code DoubleFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable drop(int count) {
+        Validation.validateDrop(count);
+        return DoubleIterables.doubleFiniteIterable(
+                () -> DoubleIterables.drop(count, iterator()), SizedIterable.dropSize(count, this));
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} that contains all elements of this {@code DoubleFiniteIterable} that
+     * satisfy a predicate.
+     *
+     * @param predicate a predicate; should be referentially transparent and not have side-effects
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable filter(DoublePredicate predicate) {
+        requireNonNull(predicate);
+        return DoubleIterables.doubleFiniteIterable(
+                () -> DoubleIterables.filter(predicate, iterator()), () -> SizedIterable.UNKNOWN);
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} by applying a function to all elements of this
+     * {@code DoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable fmap(DoubleUnaryOperator f) {
+        requireNonNull(f);
+        return DoubleIterables.doubleFiniteIterable(
+                () -> DoubleIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Applies a binary operator to a start value and all elements of this {@code DoubleFiniteIterable}, going left to
+     * right.
+     *
+     * @param op the binary operator (accumulator on the left, item on the right)
+     * @param z  the start value
+     * @return the result of inserting {@code op} between consecutive elements of this {@code DoubleFiniteIterable},
+     * going left to right with the start value {@code z} on the left.
+     * Returns {@code z} if this {@code DoubleFiniteIterable} is empty.
+     */
+    default double foldLeft(DoubleBinaryOperator op, double z) {
+        requireNonNull(op);
+        return DoubleIterables.foldLeft(op, z, iterator());
+    }
+
+    /**
+     * Tests whether this {@code DoubleFiniteIterable} is empty.
+     *
+     * @return true if this {@code DoubleFiniteIterable} contains no elements, false otherwise
+     */
+    default boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} by applying a function to all elements of this
+     * {@code DoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable mapToInt(DoubleToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.intFiniteIterable(
+                () -> DoubleIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} by applying a function to all elements of this
+     * {@code DoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable mapToLong(DoubleToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.longFiniteIterable(
+                () -> DoubleIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code DoubleFiniteIterable}.
+     *
+     * @param f   a function from {@code double} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return a {@code FiniteIterable<B>}
+     */
+    default <B> FiniteIterable<B> mapToObj(DoubleFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.finiteIterable(SizedIterable.sized(() -> DoubleIterables.mapToObj(f, iterator()),
+                SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Returns the largest element of this {@code DoubleFiniteIterable}.
+     *
+     * @return the largest element wrapped in a {@code Maybe.just}, or {@code Maybe.nothing} if this
+     * {@code DoubleFiniteIterable} is empty
+     */
+    default Maybe<Double> max() {
+        return DoubleIterables.max(iterator());
+    }
+
+    /**
+     * Returns the smallest element of this {@code DoubleFiniteIterable}.
+     *
+     * @return the smallest element wrapped in a {@code Maybe.just}, or {@code Maybe.nothing} if this
+     * {@code DoubleFiniteIterable} is empty
+     */
+    default Maybe<Double> min() {
+        return DoubleIterables.min(iterator());
+    }
+
+    /**
+     * Computes the size of this {@code DoubleFiniteIterable}.
+     * <p>
+     * If the size is known without iterating, this is O(1); otherwise this {@code DoubleFiniteIterable} is iterated.
+     *
+     * @return the number of elements in this {@code DoubleFiniteIterable}
+     */
+    default int size() {
+        return DoubleIterables.size(this);
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} containing the largest element of each window of {@code k} consecutive
+     * elements of this {@code DoubleFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code DoubleFiniteIterable} has fewer than {@code k} elements, the
+     * result is empty.
+     * <p>
+     * Elements are compared as by {@code Double.compare}.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable slidingMax(int k) {
+        Validation.validateSlide(k);
+        return DoubleIterables.doubleFiniteIterable(() -> DoubleIterables.slidingExtreme(k, true, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} containing the smallest element of each window of {@code k}
+     * consecutive elements of this {@code DoubleFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code DoubleFiniteIterable} has fewer than {@code k} elements, the
+     * result is empty.
+     * <p>
+     * Elements are compared as by {@code Double.compare}.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable slidingMin(int k) {
+        Validation.validateSlide(k);
+        return DoubleIterables.doubleFiniteIterable(() -> DoubleIterables.slidingExtreme(k, false, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} containing the sum of each window of {@code k} consecutive elements of
+     * this {@code DoubleFiniteIterable}.
+     * <p>
+     * Each element is added to the sum as it enters the window and subtracted as it leaves, so each element is
+     * processed in O(1) time, regardless of {@code k}.  Like {@code slide}, there is one result for each complete
+     * window, so if this {@code DoubleFiniteIterable} has fewer than {@code k} elements, the result is empty.
+     * <p>
+     * The running sum is compensated, so that rounding errors do not accumulate over a long sequence.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable slidingSum(int k) {
+        Validation.validateSlide(k);
+        return DoubleIterables.doubleFiniteIterable(() -> DoubleIterables.slidingSum(k, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator.OfDouble} over the elements of this {@code DoubleFiniteIterable}.
+     * <p>
+     * The {@code Spliterator} reports {@code ORDERED}, and also {@code SIZED} and {@code SUBSIZED} if the size of
+     * this {@code DoubleFiniteIterable} is known without iterating it.
+     *
+     * @return a {@code Spliterator.OfDouble}
+     */
+    @Override
+    default Spliterator.OfDouble spliterator() {
+        return DoubleIterables.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the sum of the elements of this {@code DoubleFiniteIterable}.
+     *
+     * @return the sum, or zero if this {@code DoubleFiniteIterable} is empty
+     */
+    default double sum() {
+        return DoubleIterables.sum(iterator());
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} containing at most the first {@code count} elements of this
+     * {@code DoubleFiniteIterable}.
+     *
+     * @param count the maximum number of elements to take from this {@code DoubleFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable take(int count) {
+        Validation.validateTake(count);
+        return DoubleIterables.doubleFiniteIterable(
+                () -> DoubleIterables.take(count, iterator()), SizedIterable.takeSize(count, this));
+    }
+
+    /**
+     * Writes all the elements of this {@code DoubleFiniteIterable} to an array.
+     *
+     * @return a new {@code double[]}
+     */
+    default double[] toArray() {
+        return DoubleIterables.toArray(this);
+    }
+
+    /**
+     * Converts this {@code DoubleFiniteIterable} to a {@code NonEmptyDoubleFiniteIterable} if it contains one or more
+     * elements.
+     *
+     * @return a {@code Maybe<NonEmptyDoubleFiniteIterable>}
+     */
+    default Maybe<? extends NonEmptyDoubleFiniteIterable> toNonEmpty() {
+        return isEmpty()
+                ? nothing()
+                : just(DoubleIterables.nonEmptyDoubleFiniteIterable(this::iterator, SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Creates an {@code ImmutableDoubleFiniteIterable} by copying elements from an array.
+     *
+     * @param source the array to copy from
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    static ImmutableDoubleFiniteIterable copyFrom(double[] source) {
+        requireNonNull(source);
+        return DoubleIterables.copyFrom(source);
+    }
+
+    /**
+     * Creates an empty {@code DoubleFiniteIterable}.
+     *
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    static ImmutableDoubleFiniteIterable emptyDoubleFiniteIterable() {
+        return DoubleIterables.emptyDoubleFiniteIterable();
+    }
+
+    /**
+     * Creates a {@code DoubleFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyDoubleFiniteIterable}, which is
+     * also a {@link DoubleFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    static ImmutableNonEmptyDoubleFiniteIterable of(double first, double... more) {
+        return DoubleIterables.of(first, more);
+    }
+
+}
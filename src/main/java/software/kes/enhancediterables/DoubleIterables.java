@@ -0,0 +1,486 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+
+final class DoubleIterables {
+    private static final ImmutableDoubleFiniteIterable EMPTY = new ImmutableFinite(
+            () -> arrayIterator(new double[0]), () -> 0);
+
+    private DoubleIterables() {
+    }
+
+    static DoubleFiniteIterable doubleFiniteIterable(Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+        return new Finite(iterators, size);
+    }
+
+    static NonEmptyDoubleFiniteIterable nonEmptyDoubleFiniteIterable(Supplier<PrimitiveIterator.OfDouble> iterators,
+                                                        IntSupplier size) {
+        return new NonEmptyFinite(iterators, size);
+    }
+
+    static ImmutableDoubleFiniteIterable immutableDoubleFiniteIterable(Supplier<PrimitiveIterator.OfDouble> iterators,
+                                                          IntSupplier size) {
+        return new ImmutableFinite(iterators, size);
+    }
+
+    static ImmutableNonEmptyDoubleFiniteIterable immutableNonEmptyDoubleFiniteIterable(
+            Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+        return new ImmutableNonEmptyFinite(iterators, size);
+    }
+
+    static ImmutableDoubleFiniteIterable emptyDoubleFiniteIterable() {
+        return EMPTY;
+    }
+
+    static ImmutableDoubleFiniteIterable copyFrom(double[] source) {
+        if (source.length == 0) {
+            return EMPTY;
+        }
+        double[] values = source.clone();
+        return immutableNonEmptyDoubleFiniteIterable(() -> arrayIterator(values), () -> values.length);
+    }
+
+    static ImmutableNonEmptyDoubleFiniteIterable of(double first, double[] more) {
+        double[] values = new double[more.length + 1];
+        values[0] = first;
+        System.arraycopy(more, 0, values, 1, more.length);
+        return immutableNonEmptyDoubleFiniteIterable(() -> arrayIterator(values), () -> values.length);
+    }
+
+    static <A> DoubleFiniteIterable fromObjects(ToDoubleFunction<? super A> f, FiniteIterable<A> source) {
+        return doubleFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> NonEmptyDoubleFiniteIterable fromObjects(ToDoubleFunction<? super A> f,
+                                                        NonEmptyFiniteIterable<A> source) {
+        return nonEmptyDoubleFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> ImmutableDoubleFiniteIterable fromObjects(ToDoubleFunction<? super A> f,
+                                                         ImmutableFiniteIterable<A> source) {
+        return immutableDoubleFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> ImmutableNonEmptyDoubleFiniteIterable fromObjects(ToDoubleFunction<? super A> f,
+                                                             ImmutableNonEmptyFiniteIterable<A> source) {
+        return immutableNonEmptyDoubleFiniteIterable(
+                () -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static int size(DoubleFiniteIterable as) {
+        int knownSize = EnhancedIterables.knownSize(as);
+        if (knownSize != SizedIterable.UNKNOWN) {
+            return knownSize;
+        }
+        PrimitiveIterator.OfDouble iterator = as.iterator();
+        long size = 0;
+        while (iterator.hasNext()) {
+            iterator.nextDouble();
+            size++;
+        }
+        return SizedIterable.saturate(size);
+    }
+
+    static double foldLeft(DoubleBinaryOperator op, double z, PrimitiveIterator.OfDouble iterator) {
+        double result = z;
+        while (iterator.hasNext()) {
+            result = op.applyAsDouble(result, iterator.nextDouble());
+        }
+        return result;
+    }
+
+    /**
+     * Sums using Kahan summation, as {@code DoubleStream#sum} does.
+     */
+    static double sum(PrimitiveIterator.OfDouble iterator) {
+        double sum = 0;
+        double compensation = 0;
+        double simpleSum = 0;
+        while (iterator.hasNext()) {
+            double value = iterator.nextDouble();
+            simpleSum += value;
+            double y = value - compensation;
+            double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+        }
+        if (Double.isNaN(sum) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return sum;
+    }
+
+    static Maybe<Double> min(PrimitiveIterator.OfDouble iterator) {
+        if (!iterator.hasNext()) {
+            return nothing();
+        }
+        return just(foldLeft(Math::min, iterator.nextDouble(), iterator));
+    }
+
+    static Maybe<Double> max(PrimitiveIterator.OfDouble iterator) {
+        if (!iterator.hasNext()) {
+            return nothing();
+        }
+        return just(foldLeft(Math::max, iterator.nextDouble(), iterator));
+    }
+
+    static double[] toArray(DoubleFiniteIterable as) {
+        int knownSize = EnhancedIterables.knownSize(as);
+        double[] result = new double[knownSize == SizedIterable.UNKNOWN ? 16 : knownSize];
+        int count = 0;
+        PrimitiveIterator.OfDouble iterator = as.iterator();
+        while (iterator.hasNext()) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, Math.max(16, count * 2));
+            }
+            result[count++] = iterator.nextDouble();
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    static Spliterator.OfDouble spliterator(DoubleFiniteIterable as, int characteristics) {
+        int size = EnhancedIterables.knownSize(as);
+        if (size == SizedIterable.UNKNOWN) {
+            return Spliterators.spliteratorUnknownSize(as.iterator(), characteristics);
+        } else {
+            return Spliterators.spliterator(as.iterator(), size, characteristics);
+        }
+    }
+
+    static PrimitiveIterator.OfDouble arrayIterator(double[] values) {
+        return new PrimitiveIterator.OfDouble() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble map(DoubleUnaryOperator f, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return f.applyAsDouble(underlying.nextDouble());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble filter(DoublePredicate predicate, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            private double nextElement;
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                while (!ready && underlying.hasNext()) {
+                    double candidate = underlying.nextDouble();
+                    if (predicate.test(candidate)) {
+                        nextElement = candidate;
+                        ready = true;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return nextElement;
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble take(int count, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 && underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return underlying.nextDouble();
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble drop(int count, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            private int toDrop = count;
+
+            @Override
+            public boolean hasNext() {
+                while (toDrop > 0 && underlying.hasNext()) {
+                    underlying.nextDouble();
+                    toDrop--;
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return underlying.nextDouble();
+            }
+        };
+    }
+
+    static <B> Iterator<B> mapToObj(DoubleFunction<? extends B> f, PrimitiveIterator.OfDouble underlying) {
+        return new Iterator<B>() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public B next() {
+                return f.apply(underlying.nextDouble());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt mapToInt(DoubleToIntFunction f, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return f.applyAsInt(underlying.nextDouble());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfLong mapToLong(DoubleToLongFunction f, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return f.applyAsLong(underlying.nextDouble());
+            }
+        };
+    }
+
+    static <A> PrimitiveIterator.OfDouble fromObjects(ToDoubleFunction<? super A> f, Iterator<A> underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return f.applyAsDouble(underlying.next());
+            }
+        };
+    }
+
+    /**
+     * Yields the sum of each window of {@code k} consecutive elements, adding each element as it enters the window and
+     * subtracting it as it leaves.  The running sum is compensated, so that rounding errors do not accumulate over a
+     * long source.
+     */
+    static PrimitiveIterator.OfDouble slidingSum(int k, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            private double[] window = new double[0];
+            private long position;
+            private double sum;
+            private double compensation;
+
+            @Override
+            public boolean hasNext() {
+                while (position < k - 1 && underlying.hasNext()) {
+                    push(underlying.nextDouble());
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(underlying.nextDouble());
+                return sum + compensation;
+            }
+
+            private void push(double value) {
+                int slot = (int) (position % k);
+                if (slot >= window.length) {
+                    window = Arrays.copyOf(window, SlidingWindow.grow(slot, window.length, k));
+                }
+                if (position >= k) {
+                    add(-window[slot]);
+                }
+                window[slot] = value;
+                add(value);
+                position++;
+            }
+
+            private void add(double value) {
+                double t = sum + value;
+                if (Math.abs(sum) >= Math.abs(value)) {
+                    compensation += (sum - t) + value;
+                } else {
+                    compensation += (value - t) + sum;
+                }
+                sum = t;
+            }
+        };
+    }
+
+    /**
+     * Yields the smallest (if {@code max} is false) or largest element of each window of {@code k} consecutive
+     * elements.
+     * <p>
+     * The candidates are kept in a deque, in order of position: an element is discarded as soon as a later element
+     * is at least as small (or large), because it can no longer be the result for any window, and the front is
+     * discarded when it leaves the window.  The front is therefore always the result for the current window, and each
+     * element is added and discarded once.
+     */
+    static PrimitiveIterator.OfDouble slidingExtreme(int k, boolean max, PrimitiveIterator.OfDouble underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            private double[] values = new double[0];
+            private long[] positions = new long[0];
+            private int front;
+            private int count;
+            private long position;
+
+            @Override
+            public boolean hasNext() {
+                while (position < k - 1 && underlying.hasNext()) {
+                    push(underlying.nextDouble());
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(underlying.nextDouble());
+                return values[front];
+            }
+
+            private void push(double value) {
+                if (count > 0 && positions[front] <= position - k) {
+                    front = (front + 1) % k;
+                    count--;
+                }
+                while (count > 0) {
+                    int back = (front + count - 1) % k;
+                    if (max ? Double.compare(values[back], value) <= 0 : Double.compare(values[back], value) >= 0) {
+                        count--;
+                    } else {
+                        break;
+                    }
+                }
+                int slot = (front + count) % k;
+                if (slot >= values.length) {
+                    values = Arrays.copyOf(values, SlidingWindow.grow(slot, values.length, k));
+                    positions = Arrays.copyOf(positions, values.length);
+                }
+                values[slot] = value;
+                positions[slot] = position;
+                count++;
+                position++;
+            }
+        };
+    }
+
+    private static class View implements Sized {
+        private final Supplier<PrimitiveIterator.OfDouble> iterators;
+        private final IntSupplier size;
+
+        private View(Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+            this.iterators = iterators;
+            this.size = size;
+        }
+
+        public PrimitiveIterator.OfDouble iterator() {
+            return iterators.get();
+        }
+
+        @Override
+        public int knownSize() {
+            return size.getAsInt();
+        }
+    }
+
+    private static final class Finite extends View implements DoubleFiniteIterable {
+        private Finite(Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class NonEmptyFinite extends View implements NonEmptyDoubleFiniteIterable {
+        private NonEmptyFinite(Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class ImmutableFinite extends View implements ImmutableDoubleFiniteIterable {
+        private ImmutableFinite(Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class ImmutableNonEmptyFinite extends View implements ImmutableNonEmptyDoubleFiniteIterable {
+        private ImmutableNonEmptyFinite(Supplier<PrimitiveIterator.OfDouble> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+}
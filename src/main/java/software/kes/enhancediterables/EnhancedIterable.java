@@ -6,29 +6,27 @@ import com.jnape.palatable.lambda.adt.hlist.Tuple2;
 import com.jnape.palatable.lambda.functions.Fn0;
 import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
+import com.jnape.palatable.lambda.functions.builtin.fn1.Flatten;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Tails;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Cons;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Drop;
-import com.jnape.palatable.lambda.functions.builtin.fn2.DropWhile;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Filter;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Find;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Partition;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Slide;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Snoc;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Span;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Take;
-import com.jnape.palatable.lambda.functions.builtin.fn2.TakeWhile;
-import com.jnape.palatable.lambda.functions.builtin.fn2.ToArray;
-import com.jnape.palatable.lambda.functions.builtin.fn2.ToCollection;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
 import com.jnape.palatable.lambda.functor.Functor;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
+import com.jnape.palatable.lambda.semigroup.Semigroup;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
 import static java.util.Objects.requireNonNull;
@@ -55,7 +53,49 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      * @return a {@code NonEmptyIterable<A>}
      */
     default NonEmptyIterable<A> append(A element) {
-        return unsafeNonEmptyIterable(Snoc.snoc(element, unwrap(this)));
+        return unsafeNonEmptyIterable(Rope.append(element, this));
+    }
+
+    /**
+     * Lazily filters this {@code EnhancedIterable} through a Bloom filter, yielding each element whose hash has not
+     * been seen before, in a fixed amount of memory.
+     * <p>
+     * No element is yielded twice, but a Bloom filter has false positives, so an element that has not been seen may be
+     * dropped.  While no more than {@code expectedDistinct} distinct elements have been seen, each new element is
+     * dropped with a probability of at most {@code falsePositiveProbability}; beyond that, the probability grows.
+     * Each iterator uses its own filter of about {@code -expectedDistinct * ln(falsePositiveProbability) / ln(2)^2}
+     * bits.
+     * <p>
+     * {@code Integer}, {@code Long}, {@code Double} and {@code String} elements are hashed from their values to 64
+     * bits; other elements are hashed from their {@code hashCode}.
+     *
+     * @param expectedDistinct         the number of distinct elements the filter is sized for.  Must be &gt;= 1.
+     * @param falsePositiveProbability the probability of dropping a new element while no more than
+     *                                 {@code expectedDistinct} distinct elements have been seen.  Must be &gt; 0 and
+     *                                 &lt; 1.
+     * @return an {@code EnhancedIterable<A>}
+     */
+    default EnhancedIterable<A> approxDistinct(long expectedDistinct, double falsePositiveProbability) {
+        Validation.validateApproxDistinct(expectedDistinct, falsePositiveProbability);
+        return enhance(BloomFilter.approxDistinct(expectedDistinct, falsePositiveProbability, this));
+    }
+
+    /**
+     * Splits this {@code EnhancedIterable} into consecutive, non-overlapping chunks of {@code size} elements.
+     * The last chunk contains the remaining elements, and may be smaller.
+     * <p>
+     * Each chunk is a compact array-backed copy of its elements, with an O(1) {@code size}.
+     * <p>
+     * Example:
+     *
+     * <code>EnhancedIterable.of(1, 2, 3, 4, 5).chunked(2); // [[1, 2], [3, 4], [5]]</code>
+     *
+     * @param size the number of elements in each chunk.  Must be &gt;= 1.
+     * @return an {@code EnhancedIterable<ImmutableNonEmptyFiniteIterable<A>>}
+     */
+    default EnhancedIterable<? extends ImmutableNonEmptyFiniteIterable<A>> chunked(int size) {
+        Validation.validateChunked(size);
+        return enhance(SizedIterable.chunks(Chunked.chunked(size, this), size, this));
     }
 
     /**
@@ -67,7 +107,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default EnhancedIterable<A> concat(Iterable<A> other) {
         requireNonNull(other);
-        return enhance(Concat.concat(unwrap(this), unwrap(other)));
+        return enhance(Rope.concat(this, other));
     }
 
     /**
@@ -79,7 +119,55 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default NonEmptyIterable<A> concat(NonEmptyIterable<A> other) {
         requireNonNull(other);
-        return unsafeNonEmptyIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return unsafeNonEmptyIterable(Rope.concat(this, other));
+    }
+
+    /**
+     * Splits this {@code EnhancedIterable} into {@code n} branches, by the index that {@code classifier} gives each
+     * element, in a single traversal.
+     * <p>
+     * Unlike filtering this {@code EnhancedIterable} {@code n} times, the classifier is applied only once per element,
+     * and this {@code EnhancedIterable} is iterated only once, by whichever branch needs its next element.  Elements
+     * for the other branches are buffered until those branches consume them, so buffers may grow without bound if the
+     * branches are consumed unevenly; see {@link EnhancedIterable#demux(int, int, ToIntFunction)} to bound them.
+     * Only the first iteration of each branch shares the traversal; iterating a branch again traverses this
+     * {@code EnhancedIterable} afresh, applying the classifier to every element again.
+     * <p>
+     * Example:
+     *
+     * <code>EnhancedIterable.of(1, 2, 3, 4, 5).demux(2, n -&gt; n % 2); // [[2, 4], [1, 3, 5]]</code>
+     *
+     * @param n          the number of branches.  Must be &gt;= 1.
+     * @param classifier a function from an element to the index of its branch, which must be &gt;= 0 and &lt; {@code n}
+     * @return an {@code ImmutableNonEmptyFiniteIterable<EnhancedIterable<A>>} of the {@code n} branches
+     */
+    default ImmutableNonEmptyFiniteIterable<? extends EnhancedIterable<A>> demux(int n,
+                                                                                ToIntFunction<? super A> classifier) {
+        return demux(n, Integer.MAX_VALUE, classifier);
+    }
+
+    /**
+     * Splits this {@code EnhancedIterable} into {@code n} branches, by the index that {@code classifier} gives each
+     * element, in a single traversal, buffering at most {@code bufferSize} elements for each branch.
+     * <p>
+     * The classifier is applied only once per element, and this {@code EnhancedIterable} is iterated only once, by
+     * whichever branch needs its next element.  Elements for the other branches are buffered until those branches
+     * consume them.  If an element belongs to a branch whose buffer is full, the iterator that pulled it throws an
+     * {@code IllegalStateException}; the element is kept, and buffered by a later pull once its branch has room.
+     * Only the first iteration of each branch shares the traversal; iterating a branch again traverses this
+     * {@code EnhancedIterable} afresh, applying the classifier to every element again.
+     *
+     * @param n          the number of branches.  Must be &gt;= 1.
+     * @param bufferSize the maximum number of elements buffered for each branch.  Must be &gt;= 1.
+     * @param classifier a function from an element to the index of its branch, which must be &gt;= 0 and &lt; {@code n}
+     * @return an {@code ImmutableNonEmptyFiniteIterable<EnhancedIterable<A>>} of the {@code n} branches
+     */
+    default ImmutableNonEmptyFiniteIterable<? extends EnhancedIterable<A>> demux(int n, int bufferSize,
+                                                                                ToIntFunction<? super A> classifier) {
+        Validation.validateDemux(n);
+        Validation.validateBufferSize(bufferSize);
+        requireNonNull(classifier);
+        return ArrayIterable.wrap(Demux.demux(n, bufferSize, classifier, this, EnhancedIterable::enhance));
     }
 
     /**
@@ -93,7 +181,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default EnhancedIterable<A> drop(int count) {
         Validation.validateDrop(count);
-        return enhance(Drop.drop(count, unwrap(this)));
+        return enhance(SizedIterable.dropping(Drop.drop(count, unwrap(this)), count, this));
     }
 
     /**
@@ -107,7 +195,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default EnhancedIterable<A> dropWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return enhance(DropWhile.dropWhile(predicate, unwrap(this)));
+        return enhance(Pipeline.dropWhile(predicate, this));
     }
 
     /**
@@ -119,7 +207,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default EnhancedIterable<A> filter(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return enhance(Filter.<A>filter(predicate).apply(unwrap(this)));
+        return enhance(Pipeline.filter(predicate, this));
     }
 
     /**
@@ -131,7 +219,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default Maybe<A> find(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return Find.find(predicate, unwrap(this));
+        return EnhancedIterables.find(predicate, this);
     }
 
     /**
@@ -145,9 +233,58 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default <B> EnhancedIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return enhance(Map.map(f, unwrap(this)));
+        return enhance(Pipeline.map(f, this));
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} by applying a bulk function to consecutive, non-overlapping chunks of
+     * {@code size} elements of this {@code EnhancedIterable}, and concatenating the results.
+     * <p>
+     * This is useful when {@code f} has a high fixed cost per call, such as a batched lookup or write.  The chunks are
+     * the same as those of {@link #chunked(int)}.
+     *
+     * @param size the number of elements in each chunk.  Must be &gt;= 1.
+     * @param f    a function from a chunk of elements to the results for that chunk
+     * @param <B>  the result element type
+     * @return an {@code EnhancedIterable<B>}
+     */
+    default <B> EnhancedIterable<B> fmapChunked(
+            int size, Fn1<? super ImmutableNonEmptyFiniteIterable<A>, ? extends Collection<B>> f) {
+        Validation.validateChunked(size);
+        requireNonNull(f);
+        return enhance(Flatten.flatten(Map.map(f, Chunked.chunked(size, this))));
     }
 
+    /**
+     * Performs an action for each element of this {@code EnhancedIterable}, in order.
+     * <p>
+     * The elements are pushed to {@code action} directly by the underlying source where possible, rather than being
+     * pulled through an {@code Iterator} for each layer of this {@code EnhancedIterable}.
+     *
+     * @param action the action to perform; not null
+     */
+    @Override
+    default void forEach(Consumer<? super A> action) {
+        requireNonNull(action);
+        EnhancedIterables.forEach(this, action);
+    }
+
+    /**
+     * Returns the element at a given position of this {@code EnhancedIterable}, if it exists.
+     * <p>
+     * This is O(1) for {@code EnhancedIterable}s backed by arrays or by {@code List}s that support random access;
+     * otherwise the elements before {@code index} are iterated.
+     *
+     * @param index the zero-based position of the element.  Must be &gt;= 0.
+     * @return the element wrapped in a {@link Maybe#just} if this {@code EnhancedIterable} has more than
+     * {@code index} elements; {@link Maybe#nothing} otherwise.
+     */
+    default Maybe<A> get(int index) {
+        Validation.validateGet(index);
+        return EnhancedIterables.get(index, this);
+    }
+
+
     /**
      * Returns a new {@code EnhancedIterable} with the provided separator value injected between each value of this
      * {@code EnhancedIterable}.
@@ -158,7 +295,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      * @return an {@code EnhancedIterable<A>}
      */
     default EnhancedIterable<A> intersperse(A separator) {
-        return enhance(Intersperse.intersperse(separator, unwrap(this)));
+        return enhance(SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
     }
 
     /**
@@ -185,6 +322,87 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
                 .fmap(EnhancedIterables::unsafeNonEmptyIterable);
     }
 
+    /**
+     * Returns a new {@code EnhancedIterable} by applying a function to all elements of this {@code EnhancedIterable}
+     * concurrently, on a shared pool of daemon threads.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code EnhancedIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the same order as the elements they were computed from.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param <B>         the type returned by {@code f}
+     * @return an {@code EnhancedIterable<B>}
+     */
+    default <B> EnhancedIterable<B> mapAsync(int parallelism, Fn1<? super A, ? extends B> f) {
+        return mapAsync(parallelism, f, DaemonExecutor.shared());
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} by applying a function to all elements of this {@code EnhancedIterable}
+     * concurrently, on {@code executor}.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code EnhancedIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the same order as the elements they were computed from.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param executor    the {@code Executor} to apply {@code f} on
+     * @param <B>         the type returned by {@code f}
+     * @return an {@code EnhancedIterable<B>}
+     */
+    default <B> EnhancedIterable<B> mapAsync(int parallelism, Fn1<? super A, ? extends B> f, Executor executor) {
+        Validation.validateParallelism(parallelism);
+        requireNonNull(f);
+        requireNonNull(executor);
+        return enhance(SizedIterable.sameSizeAs(AsyncMap.ordered(parallelism, f, this, executor), this));
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} by applying a function to all elements of this {@code EnhancedIterable}
+     * concurrently, on a shared pool of daemon threads, yielding each result as soon as it is available.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code EnhancedIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the order in which the applications of {@code f} complete.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param <B>         the type returned by {@code f}
+     * @return an {@code EnhancedIterable<B>}
+     */
+    default <B> EnhancedIterable<B> mapAsyncUnordered(int parallelism, Fn1<? super A, ? extends B> f) {
+        return mapAsyncUnordered(parallelism, f, DaemonExecutor.shared());
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} by applying a function to all elements of this {@code EnhancedIterable}
+     * concurrently, on {@code executor}, yielding each result as soon as it is available.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code EnhancedIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the order in which the applications of {@code f} complete.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param executor    the {@code Executor} to apply {@code f} on
+     * @param <B>         the type returned by {@code f}
+     * @return an {@code EnhancedIterable<B>}
+     */
+    default <B> EnhancedIterable<B> mapAsyncUnordered(int parallelism, Fn1<? super A, ? extends B> f,
+                                                      Executor executor) {
+        Validation.validateParallelism(parallelism);
+        requireNonNull(f);
+        requireNonNull(executor);
+        return enhance(SizedIterable.sameSizeAs(AsyncMap.unordered(parallelism, f, this, executor), this));
+    }
+
     /**
      * Partitions this {@code EnhancedIterable} given a disjoint mapping function.
      * <p>
@@ -203,6 +421,44 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
         return tuple(enhance(partitionResult._1()), enhance(partitionResult._2()));
     }
 
+    /**
+     * Returns a new {@code EnhancedIterable} whose iterators pull the elements of this {@code EnhancedIterable} ahead
+     * of time on a shared pool of daemon threads, so that producing elements overlaps with consuming them.
+     * <p>
+     * Each iterator runs its own producer, which stays at most {@code bufferSize} elements ahead of the consumer.
+     * An exception thrown while producing an element is rethrown from the iterator once the elements before it have
+     * been consumed.  The iterators are {@link CloseableIterator}s: a producer stops when its iterator is exhausted
+     * or closed, or, if it is abandoned without being closed, once it has been garbage collected.
+     *
+     * @param bufferSize the maximum number of elements produced ahead of the consumer; must be &gt;= 1
+     * @return an {@code EnhancedIterable<A>}
+     */
+    default EnhancedIterable<A> prefetch(int bufferSize) {
+        return prefetch(bufferSize, DaemonExecutor.shared());
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} whose iterators pull the elements of this {@code EnhancedIterable} ahead
+     * of time on {@code executor}, so that producing elements overlaps with consuming them.
+     * <p>
+     * Each iterator runs its own producer, which stays at most {@code bufferSize} elements ahead of the consumer and
+     * occupies a thread of {@code executor} until it stops.  An exception thrown while producing an element is
+     * rethrown from the iterator once the elements before it have been consumed.  The iterators are
+     * {@link CloseableIterator}s: a producer stops when its iterator is exhausted or closed, or, if it is abandoned
+     * without being closed, once it has been garbage collected.  Closing an iterator interrupts its producer if it is
+     * running.  If the consumer is interrupted while waiting for an element, the iterator throws a
+     * {@code CompletionException} and leaves the interrupt status set.
+     *
+     * @param bufferSize the maximum number of elements produced ahead of the consumer; must be &gt;= 1
+     * @param executor   the {@code Executor} to run producers on
+     * @return an {@code EnhancedIterable<A>}
+     */
+    default EnhancedIterable<A> prefetch(int bufferSize, Executor executor) {
+        Validation.validateBufferSize(bufferSize);
+        requireNonNull(executor);
+        return enhance(SizedIterable.sameSizeAs(Prefetch.prefetch(bufferSize, this, executor), this));
+    }
+
     /**
      * Lazily prepends an element to the front of this {@code EnhancedIterable}, yielding a new {@code NonEmptyIterable}.
      *
@@ -210,7 +466,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      * @return a {@code NonEmptyIterable<A>}
      */
     default NonEmptyIterable<A> prepend(A element) {
-        return unsafeNonEmptyIterable(Cons.cons(element, unwrap(this)));
+        return unsafeNonEmptyIterable(Rope.prepend(element, this));
     }
 
     /**
@@ -223,7 +479,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      * @return an {@code EnhancedIterable<A>}
      */
     default EnhancedIterable<A> prependAll(A separator) {
-        return enhance(PrependAll.prependAll(separator, unwrap(this)));
+        return enhance(SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -238,8 +494,79 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default EnhancedIterable<? extends NonEmptyFiniteIterable<A>> slide(int k) {
         Validation.validateSlide(k);
-        return enhance(Map.map(EnhancedIterables::unsafeNonEmptyFiniteIterable,
-                Slide.slide(k, unwrap(this))));
+        return enhance(SizedIterable.windows(Map.map(EnhancedIterables::unsafeNonEmptyFiniteIterable,
+                Slide.slide(k, unwrap(this))), k, this));
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} containing a fold of each window of {@code k} consecutive elements of this
+     * {@code EnhancedIterable}.
+     * <p>
+     * Rather than folding each window from scratch, the fold is updated as the window slides: {@code add} is applied to
+     * each element as it enters the window, and {@code remove} to each element as it leaves.  Each element is therefore
+     * processed in O(1) time, regardless of {@code k}.  {@code remove} must undo {@code add}, so that removing the
+     * oldest element of a window from its fold gives the fold of the rest of the window.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code EnhancedIterable} has fewer
+     * than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>
+     * EnhancedIterable.of(1, 2, 3, 4, 5).slidingFold(3, 0, Integer::sum, (acc, x) -&gt; acc - x); // [6, 9, 12]
+     * </code>
+     *
+     * @param k      the number of elements in each window.  Must be &gt;= 1.
+     * @param z      the fold of an empty window
+     * @param add    adds an element to the fold of a window
+     * @param remove removes an element from the fold of a window
+     * @param <B>    the result type
+     * @return an {@code EnhancedIterable<B>}
+     */
+    default <B> EnhancedIterable<B> slidingFold(int k, B z, Fn2<? super B, ? super A, ? extends B> add,
+                                                Fn2<? super B, ? super A, ? extends B> remove) {
+        Validation.validateSlide(k);
+        requireNonNull(add);
+        requireNonNull(remove);
+        return enhance(SizedIterable.windows(SlidingWindow.fold(k, z, add, remove, this), k, this));
+    }
+
+    /**
+     * Returns a new {@code EnhancedIterable} containing the elements of each window of {@code k} consecutive elements
+     * of this {@code EnhancedIterable}, combined using a semigroup.
+     * <p>
+     * The semigroup only needs to be associative; it need not have an inverse.  Partial results are shared between
+     * overlapping windows, so each window costs amortized O(1) applications of the semigroup, regardless of {@code k}.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code EnhancedIterable} has fewer
+     * than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>EnhancedIterable.of(3, 1, 4, 1, 5).slidingReduce(2, Math::max); // [3, 4, 4, 5]</code>
+     *
+     * @param k         the number of elements in each window.  Must be &gt;= 1.
+     * @param semigroup the associative operator to combine elements with
+     * @return an {@code EnhancedIterable<A>}
+     */
+    default EnhancedIterable<A> slidingReduce(int k, Semigroup<A> semigroup) {
+        Validation.validateSlide(k);
+        requireNonNull(semigroup);
+        return enhance(SizedIterable.windows(SlidingWindow.reduce(k, semigroup, this), k, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator} over the elements of this {@code EnhancedIterable}.
+     * <p>
+     * The {@code Spliterator} reports {@code ORDERED}, and also {@code SIZED} and {@code SUBSIZED} if the size of this
+     * {@code EnhancedIterable} is known without iterating it.  If this {@code EnhancedIterable} is a view of a
+     * {@code Collection}, the {@code Collection}'s own {@code Spliterator} is returned.
+     *
+     * @return a {@code Spliterator<A>}
+     */
+    @Override
+    default Spliterator<A> spliterator() {
+        return EnhancedIterables.spliterator(this, Spliterator.ORDERED);
     }
 
     /**
@@ -265,7 +592,8 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      * @return an {@code ImmutableNonEmptyIterable<EnhancedIterable<A>>}
      */
     default ImmutableNonEmptyIterable<? extends EnhancedIterable<A>> tails() {
-        return unsafeImmutableNonEmptyFiniteIterable(Map.map(EnhancedIterable::enhance, Tails.tails(unwrap(this))));
+        return unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sum(Map.map(EnhancedIterable::enhance, Tails.tails(unwrap(this))), 1, this));
     }
 
     /**
@@ -279,7 +607,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default FiniteIterable<A> take(int count) {
         Validation.validateTake(count);
-        return finiteIterable(Take.take(count, unwrap(this)));
+        return finiteIterable(SizedIterable.atMost(Take.take(count, unwrap(this)), count, this));
     }
 
     /**
@@ -293,7 +621,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default EnhancedIterable<A> takeWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return enhance(TakeWhile.takeWhile(predicate, unwrap(this)));
+        return enhance(Pipeline.takeWhile(predicate, this));
     }
 
     /**
@@ -304,7 +632,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default A[] toArray(Class<A[]> arrayType) {
         requireNonNull(arrayType);
-        return ToArray.toArray(arrayType).apply(unwrap(this));
+        return EnhancedIterables.toArray(arrayType, this);
     }
 
     /**
@@ -318,7 +646,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
      */
     default <C extends Collection<A>> C toCollection(Fn0<C> cSupplier) {
         requireNonNull(cSupplier);
-        return ToCollection.toCollection(cSupplier).apply(unwrap(this));
+        return EnhancedIterables.toCollection(cSupplier, this);
     }
 
     /**
@@ -361,7 +689,7 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
     default <B, C> EnhancedIterable<C> zipWith(Fn2<A, B, C> fn, Iterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return enhance(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return enhance(SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -381,7 +709,8 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
     default <B, C> FiniteIterable<C> zipWith(Fn2<A, B, C> fn, FiniteIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -401,7 +730,8 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
     default <B, C> FiniteIterable<C> zipWith(Fn2<A, B, C> fn, Collection<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -481,6 +811,27 @@ public interface EnhancedIterable<A> extends Iterable<A>, Functor<A, EnhancedIte
         return EnhancedIterables.repeat(element);
     }
 
+    /**
+     * Lazily merges a number of {@code EnhancedIterable}s, each of which must already be in the order given by
+     * {@code comparator}, into an {@code EnhancedIterable} in that order.
+     * <p>
+     * The merge uses a tournament tree of losers, which costs about {@code log2(k)} comparisons per element for
+     * {@code k} sources, and holds only the current element of each source.  Ties are yielded in the order of the
+     * sources, so the merge is stable.
+     *
+     * @param comparator the order of the elements
+     * @param sources    the {@code EnhancedIterable}s to merge.  May be finite or infinite, and there must be a
+     *                   finite number of them.
+     * @param <A>        the element type
+     * @return an {@code EnhancedIterable<A>}
+     */
+    static <A> EnhancedIterable<A> mergeSorted(Comparator<? super A> comparator,
+                                               Iterable<? extends EnhancedIterable<A>> sources) {
+        requireNonNull(comparator);
+        requireNonNull(sources);
+        return EnhancedIterables.enhance(LoserTree.merge(comparator, sources));
+    }
+
     /**
      * Creates an {@code EnhancedIterable} containing the given elements.
      * <p>
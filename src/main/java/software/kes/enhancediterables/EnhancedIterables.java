@@ -1,26 +1,36 @@
 package software.kes.enhancediterables;
 
 import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.functions.Fn0;
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Cycle;
-import com.jnape.palatable.lambda.functions.builtin.fn1.Distinct;
-import com.jnape.palatable.lambda.functions.builtin.fn1.Size;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Uncons;
-import com.jnape.palatable.lambda.functions.builtin.fn2.ToCollection;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
-import static java.util.Arrays.asList;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Id.id;
 import static java.util.Objects.requireNonNull;
 import static software.kes.enhancediterables.ProtectedIterator.protectedIterator;
 import static software.kes.enhancediterables.Wrapped.unwrap;
 
 final class EnhancedIterables {
-    private static final ImmutableFiniteIterable<?> EMPTY = () -> protectedIterator(Collections.emptyIterator());
+    private static final ImmutableFiniteIterable<?> EMPTY = new Empty<>();
 
     private EnhancedIterables() {
     }
@@ -163,17 +173,7 @@ final class EnhancedIterables {
 
     static <A> NonEmptyFiniteIterable<A> nonEmptyFiniteIterable(A head, FiniteIterable<A> tail) {
         requireNonNull(tail);
-        return new NonEmptyFiniteIterable<A>() {
-            @Override
-            public A head() {
-                return head;
-            }
-
-            @Override
-            public FiniteIterable<A> tail() {
-                return tail;
-            }
-        };
+        return new NonEmptyFinite<>(head, tail);
     }
 
     static <A> NonEmptyFiniteIterable<A> nonEmptyFiniteIterable(A head, Collection<A> tail) {
@@ -208,17 +208,7 @@ final class EnhancedIterables {
 
     static <A> ImmutableNonEmptyFiniteIterable<A> immutableNonEmptyFiniteIterable(A head, ImmutableFiniteIterable<A> tail) {
         requireNonNull(tail);
-        return new ImmutableNonEmptyFiniteIterable<A>() {
-            @Override
-            public A head() {
-                return head;
-            }
-
-            @Override
-            public ImmutableFiniteIterable<A> tail() {
-                return tail;
-            }
-        };
+        return new ImmutableNonEmptyFinite<>(head, tail);
     }
 
     static <A> ImmutableNonEmptyFiniteIterable<A> unsafeImmutableNonEmptyFiniteIterable(Iterable<A> underlying) {
@@ -237,8 +227,10 @@ final class EnhancedIterables {
     @SafeVarargs
     static <A> ImmutableNonEmptyFiniteIterable<A> of(A first, A... more) {
         if (more.length > 0) {
-            ImmutableFiniteIterable<A> tail = immutableFiniteIterable(asList(more));
-            return immutableNonEmptyFiniteIterable(first, tail);
+            Object[] elements = new Object[more.length + 1];
+            elements[0] = first;
+            System.arraycopy(more, 0, elements, 1, more.length);
+            return ArrayIterable.wrap(elements);
         } else {
             return singleton(first);
         }
@@ -252,17 +244,12 @@ final class EnhancedIterables {
         if (source instanceof ImmutableFiniteIterable<?>) {
             return (ImmutableFiniteIterable<A>) source;
         } else {
-            ArrayList<A> underlying = ToCollection.toCollection(ArrayList::new, source);
-            if (underlying.isEmpty()) {
-                return Collections::emptyIterator;
-            } else {
-                return ImmutableNonEmptyCollectionWrapper.wrap(underlying);
-            }
+            return ArrayIterable.fromArray(toTrimmedArray(source));
         }
     }
 
     static <A> ImmutableFiniteIterable<A> copyFrom(Collection<A> source) {
-        return copyFrom(finiteIterable(source));
+        return ArrayIterable.fromArray(source.toArray());
     }
 
     static <A> ImmutableFiniteIterable<A> copyFrom(int maxCount, Iterable<A> source) {
@@ -342,22 +329,227 @@ final class EnhancedIterables {
 
     static <A> NonEmptyFiniteIterable<A> nonEmptyDistinct(NonEmptyFiniteIterable<A> underlying) {
         requireNonNull(underlying);
-        return unsafeNonEmptyFiniteIterable(Distinct.distinct(unwrap(underlying)));
+        return unsafeNonEmptyFiniteIterable(Deduplicate.distinctBy(id(), unwrap(underlying)));
     }
 
     static <A> ImmutableNonEmptyFiniteIterable<A> nonEmptyDistinct(ImmutableNonEmptyFiniteIterable<A> underlying) {
         requireNonNull(underlying);
-        return unsafeImmutableNonEmptyFiniteIterable(Distinct.distinct(unwrap(underlying)));
+        return unsafeImmutableNonEmptyFiniteIterable(Deduplicate.distinctBy(id(), unwrap(underlying)));
+    }
+
+    static <A> Maybe<A> get(int index, EnhancedIterable<A> as) {
+        Iterable<?> underlying = as;
+        while (underlying instanceof Wrapped<?>) {
+            underlying = ((Wrapped<?>) underlying).getUnderlying();
+        }
+        if (underlying instanceof List<?> && underlying instanceof RandomAccess) {
+            @SuppressWarnings("unchecked")
+            List<A> list = (List<A>) underlying;
+            return index < list.size() ? just(list.get(index)) : nothing();
+        }
+        Iterator<A> iterator = as.iterator();
+        for (int i = 0; i < index && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        return iterator.hasNext() ? just(iterator.next()) : nothing();
     }
 
     static <A> int size(FiniteIterable<A> as) {
         requireNonNull(as);
-        Long longSize = Size.size(as);
-        if (longSize > Integer.MAX_VALUE) {
-            return Integer.MAX_VALUE;
+        int knownSize = knownSize(as);
+        if (knownSize != SizedIterable.UNKNOWN) {
+            return knownSize;
+        }
+        long[] count = new long[1];
+        forEach(as, a -> count[0]++);
+        return SizedIterable.saturate(count[0]);
+    }
+
+    /**
+     * Passes the elements of an {@code Iterable} to {@code action} in order, until {@code action} returns
+     * {@code false} or there are no more elements.
+     * <p>
+     * Wrappers are bypassed, and {@code Iterable}s that can push their elements are asked to do so, so that no
+     * {@code Iterator} is created for any layer that does not need one.  {@code RandomAccess} lists are walked by
+     * index; like their iterators, the loop fails fast with a {@code ConcurrentModificationException} if the list
+     * changes size while it is being walked, though a modification that leaves the size unchanged goes undetected.
+     *
+     * @return {@code false} if {@code action} returned {@code false}, {@code true} otherwise
+     */
+    @SuppressWarnings("unchecked")
+    static <A> boolean forEachWhile(Iterable<A> iterable, Predicate<? super A> action) {
+        Iterable<A> source = peel(iterable);
+        if (source instanceof PushIterable<?>) {
+            return ((PushIterable<A>) source).forEachWhile(action);
+        } else if (source instanceof List<?> && source instanceof RandomAccess) {
+            List<A> list = (List<A>) source;
+            int size = list.size();
+            for (int i = 0; i < size; i++) {
+                if (!action.test(list.get(i))) {
+                    return false;
+                }
+                if (list.size() != size) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+            return true;
+        } else {
+            for (A a : source) {
+                if (!action.test(a)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Passes every element of an {@code Iterable} to {@code action}, in order.
+     */
+    static <A> void forEach(Iterable<A> iterable, Consumer<? super A> action) {
+        Iterable<A> source = peel(iterable);
+        if (source instanceof Collection<?>) {
+            source.forEach(action);
         } else {
-            return longSize.intValue();
+            forEachWhile(source, a -> {
+                action.accept(a);
+                return true;
+            });
+        }
+    }
+
+    static <A> Maybe<A> find(Fn1<? super A, ? extends Boolean> predicate, Iterable<A> as) {
+        Object[] result = new Object[1];
+        boolean found = !forEachWhile(as, a -> {
+            if (predicate.apply(a)) {
+                result[0] = a;
+                return false;
+            }
+            return true;
+        });
+        @SuppressWarnings("unchecked")
+        A element = (A) result[0];
+        return found ? just(element) : nothing();
+    }
+
+    static <A, B> B foldLeft(Fn2<? super B, ? super A, ? extends B> op, B z, Iterable<A> as) {
+        Object[] accumulator = {z};
+        forEach(as, a -> {
+            @SuppressWarnings("unchecked")
+            B acc = (B) accumulator[0];
+            accumulator[0] = op.apply(acc, a);
+        });
+        @SuppressWarnings("unchecked")
+        B result = (B) accumulator[0];
+        return result;
+    }
+
+    static <A> A reduceLeft(Fn2<? super A, ? super A, ? extends A> op, NonEmptyIterable<A> as) {
+        Object[] accumulator = new Object[1];
+        boolean[] started = new boolean[1];
+        forEach(as, a -> {
+            if (started[0]) {
+                @SuppressWarnings("unchecked")
+                A acc = (A) accumulator[0];
+                accumulator[0] = op.apply(acc, a);
+            } else {
+                accumulator[0] = a;
+                started[0] = true;
+            }
+        });
+        @SuppressWarnings("unchecked")
+        A result = (A) accumulator[0];
+        return result;
+    }
+
+    static <A> A last(NonEmptyFiniteIterable<A> as) {
+        Object[] last = new Object[1];
+        forEach(as, a -> last[0] = a);
+        @SuppressWarnings("unchecked")
+        A result = (A) last[0];
+        return result;
+    }
+
+    static <A, C extends Collection<A>> C toCollection(Fn0<C> cSupplier, Iterable<A> as) {
+        C result = cSupplier.apply();
+        forEach(as, result::add);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A> A[] toArray(Class<A[]> arrayType, Iterable<A> as) {
+        ArrayList<A> elements = toCollection(ArrayList::new, as);
+        return elements.toArray((A[]) Array.newInstance(arrayType.getComponentType(), elements.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A> Iterable<A> peel(Iterable<A> iterable) {
+        Iterable<A> result = iterable;
+        while (true) {
+            if (result instanceof Wrapped<?>) {
+                result = ((Wrapped<A>) result).getUnderlying();
+            } else if (result instanceof SizedIterable<?>) {
+                result = ((SizedIterable<A>) result).getUnderlying();
+            } else {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Returns the size of an {@code Iterable} if it can be determined without iterating it, or -1 otherwise.
+     */
+    static int knownSize(Iterable<?> iterable) {
+        if (iterable instanceof Collection<?>) {
+            int size = ((Collection<?>) iterable).size();
+            return size == Integer.MAX_VALUE ? SizedIterable.UNKNOWN : size;
+        } else if (iterable instanceof Sized) {
+            return ((Sized) iterable).knownSize();
+        } else if (iterable instanceof Wrapped<?>) {
+            return knownSize(((Wrapped<?>) iterable).getUnderlying());
+        } else {
+            return SizedIterable.UNKNOWN;
+        }
+    }
+
+    /**
+     * Creates a {@code Spliterator} for an {@code Iterable}.  If the {@code Iterable} is a view of a
+     * {@code Collection}, the {@code Collection}'s own {@code Spliterator} is used; otherwise the {@code Spliterator}
+     * is created from the iterator, and reports {@code SIZED} and {@code SUBSIZED} if the size is known.
+     */
+    @SuppressWarnings("unchecked")
+    static <A> Spliterator<A> spliterator(Iterable<A> iterable, int characteristics) {
+        Iterable<?> underlying = iterable;
+        while (underlying instanceof Wrapped<?>) {
+            underlying = ((Wrapped<?>) underlying).getUnderlying();
+        }
+        if (underlying instanceof Collection<?>) {
+            Spliterator<A> result = ((Collection<A>) underlying).spliterator();
+            int extra = characteristics & Spliterator.IMMUTABLE;
+            return (result.characteristics() & extra) == extra ? result : new WithCharacteristics<>(result, extra);
+        }
+        int size = knownSize(iterable);
+        if (size == SizedIterable.UNKNOWN) {
+            return Spliterators.spliteratorUnknownSize(iterable.iterator(), characteristics);
+        } else {
+            return Spliterators.spliterator(iterable.iterator(), size, characteristics);
+        }
+    }
+
+    private static Object[] toTrimmedArray(FiniteIterable<?> source) {
+        int knownSize = knownSize(source);
+        if (knownSize == SizedIterable.UNKNOWN) {
+            return toCollection(ArrayList::new, source).toArray();
+        }
+        Object[] result = new Object[knownSize];
+        int count = 0;
+        for (Object element : source) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, Math.max(8, count * 2));
+            }
+            result[count++] = element;
         }
+        return count == result.length ? result : Arrays.copyOf(result, count);
     }
 
     private static <A> FiniteIterable<A> finiteIterableFromCollection(Collection<A> collection) {
@@ -376,7 +568,113 @@ final class EnhancedIterables {
         }
     }
 
-    private static class Singleton<A> implements ImmutableNonEmptyFiniteIterable<A> {
+    private static final class WithCharacteristics<A> implements Spliterator<A> {
+        private final Spliterator<A> underlying;
+        private final int extra;
+
+        private WithCharacteristics(Spliterator<A> underlying, int extra) {
+            this.underlying = underlying;
+            this.extra = extra;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super A> action) {
+            return underlying.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super A> action) {
+            underlying.forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<A> trySplit() {
+            Spliterator<A> prefix = underlying.trySplit();
+            return prefix == null ? null : new WithCharacteristics<>(prefix, extra);
+        }
+
+        @Override
+        public long estimateSize() {
+            return underlying.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return underlying.characteristics() | extra;
+        }
+
+        @Override
+        public Comparator<? super A> getComparator() {
+            return underlying.getComparator();
+        }
+    }
+
+    private static final class Empty<A> implements ImmutableFiniteIterable<A>, Sized {
+
+        @Override
+        public Iterator<A> iterator() {
+            return protectedIterator(Collections.emptyIterator());
+        }
+
+        @Override
+        public int knownSize() {
+            return 0;
+        }
+    }
+
+    private static final class NonEmptyFinite<A> implements NonEmptyFiniteIterable<A>, Sized {
+        private final A head;
+        private final FiniteIterable<A> tail;
+
+        private NonEmptyFinite(A head, FiniteIterable<A> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        @Override
+        public A head() {
+            return head;
+        }
+
+        @Override
+        public FiniteIterable<A> tail() {
+            return tail;
+        }
+
+        @Override
+        public int knownSize() {
+            int tailSize = EnhancedIterables.knownSize(tail);
+            return tailSize == SizedIterable.UNKNOWN ? SizedIterable.UNKNOWN : SizedIterable.exact(1L + tailSize);
+        }
+    }
+
+    private static final class ImmutableNonEmptyFinite<A> implements ImmutableNonEmptyFiniteIterable<A>, Sized {
+        private final A head;
+        private final ImmutableFiniteIterable<A> tail;
+
+        private ImmutableNonEmptyFinite(A head, ImmutableFiniteIterable<A> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        @Override
+        public A head() {
+            return head;
+        }
+
+        @Override
+        public ImmutableFiniteIterable<A> tail() {
+            return tail;
+        }
+
+        @Override
+        public int knownSize() {
+            int tailSize = EnhancedIterables.knownSize(tail);
+            return tailSize == SizedIterable.UNKNOWN ? SizedIterable.UNKNOWN : SizedIterable.exact(1L + tailSize);
+        }
+    }
+
+    private static class Singleton<A> implements ImmutableNonEmptyFiniteIterable<A>, Sized {
         private final A value;
 
         private Singleton(A value) {
@@ -392,6 +690,11 @@ final class EnhancedIterables {
         public A head() {
             return value;
         }
+
+        @Override
+        public int knownSize() {
+            return 1;
+        }
     }
 
 }
@@ -0,0 +1,311 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorts an {@code Iterable} when it is iterated, stably, holding at most a fixed number of elements in memory.
+ * <p>
+ * Elements are read into a buffer.  If the whole source fits, the buffer is sorted and iterated directly.  Otherwise,
+ * each time the buffer fills up it is sorted and written to a run file in a temporary directory, using Java
+ * serialization.  Runs are merged with a {@link LoserTree}, at most {@value Spill#MAX_FAN_IN} at a time, in the levels
+ * kept by {@link Spill.Levels}, and the last merge happens as the result is iterated.  On ties, the earlier run wins,
+ * which keeps the sort stable.
+ * <p>
+ * Sorting by key computes each element's key once per in-memory sort.  If every key is an {@code Integer}, each key is
+ * packed with its element's index into a {@code long}, and the {@code long}s are sorted as primitives.
+ * <p>
+ * Each run file is deleted once it has been merged, and the temporary directory once the result is exhausted or its
+ * iterator, a {@link CloseableIterator}, is closed.  An iterator that is abandoned without being closed deletes its
+ * directory soon after it has been garbage collected, through {@link Spill#deleteWhenUnreachable}.
+ */
+final class ExternalSort {
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final int RESET_INTERVAL = 1024;
+
+    private ExternalSort() {
+    }
+
+    static <A> Iterable<A> sorted(int maxElementsInMemory, Comparator<? super A> comparator, Iterable<A> source) {
+        return () -> sort(maxElementsInMemory, comparator, buffer -> buffer.sort(comparator), source);
+    }
+
+    static <A, B extends Comparable<? super B>> Iterable<A> sortBy(int maxElementsInMemory,
+                                                                    Fn1<? super A, ? extends B> key,
+                                                                    Iterable<A> source) {
+        Comparator<A> comparator = (x, y) -> key.apply(x).compareTo(key.apply(y));
+        return () -> sort(maxElementsInMemory, comparator, buffer -> sortByKey(buffer, key), source);
+    }
+
+    private static <A> CloseableIterator<A> sort(int maxElementsInMemory, Comparator<? super A> comparator,
+                                                 BufferSorter<A> sorter, Iterable<A> source) {
+        Iterator<A> iterator = source.iterator();
+        List<A> buffer = new ArrayList<>();
+        Spill spill = null;
+        Spill.Levels<Run<A>> runs = null;
+        try {
+            while (iterator.hasNext()) {
+                if (buffer.size() == maxElementsInMemory) {
+                    if (spill == null) {
+                        spill = Spill.create("enhanced-iterables-sort");
+                        runs = levels(spill, comparator);
+                    }
+                    sorter.sort(buffer);
+                    runs.add(Run.write(spill, buffer.iterator()));
+                    buffer.clear();
+                }
+                buffer.add(iterator.next());
+            }
+            sorter.sort(buffer);
+            if (spill == null) {
+                return new InMemory<>(buffer);
+            }
+            runs.add(Run.write(spill, buffer.iterator()));
+            MergeIterator<A> result = new MergeIterator<>(runs.finish(), comparator, spill);
+            spill.deleteWhenUnreachable(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (spill != null) {
+                spill.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Levels of runs, whose merges are written to new runs.
+     */
+    private static <A> Spill.Levels<Run<A>> levels(Spill spill, Comparator<? super A> comparator) {
+        return new Spill.Levels<>(runs -> Run.write(spill, new MergeIterator<>(runs, comparator, null)));
+    }
+
+    private static <A, B extends Comparable<? super B>> void sortByKey(List<A> buffer,
+                                                                       Fn1<? super A, ? extends B> key) {
+        int size = buffer.size();
+        Object[] keys = new Object[size];
+        boolean allIntegers = true;
+        for (int i = 0; i < size; i++) {
+            B k = key.apply(buffer.get(i));
+            keys[i] = k;
+            allIntegers &= k instanceof Integer;
+        }
+        Object[] sorted = new Object[size];
+        if (allIntegers) {
+            long[] packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = ((long) (Integer) keys[i] << Integer.SIZE) | i;
+            }
+            Arrays.sort(packed);
+            for (int i = 0; i < size; i++) {
+                sorted[i] = buffer.get((int) packed[i]);
+            }
+        } else {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (i, j) -> compareKeys(keys[i], keys[j]));
+            for (int i = 0; i < size; i++) {
+                sorted[i] = buffer.get(order[i]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            A a = (A) sorted[i];
+            buffer.set(i, a);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object x, Object y) {
+        return ((Comparable<Object>) x).compareTo(y);
+    }
+
+    private interface BufferSorter<A> {
+        void sort(List<A> buffer);
+    }
+
+    /**
+     * The result of a sort that fitted in memory.  Closing it drops the elements.
+     */
+    private static final class InMemory<A> implements CloseableIterator<A> {
+        private Iterator<A> sorted;
+
+        private InMemory(List<A> sorted) {
+            this.sorted = sorted.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return sorted.hasNext();
+        }
+
+        @Override
+        public A next() {
+            return sorted.next();
+        }
+
+        @Override
+        public void close() {
+            sorted = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * A file of sorted elements, read lazily, which deletes itself once exhausted.
+     */
+    private static final class Run<A> implements Iterator<A> {
+        private final Path file;
+        private ObjectInputStream input;
+        private long remaining;
+
+        private Run(Path file, long count) {
+            this.file = file;
+            this.remaining = count;
+        }
+
+        private static <A> Run<A> write(Spill spill, Iterator<A> elements) {
+            Path file = spill.newFile();
+            try {
+                long count = 0;
+                try (ObjectOutputStream output =
+                             new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    while (elements.hasNext()) {
+                        output.writeObject(elements.next());
+                        if (++count % RESET_INTERVAL == 0) {
+                            output.reset();
+                        }
+                    }
+                }
+                return new Run<>(file, count);
+            } catch (NotSerializableException e) {
+                throw new IllegalArgumentException("Elements must be Serializable to be spilled to disk", e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining == 0) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public A next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                if (input == null) {
+                    input = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                }
+                A a = (A) input.readObject();
+                remaining--;
+                return a;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void close() {
+            remaining = 0;
+            try {
+                if (input != null) {
+                    input.close();
+                    input = null;
+                }
+            } catch (IOException e) {
+                // The file is deleted regardless.
+            }
+            Spill.delete(file);
+        }
+    }
+
+    /**
+     * Merges runs with a {@link LoserTree}, which yields ties from the earlier run first.  Closes {@code spill}, if
+     * given, once every run is exhausted, if reading a run fails, or when it is closed.
+     */
+    private static final class MergeIterator<A> implements CloseableIterator<A> {
+        private final List<Run<A>> runs;
+        private final Spill spill;
+        private final LoserTree<A> tree;
+        private boolean closed;
+
+        private MergeIterator(List<Run<A>> runs, Comparator<? super A> comparator, Spill spill) {
+            this.runs = new ArrayList<>(runs);
+            this.spill = spill;
+            this.tree = new LoserTree<>(comparator, this.runs);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (tree.hasNext()) {
+                    return true;
+                }
+            } catch (UncheckedIOException e) {
+                throw failed(e);
+            }
+            if (spill != null) {
+                spill.close();
+            }
+            return false;
+        }
+
+        @Override
+        public A next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return tree.next();
+            } catch (UncheckedIOException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (Run<A> run : runs) {
+                run.close();
+            }
+            if (spill != null) {
+                spill.close();
+            }
+        }
+
+        private UncheckedIOException failed(UncheckedIOException e) {
+            close();
+            return e;
+        }
+    }
+
+}
@@ -1,37 +1,45 @@
 package software.kes.enhancediterables;
 
 import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.These;
 import com.jnape.palatable.lambda.adt.coproduct.CoProduct2;
 import com.jnape.palatable.lambda.adt.hlist.Tuple2;
 import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
+import com.jnape.palatable.lambda.functions.builtin.fn1.Flatten;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Inits;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Reverse;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Tails;
 import com.jnape.palatable.lambda.functions.builtin.fn2.CartesianProduct;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Cons;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Drop;
-import com.jnape.palatable.lambda.functions.builtin.fn2.DropWhile;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Filter;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Partition;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Slide;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Snoc;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Span;
-import com.jnape.palatable.lambda.functions.builtin.fn2.TakeWhile;
-import com.jnape.palatable.lambda.functions.builtin.fn3.FoldLeft;
 import com.jnape.palatable.lambda.functions.builtin.fn3.FoldRight;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
 import com.jnape.palatable.lambda.functor.builtin.Lazy;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
+import com.jnape.palatable.lambda.monoid.Monoid;
+import com.jnape.palatable.lambda.semigroup.Semigroup;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
 import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Id.id;
+import static com.jnape.palatable.lambda.functions.builtin.fn2.Map.map;
 import static java.util.Objects.requireNonNull;
 import static software.kes.enhancediterables.EnhancedIterable.enhance;
 import static software.kes.enhancediterables.Wrapped.unwrap;
@@ -43,6 +51,24 @@ import static software.kes.enhancediterables.Wrapped.unwrap;
  */
 public interface FiniteIterable<A> extends EnhancedIterable<A> {
 
+    /**
+     * Groups the elements of this {@code FiniteIterable} by key, and combines the elements of each group, in order,
+     * using {@code semigroup}, in a single pass.
+     * <p>
+     * Keys are compared with {@code equals}, and {@code Integer} and {@code Long} keys are stored unboxed.  The keys of
+     * the returned map are in the order they were first encountered.
+     *
+     * @param key       a function from an element to its key
+     * @param semigroup the semigroup used to combine the elements of each group, such as a {@code Monoid}
+     * @param <K>       the key type
+     * @return an unmodifiable {@code Map} from each key to the combined elements with that key
+     */
+    default <K> Map<K, A> aggregateBy(Fn1<? super A, ? extends K> key, Semigroup<A> semigroup) {
+        requireNonNull(key);
+        requireNonNull(semigroup);
+        return Grouping.aggregateBy(key, semigroup, this);
+    }
+
     /**
      * Lazily appends an element to the end of this {@code FiniteIterable}, yielding a new {@code NonEmptyFiniteIterable}.
      *
@@ -51,7 +77,88 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default NonEmptyFiniteIterable<A> append(A element) {
-        return EnhancedIterables.unsafeNonEmptyFiniteIterable(Snoc.snoc(element, unwrap(this)));
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(Rope.append(element, this));
+    }
+
+    /**
+     * Lazily filters this {@code FiniteIterable} through a Bloom filter, yielding each element whose hash has not been
+     * seen before, in a fixed amount of memory.
+     * <p>
+     * No element is yielded twice, but a Bloom filter has false positives, so an element that has not been seen may be
+     * dropped.  While no more than {@code expectedDistinct} distinct elements have been seen, each new element is
+     * dropped with a probability of at most {@code falsePositiveProbability}; beyond that, the probability grows.
+     * Each iterator uses its own filter of about {@code -expectedDistinct * ln(falsePositiveProbability) / ln(2)^2}
+     * bits.
+     * <p>
+     * {@code Integer}, {@code Long}, {@code Double} and {@code String} elements are hashed from their values to 64
+     * bits; other elements are hashed from their {@code hashCode}.
+     *
+     * @param expectedDistinct         the number of distinct elements the filter is sized for.  Must be &gt;= 1.
+     * @param falsePositiveProbability the probability of dropping a new element while no more than
+     *                                 {@code expectedDistinct} distinct elements have been seen.  Must be &gt; 0 and
+     *                                 &lt; 1.
+     * @return a {@code FiniteIterable<A>}
+     */
+    @Override
+    default FiniteIterable<A> approxDistinct(long expectedDistinct, double falsePositiveProbability) {
+        Validation.validateApproxDistinct(expectedDistinct, falsePositiveProbability);
+        return EnhancedIterables.finiteIterable(
+                BloomFilter.approxDistinct(expectedDistinct, falsePositiveProbability, this));
+    }
+
+    /**
+     * Estimates the number of distinct elements in this {@code FiniteIterable} with a HyperLogLog sketch, in
+     * {@code 2^precision} bytes of memory.
+     * <p>
+     * The relative standard error of the estimate is about {@code 1.04 / sqrt(2^precision)}: about 1.6% for a
+     * precision of 12 (4 KB), and 0.8% for a precision of 14 (16 KB).  Elements are hashed as for
+     * {@link FiniteIterable#approxDistinct(long, double)}.
+     *
+     * @param precision the base-2 logarithm of the number of registers in the sketch.  Must be between 4 and 18.
+     * @return the estimated number of distinct elements
+     */
+    default long approxDistinctCount(int precision) {
+        Validation.validatePrecision(precision);
+        HyperLogLog sketch = new HyperLogLog(precision);
+        forEach(a -> sketch.add(Hashing.hash64(a)));
+        return sketch.estimate();
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of this {@code FiniteIterable} according to {@code comparator},
+     * in ascending order, or all of its elements if it has fewer than {@code k}.
+     * <p>
+     * The elements are selected eagerly with a bounded heap, in O(n log k) time and holding at most {@code k} elements
+     * in memory.  Ties are broken by position, earliest first, so the result is the same as
+     * {@code sorted(comparator).take(k)}.
+     *
+     * @param k          the maximum number of elements to return.  Must be &gt;= 1.
+     * @param comparator the order of the elements
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    default ImmutableFiniteIterable<A> bottomK(int k, Comparator<? super A> comparator) {
+        Validation.validateK(k);
+        requireNonNull(comparator);
+        return ArrayIterable.fromArray(BoundedHeap.smallest(k, comparator, this));
+    }
+
+    /**
+     * Splits this {@code FiniteIterable} into consecutive, non-overlapping chunks of {@code size} elements.
+     * The last chunk contains the remaining elements, and may be smaller.
+     * <p>
+     * Each chunk is a compact array-backed copy of its elements, with an O(1) {@code size}.
+     * <p>
+     * Example:
+     *
+     * <code>FiniteIterable.of(1, 2, 3, 4, 5).chunked(2); // [[1, 2], [3, 4], [5]]</code>
+     *
+     * @param size the number of elements in each chunk.  Must be &gt;= 1.
+     * @return a {@code FiniteIterable<ImmutableNonEmptyFiniteIterable<A>>}
+     */
+    @Override
+    default FiniteIterable<? extends ImmutableNonEmptyFiniteIterable<A>> chunked(int size) {
+        Validation.validateChunked(size);
+        return EnhancedIterables.finiteIterable(SizedIterable.chunks(Chunked.chunked(size, this), size, this));
     }
 
     /**
@@ -63,7 +170,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     default FiniteIterable<A> concat(FiniteIterable<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(Rope.concat(this, other));
     }
 
     /**
@@ -75,7 +182,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     default FiniteIterable<A> concat(Collection<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(Rope.concat(this, other));
     }
 
     /**
@@ -87,7 +194,23 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     default NonEmptyFiniteIterable<A> concat(NonEmptyFiniteIterable<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.unsafeNonEmptyFiniteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(Rope.concat(this, other));
+    }
+
+    /**
+     * Counts the elements of this {@code FiniteIterable} with each key, in a single pass.
+     * <p>
+     * Keys are compared with {@code equals}, and {@code Integer} and {@code Long} keys are stored unboxed.  The keys of
+     * the returned map are in the order they were first encountered.
+     * Counts are kept in a {@code long} array, so they are only boxed when the result is built.
+     *
+     * @param key a function from an element to its key
+     * @param <K> the key type
+     * @return an unmodifiable {@code Map} from each key to the number of elements with that key
+     */
+    default <K> Map<K, Long> countBy(Fn1<? super A, ? extends K> key) {
+        requireNonNull(key);
+        return Grouping.countBy(key, this);
     }
 
     /**
@@ -99,7 +222,8 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     default <B> FiniteIterable<Tuple2<A, B>> cross(FiniteIterable<B> other) {
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.product(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -111,7 +235,8 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     default <B> FiniteIterable<Tuple2<A, B>> cross(Collection<B> other) {
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.product(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -124,6 +249,53 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
         return EnhancedIterables.cycle(this);
     }
 
+    /**
+     * Splits this {@code FiniteIterable} into {@code n} branches, by the index that {@code classifier} gives each
+     * element, in a single traversal.
+     * <p>
+     * Unlike filtering this {@code FiniteIterable} {@code n} times, the classifier is applied only once per element,
+     * and this {@code FiniteIterable} is iterated only once, by whichever branch needs its next element.  Elements for
+     * the other branches are buffered until those branches consume them.  Only the first iteration of each branch
+     * shares the traversal; iterating a branch again, for example to take its {@code size} and then its elements,
+     * traverses this {@code FiniteIterable} afresh, applying the classifier to every element again.
+     * <p>
+     * Example:
+     *
+     * <code>FiniteIterable.of(1, 2, 3, 4, 5).demux(2, n -&gt; n % 2); // [[2, 4], [1, 3, 5]]</code>
+     *
+     * @param n          the number of branches.  Must be &gt;= 1.
+     * @param classifier a function from an element to the index of its branch, which must be &gt;= 0 and &lt; {@code n}
+     * @return an {@code ImmutableNonEmptyFiniteIterable<FiniteIterable<A>>} of the {@code n} branches
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<A>> demux(int n,
+                                                                              ToIntFunction<? super A> classifier) {
+        return demux(n, Integer.MAX_VALUE, classifier);
+    }
+
+    /**
+     * Splits this {@code FiniteIterable} into {@code n} branches, by the index that {@code classifier} gives each
+     * element, in a single traversal, buffering at most {@code bufferSize} elements for each branch.
+     * <p>
+     * If an element belongs to a branch whose buffer is full, the iterator that pulled it throws an
+     * {@code IllegalStateException}; the element is kept, and buffered by a later pull once its branch has room.
+     * Only the first iteration of each branch shares the traversal; iterating a branch again traverses this
+     * {@code FiniteIterable} afresh, applying the classifier to every element again.
+     *
+     * @param n          the number of branches.  Must be &gt;= 1.
+     * @param bufferSize the maximum number of elements buffered for each branch.  Must be &gt;= 1.
+     * @param classifier a function from an element to the index of its branch, which must be &gt;= 0 and &lt; {@code n}
+     * @return an {@code ImmutableNonEmptyFiniteIterable<FiniteIterable<A>>} of the {@code n} branches
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<A>> demux(int n, int bufferSize,
+                                                                              ToIntFunction<? super A> classifier) {
+        Validation.validateDemux(n);
+        Validation.validateBufferSize(bufferSize);
+        requireNonNull(classifier);
+        return ArrayIterable.wrap(Demux.demux(n, bufferSize, classifier, this, EnhancedIterables::finiteIterable));
+    }
+
     /**
      * Returns a {@code FiniteIterable} of the distinct values from this {@link FiniteIterable}.
      *
@@ -133,6 +305,54 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
         return EnhancedIterables.distinct(this);
     }
 
+    /**
+     * Returns a {@code FiniteIterable} of the distinct values from this {@link FiniteIterable}, holding at most
+     * {@code maxKeysInMemory} values in memory.
+     * <p>
+     * Once {@code maxKeysInMemory} distinct values have been seen, the values are written to sorted run files in a
+     * temporary directory, and this {@code FiniteIterable} is iterated a second time to yield the remaining distinct
+     * values, so it must yield the same elements in the same order each time it is iterated.  Only {@code Integer},
+     * {@code Long} and {@code String} values (and {@code null}) can be written to disk; if any other value needs to be,
+     * iteration throws an {@link IllegalArgumentException}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct values to hold in memory.  Must be &gt;= 1.
+     * @return a {@code FiniteIterable<A>}
+     */
+    default FiniteIterable<A> distinct(int maxKeysInMemory) {
+        return distinctBy(maxKeysInMemory, id());
+    }
+
+    /**
+     * Returns a {@code FiniteIterable} of the first element of this {@link FiniteIterable} for each distinct key.
+     * <p>
+     * Keys are compared using {@code equals} and {@code hashCode}.  {@code Integer} and {@code Long} keys are held
+     * unboxed.
+     *
+     * @param key a function from an element to its key
+     * @return a {@code FiniteIterable<A>}
+     */
+    default FiniteIterable<A> distinctBy(Fn1<? super A, ?> key) {
+        requireNonNull(key);
+        return EnhancedIterables.finiteIterable(Deduplicate.distinctBy(key, this));
+    }
+
+    /**
+     * Returns a {@code FiniteIterable} of the first element of this {@link FiniteIterable} for each distinct key,
+     * holding at most {@code maxKeysInMemory} keys in memory.
+     * <p>
+     * Spills keys to disk in the same way as {@link FiniteIterable#distinct(int)}, so the same restrictions apply to
+     * the keys and to this {@code FiniteIterable}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct keys to hold in memory.  Must be &gt;= 1.
+     * @param key             a function from an element to its key
+     * @return a {@code FiniteIterable<A>}
+     */
+    default FiniteIterable<A> distinctBy(int maxKeysInMemory, Fn1<? super A, ?> key) {
+        Validation.validateMaxKeysInMemory(maxKeysInMemory);
+        requireNonNull(key);
+        return EnhancedIterables.finiteIterable(Deduplicate.distinctBy(maxKeysInMemory, key, this));
+    }
+
     /**
      * Returns a new {@code FiniteIterable} that drops the first {@code count} elements of this {@code FiniteIterable}.
      *
@@ -145,7 +365,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     @Override
     default FiniteIterable<A> drop(int count) {
         Validation.validateDrop(count);
-        return EnhancedIterables.finiteIterable(Drop.drop(count, unwrap(this)));
+        return EnhancedIterables.finiteIterable(SizedIterable.dropping(Drop.drop(count, unwrap(this)), count, this));
     }
 
     /**
@@ -160,7 +380,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     @Override
     default FiniteIterable<A> dropWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return EnhancedIterables.finiteIterable(DropWhile.dropWhile(predicate, unwrap(this)));
+        return EnhancedIterables.finiteIterable(Pipeline.dropWhile(predicate, this));
     }
 
     /**
@@ -173,7 +393,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     @Override
     default FiniteIterable<A> filter(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return EnhancedIterables.finiteIterable(Filter.<A>filter(predicate).apply(unwrap(this)));
+        return EnhancedIterables.finiteIterable(Pipeline.filter(predicate, this));
     }
 
     /**
@@ -188,7 +408,27 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     @Override
     default <B> FiniteIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return EnhancedIterables.finiteIterable(Map.map(f, unwrap(this)));
+        return EnhancedIterables.finiteIterable(Pipeline.map(f, this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a bulk function to consecutive, non-overlapping chunks of
+     * {@code size} elements of this {@code FiniteIterable}, and concatenating the results.
+     * <p>
+     * This is useful when {@code f} has a high fixed cost per call, such as a batched lookup or write.  The chunks are
+     * the same as those of {@link #chunked(int)}.
+     *
+     * @param size the number of elements in each chunk.  Must be &gt;= 1.
+     * @param f    a function from a chunk of elements to the results for that chunk
+     * @param <B>  the result element type
+     * @return a {@code FiniteIterable<B>}
+     */
+    @Override
+    default <B> FiniteIterable<B> fmapChunked(
+            int size, Fn1<? super ImmutableNonEmptyFiniteIterable<A>, ? extends Collection<B>> f) {
+        Validation.validateChunked(size);
+        requireNonNull(f);
+        return EnhancedIterables.finiteIterable(Flatten.flatten(map(f, Chunked.chunked(size, this))));
     }
 
     /**
@@ -207,7 +447,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     default <B> B foldLeft(Fn2<? super B, ? super A, ? extends B> op, B z) {
         requireNonNull(op);
-        return FoldLeft.<A, B>foldLeft(op, z).apply(unwrap(this));
+        return EnhancedIterables.foldLeft(op, z, this);
     }
 
     /**
@@ -232,6 +472,114 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
         return FoldRight.<A, B>foldRight(op, z).apply(unwrap(this));
     }
 
+    /**
+     * Groups the elements of this {@code FiniteIterable} by key, in a single pass.
+     * <p>
+     * Keys are compared with {@code equals}, and {@code Integer} and {@code Long} keys are stored unboxed.  The keys of
+     * the returned map are in the order they were first encountered.
+     * The elements of each group are in their original order.
+     *
+     * @param key a function from an element to its key
+     * @param <K> the key type
+     * @return an unmodifiable {@code Map} from each key to the non-empty group of elements with that key
+     */
+    default <K> Map<K, ImmutableNonEmptyFiniteIterable<A>> groupBy(Fn1<? super A, ? extends K> key) {
+        requireNonNull(key);
+        return Grouping.groupBy(key, this);
+    }
+
+    /**
+     * Returns the full outer equi-join of this {@code FiniteIterable} with another {@code FiniteIterable}, in
+     * O(n + m) time.
+     * <p>
+     * Each pair of elements with equal keys is passed to {@code combiner} as {@link These#both}, each element of this
+     * {@code FiniteIterable} without a match as {@link These#a}, and each element of {@code other} without a match as
+     * {@link These#b}.  The join is computed as described in {@link FiniteIterable#hashJoin}; unmatched elements of the
+     * side that was loaded into memory come last.
+     *
+     * @param other    a {@code FiniteIterable} of any type
+     * @param leftKey  a function from an element of this {@code FiniteIterable} to its key
+     * @param rightKey a function from an element of {@code other} to its key
+     * @param combiner a function from the matched or unmatched elements to a result
+     * @param <B>      the type of the other {@code FiniteIterable}
+     * @param <K>      the key type
+     * @param <C>      the result type
+     * @return a {@code FiniteIterable<C>}
+     */
+    default <B, K, C> FiniteIterable<C> hashFullJoin(FiniteIterable<B> other,
+                                                     Fn1<? super A, ? extends K> leftKey,
+                                                     Fn1<? super B, ? extends K> rightKey,
+                                                     Fn1<? super These<A, B>, ? extends C> combiner) {
+        requireNonNull(other);
+        requireNonNull(leftKey);
+        requireNonNull(rightKey);
+        requireNonNull(combiner);
+        return EnhancedIterables.finiteIterable(Joins.hashJoin(this, other, leftKey, rightKey,
+                (a, b) -> combiner.apply(These.both(a, b)),
+                a -> combiner.apply(These.a(a)),
+                b -> combiner.apply(These.b(b))));
+    }
+
+    /**
+     * Returns the inner equi-join of this {@code FiniteIterable} with another {@code FiniteIterable}, in O(n + m) time,
+     * applying {@code combiner} to each pair of elements with equal keys.  Keys are compared with {@code equals}.
+     * <p>
+     * When iterated, one side is loaded into a hash table by key, and the other side is streamed.  The loaded side is
+     * {@code other}, unless the sizes of both are known and this {@code FiniteIterable} is smaller.  Results follow the
+     * order of the streamed side, and for each of its elements, the order of its matches.
+     *
+     * @param other    a {@code FiniteIterable} of any type
+     * @param leftKey  a function from an element of this {@code FiniteIterable} to its key
+     * @param rightKey a function from an element of {@code other} to its key
+     * @param combiner a function from a pair of matching elements to a result
+     * @param <B>      the type of the other {@code FiniteIterable}
+     * @param <K>      the key type
+     * @param <C>      the result type
+     * @return a {@code FiniteIterable<C>}
+     */
+    default <B, K, C> FiniteIterable<C> hashJoin(FiniteIterable<B> other,
+                                                 Fn1<? super A, ? extends K> leftKey,
+                                                 Fn1<? super B, ? extends K> rightKey,
+                                                 Fn2<? super A, ? super B, ? extends C> combiner) {
+        requireNonNull(other);
+        requireNonNull(leftKey);
+        requireNonNull(rightKey);
+        requireNonNull(combiner);
+        return EnhancedIterables.finiteIterable(Joins.hashJoin(this, other, leftKey, rightKey, combiner, null, null));
+    }
+
+    /**
+     * Returns the left outer equi-join of this {@code FiniteIterable} with another {@code FiniteIterable}, in
+     * O(n + m) time.
+     * <p>
+     * Each pair of elements with equal keys is passed to {@code combiner} with the element of {@code other} in a
+     * {@code just}, and each element of this {@code FiniteIterable} without a match is passed with {@code nothing()}.
+     * The join is computed as described in {@link FiniteIterable#hashJoin}; if this {@code FiniteIterable} is the side
+     * loaded into memory, its unmatched elements come last.
+     *
+     * @param other    a {@code FiniteIterable} of any type
+     * @param leftKey  a function from an element of this {@code FiniteIterable} to its key
+     * @param rightKey a function from an element of {@code other} to its key
+     * @param combiner a function from an element of this {@code FiniteIterable}, and its match if any, to a result
+     * @param <B>      the type of the other {@code FiniteIterable}
+     * @param <K>      the key type
+     * @param <C>      the result type
+     * @return a {@code FiniteIterable<C>}
+     */
+    default <B, K, C> FiniteIterable<C> hashLeftJoin(FiniteIterable<B> other,
+                                                     Fn1<? super A, ? extends K> leftKey,
+                                                     Fn1<? super B, ? extends K> rightKey,
+                                                     Fn2<? super A, ? super Maybe<B>, ? extends C> combiner) {
+        requireNonNull(other);
+        requireNonNull(leftKey);
+        requireNonNull(rightKey);
+        requireNonNull(combiner);
+        return EnhancedIterables.finiteIterable(Joins.hashJoin(this, other, leftKey, rightKey,
+                (a, b) -> combiner.apply(a, just(b)),
+                a -> combiner.apply(a, nothing()),
+                null));
+    }
+
     /**
      * Returns a {@code ImmutableNonEmptyIterable} containing all of the subsequences of initial
      * elements of this {@code FiniteIterable}, ordered by size, starting with the empty list.
@@ -242,7 +590,8 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      * @return a {@code ImmutableNonEmptyFiniteIterable<FiniteIterable<A>>}
      */
     default ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<A>> inits() {
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Map.map(EnhancedIterables::finiteIterable, Inits.inits(unwrap(this))));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sum(map(EnhancedIterables::finiteIterable, Inits.inits(unwrap(this))), 1, this));
     }
 
     /**
@@ -256,7 +605,26 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default FiniteIterable<A> intersperse(A separator) {
-        return EnhancedIterables.finiteIterable(Intersperse.intersperse(separator, unwrap(this)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
+    }
+
+    /**
+     * Returns the {@code k}th smallest element of this {@code FiniteIterable} according to {@code comparator}, counting
+     * from 1, if it has at least {@code k} elements.
+     * <p>
+     * The element is selected with a bounded heap, in O(n log k) time and holding at most {@code k} elements in
+     * memory.  Ties are broken by position, so the result is the same as {@code sorted(comparator).get(k - 1)}.
+     *
+     * @param k          the rank of the element, where 1 is the smallest.  Must be &gt;= 1.
+     * @param comparator the order of the elements
+     * @return a {@code Maybe<A>}, which is {@code nothing()} if this {@code FiniteIterable} has fewer than {@code k}
+     * elements
+     */
+    default Maybe<A> kthSmallest(int k, Comparator<? super A> comparator) {
+        Validation.validateK(k);
+        requireNonNull(comparator);
+        return BoundedHeap.kthSmallest(k, comparator, this);
     }
 
     /**
@@ -275,6 +643,342 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
                 .fmap(EnhancedIterables::unsafeNonEmptyFiniteIterable);
     }
 
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code FiniteIterable}
+     * concurrently, on a shared pool of daemon threads.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code FiniteIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the same order as the elements they were computed from.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param <B>         the type returned by {@code f}
+     * @return a {@code FiniteIterable<B>}
+     */
+    @Override
+    default <B> FiniteIterable<B> mapAsync(int parallelism, Fn1<? super A, ? extends B> f) {
+        return mapAsync(parallelism, f, DaemonExecutor.shared());
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code FiniteIterable}
+     * concurrently, on {@code executor}.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code FiniteIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the same order as the elements they were computed from.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param executor    the {@code Executor} to apply {@code f} on
+     * @param <B>         the type returned by {@code f}
+     * @return a {@code FiniteIterable<B>}
+     */
+    @Override
+    default <B> FiniteIterable<B> mapAsync(int parallelism, Fn1<? super A, ? extends B> f, Executor executor) {
+        Validation.validateParallelism(parallelism);
+        requireNonNull(f);
+        requireNonNull(executor);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.sameSizeAs(AsyncMap.ordered(parallelism, f, this, executor), this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code FiniteIterable}
+     * concurrently, on a shared pool of daemon threads, yielding each result as soon as it is available.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code FiniteIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the order in which the applications of {@code f} complete.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param <B>         the type returned by {@code f}
+     * @return a {@code FiniteIterable<B>}
+     */
+    @Override
+    default <B> FiniteIterable<B> mapAsyncUnordered(int parallelism, Fn1<? super A, ? extends B> f) {
+        return mapAsyncUnordered(parallelism, f, DaemonExecutor.shared());
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code FiniteIterable}
+     * concurrently, on {@code executor}, yielding each result as soon as it is available.
+     * <p>
+     * At most {@code parallelism} applications of {@code f} are in flight at once for each iterator; elements are
+     * pulled from this {@code FiniteIterable} only as far ahead as needed to keep them in flight.  The results are in
+     * the order in which the applications of {@code f} complete.
+     *
+     * @param parallelism the maximum number of applications of {@code f} in flight at once; must be &gt;= 1
+     * @param f           a function from {@code A} to {@code B}; may block, but should not depend on the order in
+     *                    which it is applied
+     * @param executor    the {@code Executor} to apply {@code f} on
+     * @param <B>         the type returned by {@code f}
+     * @return a {@code FiniteIterable<B>}
+     */
+    @Override
+    default <B> FiniteIterable<B> mapAsyncUnordered(int parallelism, Fn1<? super A, ? extends B> f, Executor executor) {
+        Validation.validateParallelism(parallelism);
+        requireNonNull(f);
+        requireNonNull(executor);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.sameSizeAs(AsyncMap.unordered(parallelism, f, this, executor), this));
+    }
+
+    /**
+     * Returns a {@code DoubleFiniteIterable} by applying a function to all elements of this {@code FiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable mapToDouble(ToDoubleFunction<? super A> f) {
+        requireNonNull(f);
+        return DoubleIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code IntFiniteIterable} by applying a function to all elements of this {@code FiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable mapToInt(ToIntFunction<? super A> f) {
+        requireNonNull(f);
+        return IntIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns a {@code LongFiniteIterable} by applying a function to all elements of this {@code FiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable mapToLong(ToLongFunction<? super A> f) {
+        requireNonNull(f);
+        return LongIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns the inner equi-join of this {@code FiniteIterable} with another {@code FiniteIterable}, both of which
+     * must already be in ascending order of their keys, applying {@code combiner} to each pair of elements with equal
+     * keys.
+     * <p>
+     * Both sides are streamed together in O(n + m) time.  Only the elements of {@code other} that share the current
+     * key are buffered, so if the keys of {@code other} are unique, at most one element is.  Results follow the order
+     * of this {@code FiniteIterable}, and for each of its elements, the order of its matches.  Iteration throws an
+     * {@link IllegalArgumentException} if either side turns out not to be in order.
+     *
+     * @param other    a {@code FiniteIterable} of any type, in ascending order of {@code rightKey}
+     * @param leftKey  a function from an element of this {@code FiniteIterable} to its key, which must not be null
+     * @param rightKey a function from an element of {@code other} to its key, which must not be null
+     * @param combiner a function from a pair of matching elements to a result
+     * @param <B>      the type of the other {@code FiniteIterable}
+     * @param <K>      the key type
+     * @param <C>      the result type
+     * @return a {@code FiniteIterable<C>}
+     */
+    default <B, K extends Comparable<? super K>, C> FiniteIterable<C> mergeJoin(
+            FiniteIterable<B> other,
+            Fn1<? super A, ? extends K> leftKey,
+            Fn1<? super B, ? extends K> rightKey,
+            Fn2<? super A, ? super B, ? extends C> combiner) {
+        requireNonNull(other);
+        requireNonNull(leftKey);
+        requireNonNull(rightKey);
+        requireNonNull(combiner);
+        return EnhancedIterables.finiteIterable(Joins.mergeJoin(this, other, leftKey, rightKey, combiner));
+    }
+
+    /**
+     * Groups the elements of this {@code FiniteIterable} by key, and combines the elements of each group using
+     * {@code semigroup}, splitting the work across the common {@code ForkJoinPool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is grouped separately, and the groups of adjacent pieces are merged in
+     * order, so the result is the same as that of {@link FiniteIterable#aggregateBy}.
+     *
+     * @param key       a function from an element to its key
+     * @param semigroup the semigroup used to combine the elements of each group, such as a {@code Monoid}
+     * @param <K>       the key type
+     * @return an unmodifiable {@code Map} from each key to the combined elements with that key
+     */
+    default <K> Map<K, A> parallelAggregateBy(Fn1<? super A, ? extends K> key, Semigroup<A> semigroup) {
+        return parallelAggregateBy(key, semigroup, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Groups the elements of this {@code FiniteIterable} by key, and combines the elements of each group using
+     * {@code semigroup}, splitting the work across {@code pool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is grouped separately, and the groups of adjacent pieces are merged in
+     * order, so the result is the same as that of {@link FiniteIterable#aggregateBy}.
+     *
+     * @param key       a function from an element to its key
+     * @param semigroup the semigroup used to combine the elements of each group, such as a {@code Monoid}
+     * @param pool      the {@code ForkJoinPool} to run in
+     * @param <K>       the key type
+     * @return an unmodifiable {@code Map} from each key to the combined elements with that key
+     */
+    default <K> Map<K, A> parallelAggregateBy(Fn1<? super A, ? extends K> key, Semigroup<A> semigroup,
+                                                        ForkJoinPool pool) {
+        requireNonNull(key);
+        requireNonNull(semigroup);
+        requireNonNull(pool);
+        return Grouping.aggregateBy(key, semigroup, spliterator(), pool);
+    }
+
+    /**
+     * Counts the elements of this {@code FiniteIterable} with each key, splitting the work across the common
+     * {@code ForkJoinPool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is grouped separately, and the groups of adjacent pieces are merged in
+     * order, so the result is the same as that of {@link FiniteIterable#countBy}.
+     *
+     * @param key  a function from an element to its key
+     * @param <K>  the key type
+     * @return an unmodifiable {@code Map} from each key to the number of elements with that key
+     */
+    default <K> Map<K, Long> parallelCountBy(Fn1<? super A, ? extends K> key) {
+        return parallelCountBy(key, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Counts the elements of this {@code FiniteIterable} with each key, splitting the work across {@code pool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is grouped separately, and the groups of adjacent pieces are merged in
+     * order, so the result is the same as that of {@link FiniteIterable#countBy}.
+     *
+     * @param key  a function from an element to its key
+     * @param pool the {@code ForkJoinPool} to run in
+     * @param <K>  the key type
+     * @return an unmodifiable {@code Map} from each key to the number of elements with that key
+     */
+    default <K> Map<K, Long> parallelCountBy(Fn1<? super A, ? extends K> key, ForkJoinPool pool) {
+        requireNonNull(key);
+        requireNonNull(pool);
+        return Grouping.countBy(key, spliterator(), pool);
+    }
+
+    /**
+     * Maps each element of this {@code FiniteIterable} to a value of a monoid and combines the results, splitting the
+     * work across the common {@code ForkJoinPool}.
+     *
+     * @param monoid the monoid used to combine the mapped values
+     * @param f      the mapping function; should be referentially transparent and not have side-effects
+     * @param <B>    the monoid type
+     * @return the result of combining the mapped elements in order, or the identity of {@code monoid} if this
+     * {@code FiniteIterable} is empty
+     */
+    default <B> B parallelFoldMap(Monoid<B> monoid, Fn1<? super A, ? extends B> f) {
+        return parallelFoldMap(monoid, f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Maps each element of this {@code FiniteIterable} to a value of a monoid and combines the results, splitting the
+     * work across {@code pool}.
+     *
+     * @param monoid the monoid used to combine the mapped values
+     * @param f      the mapping function; should be referentially transparent and not have side-effects
+     * @param pool   the {@code ForkJoinPool} to run in
+     * @param <B>    the monoid type
+     * @return the result of combining the mapped elements in order, or the identity of {@code monoid} if this
+     * {@code FiniteIterable} is empty
+     */
+    default <B> B parallelFoldMap(Monoid<B> monoid, Fn1<? super A, ? extends B> f, ForkJoinPool pool) {
+        requireNonNull(monoid);
+        requireNonNull(f);
+        requireNonNull(pool);
+        return ParallelFold.foldLeft(spliterator(), monoid.identity(), (acc, a) -> monoid.apply(acc, f.apply(a)),
+                monoid, pool);
+    }
+
+    /**
+     * Groups the elements of this {@code FiniteIterable} by key, splitting the work across the common
+     * {@code ForkJoinPool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is grouped separately, and the groups of adjacent pieces are merged in
+     * order, so the result is the same as that of {@link FiniteIterable#groupBy}.
+     *
+     * @param key  a function from an element to its key
+     * @param <K>  the key type
+     * @return an unmodifiable {@code Map} from each key to the non-empty group of elements with that key
+     */
+    default <K> Map<K, ImmutableNonEmptyFiniteIterable<A>> parallelGroupBy(Fn1<? super A, ? extends K> key) {
+        return parallelGroupBy(key, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Groups the elements of this {@code FiniteIterable} by key, splitting the work across {@code pool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is grouped separately, and the groups of adjacent pieces are merged in
+     * order, so the result is the same as that of {@link FiniteIterable#groupBy}.
+     *
+     * @param key  a function from an element to its key
+     * @param pool the {@code ForkJoinPool} to run in
+     * @param <K>  the key type
+     * @return an unmodifiable {@code Map} from each key to the non-empty group of elements with that key
+     */
+    default <K> Map<K, ImmutableNonEmptyFiniteIterable<A>> parallelGroupBy(Fn1<? super A, ? extends K> key,
+                                                                                     ForkJoinPool pool) {
+        requireNonNull(key);
+        requireNonNull(pool);
+        return Grouping.groupBy(key, spliterator(), pool);
+    }
+
+    /**
+     * Reduces this {@code FiniteIterable}, splitting the work across the common {@code ForkJoinPool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is folded from left to right using {@code op}, starting with
+     * {@code identity}, and the partial results are combined in order using {@code combiner}.  Therefore
+     * {@code identity} must be an identity for {@code combiner}, {@code combiner} must be associative, and
+     * {@code combiner(b, op(identity, a))} must equal {@code op(b, a)}.
+     *
+     * @param identity the start value for each piece
+     * @param op       the binary operator (accumulator on the left, item on the right)
+     * @param combiner combines two partial results
+     * @param <B>      the result type
+     * @return the combined result, or {@code identity} if this {@code FiniteIterable} is empty
+     */
+    default <B> B parallelReduce(B identity, Fn2<? super B, ? super A, ? extends B> op,
+                                 Fn2<? super B, ? super B, ? extends B> combiner) {
+        return parallelReduce(identity, op, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reduces this {@code FiniteIterable}, splitting the work across {@code pool}.
+     * <p>
+     * Each piece of this {@code FiniteIterable} is folded from left to right using {@code op}, starting with
+     * {@code identity}, and the partial results are combined in order using {@code combiner}.  Therefore
+     * {@code identity} must be an identity for {@code combiner}, {@code combiner} must be associative, and
+     * {@code combiner(b, op(identity, a))} must equal {@code op(b, a)}.
+     *
+     * @param identity the start value for each piece
+     * @param op       the binary operator (accumulator on the left, item on the right)
+     * @param combiner combines two partial results
+     * @param pool     the {@code ForkJoinPool} to run in
+     * @param <B>      the result type
+     * @return the combined result, or {@code identity} if this {@code FiniteIterable} is empty
+     */
+    default <B> B parallelReduce(B identity, Fn2<? super B, ? super A, ? extends B> op,
+                                 Fn2<? super B, ? super B, ? extends B> combiner, ForkJoinPool pool) {
+        requireNonNull(op);
+        requireNonNull(combiner);
+        requireNonNull(pool);
+        return ParallelFold.foldLeft(spliterator(), identity, op, combiner, pool);
+    }
+
     /**
      * Partitions this {@code FiniteIterable} given a disjoint mapping function.
      *
@@ -292,6 +996,47 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
                 EnhancedIterables.finiteIterable(partitionResult._2()));
     }
 
+    /**
+     * Returns a new {@code FiniteIterable} whose iterators pull the elements of this {@code FiniteIterable} ahead of
+     * time on a shared pool of daemon threads, so that producing elements overlaps with consuming them.
+     * <p>
+     * Each iterator runs its own producer, which stays at most {@code bufferSize} elements ahead of the consumer.
+     * An exception thrown while producing an element is rethrown from the iterator once the elements before it have
+     * been consumed.  The iterators are {@link CloseableIterator}s: a producer stops when its iterator is exhausted
+     * or closed, or, if it is abandoned without being closed, once it has been garbage collected.
+     *
+     * @param bufferSize the maximum number of elements produced ahead of the consumer; must be &gt;= 1
+     * @return a {@code FiniteIterable<A>}
+     */
+    @Override
+    default FiniteIterable<A> prefetch(int bufferSize) {
+        return prefetch(bufferSize, DaemonExecutor.shared());
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} whose iterators pull the elements of this {@code FiniteIterable} ahead of
+     * time on {@code executor}, so that producing elements overlaps with consuming them.
+     * <p>
+     * Each iterator runs its own producer, which stays at most {@code bufferSize} elements ahead of the consumer and
+     * occupies a thread of {@code executor} until it stops.  An exception thrown while producing an element is
+     * rethrown from the iterator once the elements before it have been consumed.  The iterators are
+     * {@link CloseableIterator}s: a producer stops when its iterator is exhausted or closed, or, if it is abandoned
+     * without being closed, once it has been garbage collected.  Closing an iterator interrupts its producer if it is
+     * running.  If the consumer is interrupted while waiting for an element, the iterator throws a
+     * {@code CompletionException} and leaves the interrupt status set.
+     *
+     * @param bufferSize the maximum number of elements produced ahead of the consumer; must be &gt;= 1
+     * @param executor   the {@code Executor} to run producers on
+     * @return a {@code FiniteIterable<A>}
+     */
+    @Override
+    default FiniteIterable<A> prefetch(int bufferSize, Executor executor) {
+        Validation.validateBufferSize(bufferSize);
+        requireNonNull(executor);
+        return EnhancedIterables.finiteIterable(SizedIterable.sameSizeAs(Prefetch.prefetch(bufferSize, this, executor),
+                this));
+    }
+
     /**
      * Lazily prepends an element to the front of this {@code FiniteIterable}, yielding a new {@code NonEmptyFiniteIterable}.
      *
@@ -300,7 +1045,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default NonEmptyFiniteIterable<A> prepend(A element) {
-        return EnhancedIterables.unsafeNonEmptyFiniteIterable(Cons.cons(element, unwrap(this)));
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(Rope.prepend(element, this));
     }
 
     /**
@@ -314,7 +1059,8 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default FiniteIterable<A> prependAll(A separator) {
-        return EnhancedIterables.finiteIterable(PrependAll.prependAll(separator, unwrap(this)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -325,7 +1071,69 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      * @return a {@code FiniteIterable<A>}
      */
     default FiniteIterable<A> reverse() {
-        return EnhancedIterables.finiteIterable(Reverse.reverse(unwrap(this)));
+        return EnhancedIterables.finiteIterable(SizedIterable.sameSizeAs(Reverse.reverse(unwrap(this)), this));
+    }
+
+    /**
+     * Returns a uniformly random sample of {@code k} elements of this {@code FiniteIterable}, or all of its elements if
+     * it has fewer than {@code k}, using {@link ThreadLocalRandom}.
+     *
+     * @param k the number of elements to sample.  Must be &gt;= 1.
+     * @return an {@code ImmutableFiniteIterable<A>}
+     * @see FiniteIterable#sample(int, Random)
+     */
+    default ImmutableFiniteIterable<A> sample(int k) {
+        return sample(k, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a uniformly random sample of {@code k} elements of this {@code FiniteIterable}, or all of its elements if
+     * it has fewer than {@code k}, in the order they appear in this {@code FiniteIterable}.
+     * <p>
+     * The sample is taken eagerly in a single pass with reservoir sampling, holding at most {@code k} elements in
+     * memory.  Rather than drawing a random number for every element, the number of elements to skip before the next
+     * one that enters the sample is drawn directly (Algorithm L), so only O(k log(n / k)) random numbers are drawn.  If
+     * this {@code FiniteIterable} is backed by a random-access {@code List}, skipped elements are not read at all.
+     *
+     * @param k      the number of elements to sample.  Must be &gt;= 1.
+     * @param random the source of randomness
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    default ImmutableFiniteIterable<A> sample(int k, Random random) {
+        Validation.validateK(k);
+        requireNonNull(random);
+        return ArrayIterable.fromArray(Sampling.sample(k, random, this));
+    }
+
+    /**
+     * Returns a random sample of this {@code FiniteIterable} in which each element is included with probability
+     * {@code p}, independently, using {@link ThreadLocalRandom}.
+     *
+     * @param p the probability that each element is included.  Must be &gt;= 0 and &lt;= 1.
+     * @return an {@code ImmutableFiniteIterable<A>}
+     * @see FiniteIterable#sampleFraction(double, Random)
+     */
+    default ImmutableFiniteIterable<A> sampleFraction(double p) {
+        return sampleFraction(p, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a random sample of this {@code FiniteIterable} in which each element is included with probability
+     * {@code p}, independently, in the order they appear in this {@code FiniteIterable}.
+     * <p>
+     * The sample is taken eagerly in a single pass.  Rather than drawing a random number for every element, the
+     * geometrically distributed number of elements to skip before the next included one is drawn directly, so about
+     * {@code p * n} random numbers are drawn.  If this {@code FiniteIterable} is backed by a random-access
+     * {@code List}, skipped elements are not read at all.
+     *
+     * @param p      the probability that each element is included.  Must be &gt;= 0 and &lt;= 1.
+     * @param random the source of randomness
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    default ImmutableFiniteIterable<A> sampleFraction(double p, Random random) {
+        Validation.validateFraction(p);
+        requireNonNull(random);
+        return ArrayIterable.fromArray(Sampling.sampleFraction(p, random, this));
     }
 
     /**
@@ -353,8 +1161,141 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     @Override
     default FiniteIterable<? extends NonEmptyFiniteIterable<A>> slide(int k) {
         Validation.validateSlide(k);
-        return EnhancedIterables.finiteIterable(Map.map(EnhancedIterables::unsafeNonEmptyFiniteIterable,
-                Slide.slide(k, unwrap(this))));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.windows(map(EnhancedIterables::unsafeNonEmptyFiniteIterable,
+                        Slide.slide(k, unwrap(this))), k, this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} containing a fold of each window of {@code k} consecutive elements of this
+     * {@code FiniteIterable}.
+     * <p>
+     * Rather than folding each window from scratch, the fold is updated as the window slides: {@code add} is applied to
+     * each element as it enters the window, and {@code remove} to each element as it leaves.  Each element is therefore
+     * processed in O(1) time, regardless of {@code k}.  {@code remove} must undo {@code add}, so that removing the
+     * oldest element of a window from its fold gives the fold of the rest of the window.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code FiniteIterable} has fewer
+     * than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>
+     * FiniteIterable.of(1, 2, 3, 4, 5).slidingFold(3, 0, Integer::sum, (acc, x) -&gt; acc - x); // [6, 9, 12]
+     * </code>
+     *
+     * @param k      the number of elements in each window.  Must be &gt;= 1.
+     * @param z      the fold of an empty window
+     * @param add    adds an element to the fold of a window
+     * @param remove removes an element from the fold of a window
+     * @param <B>    the result type
+     * @return a {@code FiniteIterable<B>}
+     */
+    @Override
+    default <B> FiniteIterable<B> slidingFold(int k, B z, Fn2<? super B, ? super A, ? extends B> add,
+                                              Fn2<? super B, ? super A, ? extends B> remove) {
+        Validation.validateSlide(k);
+        requireNonNull(add);
+        requireNonNull(remove);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.windows(SlidingWindow.fold(k, z, add, remove, this), k, this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} containing the elements of each window of {@code k} consecutive elements of
+     * this {@code FiniteIterable}, combined using a semigroup.
+     * <p>
+     * The semigroup only needs to be associative; it need not have an inverse.  Partial results are shared between
+     * overlapping windows, so each window costs amortized O(1) applications of the semigroup, regardless of {@code k}.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code FiniteIterable} has fewer
+     * than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>FiniteIterable.of(3, 1, 4, 1, 5).slidingReduce(2, Math::max); // [3, 4, 4, 5]</code>
+     *
+     * @param k         the number of elements in each window.  Must be &gt;= 1.
+     * @param semigroup the associative operator to combine elements with
+     * @return a {@code FiniteIterable<A>}
+     */
+    @Override
+    default FiniteIterable<A> slidingReduce(int k, Semigroup<A> semigroup) {
+        Validation.validateSlide(k);
+        requireNonNull(semigroup);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.windows(SlidingWindow.reduce(k, semigroup, this), k, this));
+    }
+
+    /**
+     * Returns a {@code FiniteIterable} of the elements of this {@code FiniteIterable} in ascending order of their keys.
+     * The sort is stable, and happens in memory each time the result is iterated.
+     * <p>
+     * Each element's key is computed once per sort.  If every key is an {@code Integer}, the keys are sorted as
+     * primitives.
+     *
+     * @param key a function from an element to its key
+     * @param <B> the key type
+     * @return a {@code FiniteIterable<A>}
+     */
+    default <B extends Comparable<? super B>> FiniteIterable<A> sortBy(Fn1<? super A, ? extends B> key) {
+        requireNonNull(key);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(ExternalSort.UNBOUNDED, key, this), this));
+    }
+
+    /**
+     * Returns a {@code FiniteIterable} of the elements of this {@code FiniteIterable} in ascending order of their keys,
+     * holding at most {@code maxElementsInMemory} elements in memory.
+     * <p>
+     * Spills to disk in the same way as {@link FiniteIterable#sorted(int, Comparator)}, so the same restrictions apply.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param key                 a function from an element to its key
+     * @param <B>                 the key type
+     * @return a {@code FiniteIterable<A>}
+     */
+    default <B extends Comparable<? super B>> FiniteIterable<A> sortBy(int maxElementsInMemory,
+                                                                       Fn1<? super A, ? extends B> key) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(key);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(maxElementsInMemory, key, this), this));
+    }
+
+    /**
+     * Returns a {@code FiniteIterable} of the elements of this {@code FiniteIterable} in the order given by
+     * {@code comparator}.  The sort is stable, and happens in memory each time the result is iterated.
+     *
+     * @param comparator the order of the elements
+     * @return a {@code FiniteIterable<A>}
+     */
+    default FiniteIterable<A> sorted(Comparator<? super A> comparator) {
+        requireNonNull(comparator);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(ExternalSort.UNBOUNDED, comparator, this), this));
+    }
+
+    /**
+     * Returns a {@code FiniteIterable} of the elements of this {@code FiniteIterable} in the order given by
+     * {@code comparator}, holding at most {@code maxElementsInMemory} elements in memory.  The sort is stable.
+     * <p>
+     * If this {@code FiniteIterable} has no more than {@code maxElementsInMemory} elements, it is sorted in memory.
+     * Otherwise, each {@code maxElementsInMemory} elements are sorted and written to a run file in a temporary
+     * directory, and the runs are merged as the result is iterated.  Elements are written with Java serialization, so
+     * they must be {@link java.io.Serializable}; if they are not, iteration throws an {@link IllegalArgumentException}.
+     * Run files are deleted once the merge is exhausted or its iterator, a {@link CloseableIterator}, is closed; the
+     * runs of an iterator abandoned without being closed are deleted soon after it has been garbage collected.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param comparator          the order of the elements
+     * @return a {@code FiniteIterable<A>}
+     */
+    default FiniteIterable<A> sorted(int maxElementsInMemory, Comparator<? super A> comparator) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(comparator);
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(maxElementsInMemory, comparator, this), this));
     }
 
     /**
@@ -383,7 +1324,8 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default ImmutableNonEmptyIterable<? extends FiniteIterable<A>> tails() {
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Map.map(EnhancedIterables::finiteIterable, Tails.tails(unwrap(this))));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(
+                SizedIterable.sum(map(EnhancedIterables::finiteIterable, Tails.tails(unwrap(this))), 1, this));
     }
 
     /**
@@ -398,7 +1340,7 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     @Override
     default FiniteIterable<A> takeWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return EnhancedIterables.finiteIterable(TakeWhile.takeWhile(predicate, unwrap(this)));
+        return EnhancedIterables.finiteIterable(Pipeline.takeWhile(predicate, this));
     }
 
     /**
@@ -423,6 +1365,24 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
                 .fmap(EnhancedIterables::unsafeNonEmptyFiniteIterable);
     }
 
+    /**
+     * Returns the {@code k} largest elements of this {@code FiniteIterable} according to {@code comparator},
+     * in descending order, or all of its elements if it has fewer than {@code k}.
+     * <p>
+     * The elements are selected eagerly with a bounded heap, in O(n log k) time and holding at most {@code k} elements
+     * in memory.  Ties are broken by position, earliest first, so the result is the same as
+     * {@code sorted(comparator.reversed()).take(k)}.
+     *
+     * @param k          the maximum number of elements to return.  Must be &gt;= 1.
+     * @param comparator the order of the elements
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    default ImmutableFiniteIterable<A> topK(int k, Comparator<? super A> comparator) {
+        Validation.validateK(k);
+        requireNonNull(comparator);
+        return ArrayIterable.fromArray(BoundedHeap.smallest(k, comparator.reversed(), this));
+    }
+
     /**
      * Zips together this {@code FiniteIterable} with another {@code Iterable} by applying a zipping function.
      * <p>
@@ -440,7 +1400,8 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
     default <B, C> FiniteIterable<C> zipWith(Fn2<A, B, C> fn, Iterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.finiteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.finiteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -523,6 +1484,26 @@ public interface FiniteIterable<A> extends EnhancedIterable<A> {
         return enhance(iterable).take(maxCount);
     }
 
+    /**
+     * Lazily merges a finite number of {@code FiniteIterable}s, each of which must already be in the order given by
+     * {@code comparator}, into a {@code FiniteIterable} in that order.
+     * <p>
+     * The merge uses a tournament tree of losers, which costs about {@code log2(k)} comparisons per element for
+     * {@code k} sources, and holds only the current element of each source.  Ties are yielded in the order of the
+     * sources, so the merge is stable.
+     *
+     * @param comparator the order of the elements
+     * @param sources    the {@code FiniteIterable}s to merge
+     * @param <A>        the element type
+     * @return a {@code FiniteIterable<A>}
+     */
+    static <A> FiniteIterable<A> mergeSorted(Comparator<? super A> comparator,
+                                             Iterable<? extends FiniteIterable<A>> sources) {
+        requireNonNull(comparator);
+        requireNonNull(sources);
+        return EnhancedIterables.finiteIterable(LoserTree.merge(comparator, sources));
+    }
+
     /**
      * Creates a {@code FiniteIterable} containing the given elements.
      * <p>
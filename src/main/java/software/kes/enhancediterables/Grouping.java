@@ -0,0 +1,238 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.semigroup.Semigroup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Groups elements by key in a single pass, for {@code groupBy}, {@code countBy} and {@code aggregateBy}.
+ * <p>
+ * Keys are numbered densely by a {@link KeyIndex}, and the state of each group lives in arrays indexed by that number,
+ * so counting boxes nothing until the result is built.  In parallel, each piece of the source is grouped separately,
+ * and the groups of adjacent pieces are merged in encounter order.  Either way, the keys of the resulting map, and the
+ * elements of each group, are in the order they were first encountered.
+ */
+final class Grouping {
+
+    private Grouping() {
+    }
+
+    static <A, K> Map<K, ImmutableNonEmptyFiniteIterable<A>> groupBy(Fn1<? super A, ? extends K> key,
+                                                                     Iterable<A> source) {
+        return group(() -> new Lists<A, K>(key), source);
+    }
+
+    static <A, K> Map<K, ImmutableNonEmptyFiniteIterable<A>> groupBy(Fn1<? super A, ? extends K> key,
+                                                                     Spliterator<A> source, ForkJoinPool pool) {
+        return group(() -> new Lists<A, K>(key), source, pool);
+    }
+
+    static <A, K> Map<K, Long> countBy(Fn1<? super A, ? extends K> key, Iterable<A> source) {
+        return group(() -> new Counts<A, K>(key), source);
+    }
+
+    static <A, K> Map<K, Long> countBy(Fn1<? super A, ? extends K> key, Spliterator<A> source, ForkJoinPool pool) {
+        return group(() -> new Counts<A, K>(key), source, pool);
+    }
+
+    static <A, K> Map<K, A> aggregateBy(Fn1<? super A, ? extends K> key, Semigroup<A> semigroup, Iterable<A> source) {
+        return group(() -> new Aggregates<A, K>(key, semigroup), source);
+    }
+
+    static <A, K> Map<K, A> aggregateBy(Fn1<? super A, ? extends K> key, Semigroup<A> semigroup,
+                                        Spliterator<A> source, ForkJoinPool pool) {
+        return group(() -> new Aggregates<A, K>(key, semigroup), source, pool);
+    }
+
+    private static <A, K, V> Map<K, V> group(Supplier<Groups<A, K, V>> groups, Iterable<A> source) {
+        Groups<A, K, V> result = groups.get();
+        source.forEach(result::add);
+        return result.toMap();
+    }
+
+    private static <A, K, V> Map<K, V> group(Supplier<Groups<A, K, V>> groups, Spliterator<A> source,
+                                             ForkJoinPool pool) {
+        return ParallelFold.<A, Groups<A, K, V>>collect(source, groups,
+                (result, a) -> {
+                    result.add(a);
+                    return result;
+                },
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                }, pool).toMap();
+    }
+
+    /**
+     * The groups of some elements.  Subclasses keep the state of group {@code g} at index {@code g} of their arrays,
+     * and double them when a new group does not fit.
+     */
+    private abstract static class Groups<A, K, V> {
+        private final Fn1<? super A, ? extends K> key;
+        final KeyIndex index = new KeyIndex();
+
+        Groups(Fn1<? super A, ? extends K> key) {
+            this.key = key;
+        }
+
+        abstract void accept(int group, boolean isNew, A a);
+
+        abstract void mergeGroup(int group, boolean isNew, Groups<A, K, V> other, int otherGroup);
+
+        abstract V result(int group);
+
+        final void add(A a) {
+            int size = index.size();
+            int group = index.indexOf(key.apply(a));
+            accept(group, group == size, a);
+        }
+
+        final void merge(Groups<A, K, V> other) {
+            for (int otherGroup = 0; otherGroup < other.index.size(); otherGroup++) {
+                int size = index.size();
+                int group = index.indexOf(other.index.key(otherGroup));
+                mergeGroup(group, group == size, other, otherGroup);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        final Map<K, V> toMap() {
+            Map<K, V> result = new LinkedHashMap<>(Math.max(16, (int) (index.size() / 0.75f) + 1));
+            for (int group = 0; group < index.size(); group++) {
+                result.put((K) index.key(group), result(group));
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        static int grow(int length) {
+            return Math.max(16, length << 1);
+        }
+    }
+
+    private static final class Lists<A, K> extends Groups<A, K, ImmutableNonEmptyFiniteIterable<A>> {
+        private Object[][] elements = new Object[0][];
+        private int[] sizes = new int[0];
+
+        private Lists(Fn1<? super A, ? extends K> key) {
+            super(key);
+        }
+
+        @Override
+        void accept(int group, boolean isNew, A a) {
+            if (isNew) {
+                newGroup(group, new Object[4], 0);
+            }
+            Object[] list = elements[group];
+            if (sizes[group] == list.length) {
+                list = elements[group] = Arrays.copyOf(list, list.length << 1);
+            }
+            list[sizes[group]++] = a;
+        }
+
+        @Override
+        void mergeGroup(int group, boolean isNew, Groups<A, K, ImmutableNonEmptyFiniteIterable<A>> other,
+                        int otherGroup) {
+            Lists<A, K> that = (Lists<A, K>) other;
+            int count = that.sizes[otherGroup];
+            if (isNew) {
+                newGroup(group, that.elements[otherGroup], count);
+                return;
+            }
+            int size = sizes[group];
+            if (size + count > elements[group].length) {
+                elements[group] = Arrays.copyOf(elements[group], Math.max(size + count, elements[group].length << 1));
+            }
+            System.arraycopy(that.elements[otherGroup], 0, elements[group], size, count);
+            sizes[group] = size + count;
+        }
+
+        @Override
+        ImmutableNonEmptyFiniteIterable<A> result(int group) {
+            Object[] list = elements[group];
+            return ArrayIterable.wrap(sizes[group] == list.length ? list : Arrays.copyOf(list, sizes[group]));
+        }
+
+        private void newGroup(int group, Object[] list, int size) {
+            if (group >= elements.length) {
+                elements = Arrays.copyOf(elements, grow(elements.length));
+                sizes = Arrays.copyOf(sizes, elements.length);
+            }
+            elements[group] = list;
+            sizes[group] = size;
+        }
+    }
+
+    private static final class Counts<A, K> extends Groups<A, K, Long> {
+        private long[] counts = new long[0];
+
+        private Counts(Fn1<? super A, ? extends K> key) {
+            super(key);
+        }
+
+        @Override
+        void accept(int group, boolean isNew, A a) {
+            if (isNew && group >= counts.length) {
+                counts = Arrays.copyOf(counts, grow(counts.length));
+            }
+            counts[group]++;
+        }
+
+        @Override
+        void mergeGroup(int group, boolean isNew, Groups<A, K, Long> other, int otherGroup) {
+            if (isNew && group >= counts.length) {
+                counts = Arrays.copyOf(counts, grow(counts.length));
+            }
+            counts[group] += ((Counts<A, K>) other).counts[otherGroup];
+        }
+
+        @Override
+        Long result(int group) {
+            return counts[group];
+        }
+    }
+
+    private static final class Aggregates<A, K> extends Groups<A, K, A> {
+        private final Semigroup<A> semigroup;
+        private Object[] values = new Object[0];
+
+        private Aggregates(Fn1<? super A, ? extends K> key, Semigroup<A> semigroup) {
+            super(key);
+            this.semigroup = semigroup;
+        }
+
+        @Override
+        void accept(int group, boolean isNew, A a) {
+            accumulate(group, isNew, a);
+        }
+
+        @Override
+        void mergeGroup(int group, boolean isNew, Groups<A, K, A> other, int otherGroup) {
+            accumulate(group, isNew, ((Aggregates<A, K>) other).result(otherGroup));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        A result(int group) {
+            return (A) values[group];
+        }
+
+        private void accumulate(int group, boolean isNew, A a) {
+            if (isNew) {
+                if (group >= values.length) {
+                    values = Arrays.copyOf(values, grow(values.length));
+                }
+                values[group] = a;
+            } else {
+                values[group] = semigroup.apply(result(group), a);
+            }
+        }
+    }
+
+}
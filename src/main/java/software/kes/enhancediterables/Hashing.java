@@ -0,0 +1,62 @@
+package software.kes.enhancediterables;
+
+/**
+ * 64-bit hashes of elements, for the approximate operations, which need more than the 32 bits of {@code hashCode} to
+ * stay accurate over billions of distinct elements.
+ * <p>
+ * {@code Integer}, {@code Long} and {@code Double} elements are hashed from their values, and {@code String}s from
+ * their characters, so distinct values of these types only share a hash by a genuine 64-bit collision.  Each type is
+ * seeded with its own constant before mixing, so that values which are not {@code equals} but have the same bits,
+ * such as {@code 5}, {@code 5L} and the {@code Double} whose bits are {@code 5L}, hash differently.  Other elements
+ * are hashed from their {@code hashCode}, so elements with equal hash codes are indistinguishable.
+ */
+final class Hashing {
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final long NULL_HASH = 0x9E3779B97F4A7C15L;
+    private static final long INTEGER_SEED = 0x5851F42D4C957F2DL;
+    private static final long LONG_SEED = 0x14057B7EF767814FL;
+    private static final long DOUBLE_SEED = 0xD1B54A32D192ED03L;
+    private static final long HASH_CODE_SEED = 0xAEF17502108EF2D9L;
+
+    private Hashing() {
+    }
+
+    static long hash64(Object element) {
+        if (element instanceof Integer) {
+            return mix((Integer) element ^ INTEGER_SEED);
+        } else if (element instanceof Long) {
+            return mix((Long) element ^ LONG_SEED);
+        } else if (element instanceof Double) {
+            return mix(Double.doubleToLongBits((Double) element) ^ DOUBLE_SEED);
+        } else if (element instanceof String) {
+            return hashString((String) element);
+        } else if (element == null) {
+            return NULL_HASH;
+        } else {
+            return mix(element.hashCode() ^ HASH_CODE_SEED);
+        }
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads every input bit over every output bit.  It is a bijection, so it
+     * introduces no collisions of its own.
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long hashString(String s) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+}
@@ -0,0 +1,61 @@
+package software.kes.enhancediterables;
+
+/**
+ * A HyperLogLog sketch, which estimates the number of distinct 64-bit hashes added to it in {@code 2^precision} bytes.
+ * <p>
+ * The top {@code precision} bits of each hash select a register, which keeps the longest run of leading zeros seen in
+ * the remaining bits.  The estimate is the bias-corrected harmonic mean of the registers, switching to linear counting
+ * of the empty registers for small cardinalities.  The relative standard error is about
+ * {@code 1.04 / sqrt(2^precision)}.  Hashes are 64 bits wide, so no correction is needed for large cardinalities.
+ */
+final class HyperLogLog {
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    void add(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && empty > 0) {
+            estimate = m * Math.log((double) m / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+}
@@ -0,0 +1,259 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Spliterator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code DoubleFiniteIterable} that is safe from mutation.
+ */
+public interface ImmutableDoubleFiniteIterable extends DoubleFiniteIterable {
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} containing the boxed elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @return an {@code ImmutableFiniteIterable<Double>}
+     */
+    @Override
+    default ImmutableFiniteIterable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} that drops the first {@code count} elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @param count the number of elements to drop from this {@code ImmutableDoubleFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable drop(int count) {
+        Validation.validateDrop(count);
+        return DoubleIterables.immutableDoubleFiniteIterable(
+                () -> DoubleIterables.drop(count, iterator()), SizedIterable.dropSize(count, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} that contains all elements of this
+     * {@code ImmutableDoubleFiniteIterable} that satisfy a predicate.
+     *
+     * @param predicate a predicate; should be referentially transparent and not have side-effects
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable filter(DoublePredicate predicate) {
+        requireNonNull(predicate);
+        return DoubleIterables.immutableDoubleFiniteIterable(
+                () -> DoubleIterables.filter(predicate, iterator()), () -> SizedIterable.UNKNOWN);
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable fmap(DoubleUnaryOperator f) {
+        requireNonNull(f);
+        return DoubleIterables.immutableDoubleFiniteIterable(
+                () -> DoubleIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable mapToInt(DoubleToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.immutableIntFiniteIterable(
+                () -> DoubleIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable mapToLong(DoubleToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.immutableLongFiniteIterable(
+                () -> DoubleIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @param f   a function from {@code double} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return an {@code ImmutableFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableFiniteIterable<B> mapToObj(DoubleFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.immutableFiniteIterable(
+                SizedIterable.sized(() -> DoubleIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} containing the largest element of each window of {@code k}
+     * consecutive elements of this {@code ImmutableDoubleFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code ImmutableDoubleFiniteIterable} has fewer than {@code k}
+     * elements, the result is empty.
+     * <p>
+     * Elements are compared as by {@code Double.compare}.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable slidingMax(int k) {
+        Validation.validateSlide(k);
+        return DoubleIterables.immutableDoubleFiniteIterable(() -> DoubleIterables.slidingExtreme(k, true, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} containing the smallest element of each window of {@code k}
+     * consecutive elements of this {@code ImmutableDoubleFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code ImmutableDoubleFiniteIterable} has fewer than {@code k}
+     * elements, the result is empty.
+     * <p>
+     * Elements are compared as by {@code Double.compare}.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable slidingMin(int k) {
+        Validation.validateSlide(k);
+        return DoubleIterables.immutableDoubleFiniteIterable(() -> DoubleIterables.slidingExtreme(k, false, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} containing the sum of each window of {@code k} consecutive
+     * elements of this {@code ImmutableDoubleFiniteIterable}.
+     * <p>
+     * Each element is added to the sum as it enters the window and subtracted as it leaves, so each element is
+     * processed in O(1) time, regardless of {@code k}.  Like {@code slide}, there is one result for each complete
+     * window, so if this {@code ImmutableDoubleFiniteIterable} has fewer than {@code k} elements, the result is empty.
+     * <p>
+     * The running sum is compensated, so that rounding errors do not accumulate over a long sequence.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable slidingSum(int k) {
+        Validation.validateSlide(k);
+        return DoubleIterables.immutableDoubleFiniteIterable(() -> DoubleIterables.slidingSum(k, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator.OfDouble} over the elements of this {@code ImmutableDoubleFiniteIterable}.
+     * <p>
+     * In addition to the characteristics described in {@link DoubleFiniteIterable#spliterator()}, the
+     * {@code Spliterator} reports {@code IMMUTABLE}.
+     *
+     * @return a {@code Spliterator.OfDouble}
+     */
+    @Override
+    default Spliterator.OfDouble spliterator() {
+        return DoubleIterables.spliterator(this, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} containing at most the first {@code count} elements of this
+     * {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @param count the maximum number of elements to take from this {@code ImmutableDoubleFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable take(int count) {
+        Validation.validateTake(count);
+        return DoubleIterables.immutableDoubleFiniteIterable(
+                () -> DoubleIterables.take(count, iterator()), SizedIterable.takeSize(count, this));
+    }
+
+    /**
+     * Converts this {@code ImmutableDoubleFiniteIterable} to an {@code ImmutableNonEmptyDoubleFiniteIterable} if it
+     * contains one or more elements.
+     *
+     * @return a {@code Maybe<ImmutableNonEmptyDoubleFiniteIterable>}
+     */
+    @Override
+    default Maybe<? extends ImmutableNonEmptyDoubleFiniteIterable> toNonEmpty() {
+        return isEmpty()
+                ? nothing()
+                : just(
+                        DoubleIterables.immutableNonEmptyDoubleFiniteIterable(this::iterator,
+                                SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Creates an {@code ImmutableDoubleFiniteIterable} by copying elements from an array.
+     *
+     * @param source the array to copy from
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    static ImmutableDoubleFiniteIterable copyFrom(double[] source) {
+        requireNonNull(source);
+        return DoubleIterables.copyFrom(source);
+    }
+
+    /**
+     * Creates an empty {@code ImmutableDoubleFiniteIterable}.
+     *
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    static ImmutableDoubleFiniteIterable emptyImmutableDoubleFiniteIterable() {
+        return DoubleIterables.emptyDoubleFiniteIterable();
+    }
+
+    /**
+     * Creates an {@code ImmutableDoubleFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyDoubleFiniteIterable}, which is
+     * also an {@link ImmutableDoubleFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    static ImmutableNonEmptyDoubleFiniteIterable of(double first, double... more) {
+        return DoubleIterables.of(first, more);
+    }
+
+}
@@ -9,26 +9,26 @@ import com.jnape.palatable.lambda.functions.builtin.fn1.Inits;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Reverse;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Tails;
 import com.jnape.palatable.lambda.functions.builtin.fn2.CartesianProduct;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Cons;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Drop;
-import com.jnape.palatable.lambda.functions.builtin.fn2.DropWhile;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Filter;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Partition;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Slide;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Snoc;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Span;
-import com.jnape.palatable.lambda.functions.builtin.fn2.TakeWhile;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
+import com.jnape.palatable.lambda.semigroup.Semigroup;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Id.id;
 import static java.util.Objects.requireNonNull;
 import static software.kes.enhancediterables.EnhancedIterables.immutableFiniteIterable;
 import static software.kes.enhancediterables.EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable;
@@ -50,7 +50,51 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     @Override
     default ImmutableNonEmptyFiniteIterable<A> append(A element) {
-        return unsafeImmutableNonEmptyFiniteIterable(Snoc.snoc(element, unwrap(this)));
+        return unsafeImmutableNonEmptyFiniteIterable(Rope.append(element, this));
+    }
+
+    /**
+     * Lazily filters this {@code ImmutableFiniteIterable} through a Bloom filter, yielding each element whose hash has
+     * not been seen before, in a fixed amount of memory.
+     * <p>
+     * No element is yielded twice, but a Bloom filter has false positives, so an element that has not been seen may be
+     * dropped.  While no more than {@code expectedDistinct} distinct elements have been seen, each new element is
+     * dropped with a probability of at most {@code falsePositiveProbability}; beyond that, the probability grows.
+     * Each iterator uses its own filter of about {@code -expectedDistinct * ln(falsePositiveProbability) / ln(2)^2}
+     * bits.
+     * <p>
+     * {@code Integer}, {@code Long}, {@code Double} and {@code String} elements are hashed from their values to 64
+     * bits; other elements are hashed from their {@code hashCode}.
+     *
+     * @param expectedDistinct         the number of distinct elements the filter is sized for.  Must be &gt;= 1.
+     * @param falsePositiveProbability the probability of dropping a new element while no more than
+     *                                 {@code expectedDistinct} distinct elements have been seen.  Must be &gt; 0 and
+     *                                 &lt; 1.
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> approxDistinct(long expectedDistinct, double falsePositiveProbability) {
+        Validation.validateApproxDistinct(expectedDistinct, falsePositiveProbability);
+        return immutableFiniteIterable(BloomFilter.approxDistinct(expectedDistinct, falsePositiveProbability, this));
+    }
+
+    /**
+     * Splits this {@code ImmutableFiniteIterable} into consecutive, non-overlapping chunks of {@code size} elements.
+     * The last chunk contains the remaining elements, and may be smaller.
+     * <p>
+     * Each chunk is a compact array-backed copy of its elements, with an O(1) {@code size}.
+     * <p>
+     * Example:
+     *
+     * <code>ImmutableFiniteIterable.of(1, 2, 3, 4, 5).chunked(2); // [[1, 2], [3, 4], [5]]</code>
+     *
+     * @param size the number of elements in each chunk.  Must be &gt;= 1.
+     * @return an {@code ImmutableFiniteIterable<ImmutableNonEmptyFiniteIterable<A>>}
+     */
+    @Override
+    default ImmutableFiniteIterable<? extends ImmutableNonEmptyFiniteIterable<A>> chunked(int size) {
+        Validation.validateChunked(size);
+        return immutableFiniteIterable(SizedIterable.chunks(Chunked.chunked(size, this), size, this));
     }
 
     /**
@@ -62,7 +106,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     default ImmutableFiniteIterable<A> concat(ImmutableFiniteIterable<A> other) {
         requireNonNull(other);
-        return immutableFiniteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return immutableFiniteIterable(Rope.concat(this, other));
     }
 
     /**
@@ -74,7 +118,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     default ImmutableNonEmptyFiniteIterable<A> concat(ImmutableNonEmptyFiniteIterable<A> other) {
         requireNonNull(other);
-        return ImmutableNonEmptyFiniteWrapper.wrap(Concat.concat(unwrap(this), unwrap(other)));
+        return ImmutableNonEmptyFiniteWrapper.wrap(Rope.concat(this, other));
     }
 
     /**
@@ -86,7 +130,8 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     default <B> ImmutableFiniteIterable<Tuple2<A, B>> cross(ImmutableFiniteIterable<B> other) {
         requireNonNull(other);
-        return immutableFiniteIterable(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)));
+        return immutableFiniteIterable(
+                SizedIterable.product(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -108,6 +153,58 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
         return EnhancedIterables.distinct(this);
     }
 
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the distinct values from this {@link ImmutableFiniteIterable},
+     * holding at most {@code maxKeysInMemory} values in memory.
+     * <p>
+     * Once {@code maxKeysInMemory} distinct values have been seen, the values are written to sorted run files in a
+     * temporary directory, and this {@code ImmutableFiniteIterable} is iterated a second time to yield the remaining
+     * distinct values, so it must yield the same elements in the same order each time it is iterated.  Only
+     * {@code Integer}, {@code Long} and {@code String} values (and {@code null}) can be written to disk; if any other
+     * value needs to be, iteration throws an {@link IllegalArgumentException}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct values to hold in memory.  Must be &gt;= 1.
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> distinct(int maxKeysInMemory) {
+        return distinctBy(maxKeysInMemory, id());
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the first element of this {@link ImmutableFiniteIterable} for each
+     * distinct key.
+     * <p>
+     * Keys are compared using {@code equals} and {@code hashCode}.  {@code Integer} and {@code Long} keys are held
+     * unboxed.
+     *
+     * @param key a function from an element to its key
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> distinctBy(Fn1<? super A, ?> key) {
+        requireNonNull(key);
+        return immutableFiniteIterable(Deduplicate.distinctBy(key, this));
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the first element of this {@link ImmutableFiniteIterable} for each
+     * distinct key, holding at most {@code maxKeysInMemory} keys in memory.
+     * <p>
+     * Spills keys to disk in the same way as {@link ImmutableFiniteIterable#distinct(int)}, so the same restrictions
+     * apply to the keys and to this {@code ImmutableFiniteIterable}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct keys to hold in memory.  Must be &gt;= 1.
+     * @param key             a function from an element to its key
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> distinctBy(int maxKeysInMemory, Fn1<? super A, ?> key) {
+        Validation.validateMaxKeysInMemory(maxKeysInMemory);
+        requireNonNull(key);
+        return immutableFiniteIterable(Deduplicate.distinctBy(maxKeysInMemory, key, this));
+    }
+
     /**
      * Returns a new {@code ImmutableFiniteIterable} that drops the first {@code count} elements of this {@code ImmutableFiniteIterable}.
      *
@@ -120,7 +217,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     @Override
     default ImmutableFiniteIterable<A> drop(int count) {
         Validation.validateDrop(count);
-        return immutableFiniteIterable(Drop.drop(count, unwrap(this)));
+        return immutableFiniteIterable(SizedIterable.dropping(Drop.drop(count, unwrap(this)), count, this));
     }
 
     /**
@@ -135,7 +232,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     @Override
     default ImmutableFiniteIterable<A> dropWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return immutableFiniteIterable(DropWhile.dropWhile(predicate, unwrap(this)));
+        return immutableFiniteIterable(Pipeline.dropWhile(predicate, this));
     }
 
     /**
@@ -148,7 +245,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     @Override
     default ImmutableFiniteIterable<A> filter(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return immutableFiniteIterable(Filter.<A>filter(predicate).apply(unwrap(this)));
+        return immutableFiniteIterable(Pipeline.filter(predicate, this));
     }
 
     /**
@@ -163,7 +260,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     @Override
     default <B> ImmutableFiniteIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return immutableFiniteIterable(Map.map(f, unwrap(this)));
+        return immutableFiniteIterable(Pipeline.map(f, this));
     }
 
     /**
@@ -176,7 +273,8 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      * @return an {@code ImmutableNonEmptyFiniteIterable<ImmutableFiniteIterable<A>>}
      */
     default ImmutableNonEmptyFiniteIterable<? extends ImmutableFiniteIterable<A>> inits() {
-        return unsafeImmutableNonEmptyFiniteIterable(Map.map(EnhancedIterables::immutableFiniteIterable, Inits.inits(this)));
+        return unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sum(Map.map(EnhancedIterables::immutableFiniteIterable, Inits.inits(this)), 1, this));
     }
 
     /**
@@ -190,7 +288,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     @Override
     default ImmutableFiniteIterable<A> intersperse(A separator) {
-        return immutableFiniteIterable(Intersperse.intersperse(separator, this));
+        return immutableFiniteIterable(SizedIterable.interspersed(Intersperse.intersperse(separator, this), this));
     }
 
     /**
@@ -209,6 +307,68 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
                 .fmap(EnhancedIterables::unsafeImmutableNonEmptyFiniteIterable);
     }
 
+    /**
+     * Returns an {@code ImmutableDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable mapToDouble(ToDoubleFunction<? super A> f) {
+        requireNonNull(f);
+        return DoubleIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code ImmutableIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable mapToInt(ToIntFunction<? super A> f) {
+        requireNonNull(f);
+        return IntIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code ImmutableLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable mapToLong(ToLongFunction<? super A> f) {
+        requireNonNull(f);
+        return LongIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} that caches its elements as they are first traversed, so that later
+     * traversals do not recompute them.
+     * <p>
+     * Nothing is computed until the first traversal, and each element is computed at most once.  The result may be
+     * traversed by several threads at once.
+     *
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> memoize() {
+        return EnhancedIterables.immutableFiniteIterable(Memoized.memoize(this));
+    }
+
     /**
      * Partitions this {@code ImmutableFiniteIterable} given a disjoint mapping function.
      *
@@ -234,7 +394,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     @Override
     default ImmutableNonEmptyFiniteIterable<A> prepend(A element) {
-        return unsafeImmutableNonEmptyFiniteIterable(Cons.cons(element, unwrap(this)));
+        return unsafeImmutableNonEmptyFiniteIterable(Rope.prepend(element, this));
     }
 
     /**
@@ -248,7 +408,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     @Override
     default ImmutableFiniteIterable<A> prependAll(A separator) {
-        return immutableFiniteIterable(PrependAll.prependAll(separator, this));
+        return immutableFiniteIterable(SizedIterable.doubled(PrependAll.prependAll(separator, this), this));
     }
 
     /**
@@ -260,7 +420,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     @Override
     default ImmutableFiniteIterable<A> reverse() {
-        return immutableFiniteIterable(Reverse.reverse(this));
+        return immutableFiniteIterable(SizedIterable.sameSizeAs(Reverse.reverse(this), this));
     }
 
     /**
@@ -276,8 +436,144 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     @Override
     default ImmutableFiniteIterable<? extends ImmutableNonEmptyFiniteIterable<A>> slide(int k) {
         Validation.validateSlide(k);
-        return immutableFiniteIterable(Map.map(EnhancedIterables::unsafeImmutableNonEmptyFiniteIterable,
-                Slide.slide(k, this)));
+        return immutableFiniteIterable(
+                SizedIterable.windows(Map.map(EnhancedIterables::unsafeImmutableNonEmptyFiniteIterable,
+                        Slide.slide(k, this)), k, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableFiniteIterable} containing a fold of each window of {@code k} consecutive elements
+     * of this {@code ImmutableFiniteIterable}.
+     * <p>
+     * Rather than folding each window from scratch, the fold is updated as the window slides: {@code add} is applied to
+     * each element as it enters the window, and {@code remove} to each element as it leaves.  Each element is therefore
+     * processed in O(1) time, regardless of {@code k}.  {@code remove} must undo {@code add}, so that removing the
+     * oldest element of a window from its fold gives the fold of the rest of the window.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code ImmutableFiniteIterable} has
+     * fewer than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>
+     * ImmutableFiniteIterable.of(1, 2, 3, 4, 5).slidingFold(3, 0, Integer::sum, (acc, x) -&gt; acc - x); // [6, 9, 12]
+     * </code>
+     *
+     * @param k      the number of elements in each window.  Must be &gt;= 1.
+     * @param z      the fold of an empty window
+     * @param add    adds an element to the fold of a window
+     * @param remove removes an element from the fold of a window
+     * @param <B>    the result type
+     * @return an {@code ImmutableFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableFiniteIterable<B> slidingFold(int k, B z, Fn2<? super B, ? super A, ? extends B> add,
+                                                       Fn2<? super B, ? super A, ? extends B> remove) {
+        Validation.validateSlide(k);
+        requireNonNull(add);
+        requireNonNull(remove);
+        return immutableFiniteIterable(SizedIterable.windows(SlidingWindow.fold(k, z, add, remove, this), k, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableFiniteIterable} containing the elements of each window of {@code k} consecutive
+     * elements of this {@code ImmutableFiniteIterable}, combined using a semigroup.
+     * <p>
+     * The semigroup only needs to be associative; it need not have an inverse.  Partial results are shared between
+     * overlapping windows, so each window costs amortized O(1) applications of the semigroup, regardless of {@code k}.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code ImmutableFiniteIterable} has
+     * fewer than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>ImmutableFiniteIterable.of(3, 1, 4, 1, 5).slidingReduce(2, Math::max); // [3, 4, 4, 5]</code>
+     *
+     * @param k         the number of elements in each window.  Must be &gt;= 1.
+     * @param semigroup the associative operator to combine elements with
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> slidingReduce(int k, Semigroup<A> semigroup) {
+        Validation.validateSlide(k);
+        requireNonNull(semigroup);
+        return immutableFiniteIterable(SizedIterable.windows(SlidingWindow.reduce(k, semigroup, this), k, this));
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the elements of this {@code ImmutableFiniteIterable} in ascending
+     * order of their keys.  The sort is stable, and happens in memory each time the result is iterated.
+     * <p>
+     * Each element's key is computed once per sort.  If every key is an {@code Integer}, the keys are sorted as
+     * primitives.
+     *
+     * @param key a function from an element to its key
+     * @param <B> the key type
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default <B extends Comparable<? super B>> ImmutableFiniteIterable<A> sortBy(Fn1<? super A, ? extends B> key) {
+        requireNonNull(key);
+        return immutableFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(ExternalSort.UNBOUNDED, key, this), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the elements of this {@code ImmutableFiniteIterable} in ascending
+     * order of their keys, holding at most {@code maxElementsInMemory} elements in memory.
+     * <p>
+     * Spills to disk in the same way as {@link ImmutableFiniteIterable#sorted(int, Comparator)}, so the same
+     * restrictions apply.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param key                 a function from an element to its key
+     * @param <B>                 the key type
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default <B extends Comparable<? super B>> ImmutableFiniteIterable<A> sortBy(int maxElementsInMemory,
+                                                                                Fn1<? super A, ? extends B> key) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(key);
+        return immutableFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(maxElementsInMemory, key, this), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the elements of this {@code ImmutableFiniteIterable} in the order
+     * given by {@code comparator}.  The sort is stable, and happens in memory each time the result is iterated.
+     *
+     * @param comparator the order of the elements
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> sorted(Comparator<? super A> comparator) {
+        requireNonNull(comparator);
+        return immutableFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(ExternalSort.UNBOUNDED, comparator, this), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} of the elements of this {@code ImmutableFiniteIterable} in the order
+     * given by {@code comparator}, holding at most {@code maxElementsInMemory} elements in memory.  The sort is stable.
+     * <p>
+     * If this {@code ImmutableFiniteIterable} has no more than {@code maxElementsInMemory} elements, it is sorted in
+     * memory.  Otherwise, each {@code maxElementsInMemory} elements are sorted and written to a run file in a temporary
+     * directory, and the runs are merged as the result is iterated.  Elements are written with Java serialization, so
+     * they must be {@link java.io.Serializable}; if they are not, iteration throws an {@link IllegalArgumentException}.
+     * Run files are deleted once the merge is exhausted or its iterator, a {@link CloseableIterator}, is closed; the
+     * runs of an iterator abandoned without being closed are deleted soon after it has been garbage collected.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param comparator          the order of the elements
+     * @return an {@code ImmutableFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableFiniteIterable<A> sorted(int maxElementsInMemory, Comparator<? super A> comparator) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(comparator);
+        return immutableFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(maxElementsInMemory, comparator, this), this));
     }
 
     /**
@@ -306,7 +602,8 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
      */
     @Override
     default ImmutableNonEmptyIterable<? extends ImmutableFiniteIterable<A>> tails() {
-        return unsafeImmutableNonEmptyIterable(Map.map(EnhancedIterables::immutableFiniteIterable, Tails.tails(this)));
+        return unsafeImmutableNonEmptyIterable(
+                SizedIterable.sum(Map.map(EnhancedIterables::immutableFiniteIterable, Tails.tails(this)), 1, this));
     }
 
     /**
@@ -321,7 +618,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     @Override
     default ImmutableFiniteIterable<A> takeWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return immutableFiniteIterable(TakeWhile.takeWhile(predicate, this));
+        return immutableFiniteIterable(Pipeline.takeWhile(predicate, this));
     }
 
     /**
@@ -363,7 +660,7 @@ public interface ImmutableFiniteIterable<A> extends ImmutableIterable<A>, Finite
     default <B, C> ImmutableFiniteIterable<C> zipWith(Fn2<A, B, C> fn, ImmutableIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return immutableFiniteIterable(ZipWith.zipWith(fn, this, other));
+        return immutableFiniteIterable(SizedIterable.shortest(ZipWith.zipWith(fn, this, other), this, other));
     }
 
     /**
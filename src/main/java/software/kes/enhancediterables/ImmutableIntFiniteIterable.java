@@ -0,0 +1,251 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Spliterator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code IntFiniteIterable} that is safe from mutation.
+ */
+public interface ImmutableIntFiniteIterable extends IntFiniteIterable {
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} containing the boxed elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @return an {@code ImmutableFiniteIterable<Integer>}
+     */
+    @Override
+    default ImmutableFiniteIterable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} that drops the first {@code count} elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @param count the number of elements to drop from this {@code ImmutableIntFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable drop(int count) {
+        Validation.validateDrop(count);
+        return IntIterables.immutableIntFiniteIterable(
+                () -> IntIterables.drop(count, iterator()), SizedIterable.dropSize(count, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} that contains all elements of this
+     * {@code ImmutableIntFiniteIterable} that satisfy a predicate.
+     *
+     * @param predicate a predicate; should be referentially transparent and not have side-effects
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable filter(IntPredicate predicate) {
+        requireNonNull(predicate);
+        return IntIterables.immutableIntFiniteIterable(
+                () -> IntIterables.filter(predicate, iterator()), () -> SizedIterable.UNKNOWN);
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable fmap(IntUnaryOperator f) {
+        requireNonNull(f);
+        return IntIterables.immutableIntFiniteIterable(
+                () -> IntIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable mapToLong(IntToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.immutableLongFiniteIterable(
+                () -> IntIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable mapToDouble(IntToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.immutableDoubleFiniteIterable(
+                () -> IntIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @param f   a function from {@code int} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return an {@code ImmutableFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableFiniteIterable<B> mapToObj(IntFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.immutableFiniteIterable(SizedIterable.sized(() -> IntIterables.mapToObj(f, iterator()),
+                SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} containing the largest element of each window of {@code k}
+     * consecutive elements of this {@code ImmutableIntFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code ImmutableIntFiniteIterable} has fewer than {@code k} elements,
+     * the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable slidingMax(int k) {
+        Validation.validateSlide(k);
+        return IntIterables.immutableIntFiniteIterable(() -> IntIterables.slidingExtreme(k, true, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} containing the smallest element of each window of {@code k}
+     * consecutive elements of this {@code ImmutableIntFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code ImmutableIntFiniteIterable} has fewer than {@code k} elements,
+     * the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable slidingMin(int k) {
+        Validation.validateSlide(k);
+        return IntIterables.immutableIntFiniteIterable(() -> IntIterables.slidingExtreme(k, false, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} containing the sum of each window of {@code k} consecutive
+     * elements of this {@code ImmutableIntFiniteIterable}.
+     * <p>
+     * Each element is added to the sum as it enters the window and subtracted as it leaves, so each element is
+     * processed in O(1) time, regardless of {@code k}.  Like {@code slide}, there is one result for each complete
+     * window, so if this {@code ImmutableIntFiniteIterable} has fewer than {@code k} elements, the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable slidingSum(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.immutableLongFiniteIterable(() -> IntIterables.slidingSum(k, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator.OfInt} over the elements of this {@code ImmutableIntFiniteIterable}.
+     * <p>
+     * In addition to the characteristics described in {@link IntFiniteIterable#spliterator()}, the
+     * {@code Spliterator} reports {@code IMMUTABLE}.
+     *
+     * @return a {@code Spliterator.OfInt}
+     */
+    @Override
+    default Spliterator.OfInt spliterator() {
+        return IntIterables.spliterator(this, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} containing at most the first {@code count} elements of this
+     * {@code ImmutableIntFiniteIterable}.
+     *
+     * @param count the maximum number of elements to take from this {@code ImmutableIntFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable take(int count) {
+        Validation.validateTake(count);
+        return IntIterables.immutableIntFiniteIterable(
+                () -> IntIterables.take(count, iterator()), SizedIterable.takeSize(count, this));
+    }
+
+    /**
+     * Converts this {@code ImmutableIntFiniteIterable} to an {@code ImmutableNonEmptyIntFiniteIterable} if it contains
+     * one or more elements.
+     *
+     * @return a {@code Maybe<ImmutableNonEmptyIntFiniteIterable>}
+     */
+    @Override
+    default Maybe<? extends ImmutableNonEmptyIntFiniteIterable> toNonEmpty() {
+        return isEmpty()
+                ? nothing()
+                : just(IntIterables.immutableNonEmptyIntFiniteIterable(this::iterator, SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Creates an {@code ImmutableIntFiniteIterable} by copying elements from an array.
+     *
+     * @param source the array to copy from
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    static ImmutableIntFiniteIterable copyFrom(int[] source) {
+        requireNonNull(source);
+        return IntIterables.copyFrom(source);
+    }
+
+    /**
+     * Creates an empty {@code ImmutableIntFiniteIterable}.
+     *
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    static ImmutableIntFiniteIterable emptyImmutableIntFiniteIterable() {
+        return IntIterables.emptyIntFiniteIterable();
+    }
+
+    /**
+     * Creates an {@code ImmutableIntFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyIntFiniteIterable}, which is
+     * also an {@link ImmutableIntFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    static ImmutableNonEmptyIntFiniteIterable of(int first, int... more) {
+        return IntIterables.of(first, more);
+    }
+
+}
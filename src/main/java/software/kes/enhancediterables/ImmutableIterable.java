@@ -6,24 +6,20 @@ import com.jnape.palatable.lambda.adt.hlist.Tuple2;
 import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Tails;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Cons;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Drop;
-import com.jnape.palatable.lambda.functions.builtin.fn2.DropWhile;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Filter;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Partition;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Slide;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Snoc;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Span;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Take;
-import com.jnape.palatable.lambda.functions.builtin.fn2.TakeWhile;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
+import com.jnape.palatable.lambda.semigroup.Semigroup;
 
 import java.util.Collection;
+import java.util.Spliterator;
 
 import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
 import static java.util.Objects.requireNonNull;
@@ -46,7 +42,52 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default ImmutableNonEmptyIterable<A> append(A element) {
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Snoc.snoc(element, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Rope.append(element, this));
+    }
+
+    /**
+     * Lazily filters this {@code ImmutableIterable} through a Bloom filter, yielding each element whose hash has not
+     * been seen before, in a fixed amount of memory.
+     * <p>
+     * No element is yielded twice, but a Bloom filter has false positives, so an element that has not been seen may be
+     * dropped.  While no more than {@code expectedDistinct} distinct elements have been seen, each new element is
+     * dropped with a probability of at most {@code falsePositiveProbability}; beyond that, the probability grows.
+     * Each iterator uses its own filter of about {@code -expectedDistinct * ln(falsePositiveProbability) / ln(2)^2}
+     * bits.
+     * <p>
+     * {@code Integer}, {@code Long}, {@code Double} and {@code String} elements are hashed from their values to 64
+     * bits; other elements are hashed from their {@code hashCode}.
+     *
+     * @param expectedDistinct         the number of distinct elements the filter is sized for.  Must be &gt;= 1.
+     * @param falsePositiveProbability the probability of dropping a new element while no more than
+     *                                 {@code expectedDistinct} distinct elements have been seen.  Must be &gt; 0 and
+     *                                 &lt; 1.
+     * @return an {@code ImmutableIterable<A>}
+     */
+    @Override
+    default ImmutableIterable<A> approxDistinct(long expectedDistinct, double falsePositiveProbability) {
+        Validation.validateApproxDistinct(expectedDistinct, falsePositiveProbability);
+        return EnhancedIterables.immutableIterable(
+                BloomFilter.approxDistinct(expectedDistinct, falsePositiveProbability, this));
+    }
+
+    /**
+     * Splits this {@code ImmutableIterable} into consecutive, non-overlapping chunks of {@code size} elements.
+     * The last chunk contains the remaining elements, and may be smaller.
+     * <p>
+     * Each chunk is a compact array-backed copy of its elements, with an O(1) {@code size}.
+     * <p>
+     * Example:
+     *
+     * <code>ImmutableIterable.of(1, 2, 3, 4, 5).chunked(2); // [[1, 2], [3, 4], [5]]</code>
+     *
+     * @param size the number of elements in each chunk.  Must be &gt;= 1.
+     * @return an {@code ImmutableIterable<ImmutableNonEmptyFiniteIterable<A>>}
+     */
+    @Override
+    default ImmutableIterable<? extends ImmutableNonEmptyFiniteIterable<A>> chunked(int size) {
+        Validation.validateChunked(size);
+        return EnhancedIterables.immutableIterable(SizedIterable.chunks(Chunked.chunked(size, this), size, this));
     }
 
     /**
@@ -58,7 +99,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     default ImmutableIterable<A> concat(ImmutableIterable<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.immutableIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.immutableIterable(Rope.concat(this, other));
     }
 
     /**
@@ -70,7 +111,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     default ImmutableNonEmptyIterable<A> concat(ImmutableNonEmptyIterable<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Rope.concat(this, other));
     }
 
     /**
@@ -85,7 +126,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default ImmutableIterable<A> drop(int count) {
         Validation.validateDrop(count);
-        return EnhancedIterables.immutableIterable(Drop.drop(count, unwrap(this)));
+        return EnhancedIterables.immutableIterable(SizedIterable.dropping(Drop.drop(count, unwrap(this)), count, this));
     }
 
     /**
@@ -100,7 +141,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default ImmutableIterable<A> dropWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return EnhancedIterables.immutableIterable(DropWhile.dropWhile(predicate, unwrap(this)));
+        return EnhancedIterables.immutableIterable(Pipeline.dropWhile(predicate, this));
     }
 
     /**
@@ -113,7 +154,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default ImmutableIterable<A> filter(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return EnhancedIterables.immutableIterable(Filter.<A>filter(predicate).apply(unwrap(this)));
+        return EnhancedIterables.immutableIterable(Pipeline.filter(predicate, this));
     }
 
     /**
@@ -128,7 +169,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default <B> ImmutableIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return EnhancedIterables.immutableIterable(Map.map(f, unwrap(this)));
+        return EnhancedIterables.immutableIterable(Pipeline.map(f, this));
     }
 
     /**
@@ -142,7 +183,8 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default ImmutableIterable<A> intersperse(A separator) {
-        return EnhancedIterables.immutableIterable(Intersperse.intersperse(separator, unwrap(this)));
+        return EnhancedIterables.immutableIterable(
+                SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
     }
 
     /**
@@ -161,6 +203,21 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
                 .fmap(EnhancedIterables::unsafeImmutableNonEmptyIterable);
     }
 
+    /**
+     * Returns an {@code ImmutableIterable} that caches its elements as they are first traversed, so that later
+     * traversals do not recompute them.
+     * <p>
+     * Nothing is computed until the first traversal, and each element is computed at most once.  The result may be
+     * traversed by several threads at once.
+     * <p>
+     * The source may be infinite, in which case only the prefix that has been consumed so far is cached.
+     *
+     * @return an {@code ImmutableIterable<A>}
+     */
+    default ImmutableIterable<A> memoize() {
+        return EnhancedIterables.immutableIterable(Memoized.memoize(this));
+    }
+
     /**
      * Partitions this {@code ImmutableIterable} given a disjoint mapping function.
      * <p>
@@ -189,7 +246,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default ImmutableNonEmptyIterable<A> prepend(A element) {
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Cons.cons(element, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Rope.prepend(element, this));
     }
 
     /**
@@ -203,7 +260,8 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default ImmutableIterable<A> prependAll(A separator) {
-        return EnhancedIterables.immutableIterable(PrependAll.prependAll(separator, unwrap(this)));
+        return EnhancedIterables.immutableIterable(
+                SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -219,8 +277,83 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default ImmutableIterable<? extends ImmutableNonEmptyFiniteIterable<A>> slide(int k) {
         Validation.validateSlide(k);
-        return EnhancedIterables.immutableIterable(Map.map(EnhancedIterables::unsafeImmutableNonEmptyFiniteIterable,
-                Slide.slide(k, unwrap(this))));
+        return EnhancedIterables.immutableIterable(
+                SizedIterable.windows(Map.map(EnhancedIterables::unsafeImmutableNonEmptyFiniteIterable,
+                        Slide.slide(k, unwrap(this))), k, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIterable} containing a fold of each window of {@code k} consecutive elements of
+     * this {@code ImmutableIterable}.
+     * <p>
+     * Rather than folding each window from scratch, the fold is updated as the window slides: {@code add} is applied to
+     * each element as it enters the window, and {@code remove} to each element as it leaves.  Each element is therefore
+     * processed in O(1) time, regardless of {@code k}.  {@code remove} must undo {@code add}, so that removing the
+     * oldest element of a window from its fold gives the fold of the rest of the window.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code ImmutableIterable} has fewer
+     * than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>
+     * ImmutableIterable.of(1, 2, 3, 4, 5).slidingFold(3, 0, Integer::sum, (acc, x) -&gt; acc - x); // [6, 9, 12]
+     * </code>
+     *
+     * @param k      the number of elements in each window.  Must be &gt;= 1.
+     * @param z      the fold of an empty window
+     * @param add    adds an element to the fold of a window
+     * @param remove removes an element from the fold of a window
+     * @param <B>    the result type
+     * @return an {@code ImmutableIterable<B>}
+     */
+    @Override
+    default <B> ImmutableIterable<B> slidingFold(int k, B z, Fn2<? super B, ? super A, ? extends B> add,
+                                                 Fn2<? super B, ? super A, ? extends B> remove) {
+        Validation.validateSlide(k);
+        requireNonNull(add);
+        requireNonNull(remove);
+        return EnhancedIterables.immutableIterable(
+                SizedIterable.windows(SlidingWindow.fold(k, z, add, remove, this), k, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIterable} containing the elements of each window of {@code k} consecutive elements
+     * of this {@code ImmutableIterable}, combined using a semigroup.
+     * <p>
+     * The semigroup only needs to be associative; it need not have an inverse.  Partial results are shared between
+     * overlapping windows, so each window costs amortized O(1) applications of the semigroup, regardless of {@code k}.
+     * <p>
+     * Like {@code slide}, there is one result for each complete window, so if this {@code ImmutableIterable} has fewer
+     * than {@code k} elements, the result is empty.
+     * <p>
+     * Example:
+     *
+     * <code>ImmutableIterable.of(3, 1, 4, 1, 5).slidingReduce(2, Math::max); // [3, 4, 4, 5]</code>
+     *
+     * @param k         the number of elements in each window.  Must be &gt;= 1.
+     * @param semigroup the associative operator to combine elements with
+     * @return an {@code ImmutableIterable<A>}
+     */
+    @Override
+    default ImmutableIterable<A> slidingReduce(int k, Semigroup<A> semigroup) {
+        Validation.validateSlide(k);
+        requireNonNull(semigroup);
+        return EnhancedIterables.immutableIterable(
+                SizedIterable.windows(SlidingWindow.reduce(k, semigroup, this), k, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator} over the elements of this {@code ImmutableIterable}.
+     * <p>
+     * In addition to the characteristics described in {@link EnhancedIterable#spliterator()}, the
+     * {@code Spliterator} reports {@code IMMUTABLE}.
+     *
+     * @return a {@code Spliterator<A>}
+     */
+    @Override
+    default Spliterator<A> spliterator() {
+        return EnhancedIterables.spliterator(this, Spliterator.ORDERED | Spliterator.IMMUTABLE);
     }
 
     /**
@@ -249,7 +382,8 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default ImmutableNonEmptyIterable<? extends ImmutableIterable<A>> tails() {
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Map.map(EnhancedIterables::immutableIterable, Tails.tails(unwrap(this))));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sum(Map.map(EnhancedIterables::immutableIterable, Tails.tails(unwrap(this))), 1, this));
     }
 
     /**
@@ -264,7 +398,8 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default ImmutableFiniteIterable<A> take(int count) {
         Validation.validateTake(count);
-        return EnhancedIterables.immutableFiniteIterable(Take.take(count, unwrap(this)));
+        return EnhancedIterables.immutableFiniteIterable(
+                SizedIterable.atMost(Take.take(count, unwrap(this)), count, this));
     }
 
     /**
@@ -279,7 +414,7 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     @Override
     default ImmutableIterable<A> takeWhile(Fn1<? super A, ? extends Boolean> predicate) {
         requireNonNull(predicate);
-        return EnhancedIterables.immutableIterable(TakeWhile.takeWhile(predicate, unwrap(this)));
+        return EnhancedIterables.immutableIterable(Pipeline.takeWhile(predicate, this));
     }
 
     /**
@@ -325,7 +460,8 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     default <B, C> ImmutableIterable<C> zipWith(Fn2<A, B, C> fn, ImmutableIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.immutableIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.immutableIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -345,7 +481,8 @@ public interface ImmutableIterable<A> extends EnhancedIterable<A> {
     default <B, C> ImmutableFiniteIterable<C> zipWith(Fn2<A, B, C> fn, ImmutableFiniteIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.immutableFiniteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.immutableFiniteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -0,0 +1,251 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Spliterator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code LongFiniteIterable} that is safe from mutation.
+ */
+public interface ImmutableLongFiniteIterable extends LongFiniteIterable {
+
+    /**
+     * Returns an {@code ImmutableFiniteIterable} containing the boxed elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @return an {@code ImmutableFiniteIterable<Long>}
+     */
+    @Override
+    default ImmutableFiniteIterable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} that drops the first {@code count} elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @param count the number of elements to drop from this {@code ImmutableLongFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable drop(int count) {
+        Validation.validateDrop(count);
+        return LongIterables.immutableLongFiniteIterable(
+                () -> LongIterables.drop(count, iterator()), SizedIterable.dropSize(count, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} that contains all elements of this
+     * {@code ImmutableLongFiniteIterable} that satisfy a predicate.
+     *
+     * @param predicate a predicate; should be referentially transparent and not have side-effects
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable filter(LongPredicate predicate) {
+        requireNonNull(predicate);
+        return LongIterables.immutableLongFiniteIterable(
+                () -> LongIterables.filter(predicate, iterator()), () -> SizedIterable.UNKNOWN);
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable fmap(LongUnaryOperator f) {
+        requireNonNull(f);
+        return LongIterables.immutableLongFiniteIterable(
+                () -> LongIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    @Override
+    default ImmutableIntFiniteIterable mapToInt(LongToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.immutableIntFiniteIterable(
+                () -> LongIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableDoubleFiniteIterable mapToDouble(LongToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.immutableDoubleFiniteIterable(
+                () -> LongIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @param f   a function from {@code long} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return an {@code ImmutableFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableFiniteIterable<B> mapToObj(LongFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.immutableFiniteIterable(
+                SizedIterable.sized(() -> LongIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} containing the largest element of each window of {@code k}
+     * consecutive elements of this {@code ImmutableLongFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code ImmutableLongFiniteIterable} has fewer than {@code k}
+     * elements, the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable slidingMax(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.immutableLongFiniteIterable(() -> LongIterables.slidingExtreme(k, true, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} containing the smallest element of each window of {@code k}
+     * consecutive elements of this {@code ImmutableLongFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code ImmutableLongFiniteIterable} has fewer than {@code k}
+     * elements, the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable slidingMin(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.immutableLongFiniteIterable(() -> LongIterables.slidingExtreme(k, false, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} containing the sum of each window of {@code k} consecutive
+     * elements of this {@code ImmutableLongFiniteIterable}.
+     * <p>
+     * Each element is added to the sum as it enters the window and subtracted as it leaves, so each element is
+     * processed in O(1) time, regardless of {@code k}.  Like {@code slide}, there is one result for each complete
+     * window, so if this {@code ImmutableLongFiniteIterable} has fewer than {@code k} elements, the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable slidingSum(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.immutableLongFiniteIterable(() -> LongIterables.slidingSum(k, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator.OfLong} over the elements of this {@code ImmutableLongFiniteIterable}.
+     * <p>
+     * In addition to the characteristics described in {@link LongFiniteIterable#spliterator()}, the
+     * {@code Spliterator} reports {@code IMMUTABLE}.
+     *
+     * @return a {@code Spliterator.OfLong}
+     */
+    @Override
+    default Spliterator.OfLong spliterator() {
+        return LongIterables.spliterator(this, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a new {@code ImmutableLongFiniteIterable} containing at most the first {@code count} elements of this
+     * {@code ImmutableLongFiniteIterable}.
+     *
+     * @param count the maximum number of elements to take from this {@code ImmutableLongFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    @Override
+    default ImmutableLongFiniteIterable take(int count) {
+        Validation.validateTake(count);
+        return LongIterables.immutableLongFiniteIterable(
+                () -> LongIterables.take(count, iterator()), SizedIterable.takeSize(count, this));
+    }
+
+    /**
+     * Converts this {@code ImmutableLongFiniteIterable} to an {@code ImmutableNonEmptyLongFiniteIterable} if it
+     * contains one or more elements.
+     *
+     * @return a {@code Maybe<ImmutableNonEmptyLongFiniteIterable>}
+     */
+    @Override
+    default Maybe<? extends ImmutableNonEmptyLongFiniteIterable> toNonEmpty() {
+        return isEmpty()
+                ? nothing()
+                : just(LongIterables.immutableNonEmptyLongFiniteIterable(this::iterator, SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Creates an {@code ImmutableLongFiniteIterable} by copying elements from an array.
+     *
+     * @param source the array to copy from
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    static ImmutableLongFiniteIterable copyFrom(long[] source) {
+        requireNonNull(source);
+        return LongIterables.copyFrom(source);
+    }
+
+    /**
+     * Creates an empty {@code ImmutableLongFiniteIterable}.
+     *
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    static ImmutableLongFiniteIterable emptyImmutableLongFiniteIterable() {
+        return LongIterables.emptyLongFiniteIterable();
+    }
+
+    /**
+     * Creates an {@code ImmutableLongFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyLongFiniteIterable}, which is
+     * also an {@link ImmutableLongFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    static ImmutableNonEmptyLongFiniteIterable of(long first, long... more) {
+        return LongIterables.of(first, more);
+    }
+
+}
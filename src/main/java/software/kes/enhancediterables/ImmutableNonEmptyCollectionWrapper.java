@@ -3,6 +3,7 @@ package software.kes.enhancediterables;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Tail;
 
 import java.util.Collection;
+import java.util.List;
 
 class ImmutableNonEmptyCollectionWrapper<A> extends Wrapped<A> implements ImmutableNonEmptyFiniteIterable<A> {
 
@@ -10,8 +11,71 @@ class ImmutableNonEmptyCollectionWrapper<A> extends Wrapped<A> implements Immuta
         super(underlying);
     }
 
+    @Override
+    public ImmutableFiniteIterable<A> drop(int count) {
+        Validation.validateDrop(count);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return EnhancedIterables.immutableFiniteIterable(ListSlice.drop(count, (List<A>) underlying));
+        }
+        return ImmutableNonEmptyFiniteIterable.super.drop(count);
+    }
+
+    @Override
+    public ImmutableFiniteIterable<A> take(int count) {
+        Validation.validateTake(count);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return EnhancedIterables.immutableFiniteIterable(ListSlice.take(count, (List<A>) underlying));
+        }
+        return ImmutableNonEmptyFiniteIterable.super.take(count);
+    }
+
+    @Override
+    public ImmutableFiniteIterable<A> init() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return EnhancedIterables.immutableFiniteIterable(ListSlice.dropLast(1, (List<A>) underlying));
+        }
+        return ImmutableNonEmptyFiniteIterable.super.init();
+    }
+
+    @Override
+    public A last() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            List<A> list = (List<A>) underlying;
+            return list.get(list.size() - 1);
+        }
+        return ImmutableNonEmptyFiniteIterable.super.last();
+    }
+
+    @Override
+    public ImmutableNonEmptyFiniteIterable<A> reverse() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return wrap(ReversedList.reverse((List<A>) underlying));
+        }
+        return ImmutableNonEmptyFiniteIterable.super.reverse();
+    }
+
+    @Override
+    public ImmutableFiniteIterable<? extends ImmutableNonEmptyFiniteIterable<A>> slide(int k) {
+        Validation.validateSlide(k);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return EnhancedIterables.immutableFiniteIterable(
+                    WindowList.windows(k, (List<A>) underlying, ImmutableNonEmptyCollectionWrapper::wrap));
+        }
+        return ImmutableNonEmptyFiniteIterable.super.slide(k);
+    }
+
     @Override
     public ImmutableFiniteIterable<A> tail() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return EnhancedIterables.immutableFiniteIterable(ListSlice.drop(1, (List<A>) underlying));
+        }
         return ImmutableFiniteWrapper.wrap(Tail.tail(this));
     }
 
@@ -0,0 +1,112 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code DoubleFiniteIterable} that is safe from mutation and guaranteed to contain at least one element.
+ */
+public interface ImmutableNonEmptyDoubleFiniteIterable extends ImmutableDoubleFiniteIterable,
+        NonEmptyDoubleFiniteIterable {
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} containing the boxed elements of this
+     * {@code ImmutableNonEmptyDoubleFiniteIterable}.
+     *
+     * @return an {@code ImmutableNonEmptyFiniteIterable<Double>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyDoubleFiniteIterable fmap(DoubleUnaryOperator f) {
+        requireNonNull(f);
+        return DoubleIterables.immutableNonEmptyDoubleFiniteIterable(
+                () -> DoubleIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyIntFiniteIterable mapToInt(DoubleToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.immutableNonEmptyIntFiniteIterable(
+                () -> DoubleIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyLongFiniteIterable mapToLong(DoubleToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.immutableNonEmptyLongFiniteIterable(
+                () -> DoubleIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyDoubleFiniteIterable}.
+     *
+     * @param f   a function from {@code double} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return an {@code ImmutableNonEmptyFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableNonEmptyFiniteIterable<B> mapToObj(DoubleFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sized(() -> DoubleIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Always succeeds because {@code ImmutableNonEmptyDoubleFiniteIterable}s are always non-empty.
+     *
+     * @return this {@code ImmutableNonEmptyDoubleFiniteIterable} wrapped in a `just`
+     */
+    @Override
+    default Maybe<? extends ImmutableNonEmptyDoubleFiniteIterable> toNonEmpty() {
+        return just(this);
+    }
+
+    /**
+     * Creates an {@code ImmutableNonEmptyDoubleFiniteIterable} containing the given elements.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    static ImmutableNonEmptyDoubleFiniteIterable of(double first, double... more) {
+        return DoubleIterables.of(first, more);
+    }
+
+}
@@ -7,15 +7,18 @@ import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Init;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Reverse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.CartesianProduct;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Cons;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Id.id;
 import static java.util.Objects.requireNonNull;
 import static software.kes.enhancediterables.Wrapped.unwrap;
 
@@ -45,7 +48,7 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
     @Override
     default ImmutableNonEmptyFiniteIterable<A> concat(ImmutableFiniteIterable<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Rope.concat(this, other));
     }
 
     /**
@@ -57,7 +60,8 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
      */
     default <B> ImmutableNonEmptyFiniteIterable<Tuple2<A, B>> cross(ImmutableNonEmptyFiniteIterable<B> other) {
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.product(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -79,6 +83,60 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
         return EnhancedIterables.nonEmptyDistinct(this);
     }
 
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the distinct values from this
+     * {@link ImmutableNonEmptyFiniteIterable}, holding at most {@code maxKeysInMemory} values in memory.
+     * <p>
+     * Once {@code maxKeysInMemory} distinct values have been seen, the values are written to sorted run files in a
+     * temporary directory, and this {@code ImmutableNonEmptyFiniteIterable} is iterated a second time to yield the
+     * remaining distinct values, so it must yield the same elements in the same order each time it is iterated.  Only
+     * {@code Integer}, {@code Long} and {@code String} values (and {@code null}) can be written to disk; if any other
+     * value needs to be, iteration throws an {@link IllegalArgumentException}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct values to hold in memory.  Must be &gt;= 1.
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> distinct(int maxKeysInMemory) {
+        return distinctBy(maxKeysInMemory, id());
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the first element of this
+     * {@link ImmutableNonEmptyFiniteIterable} for each distinct key.
+     * <p>
+     * Keys are compared using {@code equals} and {@code hashCode}.  {@code Integer} and {@code Long} keys are held
+     * unboxed.
+     *
+     * @param key a function from an element to its key
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> distinctBy(Fn1<? super A, ?> key) {
+        requireNonNull(key);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Deduplicate.distinctBy(key, this));
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the first element of this
+     * {@link ImmutableNonEmptyFiniteIterable} for each distinct key, holding at most {@code maxKeysInMemory} keys in
+     * memory.
+     * <p>
+     * Spills keys to disk in the same way as {@link ImmutableNonEmptyFiniteIterable#distinct(int)}, so the same
+     * restrictions apply to the keys and to this {@code ImmutableNonEmptyFiniteIterable}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct keys to hold in memory.  Must be &gt;= 1.
+     * @param key             a function from an element to its key
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> distinctBy(int maxKeysInMemory, Fn1<? super A, ?> key) {
+        Validation.validateMaxKeysInMemory(maxKeysInMemory);
+        requireNonNull(key);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                Deduplicate.distinctBy(maxKeysInMemory, key, this));
+    }
+
     /**
      * Returns a new {@code ImmutableNonEmptyFiniteIterable} by applying a function to all elements of this {@code ImmutableNonEmptyFiniteIterable}.
      *
@@ -91,7 +149,7 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
     @Override
     default <B> ImmutableNonEmptyFiniteIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Map.map(f, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Pipeline.map(f, this));
     }
 
     /**
@@ -101,7 +159,7 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
      */
     @Override
     default ImmutableFiniteIterable<A> init() {
-        return EnhancedIterables.immutableFiniteIterable(Init.init(unwrap(this)));
+        return EnhancedIterables.immutableFiniteIterable(SizedIterable.dropping(Init.init(unwrap(this)), 1, this));
     }
 
     /**
@@ -115,7 +173,8 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
      */
     @Override
     default ImmutableNonEmptyFiniteIterable<A> intersperse(A separator) {
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Intersperse.intersperse(separator, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
     }
 
     /**
@@ -134,6 +193,68 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
                 .fmap(EnhancedIterables::unsafeImmutableNonEmptyFiniteIterable);
     }
 
+    /**
+     * Returns an {@code ImmutableNonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyDoubleFiniteIterable mapToDouble(ToDoubleFunction<? super A> f) {
+        requireNonNull(f);
+        return DoubleIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyIntFiniteIterable mapToInt(ToIntFunction<? super A> f) {
+        requireNonNull(f);
+        return IntIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyLongFiniteIterable mapToLong(ToLongFunction<? super A> f) {
+        requireNonNull(f);
+        return LongIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} that caches its elements as they are first traversed, so that
+     * later traversals do not recompute them.
+     * <p>
+     * Nothing is computed until the first traversal, and each element is computed at most once.  The result may be
+     * traversed by several threads at once.
+     *
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> memoize() {
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Memoized.memoize(this));
+    }
+
     /**
      * Lazily prepends an element to the front of this {@code ImmutableNonEmptyFiniteIterable}, yielding a new {@code ImmutableNonEmptyFiniteIterable}.
      *
@@ -142,7 +263,7 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
      */
     @Override
     default ImmutableNonEmptyFiniteIterable<A> prepend(A element) {
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Cons.cons(element, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Rope.prepend(element, this));
     }
 
     /**
@@ -154,7 +275,8 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
      */
     @Override
     default ImmutableNonEmptyFiniteIterable<A> prependAll(A separator) {
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(PrependAll.prependAll(separator, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -166,7 +288,90 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
      */
     @Override
     default ImmutableNonEmptyFiniteIterable<A> reverse() {
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(Reverse.reverse(unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(Reverse.reverse(unwrap(this)), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the elements of this
+     * {@code ImmutableNonEmptyFiniteIterable} in ascending order of their keys.  The sort is stable, and happens in
+     * memory each time the result is iterated.
+     * <p>
+     * Each element's key is computed once per sort.  If every key is an {@code Integer}, the keys are sorted as
+     * primitives.
+     *
+     * @param key a function from an element to its key
+     * @param <B> the key type
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default <B extends Comparable<? super B>> ImmutableNonEmptyFiniteIterable<A> sortBy(
+            Fn1<? super A, ? extends B> key) {
+        requireNonNull(key);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(ExternalSort.UNBOUNDED, key, this), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the elements of this
+     * {@code ImmutableNonEmptyFiniteIterable} in ascending order of their keys, holding at most
+     * {@code maxElementsInMemory} elements in memory.
+     * <p>
+     * Spills to disk in the same way as {@link ImmutableNonEmptyFiniteIterable#sorted(int, Comparator)}, so the same
+     * restrictions apply.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param key                 a function from an element to its key
+     * @param <B>                 the key type
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default <B extends Comparable<? super B>> ImmutableNonEmptyFiniteIterable<A> sortBy(
+            int maxElementsInMemory, Fn1<? super A, ? extends B> key) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(key);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(maxElementsInMemory, key, this), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the elements of this
+     * {@code ImmutableNonEmptyFiniteIterable} in the order given by {@code comparator}.  The sort is stable, and
+     * happens in memory each time the result is iterated.
+     *
+     * @param comparator the order of the elements
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> sorted(Comparator<? super A> comparator) {
+        requireNonNull(comparator);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(ExternalSort.UNBOUNDED, comparator, this), this));
+    }
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} of the elements of this
+     * {@code ImmutableNonEmptyFiniteIterable} in the order given by {@code comparator}, holding at most
+     * {@code maxElementsInMemory} elements in memory.  The sort is stable.
+     * <p>
+     * If this {@code ImmutableNonEmptyFiniteIterable} has no more than {@code maxElementsInMemory} elements, it is
+     * sorted in memory.  Otherwise, each {@code maxElementsInMemory} elements are sorted and written to a run file in a
+     * temporary directory, and the runs are merged as the result is iterated.  Elements are written with Java
+     * serialization, so they must be {@link java.io.Serializable}; if they are not, iteration throws an
+     * {@link IllegalArgumentException}.  Run files are deleted once the merge is exhausted or its iterator, a
+     * {@link CloseableIterator}, is closed; the runs of an iterator abandoned without being closed are deleted soon
+     * after it has been garbage collected.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param comparator          the order of the elements
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> sorted(int maxElementsInMemory, Comparator<? super A> comparator) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(comparator);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(maxElementsInMemory, comparator, this), this));
     }
 
     /**
@@ -206,7 +411,8 @@ public interface ImmutableNonEmptyFiniteIterable<A> extends ImmutableFiniteItera
     default <B, C> ImmutableNonEmptyFiniteIterable<C> zipWith(Fn2<A, B, C> fn, ImmutableNonEmptyIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -0,0 +1,111 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code IntFiniteIterable} that is safe from mutation and guaranteed to contain at least one element.
+ */
+public interface ImmutableNonEmptyIntFiniteIterable extends ImmutableIntFiniteIterable, NonEmptyIntFiniteIterable {
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} containing the boxed elements of this
+     * {@code ImmutableNonEmptyIntFiniteIterable}.
+     *
+     * @return an {@code ImmutableNonEmptyFiniteIterable<Integer>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyIntFiniteIterable fmap(IntUnaryOperator f) {
+        requireNonNull(f);
+        return IntIterables.immutableNonEmptyIntFiniteIterable(
+                () -> IntIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyLongFiniteIterable mapToLong(IntToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.immutableNonEmptyLongFiniteIterable(
+                () -> IntIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyDoubleFiniteIterable mapToDouble(IntToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.immutableNonEmptyDoubleFiniteIterable(
+                () -> IntIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyIntFiniteIterable}.
+     *
+     * @param f   a function from {@code int} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return an {@code ImmutableNonEmptyFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableNonEmptyFiniteIterable<B> mapToObj(IntFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sized(() -> IntIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Always succeeds because {@code ImmutableNonEmptyIntFiniteIterable}s are always non-empty.
+     *
+     * @return this {@code ImmutableNonEmptyIntFiniteIterable} wrapped in a `just`
+     */
+    @Override
+    default Maybe<? extends ImmutableNonEmptyIntFiniteIterable> toNonEmpty() {
+        return just(this);
+    }
+
+    /**
+     * Creates an {@code ImmutableNonEmptyIntFiniteIterable} containing the given elements.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    static ImmutableNonEmptyIntFiniteIterable of(int first, int... more) {
+        return IntIterables.of(first, more);
+    }
+
+}
@@ -5,10 +5,8 @@ import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static java.util.Objects.requireNonNull;
@@ -41,7 +39,7 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
     @Override
     default ImmutableNonEmptyIterable<A> concat(ImmutableIterable<A> other) {
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Rope.concat(this, other));
     }
 
     /**
@@ -56,7 +54,7 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
     @Override
     default <B> ImmutableNonEmptyIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Map.map(f, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Pipeline.map(f, this));
     }
 
     /**
@@ -70,7 +68,8 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
      */
     @Override
     default ImmutableNonEmptyIterable<A> intersperse(A separator) {
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Intersperse.intersperse(separator, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(
+                SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
     }
 
     /**
@@ -89,6 +88,22 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
                 .fmap(EnhancedIterables::unsafeImmutableNonEmptyIterable);
     }
 
+    /**
+     * Returns an {@code ImmutableNonEmptyIterable} that caches its elements as they are first traversed, so that later
+     * traversals do not recompute them.
+     * <p>
+     * Nothing is computed until the first traversal, and each element is computed at most once.  The result may be
+     * traversed by several threads at once.
+     * <p>
+     * The source may be infinite, in which case only the prefix that has been consumed so far is cached.
+     *
+     * @return an {@code ImmutableNonEmptyIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyIterable<A> memoize() {
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(Memoized.memoize(this));
+    }
+
     /**
      * Returns a new {@code ImmutableNonEmptyIterable} with the provided separator value injected before each value of this
      * {@code ImmutableNonEmptyIterable}.
@@ -98,7 +113,8 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
      */
     @Override
     default ImmutableNonEmptyIterable<A> prependAll(A separator) {
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(PrependAll.prependAll(separator, unwrap(this)));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(
+                SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -142,7 +158,8 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
     default <B, C> ImmutableNonEmptyIterable<C> zipWith(Fn2<A, B, C> fn, ImmutableNonEmptyIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyIterable(ZipWith.zipWith(fn, this, other));
+        return EnhancedIterables.unsafeImmutableNonEmptyIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, this, other), this, other));
     }
 
     /**
@@ -162,7 +179,8 @@ public interface ImmutableNonEmptyIterable<A> extends ImmutableIterable<A>, NonE
     default <B, C> ImmutableNonEmptyFiniteIterable<C> zipWith(Fn2<A, B, C> fn, ImmutableNonEmptyFiniteIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
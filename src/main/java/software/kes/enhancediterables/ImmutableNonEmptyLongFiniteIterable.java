@@ -0,0 +1,111 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code LongFiniteIterable} that is safe from mutation and guaranteed to contain at least one element.
+ */
+public interface ImmutableNonEmptyLongFiniteIterable extends ImmutableLongFiniteIterable, NonEmptyLongFiniteIterable {
+
+    /**
+     * Returns an {@code ImmutableNonEmptyFiniteIterable} containing the boxed elements of this
+     * {@code ImmutableNonEmptyLongFiniteIterable}.
+     *
+     * @return an {@code ImmutableNonEmptyFiniteIterable<Long>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyLongFiniteIterable fmap(LongUnaryOperator f) {
+        requireNonNull(f);
+        return LongIterables.immutableNonEmptyLongFiniteIterable(
+                () -> LongIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyIntFiniteIterable mapToInt(LongToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.immutableNonEmptyIntFiniteIterable(
+                () -> LongIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default ImmutableNonEmptyDoubleFiniteIterable mapToDouble(LongToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.immutableNonEmptyDoubleFiniteIterable(
+                () -> LongIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code ImmutableNonEmptyFiniteIterable} by applying a function to all elements of this
+     * {@code ImmutableNonEmptyLongFiniteIterable}.
+     *
+     * @param f   a function from {@code long} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return an {@code ImmutableNonEmptyFiniteIterable<B>}
+     */
+    @Override
+    default <B> ImmutableNonEmptyFiniteIterable<B> mapToObj(LongFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.unsafeImmutableNonEmptyFiniteIterable(
+                SizedIterable.sized(() -> LongIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Always succeeds because {@code ImmutableNonEmptyLongFiniteIterable}s are always non-empty.
+     *
+     * @return this {@code ImmutableNonEmptyLongFiniteIterable} wrapped in a `just`
+     */
+    @Override
+    default Maybe<? extends ImmutableNonEmptyLongFiniteIterable> toNonEmpty() {
+        return just(this);
+    }
+
+    /**
+     * Creates an {@code ImmutableNonEmptyLongFiniteIterable} containing the given elements.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    static ImmutableNonEmptyLongFiniteIterable of(long first, long... more) {
+        return LongIterables.of(first, more);
+    }
+
+}
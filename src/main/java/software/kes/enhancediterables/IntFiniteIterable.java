@@ -0,0 +1,334 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A finite sequence of {@code int}s that are not boxed.
+ * <p>
+ * This is also an {@code Iterable<Integer>}, but its iterator is a {@code PrimitiveIterator.OfInt}, and its
+ * operations do not box elements.  Use {@link IntFiniteIterable#boxed} to convert to a {@link FiniteIterable}.
+ */
+public interface IntFiniteIterable extends Iterable<Integer> {
+
+    /**
+     * Returns an iterator over the elements of this {@code IntFiniteIterable}.
+     *
+     * @return a {@code PrimitiveIterator.OfInt}
+     */
+    @Override
+    PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Returns a {@code FiniteIterable} containing the boxed elements of this {@code IntFiniteIterable}.
+     *
+     * @return a {@code FiniteIterable<Integer>}
+     */
+    default FiniteIterable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} that drops the first {@code count} elements of this
+     * {@code IntFiniteIterable}.
+     *
+     * @param count the number of elements to drop from this {@code IntFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable drop(int count) {
+        Validation.validateDrop(count);
+        return IntIterables.intFiniteIterable(
+                () -> IntIterables.drop(count, iterator()), SizedIterable.dropSize(count, this));
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} that contains all elements of this {@code IntFiniteIterable} that
+     * satisfy a predicate.
+     *
+     * @param predicate a predicate; should be referentially transparent and not have side-effects
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable filter(IntPredicate predicate) {
+        requireNonNull(predicate);
+        return IntIterables.intFiniteIterable(
+                () -> IntIterables.filter(predicate, iterator()), () -> SizedIterable.UNKNOWN);
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} by applying a function to all elements of this
+     * {@code IntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable fmap(IntUnaryOperator f) {
+        requireNonNull(f);
+        return IntIterables.intFiniteIterable(() -> IntIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Applies a binary operator to a start value and all elements of this {@code IntFiniteIterable}, going left to
+     * right.
+     *
+     * @param op the binary operator (accumulator on the left, item on the right)
+     * @param z  the start value
+     * @return the result of inserting {@code op} between consecutive elements of this {@code IntFiniteIterable},
+     * going left to right with the start value {@code z} on the left.
+     * Returns {@code z} if this {@code IntFiniteIterable} is empty.
+     */
+    default int foldLeft(IntBinaryOperator op, int z) {
+        requireNonNull(op);
+        return IntIterables.foldLeft(op, z, iterator());
+    }
+
+    /**
+     * Tests whether this {@code IntFiniteIterable} is empty.
+     *
+     * @return true if this {@code IntFiniteIterable} contains no elements, false otherwise
+     */
+    default boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} by applying a function to all elements of this
+     * {@code IntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable mapToLong(IntToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.longFiniteIterable(
+                () -> IntIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} by applying a function to all elements of this
+     * {@code IntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable mapToDouble(IntToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.doubleFiniteIterable(
+                () -> IntIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code IntFiniteIterable}.
+     *
+     * @param f   a function from {@code int} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return a {@code FiniteIterable<B>}
+     */
+    default <B> FiniteIterable<B> mapToObj(IntFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.finiteIterable(SizedIterable.sized(() -> IntIterables.mapToObj(f, iterator()),
+                SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Returns the largest element of this {@code IntFiniteIterable}.
+     *
+     * @return the largest element wrapped in a {@code Maybe.just}, or {@code Maybe.nothing} if this
+     * {@code IntFiniteIterable} is empty
+     */
+    default Maybe<Integer> max() {
+        return IntIterables.max(iterator());
+    }
+
+    /**
+     * Returns the smallest element of this {@code IntFiniteIterable}.
+     *
+     * @return the smallest element wrapped in a {@code Maybe.just}, or {@code Maybe.nothing} if this
+     * {@code IntFiniteIterable} is empty
+     */
+    default Maybe<Integer> min() {
+        return IntIterables.min(iterator());
+    }
+
+    /**
+     * Computes the size of this {@code IntFiniteIterable}.
+     * <p>
+     * If the size is known without iterating, this is O(1); otherwise this {@code IntFiniteIterable} is iterated.
+     *
+     * @return the number of elements in this {@code IntFiniteIterable}
+     */
+    default int size() {
+        return IntIterables.size(this);
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} containing the largest element of each window of {@code k} consecutive
+     * elements of this {@code IntFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code IntFiniteIterable} has fewer than {@code k} elements, the
+     * result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable slidingMax(int k) {
+        Validation.validateSlide(k);
+        return IntIterables.intFiniteIterable(() -> IntIterables.slidingExtreme(k, true, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} containing the smallest element of each window of {@code k} consecutive
+     * elements of this {@code IntFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code IntFiniteIterable} has fewer than {@code k} elements, the
+     * result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable slidingMin(int k) {
+        Validation.validateSlide(k);
+        return IntIterables.intFiniteIterable(() -> IntIterables.slidingExtreme(k, false, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} containing the sum of each window of {@code k} consecutive elements of
+     * this {@code IntFiniteIterable}.
+     * <p>
+     * Each element is added to the sum as it enters the window and subtracted as it leaves, so each element is
+     * processed in O(1) time, regardless of {@code k}.  Like {@code slide}, there is one result for each complete
+     * window, so if this {@code IntFiniteIterable} has fewer than {@code k} elements, the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable slidingSum(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.longFiniteIterable(() -> IntIterables.slidingSum(k, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator.OfInt} over the elements of this {@code IntFiniteIterable}.
+     * <p>
+     * The {@code Spliterator} reports {@code ORDERED}, and also {@code SIZED} and {@code SUBSIZED} if the size of
+     * this {@code IntFiniteIterable} is known without iterating it.
+     *
+     * @return a {@code Spliterator.OfInt}
+     */
+    @Override
+    default Spliterator.OfInt spliterator() {
+        return IntIterables.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the sum of the elements of this {@code IntFiniteIterable}.
+     *
+     * @return the sum, or zero if this {@code IntFiniteIterable} is empty
+     */
+    default long sum() {
+        return IntIterables.sum(iterator());
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} containing at most the first {@code count} elements of this
+     * {@code IntFiniteIterable}.
+     *
+     * @param count the maximum number of elements to take from this {@code IntFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable take(int count) {
+        Validation.validateTake(count);
+        return IntIterables.intFiniteIterable(
+                () -> IntIterables.take(count, iterator()), SizedIterable.takeSize(count, this));
+    }
+
+    /**
+     * Writes all the elements of this {@code IntFiniteIterable} to an array.
+     *
+     * @return a new {@code int[]}
+     */
+    default int[] toArray() {
+        return IntIterables.toArray(this);
+    }
+
+    /**
+     * Converts this {@code IntFiniteIterable} to a {@code NonEmptyIntFiniteIterable} if it contains one or more
+     * elements.
+     *
+     * @return a {@code Maybe<NonEmptyIntFiniteIterable>}
+     */
+    default Maybe<? extends NonEmptyIntFiniteIterable> toNonEmpty() {
+        return isEmpty()
+                ? nothing()
+                : just(IntIterables.nonEmptyIntFiniteIterable(this::iterator, SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Creates an {@code ImmutableIntFiniteIterable} by copying elements from an array.
+     *
+     * @param source the array to copy from
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    static ImmutableIntFiniteIterable copyFrom(int[] source) {
+        requireNonNull(source);
+        return IntIterables.copyFrom(source);
+    }
+
+    /**
+     * Creates an empty {@code IntFiniteIterable}.
+     *
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    static ImmutableIntFiniteIterable emptyIntFiniteIterable() {
+        return IntIterables.emptyIntFiniteIterable();
+    }
+
+    /**
+     * Creates an {@code IntFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyIntFiniteIterable}, which is
+     * also an {@link IntFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    static ImmutableNonEmptyIntFiniteIterable of(int first, int... more) {
+        return IntIterables.of(first, more);
+    }
+
+    /**
+     * Creates an {@code ImmutableIntFiniteIterable} containing the ints from {@code from} (inclusive) to {@code until}
+     * (exclusive), in ascending order.
+     *
+     * @param from  the first value
+     * @param until the upper bound (exclusive)
+     * @return an {@code ImmutableIntFiniteIterable}
+     */
+    static ImmutableIntFiniteIterable range(int from, int until) {
+        return IntIterables.range(from, until);
+    }
+
+}
@@ -0,0 +1,501 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+
+final class IntIterables {
+    private static final ImmutableIntFiniteIterable EMPTY = new ImmutableFinite(
+            () -> arrayIterator(new int[0]), () -> 0);
+
+    private IntIterables() {
+    }
+
+    static IntFiniteIterable intFiniteIterable(Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+        return new Finite(iterators, size);
+    }
+
+    static NonEmptyIntFiniteIterable nonEmptyIntFiniteIterable(Supplier<PrimitiveIterator.OfInt> iterators,
+                                                        IntSupplier size) {
+        return new NonEmptyFinite(iterators, size);
+    }
+
+    static ImmutableIntFiniteIterable immutableIntFiniteIterable(Supplier<PrimitiveIterator.OfInt> iterators,
+                                                          IntSupplier size) {
+        return new ImmutableFinite(iterators, size);
+    }
+
+    static ImmutableNonEmptyIntFiniteIterable immutableNonEmptyIntFiniteIterable(
+            Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+        return new ImmutableNonEmptyFinite(iterators, size);
+    }
+
+    static ImmutableIntFiniteIterable emptyIntFiniteIterable() {
+        return EMPTY;
+    }
+
+    static ImmutableIntFiniteIterable copyFrom(int[] source) {
+        if (source.length == 0) {
+            return EMPTY;
+        }
+        int[] values = source.clone();
+        return immutableNonEmptyIntFiniteIterable(() -> arrayIterator(values), () -> values.length);
+    }
+
+    static ImmutableNonEmptyIntFiniteIterable of(int first, int[] more) {
+        int[] values = new int[more.length + 1];
+        values[0] = first;
+        System.arraycopy(more, 0, values, 1, more.length);
+        return immutableNonEmptyIntFiniteIterable(() -> arrayIterator(values), () -> values.length);
+    }
+
+    static ImmutableIntFiniteIterable range(int from, int until) {
+        if (until <= from) {
+            return EMPTY;
+        }
+        return new Range(() -> rangeIterator(from, until), (long) until - from);
+    }
+
+    private static PrimitiveIterator.OfInt rangeIterator(int from, int until) {
+        return new PrimitiveIterator.OfInt() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < until;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    static <A> IntFiniteIterable fromObjects(ToIntFunction<? super A> f, FiniteIterable<A> source) {
+        return intFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> NonEmptyIntFiniteIterable fromObjects(ToIntFunction<? super A> f, NonEmptyFiniteIterable<A> source) {
+        return nonEmptyIntFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> ImmutableIntFiniteIterable fromObjects(ToIntFunction<? super A> f, ImmutableFiniteIterable<A> source) {
+        return immutableIntFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> ImmutableNonEmptyIntFiniteIterable fromObjects(ToIntFunction<? super A> f,
+                                                             ImmutableNonEmptyFiniteIterable<A> source) {
+        return immutableNonEmptyIntFiniteIterable(
+                () -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static int size(IntFiniteIterable as) {
+        if (as instanceof Range) {
+            return SizedIterable.saturate(((Range) as).length);
+        }
+        int knownSize = EnhancedIterables.knownSize(as);
+        if (knownSize != SizedIterable.UNKNOWN) {
+            return knownSize;
+        }
+        PrimitiveIterator.OfInt iterator = as.iterator();
+        long size = 0;
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+            size++;
+        }
+        return SizedIterable.saturate(size);
+    }
+
+    static int foldLeft(IntBinaryOperator op, int z, PrimitiveIterator.OfInt iterator) {
+        int result = z;
+        while (iterator.hasNext()) {
+            result = op.applyAsInt(result, iterator.nextInt());
+        }
+        return result;
+    }
+
+    static long sum(PrimitiveIterator.OfInt iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        return sum;
+    }
+
+    static Maybe<Integer> min(PrimitiveIterator.OfInt iterator) {
+        if (!iterator.hasNext()) {
+            return nothing();
+        }
+        return just(foldLeft(Math::min, iterator.nextInt(), iterator));
+    }
+
+    static Maybe<Integer> max(PrimitiveIterator.OfInt iterator) {
+        if (!iterator.hasNext()) {
+            return nothing();
+        }
+        return just(foldLeft(Math::max, iterator.nextInt(), iterator));
+    }
+
+    static int[] toArray(IntFiniteIterable as) {
+        int knownSize = EnhancedIterables.knownSize(as);
+        int[] result = new int[knownSize == SizedIterable.UNKNOWN ? 16 : knownSize];
+        int count = 0;
+        PrimitiveIterator.OfInt iterator = as.iterator();
+        while (iterator.hasNext()) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, Math.max(16, count * 2));
+            }
+            result[count++] = iterator.nextInt();
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    static Spliterator.OfInt spliterator(IntFiniteIterable as, int characteristics) {
+        int size = EnhancedIterables.knownSize(as);
+        if (size == SizedIterable.UNKNOWN) {
+            return Spliterators.spliteratorUnknownSize(as.iterator(), characteristics);
+        } else {
+            return Spliterators.spliterator(as.iterator(), size, characteristics);
+        }
+    }
+
+    static PrimitiveIterator.OfInt arrayIterator(int[] values) {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt map(IntUnaryOperator f, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return f.applyAsInt(underlying.nextInt());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt filter(IntPredicate predicate, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfInt() {
+            private int nextElement;
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                while (!ready && underlying.hasNext()) {
+                    int candidate = underlying.nextInt();
+                    if (predicate.test(candidate)) {
+                        nextElement = candidate;
+                        ready = true;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return nextElement;
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt take(int count, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfInt() {
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 && underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return underlying.nextInt();
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt drop(int count, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfInt() {
+            private int toDrop = count;
+
+            @Override
+            public boolean hasNext() {
+                while (toDrop > 0 && underlying.hasNext()) {
+                    underlying.nextInt();
+                    toDrop--;
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return underlying.nextInt();
+            }
+        };
+    }
+
+    static <B> Iterator<B> mapToObj(IntFunction<? extends B> f, PrimitiveIterator.OfInt underlying) {
+        return new Iterator<B>() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public B next() {
+                return f.apply(underlying.nextInt());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfLong mapToLong(IntToLongFunction f, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return f.applyAsLong(underlying.nextInt());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble mapToDouble(IntToDoubleFunction f, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return f.applyAsDouble(underlying.nextInt());
+            }
+        };
+    }
+
+    static <A> PrimitiveIterator.OfInt fromObjects(ToIntFunction<? super A> f, Iterator<A> underlying) {
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return f.applyAsInt(underlying.next());
+            }
+        };
+    }
+
+    /**
+     * Yields the sum of each window of {@code k} consecutive elements, adding each element as it enters the window and
+     * subtracting it as it leaves.
+     */
+    static PrimitiveIterator.OfLong slidingSum(int k, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfLong() {
+            private int[] window = new int[0];
+            private long position;
+            private long sum;
+
+            @Override
+            public boolean hasNext() {
+                while (position < k - 1 && underlying.hasNext()) {
+                    push(underlying.nextInt());
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(underlying.nextInt());
+                return sum;
+            }
+
+            private void push(int value) {
+                int slot = (int) (position % k);
+                if (slot >= window.length) {
+                    window = Arrays.copyOf(window, SlidingWindow.grow(slot, window.length, k));
+                }
+                if (position >= k) {
+                    sum -= window[slot];
+                }
+                window[slot] = value;
+                sum += value;
+                position++;
+            }
+        };
+    }
+
+    /**
+     * Yields the smallest (if {@code max} is false) or largest element of each window of {@code k} consecutive
+     * elements.
+     * <p>
+     * The candidates are kept in a deque, in order of position: an element is discarded as soon as a later element
+     * is at least as small (or large), because it can no longer be the result for any window, and the front is
+     * discarded when it leaves the window.  The front is therefore always the result for the current window, and each
+     * element is added and discarded once.
+     */
+    static PrimitiveIterator.OfInt slidingExtreme(int k, boolean max, PrimitiveIterator.OfInt underlying) {
+        return new PrimitiveIterator.OfInt() {
+            private int[] values = new int[0];
+            private long[] positions = new long[0];
+            private int front;
+            private int count;
+            private long position;
+
+            @Override
+            public boolean hasNext() {
+                while (position < k - 1 && underlying.hasNext()) {
+                    push(underlying.nextInt());
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(underlying.nextInt());
+                return values[front];
+            }
+
+            private void push(int value) {
+                if (count > 0 && positions[front] <= position - k) {
+                    front = (front + 1) % k;
+                    count--;
+                }
+                while (count > 0) {
+                    int back = (front + count - 1) % k;
+                    if (max ? values[back] <= value : values[back] >= value) {
+                        count--;
+                    } else {
+                        break;
+                    }
+                }
+                int slot = (front + count) % k;
+                if (slot >= values.length) {
+                    values = Arrays.copyOf(values, SlidingWindow.grow(slot, values.length, k));
+                    positions = Arrays.copyOf(positions, values.length);
+                }
+                values[slot] = value;
+                positions[slot] = position;
+                count++;
+                position++;
+            }
+        };
+    }
+
+    private static class View implements Sized {
+        private final Supplier<PrimitiveIterator.OfInt> iterators;
+        private final IntSupplier size;
+
+        private View(Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+            this.iterators = iterators;
+            this.size = size;
+        }
+
+        public PrimitiveIterator.OfInt iterator() {
+            return iterators.get();
+        }
+
+        @Override
+        public int knownSize() {
+            return size.getAsInt();
+        }
+    }
+
+    private static final class Finite extends View implements IntFiniteIterable {
+        private Finite(Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class NonEmptyFinite extends View implements NonEmptyIntFiniteIterable {
+        private NonEmptyFinite(Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class ImmutableFinite extends View implements ImmutableIntFiniteIterable {
+        private ImmutableFinite(Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class ImmutableNonEmptyFinite extends View implements ImmutableNonEmptyIntFiniteIterable {
+        private ImmutableNonEmptyFinite(Supplier<PrimitiveIterator.OfInt> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    /**
+     * A range, whose length is kept so that its size can be reported, saturated, even when it is too long to be
+     * known exactly.
+     */
+    private static final class Range extends View implements ImmutableNonEmptyIntFiniteIterable {
+        private final long length;
+
+        private Range(Supplier<PrimitiveIterator.OfInt> iterators, long length) {
+            super(iterators, () -> SizedIterable.exact(length));
+            this.length = length;
+        }
+    }
+
+}
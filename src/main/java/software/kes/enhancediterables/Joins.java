@@ -0,0 +1,268 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functions.Fn2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Equi-joins of two {@code Iterable}s, in O(n + m) time rather than the O(n * m) of filtering a cartesian product.
+ * <p>
+ * A hash join loads one side, the build side, into a hash table from each key to the positions of the elements with
+ * that key, and then streams the other side, the probe side, looking up each element's key.  The right side is the
+ * build side, unless the sizes of both sides are known and the left side is smaller.  Results follow the order of the
+ * probe side, and for each probe element, the order of its matches on the build side.  Unmatched build elements, if
+ * kept, follow all the other results, in their original order.
+ * <p>
+ * A merge join streams two sides that are already sorted by key, buffering only the run of right elements that share
+ * the current key.
+ */
+final class Joins {
+
+    private Joins() {
+    }
+
+    /**
+     * Joins {@code left} and {@code right} on equal keys.  {@code leftOnly} and {@code rightOnly} produce the results
+     * for unmatched elements of each side, or are {@code null} if unmatched elements are dropped.
+     */
+    static <A, B, K, C> Iterable<C> hashJoin(Iterable<A> left, Iterable<B> right,
+                                             Fn1<? super A, ? extends K> leftKey,
+                                             Fn1<? super B, ? extends K> rightKey,
+                                             Fn2<? super A, ? super B, ? extends C> both,
+                                             Fn1<? super A, ? extends C> leftOnly,
+                                             Fn1<? super B, ? extends C> rightOnly) {
+        return () -> {
+            int leftSize = EnhancedIterables.knownSize(left);
+            int rightSize = EnhancedIterables.knownSize(right);
+            if (leftSize != SizedIterable.UNKNOWN && rightSize != SizedIterable.UNKNOWN && leftSize < rightSize) {
+                return new HashJoinIterator<B, A, K, C>(right, rightKey, new Table<>(left, leftKey),
+                        (b, a) -> both.apply(a, b), rightOnly, leftOnly);
+            } else {
+                return new HashJoinIterator<A, B, K, C>(left, leftKey, new Table<>(right, rightKey),
+                        both, leftOnly, rightOnly);
+            }
+        };
+    }
+
+    /**
+     * Joins {@code left} and {@code right}, which must both be in ascending order of their keys, on equal keys.
+     */
+    static <A, B, K extends Comparable<? super K>, C> Iterable<C> mergeJoin(
+            Iterable<A> left, Iterable<B> right,
+            Fn1<? super A, ? extends K> leftKey,
+            Fn1<? super B, ? extends K> rightKey,
+            Fn2<? super A, ? super B, ? extends C> combiner) {
+        return () -> new MergeJoinIterator<>(left.iterator(), right.iterator(), leftKey, rightKey, combiner);
+    }
+
+    /**
+     * The elements of the build side, with their positions grouped by key.
+     */
+    private static final class Table<S, K> {
+        private final List<S> elements = new ArrayList<>();
+        private final Map<K, Positions> positions = new HashMap<>();
+
+        private Table(Iterable<S> source, Fn1<? super S, ? extends K> key) {
+            for (S s : source) {
+                positions.computeIfAbsent(key.apply(s), __ -> new Positions()).add(elements.size());
+                elements.add(s);
+            }
+        }
+    }
+
+    /**
+     * A growable array of positions.
+     */
+    private static final class Positions {
+        private int[] values = new int[1];
+        private int size;
+
+        private void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = position;
+        }
+    }
+
+    private static final class HashJoinIterator<P, S, K, C> implements Iterator<C> {
+        private final Iterator<P> probe;
+        private final Fn1<? super P, ? extends K> probeKey;
+        private final Table<S, K> table;
+        private final Fn2<? super P, ? super S, ? extends C> both;
+        private final Fn1<? super P, ? extends C> probeOnly;
+        private final Fn1<? super S, ? extends C> buildOnly;
+        private final boolean[] matched;
+        private P current;
+        private Positions matches;
+        private int matchIndex;
+        private int unmatchedIndex;
+        private boolean hasBuffered;
+        private C buffered;
+
+        private HashJoinIterator(Iterable<P> probe, Fn1<? super P, ? extends K> probeKey, Table<S, K> table,
+                                 Fn2<? super P, ? super S, ? extends C> both,
+                                 Fn1<? super P, ? extends C> probeOnly,
+                                 Fn1<? super S, ? extends C> buildOnly) {
+            this.probe = probe.iterator();
+            this.probeKey = probeKey;
+            this.table = table;
+            this.both = both;
+            this.probeOnly = probeOnly;
+            this.buildOnly = buildOnly;
+            this.matched = buildOnly != null ? new boolean[table.elements.size()] : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!hasBuffered) {
+                if (matches != null && matchIndex < matches.size) {
+                    int position = matches.values[matchIndex++];
+                    if (matched != null) {
+                        matched[position] = true;
+                    }
+                    buffer(both.apply(current, table.elements.get(position)));
+                } else if (probe.hasNext()) {
+                    current = probe.next();
+                    matches = table.positions.get(probeKey.apply(current));
+                    matchIndex = 0;
+                    if (matches == null && probeOnly != null) {
+                        buffer(probeOnly.apply(current));
+                    }
+                } else if (matched != null && unmatchedIndex < matched.length) {
+                    int position = unmatchedIndex++;
+                    if (!matched[position]) {
+                        buffer(buildOnly.apply(table.elements.get(position)));
+                    }
+                } else {
+                    current = null;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public C next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            C c = buffered;
+            hasBuffered = false;
+            buffered = null;
+            return c;
+        }
+
+        private void buffer(C c) {
+            buffered = c;
+            hasBuffered = true;
+        }
+    }
+
+    /**
+     * For each left element, advances the right side past smaller keys, and collects the run of right elements whose
+     * key equals the left element's.  The run is kept for following left elements with the same key.
+     */
+    private static final class MergeJoinIterator<A, B, K extends Comparable<? super K>, C> implements Iterator<C> {
+        private final Iterator<A> left;
+        private final Iterator<B> right;
+        private final Fn1<? super A, ? extends K> leftKey;
+        private final Fn1<? super B, ? extends K> rightKey;
+        private final Fn2<? super A, ? super B, ? extends C> combiner;
+        private final List<B> run = new ArrayList<>();
+        private K runKey;
+        private boolean hasRun;
+        private B nextRight;
+        private K nextRightKey;
+        private boolean hasNextRight;
+        private K previousLeftKey;
+        private boolean started;
+        private A current;
+        private int runIndex;
+
+        private MergeJoinIterator(Iterator<A> left, Iterator<B> right,
+                                  Fn1<? super A, ? extends K> leftKey,
+                                  Fn1<? super B, ? extends K> rightKey,
+                                  Fn2<? super A, ? super B, ? extends C> combiner) {
+            this.left = left;
+            this.right = right;
+            this.leftKey = leftKey;
+            this.rightKey = rightKey;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                started = true;
+                advanceRight();
+            }
+            while (!hasRun || runIndex == run.size()) {
+                if (!left.hasNext()) {
+                    return false;
+                }
+                current = left.next();
+                K key = leftKey.apply(current);
+                if (previousLeftKey != null && previousLeftKey.compareTo(key) > 0) {
+                    throw notSorted("left");
+                }
+                previousLeftKey = key;
+                runIndex = 0;
+                if (!hasRun || runKey.compareTo(key) != 0) {
+                    collectRun(key);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public C next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return combiner.apply(current, run.get(runIndex++));
+        }
+
+        private void collectRun(K key) {
+            run.clear();
+            hasRun = false;
+            while (hasNextRight && nextRightKey.compareTo(key) < 0) {
+                advanceRight();
+            }
+            while (hasNextRight && nextRightKey.compareTo(key) == 0) {
+                run.add(nextRight);
+                advanceRight();
+            }
+            runKey = key;
+            hasRun = !run.isEmpty();
+        }
+
+        private void advanceRight() {
+            if (right.hasNext()) {
+                K previous = nextRightKey;
+                nextRight = right.next();
+                nextRightKey = rightKey.apply(nextRight);
+                if (previous != null && previous.compareTo(nextRightKey) > 0) {
+                    throw notSorted("right");
+                }
+                hasNextRight = true;
+            } else {
+                nextRight = null;
+                hasNextRight = false;
+            }
+        }
+
+        private static IllegalArgumentException notSorted(String side) {
+            return new IllegalArgumentException("mergeJoin requires both sides in ascending order of their keys, but "
+                    + "the " + side + " side is not");
+        }
+    }
+
+}
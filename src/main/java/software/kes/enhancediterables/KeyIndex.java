@@ -0,0 +1,205 @@
+package software.kes.enhancediterables;
+
+import java.util.Arrays;
+
+/**
+ * Numbers keys densely, in the order they are first seen, for the grouping operations and {@code distinct}.
+ * <p>
+ * {@code Integer} and {@code Long} keys are stored unboxed in open-addressing tables of {@code long}s, and all other
+ * keys in an open-addressing table that keeps each key's hash code alongside it, so that {@code equals} is only called
+ * on keys whose hash codes match.  Each table stores the index of each key in a parallel {@code int} array, so looking
+ * up a key allocates nothing, and unlike a {@code HashMap}, no entry is allocated per key.
+ * <p>
+ * Keys are compared as a {@code HashMap} would compare them, so {@code 1} and {@code 1L} are different keys.
+ */
+final class KeyIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+    private static final int INT_PHI = 0x9E3779B9;
+
+    private final LongIndex ints = new LongIndex();
+    private final LongIndex longs = new LongIndex();
+    private final ObjectIndex objects = new ObjectIndex();
+    private int nullIndex = -1;
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the index of a key, numbering it {@link #size()} if it has not been seen before.
+     *
+     * @param key the key, which may be {@code null}
+     */
+    int indexOf(Object key) {
+        int index = find(key, size);
+        if (index == size) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+            }
+            keys[size++] = key;
+        }
+        return index;
+    }
+
+    /**
+     * Numbers a key if it has not been seen before.
+     *
+     * @param key the key, which may be {@code null}
+     * @return true if the key had not been seen before
+     */
+    boolean add(Object key) {
+        int size = this.size;
+        return indexOf(key) == size;
+    }
+
+    boolean contains(Object key) {
+        return find(key, -1) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Object key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the index of a key, or, if it has not been seen before, records it with index {@code next}, unless
+     * {@code next} is negative, in which case returns -1.
+     */
+    private int find(Object key, int next) {
+        if (key instanceof Integer) {
+            return ints.indexOf((Integer) key, next);
+        } else if (key instanceof Long) {
+            return longs.indexOf((Long) key, next);
+        } else if (key == null) {
+            if (nullIndex < 0 && next >= 0) {
+                nullIndex = next;
+            }
+            return nullIndex;
+        } else {
+            return objects.indexOf(key, next);
+        }
+    }
+
+    /**
+     * Linear probing over a power-of-two table of {@code long}s, indexed by Fibonacci hashing.  Zero marks an empty
+     * slot, so the index of a zero key is tracked separately.
+     */
+    private static final class LongIndex {
+        private long[] table = new long[INITIAL_CAPACITY];
+        private int[] indices = new int[INITIAL_CAPACITY];
+        private int shift = Long.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+        private int zeroIndex = -1;
+        private int size;
+
+        private int indexOf(long key, int next) {
+            if (key == 0) {
+                if (zeroIndex < 0 && next >= 0) {
+                    zeroIndex = next;
+                }
+                return zeroIndex;
+            }
+            int mask = table.length - 1;
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                long existing = table[i];
+                if (existing == key) {
+                    return indices[i];
+                } else if (existing == 0) {
+                    if (next < 0) {
+                        return -1;
+                    }
+                    table[i] = key;
+                    indices[i] = next;
+                    if (++size > table.length >>> 1) {
+                        grow();
+                    }
+                    return next;
+                }
+            }
+        }
+
+        private int slot(long key) {
+            return (int) ((key * LONG_PHI) >>> shift);
+        }
+
+        private void grow() {
+            long[] oldTable = table;
+            int[] oldIndices = indices;
+            table = new long[oldTable.length << 1];
+            indices = new int[oldTable.length << 1];
+            shift--;
+            int mask = table.length - 1;
+            for (int j = 0; j < oldTable.length; j++) {
+                if (oldTable[j] != 0) {
+                    int i = slot(oldTable[j]);
+                    while (table[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = oldTable[j];
+                    indices[i] = oldIndices[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Linear probing over parallel tables of keys, their hash codes and their indices.
+     */
+    private static final class ObjectIndex {
+        private Object[] keys = new Object[INITIAL_CAPACITY];
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private int[] indices = new int[INITIAL_CAPACITY];
+        private int shift = Integer.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+        private int size;
+
+        private int indexOf(Object key, int next) {
+            int hash = key.hashCode();
+            int mask = keys.length - 1;
+            for (int i = slot(hash); ; i = (i + 1) & mask) {
+                Object existing = keys[i];
+                if (existing == null) {
+                    if (next < 0) {
+                        return -1;
+                    }
+                    keys[i] = key;
+                    hashes[i] = hash;
+                    indices[i] = next;
+                    if (++size > keys.length >>> 1) {
+                        grow();
+                    }
+                    return next;
+                } else if (hashes[i] == hash && existing.equals(key)) {
+                    return indices[i];
+                }
+            }
+        }
+
+        private int slot(int hash) {
+            return (hash * INT_PHI) >>> shift;
+        }
+
+        private void grow() {
+            Object[] oldKeys = keys;
+            int[] oldHashes = hashes;
+            int[] oldIndices = indices;
+            keys = new Object[oldKeys.length << 1];
+            hashes = new int[oldKeys.length << 1];
+            indices = new int[oldKeys.length << 1];
+            shift--;
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != null) {
+                    int i = slot(oldHashes[j]);
+                    while (keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    hashes[i] = oldHashes[j];
+                    indices[i] = oldIndices[j];
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package software.kes.enhancediterables;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A live, read-only view of an index range of a {@code RandomAccess} {@code List}.
+ * <p>
+ * The range is described relative to the current size of the list: a fixed number of elements skipped at the front,
+ * a fixed number excluded at the back, and an optional upper limit on the number of elements.  Slicing a
+ * {@code ListSlice} creates a new slice of the original list rather than a slice of the slice, so repeatedly taking the
+ * tail (or {@code init}, or a prefix) of a list never adds more than one level of indirection.
+ *
+ * @param <A> the element type
+ */
+final class ListSlice<A> extends AbstractList<A> implements RandomAccess {
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final List<A> underlying;
+    private final int offset;
+    private final int limit;
+    private final int trimmed;
+
+    private ListSlice(List<A> underlying, int offset, int limit, int trimmed) {
+        this.underlying = underlying;
+        this.offset = offset;
+        this.limit = limit;
+        this.trimmed = trimmed;
+    }
+
+    static boolean isSliceable(Collection<?> collection) {
+        return collection instanceof List<?> && collection instanceof RandomAccess;
+    }
+
+    /**
+     * Returns a view of all but the first {@code count} elements of {@code list}.
+     */
+    static <A> List<A> drop(int count, List<A> list) {
+        if (list instanceof ListSlice<?>) {
+            ListSlice<A> slice = (ListSlice<A>) list;
+            return new ListSlice<>(slice.underlying, SizedIterable.saturate((long) slice.offset + count),
+                    slice.limit == NO_LIMIT ? NO_LIMIT : Math.max(0, slice.limit - count), slice.trimmed);
+        } else {
+            return new ListSlice<>(list, count, NO_LIMIT, 0);
+        }
+    }
+
+    /**
+     * Returns a view of at most the first {@code count} elements of {@code list}.
+     */
+    static <A> List<A> take(int count, List<A> list) {
+        if (list instanceof ListSlice<?>) {
+            ListSlice<A> slice = (ListSlice<A>) list;
+            return new ListSlice<>(slice.underlying, slice.offset, Math.min(slice.limit, count), slice.trimmed);
+        } else {
+            return new ListSlice<>(list, 0, count, 0);
+        }
+    }
+
+    /**
+     * Returns a view of all but the last {@code count} elements of {@code list}.
+     */
+    static <A> List<A> dropLast(int count, List<A> list) {
+        if (list instanceof ListSlice<?>) {
+            ListSlice<A> slice = (ListSlice<A>) list;
+            return new ListSlice<>(slice.underlying, slice.offset,
+                    slice.limit == NO_LIMIT ? NO_LIMIT : Math.max(0, slice.limit - count),
+                    SizedIterable.saturate((long) slice.trimmed + count));
+        } else {
+            return new ListSlice<>(list, 0, NO_LIMIT, count);
+        }
+    }
+
+    /**
+     * Returns a view of the {@code count} elements of {@code list} starting at {@code from}, or fewer if
+     * {@code list} ends first.
+     */
+    static <A> List<A> range(int from, int count, List<A> list) {
+        return take(count, drop(from, list));
+    }
+
+    @Override
+    public A get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return underlying.get(offset + index);
+    }
+
+    @Override
+    public int size() {
+        long available = (long) underlying.size() - offset - trimmed;
+        return (int) Math.max(0, Math.min(limit, available));
+    }
+
+}
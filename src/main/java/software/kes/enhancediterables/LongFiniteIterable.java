@@ -0,0 +1,333 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A finite sequence of {@code long}s that are not boxed.
+ * <p>
+ * This is also an {@code Iterable<Long>}, but its iterator is a {@code PrimitiveIterator.OfLong}, and its
+ * operations do not box elements.  Use {@link LongFiniteIterable#boxed} to convert to a {@link FiniteIterable}.
+ */
+public interface LongFiniteIterable extends Iterable<Long> {
+
+    /**
+     * Returns an iterator over the elements of this {@code LongFiniteIterable}.
+     *
+     * @return a {@code PrimitiveIterator.OfLong}
+     */
+    @Override
+    PrimitiveIterator.OfLong iterator();
+
+    /**
+     * Returns a {@code FiniteIterable} containing the boxed elements of this {@code LongFiniteIterable}.
+     *
+     * @return a {@code FiniteIterable<Long>}
+     */
+    default FiniteIterable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} that drops the first {@code count} elements of this
+     * {@code LongFiniteIterable}.
+     *
+     * @param count the number of elements to drop from this {@code LongFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable drop(int count) {
+        Validation.validateDrop(count);
+        return LongIterables.longFiniteIterable(
+                () -> LongIterables.drop(count, iterator()), SizedIterable.dropSize(count, this));
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} that contains all elements of this {@code LongFiniteIterable} that
+     * satisfy a predicate.
+     *
+     * @param predicate a predicate; should be referentially transparent and not have side-effects
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable filter(LongPredicate predicate) {
+        requireNonNull(predicate);
+        return LongIterables.longFiniteIterable(
+                () -> LongIterables.filter(predicate, iterator()), () -> SizedIterable.UNKNOWN);
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} by applying a function to all elements of this
+     * {@code LongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable fmap(LongUnaryOperator f) {
+        requireNonNull(f);
+        return LongIterables.longFiniteIterable(() -> LongIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Applies a binary operator to a start value and all elements of this {@code LongFiniteIterable}, going left to
+     * right.
+     *
+     * @param op the binary operator (accumulator on the left, item on the right)
+     * @param z  the start value
+     * @return the result of inserting {@code op} between consecutive elements of this {@code LongFiniteIterable},
+     * going left to right with the start value {@code z} on the left.
+     * Returns {@code z} if this {@code LongFiniteIterable} is empty.
+     */
+    default long foldLeft(LongBinaryOperator op, long z) {
+        requireNonNull(op);
+        return LongIterables.foldLeft(op, z, iterator());
+    }
+
+    /**
+     * Tests whether this {@code LongFiniteIterable} is empty.
+     *
+     * @return true if this {@code LongFiniteIterable} contains no elements, false otherwise
+     */
+    default boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Returns a new {@code IntFiniteIterable} by applying a function to all elements of this
+     * {@code LongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return an {@code IntFiniteIterable}
+     */
+    default IntFiniteIterable mapToInt(LongToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.intFiniteIterable(() -> LongIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code DoubleFiniteIterable} by applying a function to all elements of this
+     * {@code LongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code DoubleFiniteIterable}
+     */
+    default DoubleFiniteIterable mapToDouble(LongToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.doubleFiniteIterable(
+                () -> LongIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code FiniteIterable} by applying a function to all elements of this {@code LongFiniteIterable}.
+     *
+     * @param f   a function from {@code long} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return a {@code FiniteIterable<B>}
+     */
+    default <B> FiniteIterable<B> mapToObj(LongFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.finiteIterable(SizedIterable.sized(() -> LongIterables.mapToObj(f, iterator()),
+                SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Returns the largest element of this {@code LongFiniteIterable}.
+     *
+     * @return the largest element wrapped in a {@code Maybe.just}, or {@code Maybe.nothing} if this
+     * {@code LongFiniteIterable} is empty
+     */
+    default Maybe<Long> max() {
+        return LongIterables.max(iterator());
+    }
+
+    /**
+     * Returns the smallest element of this {@code LongFiniteIterable}.
+     *
+     * @return the smallest element wrapped in a {@code Maybe.just}, or {@code Maybe.nothing} if this
+     * {@code LongFiniteIterable} is empty
+     */
+    default Maybe<Long> min() {
+        return LongIterables.min(iterator());
+    }
+
+    /**
+     * Computes the size of this {@code LongFiniteIterable}.
+     * <p>
+     * If the size is known without iterating, this is O(1); otherwise this {@code LongFiniteIterable} is iterated.
+     *
+     * @return the number of elements in this {@code LongFiniteIterable}
+     */
+    default int size() {
+        return LongIterables.size(this);
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} containing the largest element of each window of {@code k} consecutive
+     * elements of this {@code LongFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code LongFiniteIterable} has fewer than {@code k} elements, the
+     * result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable slidingMax(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.longFiniteIterable(() -> LongIterables.slidingExtreme(k, true, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} containing the smallest element of each window of {@code k} consecutive
+     * elements of this {@code LongFiniteIterable}.
+     * <p>
+     * Each element is processed in amortized O(1) time, regardless of {@code k}.  Like {@code slide}, there is one
+     * result for each complete window, so if this {@code LongFiniteIterable} has fewer than {@code k} elements, the
+     * result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable slidingMin(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.longFiniteIterable(() -> LongIterables.slidingExtreme(k, false, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} containing the sum of each window of {@code k} consecutive elements of
+     * this {@code LongFiniteIterable}.
+     * <p>
+     * Each element is added to the sum as it enters the window and subtracted as it leaves, so each element is
+     * processed in O(1) time, regardless of {@code k}.  Like {@code slide}, there is one result for each complete
+     * window, so if this {@code LongFiniteIterable} has fewer than {@code k} elements, the result is empty.
+     *
+     * @param k the number of elements in each window.  Must be &gt;= 1.
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable slidingSum(int k) {
+        Validation.validateSlide(k);
+        return LongIterables.longFiniteIterable(() -> LongIterables.slidingSum(k, iterator()),
+                SizedIterable.dropSize(k - 1, this));
+    }
+
+    /**
+     * Creates a {@code Spliterator.OfLong} over the elements of this {@code LongFiniteIterable}.
+     * <p>
+     * The {@code Spliterator} reports {@code ORDERED}, and also {@code SIZED} and {@code SUBSIZED} if the size of
+     * this {@code LongFiniteIterable} is known without iterating it.
+     *
+     * @return a {@code Spliterator.OfLong}
+     */
+    @Override
+    default Spliterator.OfLong spliterator() {
+        return LongIterables.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the sum of the elements of this {@code LongFiniteIterable}.
+     *
+     * @return the sum, or zero if this {@code LongFiniteIterable} is empty
+     */
+    default long sum() {
+        return LongIterables.sum(iterator());
+    }
+
+    /**
+     * Returns a new {@code LongFiniteIterable} containing at most the first {@code count} elements of this
+     * {@code LongFiniteIterable}.
+     *
+     * @param count the maximum number of elements to take from this {@code LongFiniteIterable}.
+     *              Must be &gt;= 0.
+     * @return a {@code LongFiniteIterable}
+     */
+    default LongFiniteIterable take(int count) {
+        Validation.validateTake(count);
+        return LongIterables.longFiniteIterable(
+                () -> LongIterables.take(count, iterator()), SizedIterable.takeSize(count, this));
+    }
+
+    /**
+     * Writes all the elements of this {@code LongFiniteIterable} to an array.
+     *
+     * @return a new {@code long[]}
+     */
+    default long[] toArray() {
+        return LongIterables.toArray(this);
+    }
+
+    /**
+     * Converts this {@code LongFiniteIterable} to a {@code NonEmptyLongFiniteIterable} if it contains one or more
+     * elements.
+     *
+     * @return a {@code Maybe<NonEmptyLongFiniteIterable>}
+     */
+    default Maybe<? extends NonEmptyLongFiniteIterable> toNonEmpty() {
+        return isEmpty()
+                ? nothing()
+                : just(LongIterables.nonEmptyLongFiniteIterable(this::iterator, SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Creates an {@code ImmutableLongFiniteIterable} by copying elements from an array.
+     *
+     * @param source the array to copy from
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    static ImmutableLongFiniteIterable copyFrom(long[] source) {
+        requireNonNull(source);
+        return LongIterables.copyFrom(source);
+    }
+
+    /**
+     * Creates an empty {@code LongFiniteIterable}.
+     *
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    static ImmutableLongFiniteIterable emptyLongFiniteIterable() {
+        return LongIterables.emptyLongFiniteIterable();
+    }
+
+    /**
+     * Creates a {@code LongFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyLongFiniteIterable}, which is
+     * also a {@link LongFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    static ImmutableNonEmptyLongFiniteIterable of(long first, long... more) {
+        return LongIterables.of(first, more);
+    }
+
+    /**
+     * Creates an {@code ImmutableIntFiniteIterable} containing the longs from {@code from} (inclusive) to {@code until}
+     * (exclusive), in ascending order.
+     *
+     * @param from  the first value
+     * @param until the upper bound (exclusive)
+     * @return an {@code ImmutableLongFiniteIterable}
+     */
+    static ImmutableLongFiniteIterable range(long from, long until) {
+        return LongIterables.range(from, until);
+    }
+
+}
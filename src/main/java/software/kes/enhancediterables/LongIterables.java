@@ -0,0 +1,506 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntSupplier;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+
+final class LongIterables {
+    private static final ImmutableLongFiniteIterable EMPTY = new ImmutableFinite(
+            () -> arrayIterator(new long[0]), () -> 0);
+
+    private LongIterables() {
+    }
+
+    static LongFiniteIterable longFiniteIterable(Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+        return new Finite(iterators, size);
+    }
+
+    static NonEmptyLongFiniteIterable nonEmptyLongFiniteIterable(Supplier<PrimitiveIterator.OfLong> iterators,
+                                                        IntSupplier size) {
+        return new NonEmptyFinite(iterators, size);
+    }
+
+    static ImmutableLongFiniteIterable immutableLongFiniteIterable(Supplier<PrimitiveIterator.OfLong> iterators,
+                                                          IntSupplier size) {
+        return new ImmutableFinite(iterators, size);
+    }
+
+    static ImmutableNonEmptyLongFiniteIterable immutableNonEmptyLongFiniteIterable(
+            Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+        return new ImmutableNonEmptyFinite(iterators, size);
+    }
+
+    static ImmutableLongFiniteIterable emptyLongFiniteIterable() {
+        return EMPTY;
+    }
+
+    static ImmutableLongFiniteIterable copyFrom(long[] source) {
+        if (source.length == 0) {
+            return EMPTY;
+        }
+        long[] values = source.clone();
+        return immutableNonEmptyLongFiniteIterable(() -> arrayIterator(values), () -> values.length);
+    }
+
+    static ImmutableNonEmptyLongFiniteIterable of(long first, long[] more) {
+        long[] values = new long[more.length + 1];
+        values[0] = first;
+        System.arraycopy(more, 0, values, 1, more.length);
+        return immutableNonEmptyLongFiniteIterable(() -> arrayIterator(values), () -> values.length);
+    }
+
+    static ImmutableLongFiniteIterable range(long from, long until) {
+        if (until <= from) {
+            return EMPTY;
+        }
+        return new Range(() -> rangeIterator(from, until), rangeSize(from, until));
+    }
+
+    private static long rangeSize(long from, long until) {
+        long size = until - from;
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    private static PrimitiveIterator.OfLong rangeIterator(long from, long until) {
+        return new PrimitiveIterator.OfLong() {
+            private long next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < until;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    static <A> LongFiniteIterable fromObjects(ToLongFunction<? super A> f, FiniteIterable<A> source) {
+        return longFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> NonEmptyLongFiniteIterable fromObjects(ToLongFunction<? super A> f, NonEmptyFiniteIterable<A> source) {
+        return nonEmptyLongFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> ImmutableLongFiniteIterable fromObjects(ToLongFunction<? super A> f, ImmutableFiniteIterable<A> source) {
+        return immutableLongFiniteIterable(() -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static <A> ImmutableNonEmptyLongFiniteIterable fromObjects(ToLongFunction<? super A> f,
+                                                             ImmutableNonEmptyFiniteIterable<A> source) {
+        return immutableNonEmptyLongFiniteIterable(
+                () -> fromObjects(f, source.iterator()), SizedIterable.sizeOf(source));
+    }
+
+    static int size(LongFiniteIterable as) {
+        if (as instanceof Range) {
+            return SizedIterable.saturate(((Range) as).length);
+        }
+        int knownSize = EnhancedIterables.knownSize(as);
+        if (knownSize != SizedIterable.UNKNOWN) {
+            return knownSize;
+        }
+        PrimitiveIterator.OfLong iterator = as.iterator();
+        long size = 0;
+        while (iterator.hasNext()) {
+            iterator.nextLong();
+            size++;
+        }
+        return SizedIterable.saturate(size);
+    }
+
+    static long foldLeft(LongBinaryOperator op, long z, PrimitiveIterator.OfLong iterator) {
+        long result = z;
+        while (iterator.hasNext()) {
+            result = op.applyAsLong(result, iterator.nextLong());
+        }
+        return result;
+    }
+
+    static long sum(PrimitiveIterator.OfLong iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextLong();
+        }
+        return sum;
+    }
+
+    static Maybe<Long> min(PrimitiveIterator.OfLong iterator) {
+        if (!iterator.hasNext()) {
+            return nothing();
+        }
+        return just(foldLeft(Math::min, iterator.nextLong(), iterator));
+    }
+
+    static Maybe<Long> max(PrimitiveIterator.OfLong iterator) {
+        if (!iterator.hasNext()) {
+            return nothing();
+        }
+        return just(foldLeft(Math::max, iterator.nextLong(), iterator));
+    }
+
+    static long[] toArray(LongFiniteIterable as) {
+        int knownSize = EnhancedIterables.knownSize(as);
+        long[] result = new long[knownSize == SizedIterable.UNKNOWN ? 16 : knownSize];
+        int count = 0;
+        PrimitiveIterator.OfLong iterator = as.iterator();
+        while (iterator.hasNext()) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, Math.max(16, count * 2));
+            }
+            result[count++] = iterator.nextLong();
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    static Spliterator.OfLong spliterator(LongFiniteIterable as, int characteristics) {
+        int size = EnhancedIterables.knownSize(as);
+        if (size == SizedIterable.UNKNOWN) {
+            return Spliterators.spliteratorUnknownSize(as.iterator(), characteristics);
+        } else {
+            return Spliterators.spliterator(as.iterator(), size, characteristics);
+        }
+    }
+
+    static PrimitiveIterator.OfLong arrayIterator(long[] values) {
+        return new PrimitiveIterator.OfLong() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfLong map(LongUnaryOperator f, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return f.applyAsLong(underlying.nextLong());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfLong filter(LongPredicate predicate, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfLong() {
+            private long nextElement;
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                while (!ready && underlying.hasNext()) {
+                    long candidate = underlying.nextLong();
+                    if (predicate.test(candidate)) {
+                        nextElement = candidate;
+                        ready = true;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return nextElement;
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfLong take(int count, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfLong() {
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 && underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return underlying.nextLong();
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfLong drop(int count, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfLong() {
+            private int toDrop = count;
+
+            @Override
+            public boolean hasNext() {
+                while (toDrop > 0 && underlying.hasNext()) {
+                    underlying.nextLong();
+                    toDrop--;
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return underlying.nextLong();
+            }
+        };
+    }
+
+    static <B> Iterator<B> mapToObj(LongFunction<? extends B> f, PrimitiveIterator.OfLong underlying) {
+        return new Iterator<B>() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public B next() {
+                return f.apply(underlying.nextLong());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt mapToInt(LongToIntFunction f, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return f.applyAsInt(underlying.nextLong());
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble mapToDouble(LongToDoubleFunction f, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return f.applyAsDouble(underlying.nextLong());
+            }
+        };
+    }
+
+    static <A> PrimitiveIterator.OfLong fromObjects(ToLongFunction<? super A> f, Iterator<A> underlying) {
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return f.applyAsLong(underlying.next());
+            }
+        };
+    }
+
+    /**
+     * Yields the sum of each window of {@code k} consecutive elements, adding each element as it enters the window and
+     * subtracting it as it leaves.
+     */
+    static PrimitiveIterator.OfLong slidingSum(int k, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfLong() {
+            private long[] window = new long[0];
+            private long position;
+            private long sum;
+
+            @Override
+            public boolean hasNext() {
+                while (position < k - 1 && underlying.hasNext()) {
+                    push(underlying.nextLong());
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(underlying.nextLong());
+                return sum;
+            }
+
+            private void push(long value) {
+                int slot = (int) (position % k);
+                if (slot >= window.length) {
+                    window = Arrays.copyOf(window, SlidingWindow.grow(slot, window.length, k));
+                }
+                if (position >= k) {
+                    sum -= window[slot];
+                }
+                window[slot] = value;
+                sum += value;
+                position++;
+            }
+        };
+    }
+
+    /**
+     * Yields the smallest (if {@code max} is false) or largest element of each window of {@code k} consecutive
+     * elements.
+     * <p>
+     * The candidates are kept in a deque, in order of position: an element is discarded as soon as a later element
+     * is at least as small (or large), because it can no longer be the result for any window, and the front is
+     * discarded when it leaves the window.  The front is therefore always the result for the current window, and each
+     * element is added and discarded once.
+     */
+    static PrimitiveIterator.OfLong slidingExtreme(int k, boolean max, PrimitiveIterator.OfLong underlying) {
+        return new PrimitiveIterator.OfLong() {
+            private long[] values = new long[0];
+            private long[] positions = new long[0];
+            private int front;
+            private int count;
+            private long position;
+
+            @Override
+            public boolean hasNext() {
+                while (position < k - 1 && underlying.hasNext()) {
+                    push(underlying.nextLong());
+                }
+                return underlying.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(underlying.nextLong());
+                return values[front];
+            }
+
+            private void push(long value) {
+                if (count > 0 && positions[front] <= position - k) {
+                    front = (front + 1) % k;
+                    count--;
+                }
+                while (count > 0) {
+                    int back = (front + count - 1) % k;
+                    if (max ? values[back] <= value : values[back] >= value) {
+                        count--;
+                    } else {
+                        break;
+                    }
+                }
+                int slot = (front + count) % k;
+                if (slot >= values.length) {
+                    values = Arrays.copyOf(values, SlidingWindow.grow(slot, values.length, k));
+                    positions = Arrays.copyOf(positions, values.length);
+                }
+                values[slot] = value;
+                positions[slot] = position;
+                count++;
+                position++;
+            }
+        };
+    }
+
+    private static class View implements Sized {
+        private final Supplier<PrimitiveIterator.OfLong> iterators;
+        private final IntSupplier size;
+
+        private View(Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+            this.iterators = iterators;
+            this.size = size;
+        }
+
+        public PrimitiveIterator.OfLong iterator() {
+            return iterators.get();
+        }
+
+        @Override
+        public int knownSize() {
+            return size.getAsInt();
+        }
+    }
+
+    private static final class Finite extends View implements LongFiniteIterable {
+        private Finite(Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class NonEmptyFinite extends View implements NonEmptyLongFiniteIterable {
+        private NonEmptyFinite(Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class ImmutableFinite extends View implements ImmutableLongFiniteIterable {
+        private ImmutableFinite(Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    private static final class ImmutableNonEmptyFinite extends View implements ImmutableNonEmptyLongFiniteIterable {
+        private ImmutableNonEmptyFinite(Supplier<PrimitiveIterator.OfLong> iterators, IntSupplier size) {
+            super(iterators, size);
+        }
+    }
+
+    /**
+     * A range, whose length is kept so that its size can be reported, saturated, even when it is too long to be
+     * known exactly.
+     */
+    private static final class Range extends View implements ImmutableNonEmptyLongFiniteIterable {
+        private final long length;
+
+        private Range(Supplier<PrimitiveIterator.OfLong> iterators, long length) {
+            super(iterators, () -> SizedIterable.exact(length));
+            this.length = length;
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package software.kes.enhancediterables;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily merges {@code k} sorted iterators with a tournament tree of losers, holding one element per iterator.
+ * <p>
+ * The leaves of the tree are the current elements of the iterators, and each internal node holds the iterator that
+ * lost the match played there, while the overall winner is held separately.  After the winner's element is yielded,
+ * its iterator's next element replays only the matches on the path from its leaf to the root, so each element costs
+ * about {@code log2(k)} comparisons, rather than the up to {@code 2 log2(k)} of a binary heap.
+ * <p>
+ * An exhausted iterator loses to every other, and ties are won by the earlier iterator, so the merge is stable.
+ *
+ * @param <A> the element type
+ */
+final class LoserTree<A> implements Iterator<A> {
+    private final Comparator<? super A> comparator;
+    private final List<? extends Iterator<? extends A>> sources;
+    private final int k;
+    private final Object[] heads;
+    private final boolean[] exhausted;
+    private final int[] losers;
+    private int winner;
+    private boolean started;
+
+    LoserTree(Comparator<? super A> comparator, List<? extends Iterator<? extends A>> sources) {
+        this.comparator = comparator;
+        this.sources = sources;
+        this.k = sources.size();
+        this.heads = new Object[k];
+        this.exhausted = new boolean[k];
+        this.losers = new int[k];
+    }
+
+    static <A> Iterable<A> merge(Comparator<? super A> comparator, Iterable<? extends Iterable<? extends A>> sources) {
+        return () -> {
+            List<Iterator<? extends A>> iterators = new ArrayList<>();
+            for (Iterable<? extends A> source : sources) {
+                iterators.add(source.iterator());
+            }
+            return new LoserTree<>(comparator, iterators);
+        };
+    }
+
+    static <A> Iterable<A> merge(Comparator<? super A> comparator, Iterable<? extends A> first,
+                                 Iterable<? extends Iterable<? extends A>> more) {
+        return () -> {
+            List<Iterator<? extends A>> iterators = new ArrayList<>();
+            iterators.add(first.iterator());
+            for (Iterable<? extends A> source : more) {
+                iterators.add(source.iterator());
+            }
+            return new LoserTree<>(comparator, iterators);
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            build();
+        }
+        return k > 0 && !exhausted[winner];
+    }
+
+    @Override
+    public A next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int source = winner;
+        @SuppressWarnings("unchecked")
+        A a = (A) heads[source];
+        advance(source);
+        for (int node = (source + k) >>> 1; node > 0; node >>>= 1) {
+            if (beats(losers[node], source)) {
+                int loser = source;
+                source = losers[node];
+                losers[node] = loser;
+            }
+        }
+        winner = source;
+        return a;
+    }
+
+    /**
+     * Plays every match bottom-up.  Leaf {@code i} is node {@code k + i}, and node {@code n} has children {@code 2n}
+     * and {@code 2n + 1}, which gives a complete binary tree for any {@code k}.
+     */
+    private void build() {
+        if (k == 0) {
+            return;
+        }
+        for (int i = 0; i < k; i++) {
+            advance(i);
+        }
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int node = k - 1; node > 0; node--) {
+            int left = winners[2 * node];
+            int right = winners[2 * node + 1];
+            if (beats(left, right)) {
+                winners[node] = left;
+                losers[node] = right;
+            } else {
+                winners[node] = right;
+                losers[node] = left;
+            }
+        }
+        winner = k == 1 ? 0 : winners[1];
+    }
+
+    private void advance(int source) {
+        Iterator<? extends A> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            heads[source] = iterator.next();
+        } else {
+            heads[source] = null;
+            exhausted[source] = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean beats(int x, int y) {
+        if (exhausted[x] || exhausted[y]) {
+            return exhausted[y] && (!exhausted[x] || x < y);
+        }
+        int c = comparator.compare((A) heads[x], (A) heads[y]);
+        return c < 0 || (c == 0 && x < y);
+    }
+
+}
@@ -0,0 +1,112 @@
+package software.kes.enhancediterables;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Caches the elements of an {@code Iterable} as they are first pulled, so that later traversals replay them from the
+ * cache instead of recomputing them.
+ * <p>
+ * The underlying {@code Iterable} is traversed at most once, and no further than the furthest any iterator has
+ * advanced.  Iterators may be used concurrently: pulling a new element from the underlying iterator is serialized,
+ * while replaying elements that are already cached does not lock.
+ *
+ * @param <A> the element type
+ */
+final class Memoized<A> implements PushIterable<A>, Sized {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Iterable<A> source;
+    private Iterator<A> sourceIterator;
+    private volatile Object[] cache;
+    private volatile int count;
+    private volatile boolean exhausted;
+
+    private Memoized(Iterable<A> source) {
+        this.source = source;
+        this.cache = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns {@code iterable} itself if its elements are already stored, or otherwise a {@code Memoized} view of it.
+     */
+    static <A> Iterable<A> memoize(Iterable<A> iterable) {
+        Iterable<A> unwrapped = Wrapped.unwrap(iterable);
+        if (unwrapped instanceof Memoized<?> || unwrapped instanceof ArrayIterable<?>
+                || unwrapped instanceof Collection<?>) {
+            return iterable;
+        } else {
+            return new Memoized<>(iterable);
+        }
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count || fill(index);
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public A next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (A) cache[index++];
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean forEachWhile(Predicate<? super A> action) {
+        for (int i = 0; i < count || fill(i); i++) {
+            if (!action.test((A) cache[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int knownSize() {
+        return exhausted ? count : EnhancedIterables.knownSize(source);
+    }
+
+    /**
+     * Pulls elements from the underlying iterator until the element at {@code index} is cached, returning
+     * {@code false} if the underlying iterator runs out first.
+     */
+    private synchronized boolean fill(int index) {
+        while (index >= count) {
+            if (exhausted) {
+                return false;
+            }
+            if (sourceIterator == null) {
+                sourceIterator = source.iterator();
+            }
+            if (!sourceIterator.hasNext()) {
+                sourceIterator = null;
+                exhausted = true;
+                return false;
+            }
+            A element = sourceIterator.next();
+            Object[] current = cache;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, count * 2);
+                cache = current;
+            }
+            current[count] = element;
+            count = count + 1;
+        }
+        return true;
+    }
+
+}
@@ -3,6 +3,8 @@ package software.kes.enhancediterables;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Tail;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
 
 class NonEmptyCollectionWrapper<A> extends Wrapped<A> implements NonEmptyFiniteIterable<A> {
 
@@ -10,8 +12,70 @@ class NonEmptyCollectionWrapper<A> extends Wrapped<A> implements NonEmptyFiniteI
         super(underlying);
     }
 
+    @Override
+    public FiniteIterable<A> drop(int count) {
+        Validation.validateDrop(count);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return CollectionWrapper.wrap(ListSlice.drop(count, (List<A>) underlying));
+        }
+        return NonEmptyFiniteIterable.super.drop(count);
+    }
+
+    @Override
+    public FiniteIterable<A> take(int count) {
+        Validation.validateTake(count);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return CollectionWrapper.wrap(ListSlice.take(count, (List<A>) underlying));
+        }
+        return NonEmptyFiniteIterable.super.take(count);
+    }
+
+    @Override
+    public FiniteIterable<A> init() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return CollectionWrapper.wrap(ListSlice.dropLast(1, (List<A>) underlying));
+        }
+        return NonEmptyFiniteIterable.super.init();
+    }
+
+    @Override
+    public A last() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            List<A> list = (List<A>) underlying;
+            return list.get(list.size() - 1);
+        }
+        return NonEmptyFiniteIterable.super.last();
+    }
+
+    @Override
+    public NonEmptyFiniteIterable<A> reverse() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return wrap(ReversedList.reverse((List<A>) underlying));
+        }
+        return NonEmptyFiniteIterable.super.reverse();
+    }
+
+    @Override
+    public FiniteIterable<? extends NonEmptyFiniteIterable<A>> slide(int k) {
+        Validation.validateSlide(k);
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return CollectionWrapper.wrap(WindowList.windows(k, (List<A>) underlying, NonEmptyCollectionWrapper::wrap));
+        }
+        return NonEmptyFiniteIterable.super.slide(k);
+    }
+
     @Override
     public FiniteIterable<A> tail() {
+        Collection<A> underlying = (Collection<A>) getUnderlying();
+        if (ListSlice.isSliceable(underlying)) {
+            return CollectionWrapper.wrap(ListSlice.drop(1, (List<A>) underlying));
+        }
         return FiniteWrapper.wrap(Tail.tail(this));
     }
 
@@ -25,6 +89,11 @@ class NonEmptyCollectionWrapper<A> extends Wrapped<A> implements NonEmptyFiniteI
         return ((Collection<A>) getUnderlying()).size();
     }
 
+    @Override
+    public Spliterator<A> spliterator() {
+        return ((Collection<A>) getUnderlying()).spliterator();
+    }
+
     static <A> NonEmptyCollectionWrapper<A> wrap(Collection<A> underlying) {
         return new NonEmptyCollectionWrapper<>(underlying);
     }
@@ -0,0 +1,148 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code DoubleFiniteIterable} that is guaranteed to contain at least one element.
+ */
+public interface NonEmptyDoubleFiniteIterable extends DoubleFiniteIterable {
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} containing the boxed elements of this
+     * {@code NonEmptyDoubleFiniteIterable}.
+     *
+     * @return a {@code NonEmptyFiniteIterable<Double>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * Returns a new {@code NonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default NonEmptyDoubleFiniteIterable fmap(DoubleUnaryOperator f) {
+        requireNonNull(f);
+        return DoubleIterables.nonEmptyDoubleFiniteIterable(
+                () -> DoubleIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns the first element.
+     *
+     * @return a {@code double}
+     */
+    default double head() {
+        return iterator().nextDouble();
+    }
+
+    /**
+     * Always returns false, as a {@code NonEmptyDoubleFiniteIterable} is never empty.
+     *
+     * @return false
+     */
+    @Override
+    default boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * Returns a new {@code NonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyIntFiniteIterable}
+     */
+    @Override
+    default NonEmptyIntFiniteIterable mapToInt(DoubleToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.nonEmptyIntFiniteIterable(
+                () -> DoubleIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code NonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyDoubleFiniteIterable}.
+     *
+     * @param f a function from {@code double} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyLongFiniteIterable}
+     */
+    @Override
+    default NonEmptyLongFiniteIterable mapToLong(DoubleToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.nonEmptyLongFiniteIterable(
+                () -> DoubleIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code NonEmptyFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyDoubleFiniteIterable}.
+     *
+     * @param f   a function from {@code double} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return a {@code NonEmptyFiniteIterable<B>}
+     */
+    @Override
+    default <B> NonEmptyFiniteIterable<B> mapToObj(DoubleFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(
+                SizedIterable.sized(() -> DoubleIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Applies a binary operator to all elements of this {@code NonEmptyDoubleFiniteIterable}, going left to right.
+     *
+     * @param op the binary operator (accumulator on the left, item on the right)
+     * @return the result of inserting {@code op} between consecutive elements of this
+     * {@code NonEmptyDoubleFiniteIterable}, going left to right
+     */
+    default double reduceLeft(DoubleBinaryOperator op) {
+        requireNonNull(op);
+        PrimitiveIterator.OfDouble iterator = iterator();
+        return DoubleIterables.foldLeft(op, iterator.nextDouble(), iterator);
+    }
+
+    /**
+     * Always succeeds because {@code NonEmptyDoubleFiniteIterable}s are always non-empty.
+     *
+     * @return this {@code NonEmptyDoubleFiniteIterable} wrapped in a `just`
+     */
+    @Override
+    default Maybe<? extends NonEmptyDoubleFiniteIterable> toNonEmpty() {
+        return just(this);
+    }
+
+    /**
+     * Creates a {@code NonEmptyDoubleFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyDoubleFiniteIterable}, which is
+     * also a {@link NonEmptyDoubleFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyDoubleFiniteIterable}
+     */
+    static ImmutableNonEmptyDoubleFiniteIterable of(double first, double... more) {
+        return DoubleIterables.of(first, more);
+    }
+
+}
@@ -5,19 +5,24 @@ import com.jnape.palatable.lambda.adt.hlist.Tuple2;
 import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Init;
-import com.jnape.palatable.lambda.functions.builtin.fn1.Last;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Reverse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.CartesianProduct;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Id.id;
 import static java.util.Objects.requireNonNull;
 import static software.kes.enhancediterables.EnhancedIterables.unsafeNonEmptyFiniteIterable;
 import static software.kes.enhancediterables.Wrapped.unwrap;
@@ -37,6 +42,25 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
     @Override
     FiniteIterable<A> tail();
 
+    /**
+     * Returns the {@code k} smallest elements of this {@code NonEmptyFiniteIterable} according to {@code comparator},
+     * in ascending order, or all of its elements if it has fewer than {@code k}.
+     * <p>
+     * The elements are selected eagerly with a bounded heap, in O(n log k) time and holding at most {@code k} elements
+     * in memory.  Ties are broken by position, earliest first, so the result is the same as
+     * {@code sorted(comparator).take(k)}.
+     *
+     * @param k          the maximum number of elements to return.  Must be &gt;= 1.
+     * @param comparator the order of the elements
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> bottomK(int k, Comparator<? super A> comparator) {
+        Validation.validateK(k);
+        requireNonNull(comparator);
+        return ArrayIterable.wrap(BoundedHeap.smallest(k, comparator, this));
+    }
+
     /**
      * Lazily concatenates a {@code FiniteIterable} to the end of this {@code NonEmptyFiniteIterable},
      * yielding a new {@code NonEmptyFiniteIterable}.
@@ -47,7 +71,7 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
     @Override
     default NonEmptyFiniteIterable<A> concat(FiniteIterable<A> other) {
         requireNonNull(other);
-        return unsafeNonEmptyFiniteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return unsafeNonEmptyFiniteIterable(Rope.concat(this, other));
     }
 
     /**
@@ -60,7 +84,7 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
     @Override
     default NonEmptyFiniteIterable<A> concat(Collection<A> other) {
         requireNonNull(other);
-        return unsafeNonEmptyFiniteIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return unsafeNonEmptyFiniteIterable(Rope.concat(this, other));
     }
 
     /**
@@ -72,7 +96,8 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      */
     default <B> NonEmptyFiniteIterable<Tuple2<A, B>> cross(NonEmptyFiniteIterable<B> other) {
         requireNonNull(other);
-        return unsafeNonEmptyFiniteIterable(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)));
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.product(CartesianProduct.cartesianProduct(unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -94,6 +119,58 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
         return EnhancedIterables.nonEmptyDistinct(this);
     }
 
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the distinct values from this {@link NonEmptyFiniteIterable}, holding
+     * at most {@code maxKeysInMemory} values in memory.
+     * <p>
+     * Once {@code maxKeysInMemory} distinct values have been seen, the values are written to sorted run files in a
+     * temporary directory, and this {@code NonEmptyFiniteIterable} is iterated a second time to yield the remaining
+     * distinct values, so it must yield the same elements in the same order each time it is iterated.  Only
+     * {@code Integer}, {@code Long} and {@code String} values (and {@code null}) can be written to disk; if any other
+     * value needs to be, iteration throws an {@link IllegalArgumentException}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct values to hold in memory.  Must be &gt;= 1.
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<A> distinct(int maxKeysInMemory) {
+        return distinctBy(maxKeysInMemory, id());
+    }
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the first element of this {@link NonEmptyFiniteIterable} for each
+     * distinct key.
+     * <p>
+     * Keys are compared using {@code equals} and {@code hashCode}.  {@code Integer} and {@code Long} keys are held
+     * unboxed.
+     *
+     * @param key a function from an element to its key
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<A> distinctBy(Fn1<? super A, ?> key) {
+        requireNonNull(key);
+        return unsafeNonEmptyFiniteIterable(Deduplicate.distinctBy(key, this));
+    }
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the first element of this {@link NonEmptyFiniteIterable} for each
+     * distinct key, holding at most {@code maxKeysInMemory} keys in memory.
+     * <p>
+     * Spills keys to disk in the same way as {@link NonEmptyFiniteIterable#distinct(int)}, so the same restrictions
+     * apply to the keys and to this {@code NonEmptyFiniteIterable}.
+     *
+     * @param maxKeysInMemory the maximum number of distinct keys to hold in memory.  Must be &gt;= 1.
+     * @param key             a function from an element to its key
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<A> distinctBy(int maxKeysInMemory, Fn1<? super A, ?> key) {
+        Validation.validateMaxKeysInMemory(maxKeysInMemory);
+        requireNonNull(key);
+        return unsafeNonEmptyFiniteIterable(Deduplicate.distinctBy(maxKeysInMemory, key, this));
+    }
+
     /**
      * Returns a new {@code NonEmptyFiniteIterable} by applying a function to all elements of this {@code NonEmptyFiniteIterable}.
      *
@@ -106,7 +183,7 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
     @Override
     default <B> NonEmptyFiniteIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return unsafeNonEmptyFiniteIterable(Map.map(f, unwrap(this)));
+        return unsafeNonEmptyFiniteIterable(Pipeline.map(f, this));
     }
 
     /**
@@ -115,7 +192,7 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      * @return a {@code FiniteIterable<A>}
      */
     default FiniteIterable<A> init() {
-        return EnhancedIterables.finiteIterable(Init.init(unwrap(this)));
+        return EnhancedIterables.finiteIterable(SizedIterable.dropping(Init.init(unwrap(this)), 1, this));
     }
 
     /**
@@ -129,7 +206,8 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      */
     @Override
     default NonEmptyFiniteIterable<A> intersperse(A separator) {
-        return unsafeNonEmptyFiniteIterable(Intersperse.intersperse(separator, unwrap(this)));
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
     }
 
     /**
@@ -138,7 +216,7 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      * @return an element of type {@code A}
      */
     default A last() {
-        return Last.last(unwrap(this)).orElseThrow(AssertionError::new);
+        return EnhancedIterables.last(this);
     }
 
     /**
@@ -166,7 +244,8 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      */
     @Override
     default NonEmptyFiniteIterable<A> prependAll(A separator) {
-        return unsafeNonEmptyFiniteIterable(PrependAll.prependAll(separator, unwrap(this)));
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -181,7 +260,81 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      * where <code>x,,1,,, ..., x,,n,,</code> are the elements of this {@code NonEmptyFiniteIterable}
      */
     default A reduceLeft(Fn2<? super A, ? super A, ? extends A> op) {
-        return tail().foldLeft(op, head());
+        requireNonNull(op);
+        return EnhancedIterables.reduceLeft(op, this);
+    }
+
+    /**
+     * Returns a {@code NonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default NonEmptyDoubleFiniteIterable mapToDouble(ToDoubleFunction<? super A> f) {
+        requireNonNull(f);
+        return DoubleIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns a {@code NonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyIntFiniteIterable}
+     */
+    @Override
+    default NonEmptyIntFiniteIterable mapToInt(ToIntFunction<? super A> f) {
+        requireNonNull(f);
+        return IntIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Returns a {@code NonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyFiniteIterable}.
+     * <p>
+     * The elements of the result are not boxed.
+     *
+     * @param f a function from {@code A} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyLongFiniteIterable}
+     */
+    @Override
+    default NonEmptyLongFiniteIterable mapToLong(ToLongFunction<? super A> f) {
+        requireNonNull(f);
+        return LongIterables.fromObjects(f, this);
+    }
+
+    /**
+     * Applies an associative binary operator to all elements of this {@code NonEmptyFiniteIterable}, splitting the
+     * work across the common {@code ForkJoinPool}.
+     *
+     * @param op an associative binary operator
+     * @return the same result as {@link NonEmptyFiniteIterable#reduceLeft}, given that {@code op} is associative
+     */
+    default A parallelReduceLeft(Fn2<? super A, ? super A, ? extends A> op) {
+        return parallelReduceLeft(op, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies an associative binary operator to all elements of this {@code NonEmptyFiniteIterable}, splitting the
+     * work across {@code pool}.
+     *
+     * @param op   an associative binary operator
+     * @param pool the {@code ForkJoinPool} to run in
+     * @return the same result as {@link NonEmptyFiniteIterable#reduceLeft}, given that {@code op} is associative
+     */
+    default A parallelReduceLeft(Fn2<? super A, ? super A, ? extends A> op, ForkJoinPool pool) {
+        requireNonNull(op);
+        requireNonNull(pool);
+        return ParallelFold.reduceLeft(spliterator(), op, pool);
     }
 
     /**
@@ -208,7 +361,114 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
      */
     @Override
     default NonEmptyFiniteIterable<A> reverse() {
-        return unsafeNonEmptyFiniteIterable(Reverse.reverse(unwrap(this)));
+        return unsafeNonEmptyFiniteIterable(SizedIterable.sameSizeAs(Reverse.reverse(unwrap(this)), this));
+    }
+
+    /**
+     * Returns a uniformly random sample of {@code k} elements of this {@code NonEmptyFiniteIterable}, or all of its
+     * elements if it has fewer than {@code k}, using {@link ThreadLocalRandom}.
+     *
+     * @param k the number of elements to sample.  Must be &gt;= 1.
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     * @see NonEmptyFiniteIterable#sample(int, Random)
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> sample(int k) {
+        return sample(k, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a uniformly random sample of {@code k} elements of this {@code NonEmptyFiniteIterable}, or all of its
+     * elements if it has fewer than {@code k}, in the order they appear in this {@code NonEmptyFiniteIterable}.
+     * <p>
+     * The sample is taken eagerly in a single pass with reservoir sampling (Algorithm L), holding at most {@code k}
+     * elements in memory.  Since {@code k} is at least 1, the sample is never empty.
+     *
+     * @param k      the number of elements to sample.  Must be &gt;= 1.
+     * @param random the source of randomness
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> sample(int k, Random random) {
+        Validation.validateK(k);
+        requireNonNull(random);
+        return ArrayIterable.wrap(Sampling.sample(k, random, this));
+    }
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the elements of this {@code NonEmptyFiniteIterable} in ascending
+     * order of their keys.  The sort is stable, and happens in memory each time the result is iterated.
+     * <p>
+     * Each element's key is computed once per sort.  If every key is an {@code Integer}, the keys are sorted as
+     * primitives.
+     *
+     * @param key a function from an element to its key
+     * @param <B> the key type
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default <B extends Comparable<? super B>> NonEmptyFiniteIterable<A> sortBy(Fn1<? super A, ? extends B> key) {
+        requireNonNull(key);
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(ExternalSort.UNBOUNDED, key, this), this));
+    }
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the elements of this {@code NonEmptyFiniteIterable} in ascending
+     * order of their keys, holding at most {@code maxElementsInMemory} elements in memory.
+     * <p>
+     * Spills to disk in the same way as {@link NonEmptyFiniteIterable#sorted(int, Comparator)}, so the same
+     * restrictions apply.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param key                 a function from an element to its key
+     * @param <B>                 the key type
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default <B extends Comparable<? super B>> NonEmptyFiniteIterable<A> sortBy(int maxElementsInMemory,
+                                                                               Fn1<? super A, ? extends B> key) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(key);
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sortBy(maxElementsInMemory, key, this), this));
+    }
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the elements of this {@code NonEmptyFiniteIterable} in the order
+     * given by {@code comparator}.  The sort is stable, and happens in memory each time the result is iterated.
+     *
+     * @param comparator the order of the elements
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<A> sorted(Comparator<? super A> comparator) {
+        requireNonNull(comparator);
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(ExternalSort.UNBOUNDED, comparator, this), this));
+    }
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} of the elements of this {@code NonEmptyFiniteIterable} in the order
+     * given by {@code comparator}, holding at most {@code maxElementsInMemory} elements in memory.  The sort is stable.
+     * <p>
+     * If this {@code NonEmptyFiniteIterable} has no more than {@code maxElementsInMemory} elements, it is sorted in
+     * memory.  Otherwise, each {@code maxElementsInMemory} elements are sorted and written to a run file in a temporary
+     * directory, and the runs are merged as the result is iterated.  Elements are written with Java serialization, so
+     * they must be {@link java.io.Serializable}; if they are not, iteration throws an {@link IllegalArgumentException}.
+     * Run files are deleted once the merge is exhausted or its iterator, a {@link CloseableIterator}, is closed; the
+     * runs of an iterator abandoned without being closed are deleted soon after it has been garbage collected.
+     *
+     * @param maxElementsInMemory the maximum number of elements to hold in memory.  Must be &gt;= 1.
+     * @param comparator          the order of the elements
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<A> sorted(int maxElementsInMemory, Comparator<? super A> comparator) {
+        Validation.validateMaxElementsInMemory(maxElementsInMemory);
+        requireNonNull(comparator);
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.sameSizeAs(ExternalSort.sorted(maxElementsInMemory, comparator, this), this));
     }
 
     /**
@@ -231,6 +491,25 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
         return just(this);
     }
 
+    /**
+     * Returns the {@code k} largest elements of this {@code NonEmptyFiniteIterable} according to {@code comparator},
+     * in descending order, or all of its elements if it has fewer than {@code k}.
+     * <p>
+     * The elements are selected eagerly with a bounded heap, in O(n log k) time and holding at most {@code k} elements
+     * in memory.  Ties are broken by position, earliest first, so the result is the same as
+     * {@code sorted(comparator.reversed()).take(k)}.
+     *
+     * @param k          the maximum number of elements to return.  Must be &gt;= 1.
+     * @param comparator the order of the elements
+     * @return an {@code ImmutableNonEmptyFiniteIterable<A>}
+     */
+    @Override
+    default ImmutableNonEmptyFiniteIterable<A> topK(int k, Comparator<? super A> comparator) {
+        Validation.validateK(k);
+        requireNonNull(comparator);
+        return ArrayIterable.wrap(BoundedHeap.smallest(k, comparator.reversed(), this));
+    }
+
     /**
      * Zips together this {@code NonEmptyFiniteIterable} with an {@code NonEmptyIterable} by applying a zipping function.
      * <p>
@@ -248,7 +527,8 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
     default <B, C> NonEmptyFiniteIterable<C> zipWith(Fn2<A, B, C> fn, NonEmptyIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return unsafeNonEmptyFiniteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
@@ -275,6 +555,28 @@ public interface NonEmptyFiniteIterable<A> extends FiniteIterable<A>, NonEmptyIt
         return EnhancedIterables.nonEmptyFiniteIterable(head, tail);
     }
 
+    /**
+     * Lazily merges a {@code NonEmptyFiniteIterable} and a finite number of {@code FiniteIterable}s, each of which must
+     * already be in the order given by {@code comparator}, into a {@code NonEmptyFiniteIterable} in that order.
+     * <p>
+     * The merge uses a tournament tree of losers, which costs about {@code log2(k)} comparisons per element for
+     * {@code k} sources, and holds only the current element of each source.  Ties are yielded in the order of the
+     * sources, so the merge is stable.
+     *
+     * @param comparator the order of the elements
+     * @param first      the first {@code NonEmptyFiniteIterable} to merge
+     * @param more       the remaining {@code FiniteIterable}s to merge.  May be empty.
+     * @param <A>        the element type
+     * @return a {@code NonEmptyFiniteIterable<A>}
+     */
+    static <A> NonEmptyFiniteIterable<A> mergeSorted(Comparator<? super A> comparator, NonEmptyFiniteIterable<A> first,
+                                                     Iterable<? extends FiniteIterable<A>> more) {
+        requireNonNull(comparator);
+        requireNonNull(first);
+        requireNonNull(more);
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(LoserTree.merge(comparator, first, more));
+    }
+
     /**
      * Creates a {@code NonEmptyFiniteIterable} containing the given elements.
      * <p>
@@ -0,0 +1,147 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code IntFiniteIterable} that is guaranteed to contain at least one element.
+ */
+public interface NonEmptyIntFiniteIterable extends IntFiniteIterable {
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} containing the boxed elements of this {@code NonEmptyIntFiniteIterable}.
+     *
+     * @return a {@code NonEmptyFiniteIterable<Integer>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Returns a new {@code NonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyIntFiniteIterable}
+     */
+    @Override
+    default NonEmptyIntFiniteIterable fmap(IntUnaryOperator f) {
+        requireNonNull(f);
+        return IntIterables.nonEmptyIntFiniteIterable(
+                () -> IntIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns the first element.
+     *
+     * @return a {@code int}
+     */
+    default int head() {
+        return iterator().nextInt();
+    }
+
+    /**
+     * Always returns false, as a {@code NonEmptyIntFiniteIterable} is never empty.
+     *
+     * @return false
+     */
+    @Override
+    default boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * Returns a new {@code NonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyLongFiniteIterable}
+     */
+    @Override
+    default NonEmptyLongFiniteIterable mapToLong(IntToLongFunction f) {
+        requireNonNull(f);
+        return LongIterables.nonEmptyLongFiniteIterable(
+                () -> IntIterables.mapToLong(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code NonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyIntFiniteIterable}.
+     *
+     * @param f a function from {@code int} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default NonEmptyDoubleFiniteIterable mapToDouble(IntToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.nonEmptyDoubleFiniteIterable(
+                () -> IntIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code NonEmptyFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyIntFiniteIterable}.
+     *
+     * @param f   a function from {@code int} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return a {@code NonEmptyFiniteIterable<B>}
+     */
+    @Override
+    default <B> NonEmptyFiniteIterable<B> mapToObj(IntFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(
+                SizedIterable.sized(() -> IntIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Applies a binary operator to all elements of this {@code NonEmptyIntFiniteIterable}, going left to right.
+     *
+     * @param op the binary operator (accumulator on the left, item on the right)
+     * @return the result of inserting {@code op} between consecutive elements of this
+     * {@code NonEmptyIntFiniteIterable}, going left to right
+     */
+    default int reduceLeft(IntBinaryOperator op) {
+        requireNonNull(op);
+        PrimitiveIterator.OfInt iterator = iterator();
+        return IntIterables.foldLeft(op, iterator.nextInt(), iterator);
+    }
+
+    /**
+     * Always succeeds because {@code NonEmptyIntFiniteIterable}s are always non-empty.
+     *
+     * @return this {@code NonEmptyIntFiniteIterable} wrapped in a `just`
+     */
+    @Override
+    default Maybe<? extends NonEmptyIntFiniteIterable> toNonEmpty() {
+        return just(this);
+    }
+
+    /**
+     * Creates a {@code NonEmptyIntFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyIntFiniteIterable}, which is
+     * also a {@link NonEmptyIntFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyIntFiniteIterable}
+     */
+    static ImmutableNonEmptyIntFiniteIterable of(int first, int... more) {
+        return IntIterables.of(first, more);
+    }
+
+}
@@ -6,10 +6,8 @@ import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Cons;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Intersperse;
 import com.jnape.palatable.lambda.functions.builtin.fn2.MagnetizeBy;
-import com.jnape.palatable.lambda.functions.builtin.fn2.Map;
 import com.jnape.palatable.lambda.functions.builtin.fn2.PrependAll;
 import com.jnape.palatable.lambda.functions.builtin.fn3.ZipWith;
-import com.jnape.palatable.lambda.monoid.builtin.Concat;
 
 import java.util.Iterator;
 
@@ -52,7 +50,7 @@ public interface NonEmptyIterable<A> extends EnhancedIterable<A> {
     @Override
     default NonEmptyIterable<A> concat(Iterable<A> other) {
         requireNonNull(other);
-        return unsafeNonEmptyIterable(Concat.concat(unwrap(this), unwrap(other)));
+        return unsafeNonEmptyIterable(Rope.concat(this, other));
     }
 
     /**
@@ -67,7 +65,7 @@ public interface NonEmptyIterable<A> extends EnhancedIterable<A> {
     @Override
     default <B> NonEmptyIterable<B> fmap(Fn1<? super A, ? extends B> f) {
         requireNonNull(f);
-        return unsafeNonEmptyIterable(Map.map(f, unwrap(this)));
+        return unsafeNonEmptyIterable(Pipeline.map(f, this));
     }
 
     /**
@@ -91,7 +89,8 @@ public interface NonEmptyIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default NonEmptyIterable<A> intersperse(A separator) {
-        return unsafeNonEmptyIterable(Intersperse.intersperse(separator, unwrap(this)));
+        return unsafeNonEmptyIterable(
+                SizedIterable.interspersed(Intersperse.intersperse(separator, unwrap(this)), this));
     }
 
     /**
@@ -127,7 +126,7 @@ public interface NonEmptyIterable<A> extends EnhancedIterable<A> {
      */
     @Override
     default NonEmptyIterable<A> prependAll(A separator) {
-        return unsafeNonEmptyIterable(PrependAll.prependAll(separator, unwrap(this)));
+        return unsafeNonEmptyIterable(SizedIterable.doubled(PrependAll.prependAll(separator, unwrap(this)), this));
     }
 
     /**
@@ -192,7 +191,8 @@ public interface NonEmptyIterable<A> extends EnhancedIterable<A> {
     default <B, C> NonEmptyFiniteIterable<C> zipWith(Fn2<A, B, C> fn, NonEmptyFiniteIterable<B> other) {
         requireNonNull(fn);
         requireNonNull(other);
-        return unsafeNonEmptyFiniteIterable(ZipWith.zipWith(fn, unwrap(this), unwrap(other)));
+        return unsafeNonEmptyFiniteIterable(
+                SizedIterable.shortest(ZipWith.zipWith(fn, unwrap(this), unwrap(other)), this, other));
     }
 
     /**
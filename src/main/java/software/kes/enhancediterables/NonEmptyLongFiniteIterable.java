@@ -0,0 +1,148 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code LongFiniteIterable} that is guaranteed to contain at least one element.
+ */
+public interface NonEmptyLongFiniteIterable extends LongFiniteIterable {
+
+    /**
+     * Returns a {@code NonEmptyFiniteIterable} containing the boxed elements of this
+     * {@code NonEmptyLongFiniteIterable}.
+     *
+     * @return a {@code NonEmptyFiniteIterable<Long>}
+     */
+    @Override
+    default NonEmptyFiniteIterable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * Returns a new {@code NonEmptyLongFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code long}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyLongFiniteIterable}
+     */
+    @Override
+    default NonEmptyLongFiniteIterable fmap(LongUnaryOperator f) {
+        requireNonNull(f);
+        return LongIterables.nonEmptyLongFiniteIterable(
+                () -> LongIterables.map(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns the first element.
+     *
+     * @return a {@code long}
+     */
+    default long head() {
+        return iterator().nextLong();
+    }
+
+    /**
+     * Always returns false, as a {@code NonEmptyLongFiniteIterable} is never empty.
+     *
+     * @return false
+     */
+    @Override
+    default boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * Returns a new {@code NonEmptyIntFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code int}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyIntFiniteIterable}
+     */
+    @Override
+    default NonEmptyIntFiniteIterable mapToInt(LongToIntFunction f) {
+        requireNonNull(f);
+        return IntIterables.nonEmptyIntFiniteIterable(
+                () -> LongIterables.mapToInt(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code NonEmptyDoubleFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyLongFiniteIterable}.
+     *
+     * @param f a function from {@code long} to {@code double}; should be referentially transparent and not have
+     *          side-effects
+     * @return a {@code NonEmptyDoubleFiniteIterable}
+     */
+    @Override
+    default NonEmptyDoubleFiniteIterable mapToDouble(LongToDoubleFunction f) {
+        requireNonNull(f);
+        return DoubleIterables.nonEmptyDoubleFiniteIterable(
+                () -> LongIterables.mapToDouble(f, iterator()), SizedIterable.sizeOf(this));
+    }
+
+    /**
+     * Returns a new {@code NonEmptyFiniteIterable} by applying a function to all elements of this
+     * {@code NonEmptyLongFiniteIterable}.
+     *
+     * @param f   a function from {@code long} to {@code B}; should be referentially transparent and not have
+     *            side-effects
+     * @param <B> the new element type
+     * @return a {@code NonEmptyFiniteIterable<B>}
+     */
+    @Override
+    default <B> NonEmptyFiniteIterable<B> mapToObj(LongFunction<? extends B> f) {
+        requireNonNull(f);
+        return EnhancedIterables.unsafeNonEmptyFiniteIterable(
+                SizedIterable.sized(() -> LongIterables.mapToObj(f, iterator()), SizedIterable.sizeOf(this)));
+    }
+
+    /**
+     * Applies a binary operator to all elements of this {@code NonEmptyLongFiniteIterable}, going left to right.
+     *
+     * @param op the binary operator (accumulator on the left, item on the right)
+     * @return the result of inserting {@code op} between consecutive elements of this
+     * {@code NonEmptyLongFiniteIterable}, going left to right
+     */
+    default long reduceLeft(LongBinaryOperator op) {
+        requireNonNull(op);
+        PrimitiveIterator.OfLong iterator = iterator();
+        return LongIterables.foldLeft(op, iterator.nextLong(), iterator);
+    }
+
+    /**
+     * Always succeeds because {@code NonEmptyLongFiniteIterable}s are always non-empty.
+     *
+     * @return this {@code NonEmptyLongFiniteIterable} wrapped in a `just`
+     */
+    @Override
+    default Maybe<? extends NonEmptyLongFiniteIterable> toNonEmpty() {
+        return just(this);
+    }
+
+    /**
+     * Creates a {@code NonEmptyLongFiniteIterable} containing the given elements.
+     * <p>
+     * Note that this method actually returns an {@link ImmutableNonEmptyLongFiniteIterable}, which is
+     * also a {@link NonEmptyLongFiniteIterable}.
+     *
+     * @param first the first element
+     * @param more  the remaining elements
+     * @return an {@code ImmutableNonEmptyLongFiniteIterable}
+     */
+    static ImmutableNonEmptyLongFiniteIterable of(long first, long... more) {
+        return LongIterables.of(first, more);
+    }
+
+}
@@ -0,0 +1,114 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn2;
+
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Folds the elements of a {@code Spliterator} in a {@code ForkJoinPool}.
+ * <p>
+ * The {@code Spliterator} is split until each piece is small enough to give every worker a few pieces, each piece is
+ * folded sequentially, and the partial results are combined in encounter order.
+ */
+final class ParallelFold {
+    private static final Object NONE = new Object();
+    private static final int UNSIZED_LEAF_SIZE = 1024;
+    private static final int LEAVES_PER_WORKER = 4;
+
+    private ParallelFold() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A, B> B foldLeft(Spliterator<A> spliterator, B identity, Fn2<? super B, ? super A, ? extends B> op,
+                             Fn2<? super B, ? super B, ? extends B> combiner, ForkJoinPool pool) {
+        return (B) pool.invoke(new FoldTask<A, B>(spliterator, () -> identity, op, combiner,
+                leafSize(spliterator, pool.getParallelism())));
+    }
+
+    /**
+     * Like {@link #foldLeft}, but each piece starts with a fresh value from {@code supplier}, so {@code op} and
+     * {@code combiner} may mutate and return their first argument.
+     */
+    @SuppressWarnings("unchecked")
+    static <A, B> B collect(Spliterator<A> spliterator, Supplier<? extends B> supplier,
+                            Fn2<? super B, ? super A, ? extends B> op, Fn2<? super B, ? super B, ? extends B> combiner,
+                            ForkJoinPool pool) {
+        return (B) pool.invoke(new FoldTask<A, B>(spliterator, supplier, op, combiner,
+                leafSize(spliterator, pool.getParallelism())));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A> A reduceLeft(Spliterator<A> spliterator, Fn2<? super A, ? super A, ? extends A> op,
+                            ForkJoinPool pool) {
+        return (A) pool.invoke(new FoldTask<A, A>(spliterator, () -> NONE, op, op,
+                leafSize(spliterator, pool.getParallelism())));
+    }
+
+    private static long leafSize(Spliterator<?> spliterator, int parallelism) {
+        long size = spliterator.getExactSizeIfKnown();
+        if (size < 0) {
+            return UNSIZED_LEAF_SIZE;
+        }
+        return Math.max(1, size / ((long) parallelism * LEAVES_PER_WORKER));
+    }
+
+    /**
+     * If {@code start} supplies {@code NONE}, the first element of each piece is used as the start value, and pieces
+     * with no elements produce {@code NONE}.
+     */
+    private static final class FoldTask<A, B> extends RecursiveTask<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<A> spliterator;
+        private final Supplier<?> start;
+        private final Fn2<? super B, ? super A, ? extends B> op;
+        private final Fn2<? super B, ? super B, ? extends B> combiner;
+        private final long leafSize;
+        private Object accumulator;
+
+        private FoldTask(Spliterator<A> spliterator, Supplier<?> start, Fn2<? super B, ? super A, ? extends B> op,
+                         Fn2<? super B, ? super B, ? extends B> combiner, long leafSize) {
+            this.spliterator = spliterator;
+            this.start = start;
+            this.op = op;
+            this.combiner = combiner;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Object compute() {
+            if (spliterator.estimateSize() > leafSize) {
+                Spliterator<A> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    FoldTask<A, B> right = new FoldTask<>(spliterator, start, op, combiner, leafSize);
+                    right.fork();
+                    Object leftResult = new FoldTask<>(prefix, start, op, combiner, leafSize).compute();
+                    return combine(leftResult, right.join());
+                }
+            }
+            accumulator = start.get();
+            spliterator.forEachRemaining(this::accumulate);
+            return accumulator;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void accumulate(A element) {
+            accumulator = accumulator == NONE ? element : op.apply((B) accumulator, element);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object combine(Object left, Object right) {
+            if (left == NONE) {
+                return right;
+            } else if (right == NONE) {
+                return left;
+            } else {
+                return combiner.apply((B) left, (B) right);
+            }
+        }
+    }
+
+}
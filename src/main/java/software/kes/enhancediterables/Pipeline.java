@@ -0,0 +1,231 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import static software.kes.enhancediterables.Wrapped.unwrap;
+
+/**
+ * A lazy {@code Iterable} that fuses consecutive stateless stages ({@code map}, {@code filter}, {@code takeWhile}
+ * and {@code dropWhile}) into a single iterator.
+ * <p>
+ * Adding a stage to a {@code Pipeline} does not wrap it in another layer; instead, a new {@code Pipeline} is returned
+ * that shares the same source and all of the previous stages.  When iterated, each element pulled from the source is
+ * run through every stage in a single loop, so the cost per element does not include a {@code hasNext}/{@code next}
+ * call for each stage.
+ * <p>
+ * As long as every stage is a {@code map}, the size of a {@code Pipeline} is the size of its source.
+ * <p>
+ * {@code forEachWhile} has the source push its elements through the stages, so a {@code Pipeline} over a
+ * {@code RandomAccess} list is traversed by a single indexed loop.
+ *
+ * @param <A> the element type
+ */
+final class Pipeline<A> implements PushIterable<A>, Sized {
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int TAKE_WHILE = 2;
+    private static final int DROP_WHILE = 3;
+
+    private static final int EMIT = 0;
+    private static final int SKIP = 1;
+    private static final int STOP = 2;
+
+    private final Iterable<?> source;
+    private final Stage lastStage;
+    private final Iterable<?> sizeSource;
+
+    private Pipeline(Iterable<?> source, Stage lastStage, Iterable<?> sizeSource) {
+        this.source = source;
+        this.lastStage = lastStage;
+        this.sizeSource = sizeSource;
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new PipelineIterator<>(source.iterator(), new Run(lastStage.toArray()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean forEachWhile(Predicate<? super A> action) {
+        Run run = new Run(lastStage.toArray());
+        boolean[] stopped = new boolean[1];
+        EnhancedIterables.forEachWhile((Iterable<Object>) source, element -> {
+            switch (run.process(element)) {
+                case EMIT:
+                    if (!action.test((A) run.value)) {
+                        stopped[0] = true;
+                        return false;
+                    }
+                    return true;
+                case SKIP:
+                    return true;
+                default:
+                    return false;
+            }
+        });
+        return !stopped[0];
+    }
+
+    @Override
+    public int knownSize() {
+        return sizeSource == null ? SizedIterable.UNKNOWN : EnhancedIterables.knownSize(sizeSource);
+    }
+
+    static <A, B> Pipeline<B> map(Fn1<? super A, ? extends B> f, Iterable<A> source) {
+        return addStage(MAP, f, source);
+    }
+
+    static <A> Pipeline<A> filter(Fn1<? super A, ? extends Boolean> predicate, Iterable<A> source) {
+        return addStage(FILTER, predicate, source);
+    }
+
+    static <A> Pipeline<A> takeWhile(Fn1<? super A, ? extends Boolean> predicate, Iterable<A> source) {
+        return addStage(TAKE_WHILE, predicate, source);
+    }
+
+    static <A> Pipeline<A> dropWhile(Fn1<? super A, ? extends Boolean> predicate, Iterable<A> source) {
+        return addStage(DROP_WHILE, predicate, source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A, B> Pipeline<B> addStage(int kind, Fn1<? super A, ?> fn, Iterable<A> iterable) {
+        Fn1<Object, ?> stageFn = (Fn1<Object, ?>) fn;
+        Iterable<A> source = unwrap(iterable);
+        if (source instanceof Pipeline<?>) {
+            Pipeline<A> pipeline = (Pipeline<A>) source;
+            return new Pipeline<>(pipeline.source, new Stage(kind, stageFn, pipeline.lastStage),
+                    kind == MAP ? pipeline.sizeSource : null);
+        } else {
+            return new Pipeline<>(source, new Stage(kind, stageFn, null), kind == MAP ? iterable : null);
+        }
+    }
+
+    private static final class Stage {
+        private final int kind;
+        private final Fn1<Object, ?> fn;
+        private final Stage previous;
+        private final int index;
+
+        private Stage(int kind, Fn1<Object, ?> fn, Stage previous) {
+            this.kind = kind;
+            this.fn = fn;
+            this.previous = previous;
+            this.index = previous == null ? 0 : previous.index + 1;
+        }
+
+        private Stage[] toArray() {
+            Stage[] result = new Stage[index + 1];
+            Stage current = this;
+            while (current != null) {
+                result[current.index] = current;
+                current = current.previous;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The per-traversal state of a {@code Pipeline}: which {@code dropWhile} stages are still dropping.
+     */
+    private static final class Run {
+        private final Stage[] stages;
+        private final boolean[] dropping;
+        private Object value;
+
+        private Run(Stage[] stages) {
+            this.stages = stages;
+            this.dropping = new boolean[stages.length];
+            for (int i = 0; i < stages.length; i++) {
+                dropping[i] = stages[i].kind == DROP_WHILE;
+            }
+        }
+
+        /**
+         * Runs {@code element} through every stage, leaving the result in {@code value} if it is emitted.
+         */
+        private int process(Object element) {
+            Object current = element;
+            for (int i = 0; i < stages.length; i++) {
+                Stage stage = stages[i];
+                switch (stage.kind) {
+                    case MAP:
+                        current = stage.fn.apply(current);
+                        break;
+                    case FILTER:
+                        if (!(Boolean) stage.fn.apply(current)) {
+                            return SKIP;
+                        }
+                        break;
+                    case TAKE_WHILE:
+                        if (!(Boolean) stage.fn.apply(current)) {
+                            return STOP;
+                        }
+                        break;
+                    default:
+                        if (dropping[i]) {
+                            if ((Boolean) stage.fn.apply(current)) {
+                                return SKIP;
+                            }
+                            dropping[i] = false;
+                        }
+                }
+            }
+            value = current;
+            return EMIT;
+        }
+    }
+
+    private static final class PipelineIterator<A> implements Iterator<A> {
+        private final Iterator<?> source;
+        private final Run run;
+        private Object nextElement;
+        private boolean ready;
+        private boolean finished;
+
+        private PipelineIterator(Iterator<?> source, Run run) {
+            this.source = source;
+            this.run = run;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready && !finished) {
+                advance();
+            }
+            return ready;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public A next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            A result = (A) nextElement;
+            nextElement = null;
+            ready = false;
+            return result;
+        }
+
+        private void advance() {
+            while (source.hasNext()) {
+                int outcome = run.process(source.next());
+                if (outcome == EMIT) {
+                    nextElement = run.value;
+                    run.value = null;
+                    ready = true;
+                    return;
+                } else if (outcome == STOP) {
+                    break;
+                }
+            }
+            finished = true;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+package software.kes.enhancediterables;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains an {@code Iterable} on a background task into a bounded buffer, ahead of the consumer.
+ * <p>
+ * Each iterator starts its own producer task on first use.  The producer and the consumer communicate through a
+ * single-producer, single-consumer ring buffer that needs no locks: each side only writes its own position, and only
+ * parks when the buffer is full (producer) or empty (consumer).
+ * <p>
+ * The producer stops when the source is exhausted or throws, or when the iterator is closed.  Closing the iterator
+ * unparks the producer if it is waiting for room, and interrupts it if it is running, so a producer blocked in the
+ * source's {@code next} stops as soon as the source responds to the interrupt.  As a backstop for iterators that are
+ * abandoned without being closed, the producer only holds the iterator weakly, and checks it before pulling each
+ * element and while it waits for room, so it also stops once the iterator has been garbage collected.
+ * <p>
+ * If the consumer is interrupted while it waits for an element, the iterator throws a {@code CompletionException}
+ * wrapping an {@code InterruptedException}, leaving the interrupt status set, and its producer keeps running.  If the
+ * executor rejects the producer, the rejection is thrown, and the next call tries to start the producer again.
+ */
+final class Prefetch {
+    private static final long ABANDON_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private Prefetch() {
+    }
+
+    static <A> Iterable<A> prefetch(int bufferSize, Iterable<A> source, Executor executor) {
+        return () -> new PrefetchIterator<>(new Ring(bufferSize), source, executor);
+    }
+
+    /**
+     * The state shared by a producer and its consumer.  {@code tail} is only written by the producer and {@code head}
+     * only by the consumer; an element written to the buffer is published by the write to {@code tail} that follows
+     * it.
+     */
+    private static final class Ring {
+        private final Object[] buffer;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        private volatile boolean done;
+        private volatile Throwable failure;
+        private volatile Thread waitingConsumer;
+        private volatile Thread waitingProducer;
+        private volatile boolean closed;
+        private Thread producer;
+
+        private Ring(int capacity) {
+            buffer = new Object[capacity];
+        }
+
+        private int slot(long position) {
+            return (int) (position % buffer.length);
+        }
+
+        /**
+         * Records the thread running the producer, unless the ring has already been closed.
+         */
+        private synchronized boolean attach(Thread thread) {
+            if (closed) {
+                return false;
+            }
+            producer = thread;
+            return true;
+        }
+
+        /**
+         * Forgets the thread running the producer, after which {@link #close} no longer interrupts it.
+         */
+        private synchronized void detach() {
+            producer = null;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            if (producer != null) {
+                producer.interrupt();
+            }
+            LockSupport.unpark(waitingProducer);
+        }
+    }
+
+    /**
+     * The producer.  It holds its consumer only through a {@code WeakReference}.
+     */
+    private static final class Producer<A> implements Runnable {
+        private final Ring ring;
+        private final Iterable<A> source;
+        private final WeakReference<PrefetchIterator<A>> consumer;
+
+        private Producer(Ring ring, Iterable<A> source, PrefetchIterator<A> consumer) {
+            this.ring = ring;
+            this.source = source;
+            this.consumer = new WeakReference<>(consumer);
+        }
+
+        @Override
+        public void run() {
+            if (!ring.attach(Thread.currentThread())) {
+                return;
+            }
+            try {
+                Iterator<A> iterator = source.iterator();
+                while (!stopped() && iterator.hasNext()) {
+                    if (!put(iterator.next())) {
+                        return;
+                    }
+                }
+            } catch (Throwable t) {
+                ring.failure = t;
+            } finally {
+                ring.detach();
+                if (ring.closed) {
+                    // Clears an interrupt from close, so that it does not leak into the executor's next task.
+                    Thread.interrupted();
+                }
+                ring.done = true;
+                LockSupport.unpark(ring.waitingConsumer);
+            }
+        }
+
+        private boolean put(A element) {
+            long tail = ring.tail.get();
+            while (tail - ring.head.get() == ring.buffer.length) {
+                if (stopped()) {
+                    return false;
+                }
+                ring.waitingProducer = Thread.currentThread();
+                if (tail - ring.head.get() == ring.buffer.length) {
+                    LockSupport.parkNanos(this, ABANDON_CHECK_NANOS);
+                }
+                ring.waitingProducer = null;
+            }
+            ring.buffer[ring.slot(tail)] = element;
+            ring.tail.set(tail + 1);
+            LockSupport.unpark(ring.waitingConsumer);
+            return true;
+        }
+
+        private boolean stopped() {
+            return ring.closed || consumer.get() == null || Thread.currentThread().isInterrupted();
+        }
+    }
+
+    /**
+     * The consumer.
+     */
+    private static final class PrefetchIterator<A> implements CloseableIterator<A> {
+        private final Ring ring;
+        private final Iterable<A> source;
+        private final Executor executor;
+        private boolean started;
+
+        private PrefetchIterator(Ring ring, Iterable<A> source, Executor executor) {
+            this.ring = ring;
+            this.source = source;
+            this.executor = executor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (ring.closed) {
+                return false;
+            }
+            if (!started) {
+                executor.execute(new Producer<>(ring, source, this));
+                started = true;
+            }
+            long head = ring.head.get();
+            while (head == ring.tail.get()) {
+                if (ring.done) {
+                    if (head != ring.tail.get()) {
+                        return true;
+                    }
+                    rethrowFailure();
+                    return false;
+                }
+                ring.waitingConsumer = Thread.currentThread();
+                if (head == ring.tail.get() && !ring.done) {
+                    LockSupport.park(this);
+                }
+                ring.waitingConsumer = null;
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(new InterruptedException());
+                }
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public A next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long head = ring.head.get();
+            int slot = ring.slot(head);
+            A element = (A) ring.buffer[slot];
+            ring.buffer[slot] = null;
+            ring.head.set(head + 1);
+            LockSupport.unpark(ring.waitingProducer);
+            return element;
+        }
+
+        @Override
+        public void close() {
+            ring.close();
+            Arrays.fill(ring.buffer, null);
+        }
+
+        private void rethrowFailure() {
+            Throwable failure = ring.failure;
+            if (failure == null) {
+                return;
+            }
+            ring.failure = null;
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw new CompletionException(failure);
+        }
+    }
+
+}
@@ -2,7 +2,7 @@ package software.kes.enhancediterables;
 
 import java.util.Iterator;
 
-final class ProtectedIterator<A> implements Iterator<A> {
+class ProtectedIterator<A> implements Iterator<A> {
     private final Iterator<A> underlying;
 
     private ProtectedIterator(Iterator<A> underlying) {
@@ -20,7 +20,23 @@ final class ProtectedIterator<A> implements Iterator<A> {
     }
 
     static <A> ProtectedIterator<A> protectedIterator(Iterator<A> underlying) {
-        return new ProtectedIterator<>(underlying);
+        return underlying instanceof CloseableIterator<?>
+                ? new Closeable<>((CloseableIterator<A>) underlying)
+                : new ProtectedIterator<>(underlying);
+    }
+
+    private static final class Closeable<A> extends ProtectedIterator<A> implements CloseableIterator<A> {
+        private final CloseableIterator<A> underlying;
+
+        private Closeable(CloseableIterator<A> underlying) {
+            super(underlying);
+            this.underlying = underlying;
+        }
+
+        @Override
+        public void close() {
+            underlying.close();
+        }
     }
 
 }
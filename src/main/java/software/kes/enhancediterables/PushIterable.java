@@ -0,0 +1,24 @@
+package software.kes.enhancediterables;
+
+import java.util.function.Predicate;
+
+/**
+ * An {@code Iterable} that can push its elements to a callback.
+ * <p>
+ * Terminal operations prefer this to pulling elements through an {@code Iterator}, because a chain of layers that push
+ * to each other does not need a {@code hasNext}/{@code next} call per layer for every element.
+ *
+ * @param <A> the element type
+ */
+interface PushIterable<A> extends Iterable<A> {
+
+    /**
+     * Passes the elements to {@code action} in order, until {@code action} returns {@code false} or there are no more
+     * elements.
+     *
+     * @param action the callback; returns {@code false} to stop
+     * @return {@code false} if {@code action} returned {@code false}, {@code true} otherwise
+     */
+    boolean forEachWhile(Predicate<? super A> action);
+
+}
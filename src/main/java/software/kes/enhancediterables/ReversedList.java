@@ -0,0 +1,43 @@
+package software.kes.enhancediterables;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A live, read-only view of a {@code RandomAccess} {@code List} in reverse order.
+ * <p>
+ * Reversing a {@code ReversedList} returns the original list, so reversing is allocation-free after the first time.
+ *
+ * @param <A> the element type
+ */
+final class ReversedList<A> extends AbstractList<A> implements RandomAccess {
+    private final List<A> underlying;
+
+    private ReversedList(List<A> underlying) {
+        this.underlying = underlying;
+    }
+
+    static <A> List<A> reverse(List<A> list) {
+        if (list instanceof ReversedList<?>) {
+            return ((ReversedList<A>) list).underlying;
+        } else {
+            return new ReversedList<>(list);
+        }
+    }
+
+    @Override
+    public A get(int index) {
+        int size = underlying.size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return underlying.get(size - 1 - index);
+    }
+
+    @Override
+    public int size() {
+        return underlying.size();
+    }
+
+}
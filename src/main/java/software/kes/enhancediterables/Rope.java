@@ -0,0 +1,265 @@
+package software.kes.enhancediterables;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * The result of {@code append}, {@code prepend} and {@code concat}: a flat sequence of entries, each of which is
+ * either a single element or a whole {@code Iterable} (a segment).
+ * <p>
+ * The entries live in a buffer that is shared by every {@code Rope} derived from the same original.  A {@code Rope}
+ * whose entries end (or begin) where the buffer's do may claim the free space after (or before) them, so repeatedly
+ * appending to (or prepending to) the latest result is amortized O(1).  Any other {@code Rope} copies its entries into
+ * a new buffer first.  Entries are never overwritten once written, so every {@code Rope} sees the same entries for its
+ * whole lifetime.
+ * <p>
+ * Concatenating two {@code Rope}s copies the entries of the shorter into the buffer of the longer, so that
+ * concatenations of concatenations stay flat.  Iteration costs O(1) per element regardless of how the {@code Rope} was
+ * built.
+ *
+ * @param <A> the element type
+ */
+final class Rope<A> implements PushIterable<A>, Sized {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Buffer buffer;
+    private final Object[] entries;
+    private final int offset;
+    private final int start;
+    private final int end;
+    private final int elementCount;
+    private final Segments segments;
+
+    private Rope(Buffer buffer, int start, int end, int elementCount, Segments segments) {
+        this.buffer = buffer;
+        this.entries = buffer.entries;
+        this.offset = buffer.offset;
+        this.start = start;
+        this.end = end;
+        this.elementCount = elementCount;
+        this.segments = segments;
+    }
+
+    static <A> Rope<A> append(A element, Iterable<A> iterable) {
+        return rope(iterable).grow(new Object[]{element}, 0, 1, true, 1, null);
+    }
+
+    static <A> Rope<A> prepend(A element, Iterable<A> iterable) {
+        return rope(iterable).grow(new Object[]{element}, 0, 1, false, 1, null);
+    }
+
+    static <A> Rope<A> concat(Iterable<A> front, Iterable<A> back) {
+        Iterable<A> unwrappedFront = Wrapped.unwrap(front);
+        Iterable<A> unwrappedBack = Wrapped.unwrap(back);
+        if (unwrappedFront instanceof Rope<?> && unwrappedBack instanceof Rope<?>) {
+            Rope<A> frontRope = (Rope<A>) unwrappedFront;
+            Rope<A> backRope = (Rope<A>) unwrappedBack;
+            if (frontRope.length() >= backRope.length()) {
+                return frontRope.grow(backRope.entries, backRope.offset + backRope.start, backRope.length(), true,
+                        backRope.elementCount, backRope.segments);
+            } else {
+                return backRope.grow(frontRope.entries, frontRope.offset + frontRope.start, frontRope.length(), false,
+                        frontRope.elementCount, frontRope.segments);
+            }
+        } else if (unwrappedBack instanceof Rope<?>) {
+            return ((Rope<A>) unwrappedBack).grow(new Object[]{Segment.of(front)}, 0, 1, false, 0,
+                    new Segments(front, null));
+        } else {
+            return rope(front).grow(new Object[]{Segment.of(back)}, 0, 1, true, 0, new Segments(back, null));
+        }
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            private int index = start;
+            private Iterator<?> segment;
+
+            @Override
+            public boolean hasNext() {
+                while (true) {
+                    if (segment != null) {
+                        if (segment.hasNext()) {
+                            return true;
+                        }
+                        segment = null;
+                    }
+                    if (index == end) {
+                        return false;
+                    }
+                    Object entry = entries[offset + index];
+                    if (entry instanceof Segment) {
+                        segment = ((Segment) entry).iterable.iterator();
+                        index++;
+                    } else {
+                        return true;
+                    }
+                }
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public A next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return segment != null ? (A) segment.next() : (A) entries[offset + index++];
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean forEachWhile(Predicate<? super A> action) {
+        for (int i = start; i < end; i++) {
+            Object entry = entries[offset + i];
+            if (entry instanceof Segment) {
+                if (!EnhancedIterables.forEachWhile(((Segment) entry).iterable, (Predicate<Object>) action)) {
+                    return false;
+                }
+            } else if (!action.test((A) entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int knownSize() {
+        long total = elementCount;
+        for (Segments s = segments; s != null; s = s.next) {
+            int segmentSize = EnhancedIterables.knownSize(s.iterable);
+            if (segmentSize == SizedIterable.UNKNOWN) {
+                return SizedIterable.UNKNOWN;
+            }
+            total += segmentSize;
+        }
+        return SizedIterable.exact(total);
+    }
+
+    private int length() {
+        return end - start;
+    }
+
+    /**
+     * Returns a {@code Rope} with {@code count} entries from {@code source} added after (or before) the entries of
+     * this {@code Rope}, claiming the free space in the shared buffer if it is available.
+     */
+    private Rope<A> grow(Object[] source, int from, int count, boolean atBack, int addedElements,
+                         Segments addedSegments) {
+        Segments newSegments = Segments.concat(addedSegments, segments);
+        synchronized (buffer) {
+            if (atBack ? buffer.tail == end : buffer.head == start) {
+                return write(buffer, source, from, count, atBack, addedElements, newSegments);
+            }
+        }
+        Buffer copy = new Buffer(entries, offset + start, length(), start,
+                atBack ? 0 : count + length(), atBack ? count + length() : 0);
+        synchronized (copy) {
+            return write(copy, source, from, count, atBack, addedElements, newSegments);
+        }
+    }
+
+    private Rope<A> write(Buffer target, Object[] source, int from, int count, boolean atBack, int addedElements,
+                          Segments newSegments) {
+        if (atBack) {
+            target.reserveBack(count);
+            System.arraycopy(source, from, target.entries, target.offset + end, count);
+            target.tail = end + count;
+            return new Rope<>(target, start, end + count, elementCount + addedElements, newSegments);
+        } else {
+            target.reserveFront(count);
+            System.arraycopy(source, from, target.entries, target.offset + start - count, count);
+            target.head = start - count;
+            return new Rope<>(target, start - count, end, elementCount + addedElements, newSegments);
+        }
+    }
+
+    private static <A> Rope<A> rope(Iterable<A> iterable) {
+        Iterable<A> unwrapped = Wrapped.unwrap(iterable);
+        if (unwrapped instanceof Rope<?>) {
+            return (Rope<A>) unwrapped;
+        } else {
+            Buffer buffer = new Buffer(new Object[]{Segment.of(iterable)}, 0, 1, 0, 0, INITIAL_CAPACITY);
+            return new Rope<>(buffer, 0, 1, 0, new Segments(iterable, null));
+        }
+    }
+
+    /**
+     * Storage shared between {@code Rope}s.  Positions are logical, so that they remain valid when the storage is
+     * reallocated; the entry at logical position {@code i} is stored at {@code entries[offset + i]}.
+     * <p>
+     * All access to the mutable fields is guarded by the {@code Buffer}'s monitor.
+     */
+    private static final class Buffer {
+        private Object[] entries;
+        private int offset;
+        private int head;
+        private int tail;
+
+        private Buffer(Object[] source, int from, int length, int logicalStart, int frontRoom, int backRoom) {
+            entries = new Object[frontRoom + length + backRoom];
+            System.arraycopy(source, from, entries, frontRoom, length);
+            offset = frontRoom - logicalStart;
+            head = logicalStart;
+            tail = logicalStart + length;
+        }
+
+        private void reserveBack(int count) {
+            int backRoom = entries.length - (offset + tail);
+            if (backRoom < count) {
+                relocate(offset + head, Math.max(INITIAL_CAPACITY, count + tail - head));
+            }
+        }
+
+        private void reserveFront(int count) {
+            int frontRoom = offset + head;
+            if (frontRoom < count) {
+                relocate(Math.max(INITIAL_CAPACITY, count + tail - head), entries.length - (offset + tail));
+            }
+        }
+
+        private void relocate(int frontRoom, int backRoom) {
+            int length = tail - head;
+            Object[] relocated = new Object[frontRoom + length + backRoom];
+            System.arraycopy(entries, offset + head, relocated, frontRoom, length);
+            entries = relocated;
+            offset = frontRoom - head;
+        }
+    }
+
+    private static final class Segment {
+        private final Iterable<?> iterable;
+
+        private Segment(Iterable<?> iterable) {
+            this.iterable = iterable;
+        }
+
+        private static Segment of(Iterable<?> iterable) {
+            return new Segment(Wrapped.unwrap(iterable));
+        }
+    }
+
+    /**
+     * A persistent list of the segments of a {@code Rope}, in no particular order, used to compute its size.
+     */
+    private static final class Segments {
+        private final Iterable<?> iterable;
+        private final Segments next;
+
+        private Segments(Iterable<?> iterable, Segments next) {
+            this.iterable = iterable;
+            this.next = next;
+        }
+
+        private static Segments concat(Segments first, Segments second) {
+            Segments result = second;
+            for (Segments s = first; s != null; s = s.next) {
+                result = new Segments(s.iterable, result);
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package software.kes.enhancediterables;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * Random sampling of an {@code Iterable} in a single pass, for {@code sample} and {@code sampleFraction}.
+ * <p>
+ * {@code sample} keeps a reservoir of {@code k} elements using Algorithm L (Li, 1994).  Instead of drawing a random
+ * number for every element, it draws how many elements to skip before the next one that replaces a random member of
+ * the reservoir, so it draws O(k log(n / k)) random numbers in all.  {@code sampleFraction} keeps each element with
+ * probability {@code p}, likewise drawing the geometrically distributed gap to the next kept element, rather than
+ * tossing a coin per element.
+ * <p>
+ * If the source is a {@code RandomAccess} {@code List}, skipped elements are never read; otherwise they are stepped
+ * over with {@code next}.  Either way, the sampled elements are returned in the order they were encountered.
+ */
+final class Sampling {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Sampling() {
+    }
+
+    /**
+     * Returns a uniformly random sample of {@code k} elements of {@code source}, or all of them if there are fewer.
+     */
+    @SuppressWarnings("unchecked")
+    static <A> Object[] sample(int k, Random random, Iterable<A> source) {
+        Iterable<A> underlying = EnhancedIterables.peel(source);
+        if (underlying instanceof List<?> && underlying instanceof RandomAccess) {
+            return sample(k, random, (List<A>) underlying);
+        }
+        Iterator<A> iterator = source.iterator();
+        Object[] reservoir = new Object[0];
+        int size = 0;
+        while (size < k && iterator.hasNext()) {
+            if (size == reservoir.length) {
+                reservoir = Arrays.copyOf(reservoir, (int) Math.min(k, Math.max(INITIAL_CAPACITY, 2L * size)));
+            }
+            reservoir[size++] = iterator.next();
+        }
+        if (size < k) {
+            return Arrays.copyOf(reservoir, size);
+        }
+        long[] positions = identityPositions(k);
+        double w = nextWeight(random, k, 1);
+        long position = k - 1;
+        while (true) {
+            long skip = skip(random, w);
+            for (long i = 0; i < skip && iterator.hasNext(); i++) {
+                iterator.next();
+            }
+            if (!iterator.hasNext()) {
+                break;
+            }
+            position += skip + 1;
+            int slot = random.nextInt(k);
+            reservoir[slot] = iterator.next();
+            positions[slot] = position;
+            w = nextWeight(random, k, w);
+        }
+        return inEncounterOrder(reservoir, positions);
+    }
+
+    /**
+     * Returns each element of {@code source} with probability {@code p}, independently.
+     */
+    @SuppressWarnings("unchecked")
+    static <A> Object[] sampleFraction(double p, Random random, Iterable<A> source) {
+        Object[] result = new Object[0];
+        if (p == 0) {
+            return result;
+        }
+        double logQ = Math.log1p(-p);
+        int size = 0;
+        Iterable<A> underlying = EnhancedIterables.peel(source);
+        if (underlying instanceof List<?> && underlying instanceof RandomAccess) {
+            List<A> list = (List<A>) underlying;
+            long index = -1;
+            while (true) {
+                long skip = geometric(random, logQ);
+                if (skip >= list.size() - 1 - index) {
+                    break;
+                }
+                index += skip + 1;
+                result = ensureCapacity(result, size);
+                result[size++] = list.get((int) index);
+            }
+        } else {
+            Iterator<A> iterator = source.iterator();
+            while (true) {
+                long skip = geometric(random, logQ);
+                for (long i = 0; i < skip && iterator.hasNext(); i++) {
+                    iterator.next();
+                }
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                result = ensureCapacity(result, size);
+                result[size++] = iterator.next();
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static <A> Object[] sample(int k, Random random, List<A> list) {
+        int n = list.size();
+        if (n <= k) {
+            return list.toArray();
+        }
+        Object[] reservoir = new Object[k];
+        long[] positions = identityPositions(k);
+        for (int i = 0; i < k; i++) {
+            reservoir[i] = list.get(i);
+        }
+        double w = nextWeight(random, k, 1);
+        long index = k - 1;
+        while (true) {
+            long skip = skip(random, w);
+            if (skip >= n - 1 - index) {
+                break;
+            }
+            index += skip + 1;
+            int slot = random.nextInt(k);
+            reservoir[slot] = list.get((int) index);
+            positions[slot] = index;
+            w = nextWeight(random, k, w);
+        }
+        return inEncounterOrder(reservoir, positions);
+    }
+
+    private static long[] identityPositions(int size) {
+        long[] positions = new long[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        return positions;
+    }
+
+    private static Object[] inEncounterOrder(Object[] reservoir, long[] positions) {
+        Integer[] order = new Integer[reservoir.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> positions[i]));
+        Object[] result = new Object[reservoir.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = reservoir[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * The number of elements to skip before the next one that enters the reservoir.
+     */
+    private static long skip(Random random, double w) {
+        return (long) Math.floor(Math.log(uniform(random)) / Math.log1p(-w));
+    }
+
+    /**
+     * A draw from the number of failures before the first success, where each trial succeeds with probability
+     * {@code 1 - exp(logQ)}.
+     */
+    private static long geometric(Random random, double logQ) {
+        return (long) Math.floor(Math.log(uniform(random)) / logQ);
+    }
+
+    private static double nextWeight(Random random, int k, double w) {
+        return w * Math.exp(Math.log(uniform(random)) / k);
+    }
+
+    /**
+     * A uniformly random {@code double} in (0, 1), so its logarithm is finite.
+     */
+    private static double uniform(Random random) {
+        double u;
+        do {
+            u = random.nextDouble();
+        } while (u == 0);
+        return u;
+    }
+
+    private static Object[] ensureCapacity(Object[] array, int size) {
+        return size < array.length ? array : Arrays.copyOf(array, Math.max(INITIAL_CAPACITY, array.length << 1));
+    }
+
+}
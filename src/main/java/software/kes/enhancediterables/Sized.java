@@ -0,0 +1,15 @@
+package software.kes.enhancediterables;
+
+/**
+ * Implemented by {@code Iterable}s that may be able to report their size without being iterated.
+ */
+interface Sized {
+
+    /**
+     * Returns the number of elements, if it can be determined without iterating.
+     *
+     * @return the exact number of elements, or -1 if the size is not known or greater than {@code Integer.MAX_VALUE}
+     */
+    int knownSize();
+
+}
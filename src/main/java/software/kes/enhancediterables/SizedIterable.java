@@ -0,0 +1,184 @@
+package software.kes.enhancediterables;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.IntSupplier;
+
+/**
+ * Decorates an {@code Iterable} with a function that computes its size from the sizes of the {@code Iterable}s it
+ * was derived from.
+ * <p>
+ * The size is computed on demand rather than at construction, so that views of mutable collections continue to
+ * report the correct size if the collection changes.
+ *
+ * @param <A> the element type
+ */
+final class SizedIterable<A> implements Iterable<A>, Sized {
+    static final int UNKNOWN = -1;
+
+    private final Iterable<A> underlying;
+    private final IntSupplier size;
+
+    private SizedIterable(Iterable<A> underlying, IntSupplier size) {
+        this.underlying = underlying;
+        this.size = size;
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return underlying.iterator();
+    }
+
+    @Override
+    public int knownSize() {
+        return size.getAsInt();
+    }
+
+    Iterable<A> getUnderlying() {
+        return underlying;
+    }
+
+    static <A> SizedIterable<A> sized(Iterable<A> underlying, IntSupplier size) {
+        return new SizedIterable<>(Wrapped.unwrap(underlying), size);
+    }
+
+    /**
+     * Creates a {@code SizedIterable} whose size is a constant plus the sum of the sizes of some other
+     * {@code Iterable}s.
+     * <p>
+     * Sums are flattened, so that size computation does not recurse through long chains of sums.
+     */
+    static <A> SizedIterable<A> sum(Iterable<A> underlying, int constant, Iterable<?>... terms) {
+        ArrayList<Iterable<?>> flattened = new ArrayList<>();
+        long total = constant;
+        for (Iterable<?> term : terms) {
+            Iterable<?> peeled = peel(term);
+            if (peeled instanceof SizedIterable<?> && ((SizedIterable<?>) peeled).size instanceof Sum) {
+                Sum sum = (Sum) ((SizedIterable<?>) peeled).size;
+                total += sum.constant;
+                for (Iterable<?> t : sum.terms) {
+                    flattened.add(t);
+                }
+            } else {
+                flattened.add(peeled);
+            }
+        }
+        return sized(underlying, new Sum(flattened.toArray(new Iterable<?>[0]), total));
+    }
+
+    static <A> SizedIterable<A> sameSizeAs(Iterable<A> underlying, Iterable<?> source) {
+        return sized(underlying, sizeOf(source));
+    }
+
+    static <A> SizedIterable<A> atMost(Iterable<A> underlying, int count, Iterable<?> source) {
+        return sized(underlying, takeSize(count, source));
+    }
+
+    static <A> SizedIterable<A> dropping(Iterable<A> underlying, int count, Iterable<?> source) {
+        return sized(underlying, dropSize(count, source));
+    }
+
+    static <A> SizedIterable<A> shortest(Iterable<A> underlying, Iterable<?> a, Iterable<?> b) {
+        return sized(underlying, () -> min(EnhancedIterables.knownSize(a), EnhancedIterables.knownSize(b)));
+    }
+
+    static <A> SizedIterable<A> product(Iterable<A> underlying, Iterable<?> a, Iterable<?> b) {
+        return sized(underlying, () -> product(EnhancedIterables.knownSize(a), EnhancedIterables.knownSize(b)));
+    }
+
+    static <A> SizedIterable<A> interspersed(Iterable<A> underlying, Iterable<?> source) {
+        return sized(underlying, () -> {
+            int sourceSize = EnhancedIterables.knownSize(source);
+            return sourceSize < 1 ? sourceSize : exact(2L * sourceSize - 1);
+        });
+    }
+
+    static <A> SizedIterable<A> doubled(Iterable<A> underlying, Iterable<?> source) {
+        return sized(underlying, () -> {
+            int sourceSize = EnhancedIterables.knownSize(source);
+            return sourceSize == UNKNOWN ? UNKNOWN : exact(2L * sourceSize);
+        });
+    }
+
+    static <A> SizedIterable<A> windows(Iterable<A> underlying, int k, Iterable<?> source) {
+        return dropping(underlying, k - 1, source);
+    }
+
+    static <A> SizedIterable<A> chunks(Iterable<A> underlying, int chunkSize, Iterable<?> source) {
+        return sized(underlying, () -> {
+            int sourceSize = EnhancedIterables.knownSize(source);
+            return sourceSize == UNKNOWN ? UNKNOWN : (int) ((sourceSize + (long) chunkSize - 1) / chunkSize);
+        });
+    }
+
+    static IntSupplier sizeOf(Iterable<?> source) {
+        return () -> EnhancedIterables.knownSize(source);
+    }
+
+    static IntSupplier takeSize(int count, Iterable<?> source) {
+        return () -> min(count, EnhancedIterables.knownSize(source));
+    }
+
+    static IntSupplier dropSize(int count, Iterable<?> source) {
+        return () -> {
+            int sourceSize = EnhancedIterables.knownSize(source);
+            return sourceSize == UNKNOWN ? UNKNOWN : Math.max(0, sourceSize - count);
+        };
+    }
+
+    /**
+     * Narrows a size computed from other known sizes, which is exact only if it fits in an {@code int}.
+     *
+     * @return {@code size}, or {@link SizedIterable#UNKNOWN} if it is greater than {@code Integer.MAX_VALUE}
+     */
+    static int exact(long size) {
+        return size > Integer.MAX_VALUE ? UNKNOWN : (int) size;
+    }
+
+    /**
+     * Narrows a count or an offset, clamping it to {@code Integer.MAX_VALUE}.  Never use this for a known size, which
+     * must be exact.
+     */
+    static int saturate(long size) {
+        return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+    }
+
+    private static int min(int a, int b) {
+        return a == UNKNOWN || b == UNKNOWN ? UNKNOWN : Math.min(a, b);
+    }
+
+    private static int product(int a, int b) {
+        return a == UNKNOWN || b == UNKNOWN ? UNKNOWN : exact((long) a * b);
+    }
+
+    private static Iterable<?> peel(Iterable<?> iterable) {
+        while (iterable instanceof Wrapped<?>) {
+            iterable = ((Wrapped<?>) iterable).getUnderlying();
+        }
+        return iterable;
+    }
+
+    private static final class Sum implements IntSupplier {
+        private final Iterable<?>[] terms;
+        private final long constant;
+
+        private Sum(Iterable<?>[] terms, long constant) {
+            this.terms = terms;
+            this.constant = constant;
+        }
+
+        @Override
+        public int getAsInt() {
+            long total = constant;
+            for (Iterable<?> term : terms) {
+                int termSize = EnhancedIterables.knownSize(term);
+                if (termSize == UNKNOWN) {
+                    return UNKNOWN;
+                }
+                total += termSize;
+            }
+            return exact(total);
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn2;
+import com.jnape.palatable.lambda.semigroup.Semigroup;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Aggregates each sliding window of a fixed size over an {@code Iterable}, in amortized O(1) per element rather than
+ * O(k) per window.
+ * <p>
+ * Like {@code slide}, one result is produced for each complete window, so a source with fewer than {@code k} elements
+ * produces no results.
+ * <p>
+ * The buffers holding a window grow as the first window fills, up to {@code k}, so a large {@code k} over a short
+ * source costs only what the source holds.
+ */
+final class SlidingWindow {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private SlidingWindow() {
+    }
+
+    /**
+     * Combines each window with an associative operator, using the two-stack technique.  The window is split into an
+     * older part, for which the aggregate of every suffix is stored, and a newer part, for which only the running
+     * aggregate is kept.  Evicting an element drops the oldest suffix; when the older part runs out, the newer part
+     * becomes the older part, and its suffix aggregates are computed in one pass.  Every element takes part in at
+     * most one such pass, and the aggregate of a window is one application of the operator.
+     */
+    static <A> Iterable<A> reduce(int k, Semigroup<A> semigroup, Iterable<A> source) {
+        return () -> new Iterator<A>() {
+            private final Iterator<A> underlying = source.iterator();
+            private Object[] window = new Object[0];
+            private Object[] suffixes = new Object[0];
+            private int oldest;
+            private int size;
+            private int olderCount;
+            private A newerAggregate;
+            private boolean started;
+            private boolean pendingFirst;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    while (size < k && underlying.hasNext()) {
+                        push(underlying.next());
+                    }
+                    pendingFirst = size == k;
+                    return pendingFirst;
+                }
+                return pendingFirst || underlying.hasNext();
+            }
+
+            @Override
+            public A next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (pendingFirst) {
+                    pendingFirst = false;
+                } else {
+                    evict();
+                    push(underlying.next());
+                }
+                return aggregate();
+            }
+
+            private void push(A element) {
+                int position = (oldest + size) % k;
+                if (position >= window.length) {
+                    window = Arrays.copyOf(window, grow(position, window.length, k));
+                    suffixes = Arrays.copyOf(suffixes, window.length);
+                }
+                window[position] = element;
+                newerAggregate = size == olderCount ? element : semigroup.apply(newerAggregate, element);
+                size++;
+            }
+
+            @SuppressWarnings("unchecked")
+            private void evict() {
+                if (olderCount == 0) {
+                    int position = (oldest + size - 1) % k;
+                    A suffix = (A) window[position];
+                    suffixes[position] = suffix;
+                    for (int i = size - 2; i >= 0; i--) {
+                        position = (oldest + i) % k;
+                        suffix = semigroup.apply((A) window[position], suffix);
+                        suffixes[position] = suffix;
+                    }
+                    olderCount = size;
+                    newerAggregate = null;
+                }
+                window[oldest] = null;
+                suffixes[oldest] = null;
+                oldest = (oldest + 1) % k;
+                size--;
+                olderCount--;
+            }
+
+            @SuppressWarnings("unchecked")
+            private A aggregate() {
+                if (olderCount == 0) {
+                    return newerAggregate;
+                } else if (olderCount == size) {
+                    return (A) suffixes[oldest];
+                } else {
+                    return semigroup.apply((A) suffixes[oldest], newerAggregate);
+                }
+            }
+        };
+    }
+
+    /**
+     * Folds each window by adding each element that enters the window and removing each element that leaves it.
+     */
+    static <A, B> Iterable<B> fold(int k, B z, Fn2<? super B, ? super A, ? extends B> add,
+                                   Fn2<? super B, ? super A, ? extends B> remove, Iterable<A> source) {
+        return () -> new Iterator<B>() {
+            private final Iterator<A> underlying = source.iterator();
+            private Object[] window = new Object[0];
+            private int oldest;
+            private B accumulator = z;
+            private boolean started;
+            private boolean pendingFirst;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    int size = 0;
+                    while (size < k && underlying.hasNext()) {
+                        A element = underlying.next();
+                        if (size >= window.length) {
+                            window = Arrays.copyOf(window, grow(size, window.length, k));
+                        }
+                        window[size++] = element;
+                        accumulator = add.apply(accumulator, element);
+                    }
+                    pendingFirst = size == k;
+                    return pendingFirst;
+                }
+                return pendingFirst || underlying.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public B next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (pendingFirst) {
+                    pendingFirst = false;
+                    return accumulator;
+                }
+                A element = underlying.next();
+                accumulator = add.apply(remove.apply(accumulator, (A) window[oldest]), element);
+                window[oldest] = element;
+                oldest = (oldest + 1) % k;
+                return accumulator;
+            }
+        };
+    }
+
+    /**
+     * The length to grow a window buffer of {@code length} to so that it has a slot at {@code index}, at least doubling
+     * it, but never beyond {@code k}.
+     */
+    static int grow(int index, int length, int k) {
+        return (int) Math.min(k, Math.max(index + 1L, Math.max(INITIAL_CAPACITY, 2L * length)));
+    }
+
+}
@@ -0,0 +1,188 @@
+package software.kes.enhancediterables;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A temporary directory of run files, for the algorithms that spill to disk once their memory budget is full.
+ * <p>
+ * Closing a {@code Spill} deletes its directory.  If it must outlive the call that created it, it can be tied to an
+ * owner with {@link #deleteWhenUnreachable}, and is then also deleted by a daemon cleaner thread as soon as the owner
+ * has been garbage collected.  Nothing is registered with {@code File.deleteOnExit}, which would keep every path in
+ * memory until the JVM exits.
+ */
+final class Spill implements AutoCloseable {
+    static final int MAX_FAN_IN = 64;
+
+    private static final ReferenceQueue<Object> UNREACHABLE = new ReferenceQueue<>();
+    private static final Set<Reference<?>> OWNERS = ConcurrentHashMap.newKeySet();
+    private static Thread cleaner;
+
+    private final Path directory;
+    private Reference<?> owner;
+
+    private Spill(Path directory) {
+        this.directory = directory;
+    }
+
+    static Spill create(String prefix) {
+        try {
+            return new Spill(Files.createTempDirectory(prefix));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path newFile() {
+        try {
+            return Files.createTempFile(directory, "run", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes this {@code Spill} once {@code owner} has been garbage collected, if it has not been closed by then.
+     */
+    synchronized void deleteWhenUnreachable(Object owner) {
+        this.owner = new Owner(owner, this);
+        OWNERS.add(this.owner);
+        startCleaner();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (owner != null) {
+            OWNERS.remove(owner);
+            owner = null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(Spill::delete);
+        } catch (IOException e) {
+            // The directory is already gone, or cannot be listed; either way, there is nothing more to do.
+        }
+        delete(directory);
+    }
+
+    /**
+     * Deletes a file if it can, ignoring failures; whatever is left is removed when its {@code Spill} is closed.
+     */
+    static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Best effort.
+        }
+    }
+
+    private static synchronized void startCleaner() {
+        if (cleaner == null) {
+            cleaner = new Thread(Spill::deleteUnreachable, "enhanced-iterables-spill-cleaner");
+            cleaner.setDaemon(true);
+            cleaner.start();
+        }
+    }
+
+    private static void deleteUnreachable() {
+        while (true) {
+            Reference<?> reference;
+            try {
+                reference = UNREACHABLE.remove();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (OWNERS.contains(reference)) {
+                ((Owner) reference).spill.close();
+            }
+        }
+    }
+
+    private static final class Owner extends PhantomReference<Object> {
+        private final Spill spill;
+
+        private Owner(Object owner, Spill spill) {
+            super(owner, UNREACHABLE);
+            this.spill = spill;
+        }
+    }
+
+    /**
+     * Sorted runs, grouped into levels by how many times their elements have been merged, so that each element is
+     * merged O(log n) times rather than once for every {@value #MAX_FAN_IN} runs written.
+     * <p>
+     * New runs join level 0.  When a level holds {@value #MAX_FAN_IN} runs, they are merged into a single run on the
+     * next level.  Every run on a level holds later elements than every run on the levels above it, so listing the
+     * levels from the top down, each in the order its runs were added, lists all the runs in order.
+     *
+     * @param <R> the run type
+     */
+    static final class Levels<R> {
+        private final Function<List<R>, R> merge;
+        private final List<List<R>> levels = new ArrayList<>();
+
+        /**
+         * @param merge merges runs, given in order, into a single run, and deletes them
+         */
+        Levels(Function<List<R>, R> merge) {
+            this.merge = merge;
+        }
+
+        void add(R run) {
+            add(0, run);
+        }
+
+        /**
+         * Merges the lowest levels until at most {@value #MAX_FAN_IN} runs remain, and returns them in order.
+         */
+        List<R> finish() {
+            while (count() > MAX_FAN_IN) {
+                int lowest = 0;
+                while (levels.get(lowest).isEmpty()) {
+                    lowest++;
+                }
+                List<R> runs = levels.get(lowest);
+                R merged = runs.size() == 1 ? runs.get(0) : merge.apply(new ArrayList<>(runs));
+                runs.clear();
+                add(lowest + 1, merged);
+            }
+            List<R> result = new ArrayList<>();
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                result.addAll(levels.get(level));
+            }
+            return result;
+        }
+
+        private void add(int level, R run) {
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            List<R> runs = levels.get(level);
+            runs.add(run);
+            if (runs.size() == MAX_FAN_IN) {
+                R merged = merge.apply(new ArrayList<>(runs));
+                runs.clear();
+                add(level + 1, merged);
+            }
+        }
+
+        private int count() {
+            int count = 0;
+            for (List<R> runs : levels) {
+                count += runs.size();
+            }
+            return count;
+        }
+    }
+
+}
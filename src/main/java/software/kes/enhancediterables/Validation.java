@@ -17,6 +17,12 @@ final class Validation {
         }
     }
 
+    private static void requirePositive(String paramName, long value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(paramName + " must be >= 1");
+        }
+    }
+
     static void validateTake(int count) {
         requireNonNegative("count", count);
     }
@@ -25,8 +31,60 @@ final class Validation {
         requireNonNegative("count", count);
     }
 
+    static void validateGet(int index) {
+        requireNonNegative("index", index);
+    }
+
     static void validateSlide(int k) {
         requirePositive("k", k);
     }
 
+    static void validateK(int k) {
+        requirePositive("k", k);
+    }
+
+    static void validateChunked(int size) {
+        requirePositive("size", size);
+    }
+
+    static void validateDemux(int n) {
+        requirePositive("n", n);
+    }
+
+    static void validateParallelism(int parallelism) {
+        requirePositive("parallelism", parallelism);
+    }
+
+    static void validateBufferSize(int bufferSize) {
+        requirePositive("bufferSize", bufferSize);
+    }
+
+    static void validateMaxKeysInMemory(int maxKeysInMemory) {
+        requirePositive("maxKeysInMemory", maxKeysInMemory);
+    }
+
+    static void validateMaxElementsInMemory(int maxElementsInMemory) {
+        requirePositive("maxElementsInMemory", maxElementsInMemory);
+    }
+
+    static void validatePrecision(int precision) {
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between " + HyperLogLog.MIN_PRECISION + " and "
+                    + HyperLogLog.MAX_PRECISION);
+        }
+    }
+
+    static void validateFraction(double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("p must be >= 0 and <= 1");
+        }
+    }
+
+    static void validateApproxDistinct(long expectedDistinct, double falsePositiveProbability) {
+        requirePositive("expectedDistinct", expectedDistinct);
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("falsePositiveProbability must be > 0 and < 1");
+        }
+    }
+
 }
@@ -0,0 +1,45 @@
+package software.kes.enhancediterables;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A live, read-only view of the sliding windows of size {@code k} over a {@code RandomAccess} {@code List}.
+ * <p>
+ * Each window is a {@link ListSlice} of the list, created when it is requested, so no elements are copied.
+ *
+ * @param <A> the element type of the list
+ * @param <W> the type that each window is wrapped in
+ */
+final class WindowList<A, W> extends AbstractList<W> implements RandomAccess {
+    private final int k;
+    private final List<A> underlying;
+    private final Fn1<? super List<A>, ? extends W> wrapWindow;
+
+    private WindowList(int k, List<A> underlying, Fn1<? super List<A>, ? extends W> wrapWindow) {
+        this.k = k;
+        this.underlying = underlying;
+        this.wrapWindow = wrapWindow;
+    }
+
+    static <A, W> List<W> windows(int k, List<A> list, Fn1<? super List<A>, ? extends W> wrapWindow) {
+        return new WindowList<>(k, list, wrapWindow);
+    }
+
+    @Override
+    public W get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return wrapWindow.apply(ListSlice.range(index, k, underlying));
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, underlying.size() - k + 1);
+    }
+
+}
@@ -12,11 +12,14 @@ abstract class Wrapped<A> implements Iterable<A> {
     }
 
     static <A> Iterable<A> unwrap(Iterable<A> iterable) {
-        if (iterable instanceof Wrapped<?>) {
-            return ((Wrapped<A>) iterable).getUnderlying();
-        } else {
-            return iterable;
+        Iterable<A> result = iterable;
+        if (result instanceof Wrapped<?>) {
+            result = ((Wrapped<A>) result).getUnderlying();
         }
+        if (result instanceof SizedIterable<?>) {
+            result = ((SizedIterable<A>) result).getUnderlying();
+        }
+        return result;
     }
 
     Iterable<A> getUnderlying() {
@@ -0,0 +1,178 @@
+package software.kes.enhancediterables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoubleFiniteIterableTest {
+
+    @Test
+    void iteration() {
+        assertThat(DoubleFiniteIterable.of(1.5, 2.5), contains(1.5, 2.5));
+    }
+
+    @Nested
+    @DisplayName("fmap")
+    class Fmap {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> DoubleFiniteIterable.of(1.0).fmap(null));
+        }
+
+        @Test
+        void mapsElements() {
+            assertThat(DoubleFiniteIterable.of(1.0, 2.0).fmap(d -> d / 2), contains(0.5, 1.0));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapToDouble")
+    class MapToDouble {
+
+        @Test
+        void fromFiniteIterable() {
+            DoubleFiniteIterable result = EnhancedIterables.finiteIterable(asList(1, 2)).mapToDouble(n -> n / 4.0);
+            assertThat(result, contains(0.25, 0.5));
+            assertEquals(2, EnhancedIterables.knownSize(result));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapToLong")
+    class MapToLong {
+
+        @Test
+        void mapsElements() {
+            assertThat(DoubleFiniteIterable.of(1.7, -1.7).mapToLong(Math::round), contains(2L, -2L));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("min/max")
+    class MinMax {
+
+        @Test
+        void empty() {
+            assertEquals(nothing(), DoubleFiniteIterable.emptyDoubleFiniteIterable().min());
+        }
+
+        @Test
+        void nonEmpty() {
+            DoubleFiniteIterable subject = DoubleFiniteIterable.of(0.5, -2.0, 3.25);
+            assertEquals(just(-2.0), subject.min());
+            assertEquals(just(3.25), subject.max());
+        }
+
+        @Test
+        void nanPropagates() {
+            assertTrue(DoubleFiniteIterable.of(1.0, Double.NaN).max().orElse(0.0).isNaN());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingMin/slidingMax")
+    class SlidingMinMax {
+
+        @Test
+        void slidingMin() {
+            assertThat(DoubleFiniteIterable.of(4.0, 2.0, 12.0, 3.0, 8.0).slidingMin(2), contains(2.0, 2.0, 3.0, 3.0));
+        }
+
+        @Test
+        void slidingMax() {
+            assertThat(DoubleFiniteIterable.of(4.0, 2.0, 12.0, 3.0, 8.0).slidingMax(2), contains(4.0, 12.0, 12.0, 8.0));
+        }
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertFalse(DoubleFiniteIterable.of(1.0, 2.0, 3.0).slidingMin(Integer.MAX_VALUE).iterator().hasNext());
+            assertFalse(DoubleFiniteIterable.of(1.0, 2.0, 3.0).slidingMax(Integer.MAX_VALUE).iterator().hasNext());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingSum")
+    class SlidingSum {
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertFalse(DoubleFiniteIterable.of(1.0, 2.0, 3.0).slidingSum(Integer.MAX_VALUE).iterator().hasNext());
+        }
+
+        @Test
+        void compensatesForRoundingError() {
+            double[] values = new double[10_002];
+            values[0] = 1.0;
+            for (int i = 1; i < values.length; i++) {
+                values[i] = 1e-16;
+            }
+            double last = DoubleFiniteIterable.copyFrom(values).slidingSum(10_001).toArray()[1];
+            assertEquals(10_001 * 1e-16, last, 1e-18);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("spliterator")
+    class Spliterators {
+
+        @Test
+        void sizedAndImmutable() {
+            Spliterator.OfDouble spliterator = DoubleFiniteIterable.of(1.0, 2.0).spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.IMMUTABLE));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("sum")
+    class Sum {
+
+        @Test
+        void compensatesForRoundingError() {
+            double[] values = new double[10_001];
+            values[0] = 1.0;
+            for (int i = 1; i < values.length; i++) {
+                values[i] = 1e-16;
+            }
+            assertEquals(1.0 + 1e-12, DoubleFiniteIterable.copyFrom(values).sum(), 1e-15);
+        }
+
+        @Test
+        void infinity() {
+            assertEquals(Double.POSITIVE_INFINITY, DoubleFiniteIterable.of(1.0, Double.POSITIVE_INFINITY).sum());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("toArray")
+    class ToArray {
+
+        @Test
+        void toArray() {
+            assertArrayEquals(new double[]{2.0}, DoubleFiniteIterable.of(1.0, 2.0).filter(d -> d > 1).toArray());
+        }
+
+    }
+
+}
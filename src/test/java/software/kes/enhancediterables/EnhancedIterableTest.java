@@ -1,11 +1,13 @@
 package software.kes.enhancediterables;
 
+import com.jnape.palatable.lambda.adt.Maybe;
 import com.jnape.palatable.lambda.adt.hlist.Tuple2;
 import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Cycle;
 import com.jnape.palatable.lambda.functions.builtin.fn1.Repeat;
 import com.jnape.palatable.lambda.functions.builtin.fn2.Eq;
+import com.jnape.palatable.lambda.functions.builtin.fn2.Iterate;
 import com.jnape.palatable.lambda.functions.builtin.fn2.LT;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Assertions;
@@ -17,9 +19,15 @@ import testsupport.IntSequence;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
@@ -145,6 +153,43 @@ class EnhancedIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("approxDistinct")
+    class ApproxDistinct {
+
+        @Test
+        void isLazyOnInfiniteIterables() {
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(Iterate.iterate(x -> x % 3 + 1, 1))
+                    .approxDistinct(10, 0.01);
+            assertThat(subject.take(3), contains(1, 2, 3));
+        }
+
+        @Test
+        void removesRepeatedElements() {
+            assertThat(EnhancedIterable.enhance(asList(3, 1, 3, 2, 1)).approxDistinct(10, 0.001), contains(3, 1, 2));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("chunked")
+    class Chunked {
+
+        @Test
+        void infiniteSource() {
+            assertThat(EnhancedIterable.enhance(Iterate.iterate(x -> x + 1, 0)).chunked(3).take(3),
+                    contains(contains(0, 1, 2), contains(3, 4, 5), contains(6, 7, 8)));
+        }
+
+        @Test
+        void fmapChunkedOverInfiniteSource() {
+            assertThat(EnhancedIterable.enhance(Iterate.iterate(x -> x + 1, 0))
+                            .fmapChunked(3, chunk -> singletonList(chunk.last())).take(3),
+                    contains(2, 5, 8));
+        }
+
+    }
+
     @Nested
     @DisplayName("concat")
     class Concat {
@@ -191,6 +236,40 @@ class EnhancedIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("demux")
+    class Demux {
+
+        @Test
+        void throwsOnInvalidArguments() {
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(Iterate.iterate(x -> x + 1, 0));
+            assertThrows(IllegalArgumentException.class, () -> subject.demux(0, x -> 0));
+            assertThrows(IllegalArgumentException.class, () -> subject.demux(2, 0, x -> 0));
+            assertThrows(NullPointerException.class, () -> subject.demux(2, null));
+        }
+
+        @Test
+        void infiniteSource() {
+            ImmutableNonEmptyFiniteIterable<? extends EnhancedIterable<Integer>> branches =
+                    EnhancedIterable.enhance(Iterate.iterate(x -> x + 1, 0)).demux(3, x -> x % 3);
+            assertThat(branches.get(2).orElseThrow(AssertionError::new).take(3), contains(2, 5, 8));
+            assertThat(branches.get(0).orElseThrow(AssertionError::new).take(3), contains(0, 3, 6));
+            assertThat(branches.get(1).orElseThrow(AssertionError::new).take(3), contains(1, 4, 7));
+        }
+
+        @Test
+        void boundedBufferThrowsWhenABranchFallsBehind() {
+            ImmutableNonEmptyFiniteIterable<? extends EnhancedIterable<Integer>> branches =
+                    EnhancedIterable.enhance(Iterate.iterate(x -> x + 1, 0)).demux(2, 2, x -> x % 2);
+            Iterator<Integer> evens = branches.head().iterator();
+            assertEquals(0, evens.next());
+            assertEquals(2, evens.next());
+            assertEquals(4, evens.next());
+            assertThrows(IllegalStateException.class, evens::next);
+        }
+
+    }
+
     @Nested
     @DisplayName("drop")
     class Drop {
@@ -319,6 +398,19 @@ class EnhancedIterableTest {
             EnhancedIterable<Integer> subject = EnhancedIterable.enhance(asList(1, 2, 3, 4));
             assertEquals(just(2), subject.find(n -> n % 2 == 0));
         }
+
+        @Test
+        void throwsOnNullMatch() {
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(asList(1, null, 3));
+            assertThrows(NullPointerException.class, () -> subject.find(n -> n == null));
+        }
+
+        @Test
+        void failsFastIfTheListChangesSize() {
+            List<Integer> list = new ArrayList<>(asList(1, 2, 3));
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(list);
+            assertThrows(ConcurrentModificationException.class, () -> subject.find(n -> !list.add(n)));
+        }
     }
 
     @Nested
@@ -361,6 +453,92 @@ class EnhancedIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("forEach")
+    class ForEach {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> EnhancedIterable.enhance(asList(1, 2)).forEach(null));
+        }
+
+        @Test
+        void visitsElementsInOrder() {
+            List<Integer> visited = new ArrayList<>();
+            EnhancedIterable.enhance(asList(1, 2, 3, 4, 5, 6))
+                    .dropWhile(n -> n < 2)
+                    .fmap(n -> n * 2)
+                    .filter(n -> n % 3 != 0)
+                    .takeWhile(n -> n < 12)
+                    .forEach(visited::add);
+            assertEquals(asList(4, 8, 10), visited);
+        }
+
+        @Test
+        void continuesAfterSegmentEndedByTakeWhile() {
+            List<Integer> visited = new ArrayList<>();
+            EnhancedIterable.enhance(Iterate.iterate(n -> n + 1, 1))
+                    .takeWhile(n -> n <= 3)
+                    .concat(asList(10, 20))
+                    .forEach(visited::add);
+            assertEquals(asList(1, 2, 3, 10, 20), visited);
+        }
+
+        @Test
+        void findStopsAtFirstMatchOfInfiniteSource() {
+            List<Integer> mapped = new ArrayList<>();
+            Maybe<Integer> result = EnhancedIterable.enhance(Iterate.iterate(n -> n + 1, 1))
+                    .fmap(n -> {
+                        mapped.add(n);
+                        return n * n;
+                    })
+                    .find(n -> n > 50);
+            assertEquals(just(64), result);
+            assertEquals(asList(1, 2, 3, 4, 5, 6, 7, 8), mapped);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("get")
+    class Get {
+
+        @Test
+        void throwsOnNegativeIndex() {
+            assertThrows(IllegalArgumentException.class, () -> EnhancedIterable.enhance(asList(1, 2, 3)).get(-1));
+        }
+
+        @Test
+        void fromRandomAccessList() {
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(asList(1, 2, 3));
+            assertEquals(just(1), subject.get(0));
+            assertEquals(just(3), subject.get(2));
+            assertEquals(nothing(), subject.get(3));
+        }
+
+        @Test
+        void fromIterable() {
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(asList(1, 2, 3, 4)).filter(n -> n % 2 == 0);
+            assertEquals(just(2), subject.get(0));
+            assertEquals(just(4), subject.get(1));
+            assertEquals(nothing(), subject.get(2));
+        }
+
+        @Test
+        void infinite() {
+            assertEquals(just(1_000), EnhancedIterable.enhance(Iterate.iterate(n -> n + 1, 0)).get(1_000));
+        }
+
+        @Test
+        void followsChangesToUnderlyingList() {
+            List<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(underlying);
+            underlying.set(1, 20);
+            assertEquals(just(20), subject.get(1));
+        }
+
+    }
+
     @Nested
     @DisplayName("intersperse")
     class Intersperse {
@@ -439,6 +617,53 @@ class EnhancedIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("mapAsync")
+    class MapAsync {
+
+        @Test
+        void pullsLazilyFromInfiniteSource() {
+            AtomicInteger pulled = new AtomicInteger();
+            EnhancedIterable<Integer> naturals = EnhancedIterable.enhance(Iterate.iterate(x -> x + 1, 0))
+                    .fmap(x -> {
+                        pulled.incrementAndGet();
+                        return x;
+                    });
+            assertThat(naturals.mapAsync(4, x -> x * 2).take(5), contains(0, 2, 4, 6, 8));
+            assertTrue(pulled.get() <= 9);
+            pulled.set(0);
+            assertEquals(5, naturals.mapAsyncUnordered(4, x -> x * 2).take(5).size());
+            assertTrue(pulled.get() <= 9);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mergeSorted")
+    class MergeSorted {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> EnhancedIterable.mergeSorted(null, emptyList()));
+            assertThrows(NullPointerException.class,
+                    () -> EnhancedIterable.<Integer>mergeSorted(Comparator.naturalOrder(), null));
+        }
+
+        @Test
+        void noSources() {
+            assertThat(EnhancedIterable.<Integer>mergeSorted(Comparator.naturalOrder(), emptyList()), emptyIterable());
+        }
+
+        @Test
+        void mergesInfiniteSourcesLazily() {
+            EnhancedIterable<Integer> evens = EnhancedIterable.enhance(Iterate.iterate(n -> n + 2, 0));
+            EnhancedIterable<Integer> odds = EnhancedIterable.enhance(Iterate.iterate(n -> n + 2, 1));
+            assertThat(EnhancedIterable.mergeSorted(Comparator.naturalOrder(), asList(evens, odds)).take(10),
+                    contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        }
+
+    }
+
     @Nested
     @DisplayName("partition")
     class Partition {
@@ -460,6 +685,83 @@ class EnhancedIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("prefetch")
+    class Prefetch {
+
+        @Test
+        void closingAnIteratorStopsItsProducer() {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                AtomicReference<Thread> producer = new AtomicReference<>();
+                Executor executor = runnable -> {
+                    Thread thread = new Thread(runnable);
+                    producer.set(thread);
+                    thread.start();
+                };
+                CloseableIterator<Integer> iterator = (CloseableIterator<Integer>) EnhancedIterable
+                        .enhance(Iterate.iterate(x -> x + 1, 0))
+                        .prefetch(4, executor)
+                        .iterator();
+                assertEquals(0, iterator.next());
+                assertEquals(1, iterator.next());
+                iterator.close();
+                producer.get().join();
+                assertFalse(iterator.hasNext());
+            });
+        }
+
+        @Test
+        void closingAnIteratorInterruptsAProducerBlockedInTheSource() {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                AtomicReference<Thread> producer = new AtomicReference<>();
+                Executor executor = runnable -> {
+                    Thread thread = new Thread(runnable);
+                    producer.set(thread);
+                    thread.start();
+                };
+                CountDownLatch blocked = new CountDownLatch(1);
+                Iterable<Integer> source = () -> new Iterator<Integer>() {
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        blocked.countDown();
+                        try {
+                            new CountDownLatch(1).await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return 0;
+                    }
+                };
+                CloseableIterator<Integer> iterator = (CloseableIterator<Integer>) EnhancedIterable.enhance(source)
+                        .prefetch(4, executor)
+                        .iterator();
+                new Thread(iterator::hasNext).start();
+                blocked.await();
+                iterator.close();
+                producer.get().join();
+            });
+        }
+
+        @Test
+        void closingBeforeFirstUseNeverStartsAProducer() {
+            AtomicInteger started = new AtomicInteger();
+            Executor executor = runnable -> started.incrementAndGet();
+            CloseableIterator<Integer> iterator = (CloseableIterator<Integer>) EnhancedIterable.enhance(asList(1, 2))
+                    .prefetch(4, executor)
+                    .iterator();
+            iterator.close();
+            iterator.close();
+            assertFalse(iterator.hasNext());
+            assertEquals(0, started.get());
+        }
+
+    }
+
     @Nested
     @DisplayName("prepend")
     class Prepend {
@@ -626,6 +928,12 @@ class EnhancedIterableTest {
             assertThat(subject.takeWhile(LT.lt(2)), contains(1));
         }
 
+        @Test
+        void stopsInfinitePipeline() {
+            EnhancedIterable<Integer> subject = EnhancedIterable.enhance(Iterate.iterate(n -> n + 1, 1));
+            assertThat(subject.fmap(n -> n * 2).filter(n -> n % 3 != 0).takeWhile(LT.lt(12)), contains(2, 4, 8, 10));
+        }
+
     }
 
     @Nested
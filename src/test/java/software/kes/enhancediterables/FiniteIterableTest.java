@@ -4,6 +4,7 @@ import com.jnape.palatable.lambda.adt.hlist.Tuple2;
 import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.Fn2;
 import com.jnape.palatable.lambda.functions.builtin.fn2.LT;
+import com.jnape.palatable.lambda.monoid.builtin.Join;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.collection.IsEmptyIterable;
 import org.junit.jupiter.api.Assertions;
@@ -12,13 +13,38 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import testsupport.IntSequence;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
@@ -34,7 +60,9 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -107,6 +135,39 @@ class FiniteIterableTest {
         assertThrows(UnsupportedOperationException.class, iterator::remove);
     }
 
+    @Nested
+    @DisplayName("aggregateBy")
+    class AggregateBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of("a").aggregateBy(null, Join.join()));
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of("a").aggregateBy(id(), null));
+        }
+
+        @Test
+        void emptyGivesEmptyMap() {
+            assertTrue(FiniteIterable.<String>emptyFiniteIterable().aggregateBy(String::length, Join.join()).isEmpty());
+        }
+
+        @Test
+        void combinesEachGroupInOrder() {
+            Map<Integer, String> result = FiniteIterable.of("bb", "a", "cc", "d", "eee", "ff")
+                    .aggregateBy(String::length, Join.join());
+            assertEquals(asList(2, 1, 3), new ArrayList<>(result.keySet()));
+            assertEquals("bbccff", result.get(2));
+            assertEquals("ad", result.get(1));
+            assertEquals("eee", result.get(3));
+        }
+
+        @Test
+        void resultIsUnmodifiable() {
+            Map<Integer, String> result = FiniteIterable.of("a").aggregateBy(String::length, Join.join());
+            assertThrows(UnsupportedOperationException.class, () -> result.put(2, "bb"));
+        }
+
+    }
+
     @Nested
     @DisplayName("append")
     class Append {
@@ -132,6 +193,271 @@ class FiniteIterableTest {
             });
         }
 
+        @Test
+        void repeatedAppendIsLinear() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                FiniteIterable<Integer> result = iterateN(1_000_000,
+                        EnhancedIterables.finiteIterable(emptyList()),
+                        acc -> acc.append(1));
+                assertEquals(1_000_000, result.size());
+                long total = 0;
+                for (int n : result) {
+                    total += n;
+                }
+                assertEquals(1_000_000, total);
+            });
+        }
+
+        @Test
+        void earlierResultsAreUnaffectedByLaterAppends() {
+            FiniteIterable<String> base = EnhancedIterables.finiteIterable(asList("a", "b")).append("c");
+            FiniteIterable<String> first = base.append("d");
+            FiniteIterable<String> second = base.append("x").append("y");
+            FiniteIterable<String> third = first.prepend("z");
+            assertThat(base, contains("a", "b", "c"));
+            assertThat(first, contains("a", "b", "c", "d"));
+            assertThat(second, contains("a", "b", "c", "x", "y"));
+            assertThat(third, contains("z", "a", "b", "c", "d"));
+            assertEquals(5, third.size());
+        }
+
+        @Test
+        void mixedWithPrepend() {
+            FiniteIterable<Integer> result = EnhancedIterables.finiteIterable(asList(0));
+            for (int i = 1; i <= 100; i++) {
+                result = result.append(i).prepend(-i);
+            }
+            assertThat(result, contains(IntSequence.integers(-100, 100).toArray()));
+        }
+
+        @Test
+        void followsChangesToUnderlyingCollection() {
+            List<Integer> underlying = new ArrayList<>(asList(1, 2));
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(underlying).append(3).append(4);
+            underlying.add(100);
+            assertThat(subject, contains(1, 2, 100, 3, 4));
+            assertEquals(5, subject.size());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("approxDistinct")
+    class ApproxDistinct {
+
+        @Test
+        void throwsOnInvalidArguments() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2));
+            assertThrows(IllegalArgumentException.class, () -> subject.approxDistinct(0, 0.01));
+            assertThrows(IllegalArgumentException.class, () -> subject.approxDistinct(10, 0));
+            assertThrows(IllegalArgumentException.class, () -> subject.approxDistinct(10, 1));
+            assertThrows(IllegalArgumentException.class, () -> subject.approxDistinct(Long.MAX_VALUE, 0.01));
+        }
+
+        @Test
+        void removesRepeatedElementsAndRetainsOrder() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 2, 3, 3, 3, 2, 2, 1, 4));
+            assertThat(subject.approxDistinct(100, 0.001), contains(1, 2, 3, 4));
+        }
+
+        @Test
+        void dropsFewNewElementsWithinExpectedSize() {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) {
+                elements.add(i);
+                elements.add(i / 2);
+            }
+            List<Integer> result = EnhancedIterables.finiteIterable(elements).approxDistinct(100_000, 0.01)
+                    .toCollection(ArrayList::new);
+            assertEquals(result.size(), new LinkedHashSet<>(result).size());
+            assertTrue(result.size() >= 98_000, "kept " + result.size());
+        }
+
+        @Test
+        void keepsUnequalElementsOfDifferentTypesWithTheSameBits() {
+            List<Object> elements = asList(5, 5L, Double.longBitsToDouble(5L), new Object() {
+                @Override
+                public int hashCode() {
+                    return 5;
+                }
+            });
+            List<Object> result = EnhancedIterables.finiteIterable(elements).approxDistinct(10, 0.001)
+                    .toCollection(ArrayList::new);
+            assertEquals(elements, result);
+        }
+
+        @Test
+        void eachIterationStartsAFreshFilter() {
+            FiniteIterable<String> subject = EnhancedIterables.finiteIterable(asList("a", "b", "a"))
+                    .approxDistinct(10, 0.01);
+            assertThat(subject, contains("a", "b"));
+            assertThat(subject, contains("a", "b"));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("approxDistinctCount")
+    class ApproxDistinctCount {
+
+        @Test
+        void throwsOnPrecisionOutOfRange() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2));
+            assertThrows(IllegalArgumentException.class, () -> subject.approxDistinctCount(3));
+            assertThrows(IllegalArgumentException.class, () -> subject.approxDistinctCount(19));
+        }
+
+        @Test
+        void empty() {
+            assertEquals(0, FiniteIterable.<Integer>emptyFiniteIterable().approxDistinctCount(12));
+        }
+
+        @Test
+        void exactForSmallCardinalities() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 2, 3, 3, 3, 2, 2, 1, 4));
+            assertEquals(4, subject.approxDistinctCount(12));
+        }
+
+        @Test
+        void withinErrorBoundsForLargeCardinalities() {
+            long estimate = IntFiniteIterable.range(0, 1_000_000).boxed().approxDistinctCount(14);
+            assertEquals(1_000_000, estimate, 30_000);
+        }
+
+        @Test
+        void ignoresRepeatedElements() {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < 50_000; i++) {
+                elements.add("user-" + i);
+            }
+            FiniteIterable<String> once = EnhancedIterables.finiteIterable(elements);
+            assertEquals(once.approxDistinctCount(12), once.concat(once).concat(once).approxDistinctCount(12));
+            assertEquals(50_000, once.approxDistinctCount(12), 50_000 * 0.06);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("bottomK")
+    class BottomK {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of(1, 2).bottomK(1, null));
+        }
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> FiniteIterable.of(1, 2).bottomK(0, Comparator.naturalOrder()));
+        }
+
+        @Test
+        void emptyStaysEmpty() {
+            assertThat(FiniteIterable.<Integer>emptyFiniteIterable().bottomK(3, Comparator.naturalOrder()),
+                    emptyIterable());
+        }
+
+        @Test
+        void returnsTheSmallestInAscendingOrder() {
+            assertThat(FiniteIterable.of(5, 3, 8, 1, 9, 2).bottomK(3, Comparator.naturalOrder()), contains(1, 2, 3));
+        }
+
+        @Test
+        void returnsEverythingIfKExceedsSize() {
+            assertThat(FiniteIterable.of(5, 3, 8).bottomK(10, Comparator.naturalOrder()), contains(3, 5, 8));
+        }
+
+        @Test
+        void agreesWithSortAndTake() {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                elements.add((i * 7919) % 211);
+            }
+            Comparator<Integer> byLastDigit = Comparator.comparingInt(n -> n % 10);
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(elements);
+            for (int k : new int[]{1, 2, 17, 100, 1_999, 2_000, 5_000}) {
+                List<Integer> expected = subject.sorted(byLastDigit).take(k).toCollection(ArrayList::new);
+                assertEquals(expected, subject.bottomK(k, byLastDigit).toCollection(ArrayList::new), "k = " + k);
+            }
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(2,
+                    EnhancedIterables.knownSize(FiniteIterable.of(3, 1, 2).bottomK(2, Comparator.naturalOrder())));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("chunked")
+    class Chunked {
+
+        @Test
+        void throwsOnNonPositiveSize() {
+            assertThrows(IllegalArgumentException.class, () -> FiniteIterable.of(1, 2, 3).chunked(0));
+        }
+
+        @Test
+        void emptySource() {
+            assertThat(FiniteIterable.emptyFiniteIterable().chunked(2), emptyIterable());
+        }
+
+        @Test
+        void lastChunkHoldsRemainder() {
+            assertThat(FiniteIterable.of(1, 2, 3, 4, 5).chunked(2),
+                    contains(contains(1, 2), contains(3, 4), contains(5)));
+        }
+
+        @Test
+        void sizeDividesEvenly() {
+            assertThat(FiniteIterable.of(1, 2, 3, 4).chunked(2), contains(contains(1, 2), contains(3, 4)));
+        }
+
+        @Test
+        void sizeLargerThanSource() {
+            assertThat(FiniteIterable.of(1, 2, 3).chunked(1_000_000), contains(contains(1, 2, 3)));
+        }
+
+        @Test
+        void chunksAreArrayBacked() {
+            FiniteIterable<Integer> subject = FiniteIterable.finiteIterable(IntSequence.integers(1, 100));
+            for (ImmutableNonEmptyFiniteIterable<Integer> chunk : subject.chunked(30)) {
+                assertTrue(chunk instanceof ArrayIterable<?>);
+            }
+        }
+
+        @Test
+        void chunksAreCopies() {
+            ArrayList<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            ImmutableNonEmptyFiniteIterable<Integer> chunk = FiniteIterable.finiteIterable(underlying).chunked(3)
+                    .iterator().next();
+            underlying.set(0, 100);
+            assertThat(chunk, contains(1, 2, 3));
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(3, EnhancedIterables.knownSize(FiniteIterable.of(1, 2, 3, 4, 5).chunked(2)));
+            assertEquals(2, EnhancedIterables.knownSize(FiniteIterable.of(1, 2, 3, 4).chunked(2)));
+            assertEquals(0, EnhancedIterables.knownSize(FiniteIterable.emptyFiniteIterable().chunked(2)));
+        }
+
+        @Test
+        void pushAndPullAgree() {
+            FiniteIterable<? extends ImmutableNonEmptyFiniteIterable<Integer>> subject =
+                    FiniteIterable.finiteIterable(IntSequence.integers(1, 1_000)).chunked(7);
+            List<List<Integer>> pushed = new ArrayList<>();
+            subject.forEach(chunk -> pushed.add(chunk.toCollection(ArrayList::new)));
+            List<List<Integer>> pulled = new ArrayList<>();
+            for (ImmutableNonEmptyFiniteIterable<Integer> chunk : subject) {
+                pulled.add(chunk.toCollection(ArrayList::new));
+            }
+            assertEquals(143, pushed.size());
+            assertEquals(pulled, pushed);
+        }
+
     }
 
     @Nested
@@ -149,6 +475,14 @@ class FiniteIterableTest {
             MatcherAssert.assertThat(EnhancedIterables.finiteIterable(emptyList()).concat(emptyList()), IsEmptyIterable.emptyIterable());
         }
 
+        @Test
+        void sizeIsUnknownWhenItOverflows() {
+            FiniteIterable<Integer> half = EnhancedIterables.finiteIterable(Collections.nCopies(1 << 30, 1));
+            FiniteIterable<Integer> subject = half.concat(half).concat(half);
+            assertEquals(-1, EnhancedIterables.knownSize(subject));
+            assertFalse(subject.spliterator().hasCharacteristics(Spliterator.SIZED));
+        }
+
         @Test
         void emptyPlusSize3() {
             MatcherAssert.assertThat(EnhancedIterables.finiteIterable(emptyList()).concat(asList("foo", "bar", "baz")),
@@ -179,6 +513,72 @@ class FiniteIterableTest {
             });
         }
 
+        @Test
+        void concatOfConcats() {
+            FiniteIterable<Integer> left = EnhancedIterables.finiteIterable(asList(1, 2)).concat(asList(3)).append(4);
+            FiniteIterable<Integer> right = EnhancedIterables.finiteIterable(asList(5)).prepend(0).concat(asList(6, 7));
+            FiniteIterable<Integer> result = left.concat(right).concat(left);
+            assertThat(result, contains(1, 2, 3, 4, 0, 5, 6, 7, 1, 2, 3, 4));
+            assertEquals(12, result.size());
+            assertThat(left, contains(1, 2, 3, 4));
+            assertThat(right, contains(0, 5, 6, 7));
+        }
+
+        @Test
+        void balancedConcatIsStackSafe() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                FiniteIterable<Integer> result = EnhancedIterables.finiteIterable(asList(1));
+                for (int i = 0; i < 16; i++) {
+                    result = result.concat(result);
+                }
+                assertEquals(65_536, result.size());
+                assertEquals(65_536, size(result));
+            });
+        }
+
+    }
+
+    @Nested
+    @DisplayName("countBy")
+    class CountBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of(1).countBy(null));
+        }
+
+        @Test
+        void emptyGivesEmptyMap() {
+            assertTrue(FiniteIterable.emptyFiniteIterable().countBy(id()).isEmpty());
+        }
+
+        @Test
+        void countsInOrderOfFirstOccurrence() {
+            Map<Integer, Long> result = FiniteIterable.of(5, 3, 5, 0, 3, 5).countBy(id());
+            assertEquals(asList(5, 3, 0), new ArrayList<>(result.keySet()));
+            assertEquals(asList(3L, 2L, 1L), new ArrayList<>(result.values()));
+        }
+
+        @Test
+        void distinguishesKeysOfDifferentTypes() {
+            Map<Object, Long> result = FiniteIterable.<Object>of(1, 1L, "1", null, 1, null, 1L, 1)
+                    .countBy(id());
+            assertEquals(asList(1, 1L, "1", null), new ArrayList<>(result.keySet()));
+            assertEquals(asList(3L, 2L, 1L, 2L), new ArrayList<>(result.values()));
+        }
+
+        @Test
+        void agreesWithHashMapCounting() {
+            List<Object> elements = scrambledKeys(20_000);
+            Map<Object, Long> expected = new LinkedHashMap<>();
+            for (Object element : elements) {
+                expected.merge(element, 1L, Long::sum);
+            }
+            Map<Object, Long> actual = EnhancedIterables.finiteIterable(elements).countBy(id());
+            assertEquals(expected, actual);
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        }
+
     }
 
     @Nested
@@ -209,6 +609,13 @@ class FiniteIterableTest {
                             tuple(3, "foo"), tuple(3, "bar"), tuple(3, "baz")));
         }
 
+        @Test
+        void sizeIsUnknownWhenItOverflows() {
+            FiniteIterable<Integer> side = EnhancedIterables.finiteIterable(Collections.nCopies(1 << 16, 1));
+            assertEquals(-1, EnhancedIterables.knownSize(side.cross(side)));
+            assertEquals(1 << 30, EnhancedIterables.knownSize(side.cross(side.take(1 << 14))));
+        }
+
     }
 
     @Nested
@@ -234,6 +641,131 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("demux")
+    class Demux {
+
+        @Test
+        void throwsOnInvalidArguments() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2, 3);
+            assertThrows(IllegalArgumentException.class, () -> subject.demux(0, x -> 0));
+            assertThrows(IllegalArgumentException.class, () -> subject.demux(2, 0, x -> 0));
+            assertThrows(NullPointerException.class, () -> subject.demux(2, null));
+        }
+
+        @Test
+        void branchesMatchFilters() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(5, 1, 8, 3, 6, 4, 7, 2, 9);
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches = subject.demux(3, x -> x % 3);
+            assertEquals(3, branches.size());
+            assertThat(branches.get(1).orElseThrow(AssertionError::new), contains(1, 4, 7));
+            assertThat(branches.get(0).orElseThrow(AssertionError::new), contains(3, 6, 9));
+            assertThat(branches.get(2).orElseThrow(AssertionError::new), contains(5, 8, 2));
+        }
+
+        @Test
+        void iteratesSourceOnceAndClassifiesEachElementOnce() {
+            AtomicInteger iterations = new AtomicInteger();
+            AtomicInteger classifications = new AtomicInteger();
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(() -> {
+                iterations.incrementAndGet();
+                return asList(1, 2, 3, 4, 5, 6).iterator();
+            });
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches = subject.demux(2, x -> {
+                classifications.incrementAndGet();
+                return x % 2;
+            });
+            assertEquals(0, iterations.get());
+            assertThat(branches.last(), contains(1, 3, 5));
+            assertThat(branches.head(), contains(2, 4, 6));
+            assertEquals(1, iterations.get());
+            assertEquals(6, classifications.get());
+        }
+
+        @Test
+        void interleavedConsumption() {
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches =
+                    FiniteIterable.of(1, 2, 3, 4, 5).demux(2, 1, x -> x % 2);
+            Iterator<Integer> evens = branches.head().iterator();
+            Iterator<Integer> odds = branches.last().iterator();
+            assertEquals(2, evens.next());
+            assertEquals(1, odds.next());
+            assertEquals(3, odds.next());
+            assertEquals(4, evens.next());
+            assertFalse(evens.hasNext());
+            assertEquals(5, odds.next());
+            assertFalse(odds.hasNext());
+            assertThrows(NoSuchElementException.class, odds::next);
+        }
+
+        @Test
+        void throwsWhenABufferIsFull() {
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches =
+                    FiniteIterable.of(1, 3, 5, 2).demux(2, 2, x -> x % 2);
+            assertThrows(IllegalStateException.class, () -> branches.head().iterator().next());
+        }
+
+        @Test
+        void elementForAFullBufferIsKeptForLater() {
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches =
+                    FiniteIterable.of(1, 3, 5, 2, 7, 4).demux(2, 2, x -> x % 2);
+            Iterator<Integer> evens = branches.head().iterator();
+            Iterator<Integer> odds = branches.last().iterator();
+            assertThrows(IllegalStateException.class, evens::next);
+            assertEquals(1, odds.next());
+            assertEquals(2, evens.next());
+            assertEquals(3, odds.next());
+            assertEquals(5, odds.next());
+            assertEquals(4, evens.next());
+            assertFalse(evens.hasNext());
+            assertEquals(7, odds.next());
+            assertFalse(odds.hasNext());
+        }
+
+        @Test
+        void branchesCanBeIteratedAgain() {
+            AtomicInteger iterations = new AtomicInteger();
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(() -> {
+                iterations.incrementAndGet();
+                return asList(1, 2, 3, 4, 5).iterator();
+            });
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches = subject.demux(2, x -> x % 2);
+            FiniteIterable<Integer> odds = branches.last();
+            assertEquals(3, odds.size());
+            assertThat(odds, contains(1, 3, 5));
+            assertThat(odds, contains(1, 3, 5));
+            assertThat(branches.head(), contains(2, 4));
+            assertEquals(3, iterations.get());
+        }
+
+        @Test
+        void branchesCanSpillWhenDistinct() {
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches =
+                    FiniteIterable.of(1, 2, 3, 1, 4, 3, 5, 2, 1).demux(2, x -> x % 2);
+            assertThat(branches.last().distinct(1), contains(1, 3, 5));
+            assertThat(branches.head().distinct(1), contains(2, 4));
+        }
+
+        @Test
+        void throwsOnClassificationOutOfRange() {
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<Integer>> branches =
+                    FiniteIterable.of(1, 2, 3).demux(2, x -> x);
+            Iterator<Integer> second = branches.last().iterator();
+            assertEquals(1, second.next());
+            assertThrows(IllegalArgumentException.class, second::next);
+        }
+
+        @Test
+        void nullElements() {
+            ImmutableNonEmptyFiniteIterable<? extends FiniteIterable<String>> branches =
+                    EnhancedIterables.finiteIterable(asList("a", null, "b", null))
+                            .demux(2, s -> s == null ? 1 : 0);
+            assertThat(branches.last(), contains(nullValue(), nullValue()));
+            assertThat(branches.head(), contains("a", "b"));
+        }
+
+    }
+
     @Nested
     @DisplayName("distinct")
     class Distinct {
@@ -249,6 +781,125 @@ class FiniteIterableTest {
                     contains(1, 2, 3, 4));
         }
 
+        @Test
+        void comparesKeysLikeAHashSet() {
+            FiniteIterable<Object> subject = FiniteIterable.<Object>of(1, 1L, 0, 0L, null, "1", 1, null, 0L);
+            MatcherAssert.assertThat(subject.distinct(), contains(1, 1L, 0, 0L, null, "1"));
+        }
+
+        @Test
+        void agreesWithLinkedHashSet() {
+            List<Object> elements = scrambledKeys(20_000);
+            assertEquals(new ArrayList<>(new LinkedHashSet<>(elements)),
+                    EnhancedIterables.finiteIterable(elements).distinct().toCollection(ArrayList::new));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("distinct with a memory budget")
+    class DistinctWithMemoryBudget {
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> EnhancedIterables.finiteIterable(asList(1, 2)).distinct(0));
+        }
+
+        @Test
+        void underBudgetIteratesOnce() {
+            AtomicInteger iterations = new AtomicInteger();
+            List<Integer> elements = asList(1, 2, 2, 3, 1, 3);
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(() -> {
+                iterations.incrementAndGet();
+                return elements.iterator();
+            });
+            assertThat(subject.distinct(3), contains(1, 2, 3));
+            assertEquals(1, iterations.get());
+        }
+
+        @Test
+        void overBudgetAgreesWithLinkedHashSet() {
+            List<Object> elements = scrambledKeys(5_000);
+            List<Object> expected = new ArrayList<>(new LinkedHashSet<>(elements));
+            for (int budget : new int[]{1, 16, 1_000}) {
+                assertEquals(expected, EnhancedIterables.finiteIterable(elements).distinct(budget)
+                        .toCollection(ArrayList::new), "budget = " + budget);
+            }
+        }
+
+        @Test
+        void overBudgetIteratesTwiceAndDeletesItsFiles() throws IOException {
+            AtomicInteger iterations = new AtomicInteger();
+            List<Object> elements = scrambledKeys(1_000);
+            FiniteIterable<Object> subject = EnhancedIterables.finiteIterable(() -> {
+                iterations.incrementAndGet();
+                return elements.iterator();
+            });
+            List<Path> before = spillDirectories();
+            assertEquals(new ArrayList<>(new LinkedHashSet<>(elements)),
+                    subject.distinct(10).toCollection(ArrayList::new));
+            assertEquals(2, iterations.get());
+            assertEquals(before, spillDirectories());
+        }
+
+        @Test
+        void throwsIfAnUnsupportedKeyMustBeSpilled() {
+            FiniteIterable<Double> subject = EnhancedIterables.finiteIterable(asList(1.0, 2.0, 3.0)).distinct(1);
+            assertThrows(IllegalArgumentException.class, () -> subject.forEach(__ -> {
+            }));
+        }
+
+        @Test
+        void unsupportedKeysAreFineUnderBudget() {
+            assertThat(EnhancedIterables.finiteIterable(asList(1.0, 2.0, 1.0)).distinct(2), contains(1.0, 2.0));
+        }
+
+        private List<Path> spillDirectories() throws IOException {
+            try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+                return files.filter(file -> file.getFileName().toString().startsWith("enhanced-iterables-distinct"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("distinctBy")
+    class DistinctBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class,
+                    () -> EnhancedIterables.finiteIterable(asList(1, 2)).distinctBy(null));
+        }
+
+        @Test
+        void keepsFirstElementForEachKey() {
+            assertThat(EnhancedIterables.finiteIterable(asList("apple", "avocado", "banana", "blueberry", "cherry"))
+                    .distinctBy(s -> s.charAt(0)), contains("apple", "banana", "cherry"));
+        }
+
+        @Test
+        void withMemoryBudget() {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                elements.add("event-" + (i * 37 % 101) + "-" + i);
+            }
+            FiniteIterable<String> subject = EnhancedIterables.finiteIterable(elements);
+            Fn1<String, String> key = s -> s.substring(0, s.lastIndexOf('-'));
+            List<String> expected = subject.distinctBy(key).toCollection(ArrayList::new);
+            List<String> actual = subject.distinctBy(5, key).toCollection(ArrayList::new);
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        void withMemoryBudgetThrowsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> EnhancedIterables.finiteIterable(asList(1, 2)).distinctBy(0, id()));
+        }
+
     }
 
     @Nested
@@ -317,6 +968,21 @@ class FiniteIterableTest {
             assertThat(subject.dropWhile(LT.lt(2)), contains(2, 3));
         }
 
+        @Test
+        void afterFilter() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4, 5, 6));
+            assertThat(subject.filter(n -> n % 2 == 0).dropWhile(LT.lt(4)), contains(4, 6));
+        }
+
+        @Test
+        void eachIterationStartsDropping() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3, 1))
+                    .fmap(n -> n * 10)
+                    .dropWhile(LT.lt(20));
+            assertThat(subject, contains(20, 30, 10));
+            assertThat(subject, contains(20, 30, 10));
+        }
+
     }
 
     @Nested
@@ -419,10 +1085,71 @@ class FiniteIterableTest {
             });
         }
 
-    }
+        @Test
+        void interleavedWithOtherStages() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 20));
+            FiniteIterable<String> result = subject.fmap(n -> n * 2)
+                    .filter(n -> n % 3 != 0)
+                    .dropWhile(LT.lt(10))
+                    .takeWhile(LT.lt(30))
+                    .fmap(Object::toString);
+            assertThat(result, contains("10", "14", "16", "20", "22", "26", "28"));
+        }
 
-    @Nested
-    @DisplayName("foldLeft")
+        @Test
+        void doesNotAffectEarlierStages() {
+            FiniteIterable<Integer> doubled = EnhancedIterables.finiteIterable(asList(1, 2, 3)).fmap(n -> n * 2);
+            FiniteIterable<Integer> filtered = doubled.filter(n -> n > 2);
+            FiniteIterable<Integer> incremented = doubled.fmap(n -> n + 1);
+            assertThat(doubled, contains(2, 4, 6));
+            assertThat(filtered, contains(4, 6));
+            assertThat(incremented, contains(3, 5, 7));
+        }
+
+        @Test
+        void interleavedStackSafe() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                FiniteIterable<Integer> result = iterateN(10_000,
+                        EnhancedIterables.finiteIterable(asList(0, 1, 2)),
+                        acc -> acc.fmap(x -> x + 1).filter(x -> x >= 0));
+                assertThat(result, contains(10_000, 10_001, 10_002));
+            });
+        }
+
+    }
+
+    @Nested
+    @DisplayName("fmapChunked")
+    class FmapChunked {
+
+        @Test
+        void throwsOnNonPositiveSize() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> FiniteIterable.of(1, 2, 3).fmapChunked(0, chunk -> emptyList()));
+        }
+
+        @Test
+        void appliesFunctionOncePerChunk() {
+            List<Integer> chunkSizes = new ArrayList<>();
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2, 3, 4, 5)
+                    .fmapChunked(2, chunk -> {
+                        chunkSizes.add(chunk.size());
+                        return chunk.fmap(x -> x * 10).toCollection(ArrayList::new);
+                    });
+            assertThat(subject, contains(10, 20, 30, 40, 50));
+            assertEquals(asList(2, 2, 1), chunkSizes);
+        }
+
+        @Test
+        void resultsMayDifferInSize() {
+            assertThat(FiniteIterable.of(1, 2, 3, 4, 5).fmapChunked(2, chunk -> singletonList(chunk.size())),
+                    contains(2, 2, 1));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("foldLeft")
     class FoldLeft {
 
         @Test
@@ -443,6 +1170,30 @@ class FiniteIterableTest {
             assertEquals(25, ints.foldLeft(Integer::sum, 10));
         }
 
+        @Test
+        void throughPipelineDoesNotIterateUnderlyingList() {
+            FiniteIterable<Integer> ints = EnhancedIterables.finiteIterable(new NoIteratorList<>(asList(1, 2, 3, 4, 5)))
+                    .fmap(n -> n * 10)
+                    .filter(n -> n > 10);
+            assertEquals(140, ints.foldLeft(Integer::sum, 0));
+            assertEquals(4, ints.size());
+            assertEquals(just(30), ints.find(n -> n > 20));
+            assertEquals(asList(20, 30, 40, 50), ints.toCollection(ArrayList::new));
+        }
+
+        @Test
+        void overRopeOfSegments() {
+            FiniteIterable<Integer> ints = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4))
+                    .takeWhile(n -> n < 3)
+                    .append(10)
+                    .concat(EnhancedIterables.finiteIterable(asList(5, 6)).fmap(n -> n * 100))
+                    .prepend(-1);
+            assertEquals(asList(-1, 1, 2, 10, 500, 600), ints.foldLeft((acc, n) -> {
+                acc.add(n);
+                return acc;
+            }, new ArrayList<>()));
+        }
+
     }
 
     @Nested
@@ -469,6 +1220,187 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("groupBy")
+    class GroupBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of(1).groupBy(null));
+        }
+
+        @Test
+        void emptyGivesEmptyMap() {
+            assertTrue(FiniteIterable.emptyFiniteIterable().groupBy(id()).isEmpty());
+        }
+
+        @Test
+        void groupsInOrder() {
+            Map<Integer, ImmutableNonEmptyFiniteIterable<Integer>> result = FiniteIterable.of(4, 1, 7, 2, 10, 5, 3)
+                    .groupBy(n -> n % 3);
+            assertEquals(asList(1, 2, 0), new ArrayList<>(result.keySet()));
+            assertThat(result.get(1), contains(4, 1, 7, 10));
+            assertThat(result.get(2), contains(2, 5));
+            assertThat(result.get(0), contains(3));
+            assertEquals(4, EnhancedIterables.knownSize(result.get(1)));
+        }
+
+        @Test
+        void groupsLargeInputs() {
+            List<Object> elements = scrambledKeys(20_000);
+            Map<Object, List<Object>> expected = new LinkedHashMap<>();
+            for (Object element : elements) {
+                expected.computeIfAbsent(element, __ -> new ArrayList<>()).add(element);
+            }
+            Map<Object, ImmutableNonEmptyFiniteIterable<Object>> actual =
+                    EnhancedIterables.finiteIterable(elements).groupBy(id());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+            for (Map.Entry<Object, List<Object>> entry : expected.entrySet()) {
+                List<Object> group = actual.get(entry.getKey()).toCollection(ArrayList::new);
+                assertEquals(entry.getValue(), group);
+            }
+        }
+
+        @Test
+        void manyDistinctKeysInLinearTime() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(0, 299_999));
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertEquals(150_000, subject.groupBy(n -> n / 2).size());
+                assertEquals(150_000, subject.parallelGroupBy(n -> n / 2).size());
+                assertEquals(2L, subject.countBy(n -> n / 2).get(149_999));
+                assertEquals(150_000, subject.parallelCountBy(n -> n / 2).size());
+                assertEquals(599_997, subject.aggregateBy(n -> n / 2, Integer::sum).get(149_999));
+                assertEquals(150_000, subject.parallelAggregateBy(n -> n / 2, Integer::sum).size());
+            });
+        }
+
+    }
+
+    @Nested
+    @DisplayName("hashFullJoin")
+    class HashFullJoin {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2);
+            assertThrows(NullPointerException.class, () -> subject.hashFullJoin(null, id(), id(), id()));
+            assertThrows(NullPointerException.class, () -> subject.hashFullJoin(subject, id(), id(), null));
+        }
+
+        @Test
+        void keepsUnmatchedElementsOfBothSides() {
+            FiniteIterable<String> left = EnhancedIterables.finiteIterable(() -> asList("a1", "b1", "c1").iterator());
+            FiniteIterable<String> right = EnhancedIterables.finiteIterable(() -> asList("b2", "d2", "a2").iterator());
+            assertThat(left.hashFullJoin(right, s -> s.charAt(0), s -> s.charAt(0),
+                            these -> these.match(a -> a + "-", b -> "-" + b, t -> t._1() + t._2())),
+                    contains("a1a2", "b1b2", "c1-", "-d2"));
+        }
+
+        @Test
+        void unmatchedElementsOfTheSmallerSideComeLast() {
+            FiniteIterable<String> left = FiniteIterable.of("a1", "c1");
+            FiniteIterable<String> right = FiniteIterable.of("b2", "d2", "a2");
+            assertThat(left.hashFullJoin(right, s -> s.charAt(0), s -> s.charAt(0),
+                            these -> these.match(a -> a + "-", b -> "-" + b, t -> t._1() + t._2())),
+                    contains("-b2", "-d2", "a1a2", "c1-"));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("hashJoin")
+    class HashJoin {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2);
+            assertThrows(NullPointerException.class, () -> subject.hashJoin(null, id(), id(), tupler()));
+            assertThrows(NullPointerException.class, () -> subject.hashJoin(subject, null, id(), tupler()));
+            assertThrows(NullPointerException.class, () -> subject.hashJoin(subject, id(), null, tupler()));
+            assertThrows(NullPointerException.class, () -> subject.hashJoin(subject, id(), id(), null));
+        }
+
+        @Test
+        void emptySides() {
+            FiniteIterable<Integer> empty = FiniteIterable.emptyFiniteIterable();
+            FiniteIterable<Integer> nonEmpty = FiniteIterable.of(1, 2);
+            assertThat(empty.hashJoin(nonEmpty, id(), id(), tupler()), emptyIterable());
+            assertThat(nonEmpty.hashJoin(empty, id(), id(), tupler()), emptyIterable());
+        }
+
+        @Test
+        void joinsEveryMatchingPairInLeftOrder() {
+            FiniteIterable<String> left = FiniteIterable.of("a1", "b1", "c1", "a3");
+            FiniteIterable<String> right =
+                    EnhancedIterables.finiteIterable(() -> asList("b2", "a2", "d2", "a4", "b4").iterator());
+            assertThat(left.hashJoin(right, s -> s.charAt(0), s -> s.charAt(0), (x, y) -> x + y),
+                    contains("a1a2", "a1a4", "b1b2", "b1b4", "a3a2", "a3a4"));
+        }
+
+        @Test
+        void followsTheOrderOfTheLargerSideIfItIsStreamed() {
+            FiniteIterable<String> left = FiniteIterable.of("b1", "a1");
+            FiniteIterable<String> right = FiniteIterable.of("a2", "c2", "b2");
+            assertThat(left.hashJoin(right, s -> s.charAt(0), s -> s.charAt(0), (x, y) -> x + y),
+                    contains("a1a2", "b1b2"));
+        }
+
+        @Test
+        void agreesWithCrossAndFilter() {
+            List<Integer> left = new ArrayList<>();
+            List<Integer> right = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                left.add((i * 7919) % 101);
+                right.add((i * 104729) % 97);
+            }
+            FiniteIterable<Integer> l = EnhancedIterables.finiteIterable(left::iterator);
+            FiniteIterable<Integer> r = EnhancedIterables.finiteIterable(right::iterator);
+            List<Tuple2<Integer, Integer>> expected = l.cross(r).filter(t -> t._1() % 20 == t._2() % 20)
+                    .toCollection(ArrayList::new);
+            List<Tuple2<Integer, Integer>> actual = l.hashJoin(r, n -> n % 20, n -> n % 20, tupler())
+                    .toCollection(ArrayList::new);
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        void nullKeysMatch() {
+            FiniteIterable<String> left = FiniteIterable.of("a", "b");
+            assertThat(left.hashJoin(FiniteIterable.of("c"), __ -> null, __ -> null, (x, y) -> x + y),
+                    contains("ac", "bc"));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("hashLeftJoin")
+    class HashLeftJoin {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2);
+            assertThrows(NullPointerException.class, () -> subject.hashLeftJoin(null, id(), id(), tupler()));
+            assertThrows(NullPointerException.class, () -> subject.hashLeftJoin(subject, id(), id(), null));
+        }
+
+        @Test
+        void keepsUnmatchedLeftElements() {
+            FiniteIterable<String> left = FiniteIterable.of("a1", "b1", "c1", "a3");
+            FiniteIterable<String> right =
+                    EnhancedIterables.finiteIterable(() -> asList("b2", "a2", "d2", "a4", "b4").iterator());
+            assertThat(left.hashLeftJoin(right, s -> s.charAt(0), s -> s.charAt(0), (x, y) -> x + y.orElse("-")),
+                    contains("a1a2", "a1a4", "b1b2", "b1b4", "c1-", "a3a2", "a3a4"));
+        }
+
+        @Test
+        void unmatchedLeftElementsComeLastIfTheLeftSideIsSmaller() {
+            FiniteIterable<String> left = FiniteIterable.of("c1", "a1");
+            FiniteIterable<String> right = FiniteIterable.of("a2", "d2", "a4");
+            assertThat(left.hashLeftJoin(right, s -> s.charAt(0), s -> s.charAt(0), (x, y) -> x + y.orElse("-")),
+                    contains("a1a2", "a1a4", "c1-"));
+        }
+
+    }
+
     @Nested
     @DisplayName("inits")
     class Inits {
@@ -521,6 +1453,47 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("kthSmallest")
+    class KthSmallest {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of(1, 2).kthSmallest(1, null));
+        }
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> FiniteIterable.of(1, 2).kthSmallest(0, Comparator.naturalOrder()));
+        }
+
+        @Test
+        void nothingIfTooFewElements() {
+            assertEquals(nothing(),
+                    FiniteIterable.<Integer>emptyFiniteIterable().kthSmallest(1, Comparator.naturalOrder()));
+            assertEquals(nothing(), FiniteIterable.of(1, 2).kthSmallest(3, Comparator.naturalOrder()));
+        }
+
+        @Test
+        void returnsTheKthSmallest() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(5, 3, 8, 1, 9, 2);
+            assertEquals(just(1), subject.kthSmallest(1, Comparator.naturalOrder()));
+            assertEquals(just(3), subject.kthSmallest(3, Comparator.naturalOrder()));
+            assertEquals(just(9), subject.kthSmallest(6, Comparator.naturalOrder()));
+            assertEquals(just(8), subject.kthSmallest(2, Comparator.reverseOrder()));
+        }
+
+        @Test
+        void tiesAreBrokenByPosition() {
+            FiniteIterable<String> subject = FiniteIterable.of("b1", "a1", "b2", "a2");
+            Comparator<String> byLetter = Comparator.comparing(s -> s.charAt(0));
+            assertEquals(just("a2"), subject.kthSmallest(2, byLetter));
+            assertEquals(just("b1"), subject.kthSmallest(3, byLetter));
+        }
+
+    }
+
     @Nested
     @DisplayName("magnetizeBy")
     class MagnetizeBy {
@@ -544,6 +1517,449 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("parallelAggregateBy")
+    class ParallelAggregateBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<String> subject = FiniteIterable.of("a");
+            assertThrows(NullPointerException.class, () -> subject.parallelAggregateBy(null, Join.join()));
+            assertThrows(NullPointerException.class, () -> subject.parallelAggregateBy(id(), null));
+            assertThrows(NullPointerException.class, () -> subject.parallelAggregateBy(id(), Join.join(), null));
+        }
+
+        @Test
+        void agreesWithAggregateBy() {
+            FiniteIterable<String> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 10_000))
+                    .fmap(Object::toString);
+            Map<Integer, String> expected = subject.aggregateBy(String::length, Join.join());
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                Map<Integer, String> actual = subject.parallelAggregateBy(String::length, Join.join(), pool);
+                assertEquals(expected, actual);
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("parallelCountBy")
+    class ParallelCountBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1);
+            assertThrows(NullPointerException.class, () -> subject.parallelCountBy(null));
+            assertThrows(NullPointerException.class, () -> subject.parallelCountBy(id(), null));
+        }
+
+        @Test
+        void emptyGivesEmptyMap() {
+            assertTrue(FiniteIterable.emptyFiniteIterable().parallelCountBy(id()).isEmpty());
+        }
+
+        @Test
+        void agreesWithCountBy() {
+            FiniteIterable<Object> subject = EnhancedIterables.finiteIterable(scrambledKeys(20_000));
+            Map<Object, Long> expected = subject.countBy(id());
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                Map<Object, Long> actual = subject.parallelCountBy(id(), pool);
+                assertEquals(expected, actual);
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("parallelFoldMap")
+    class ParallelFoldMap {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3));
+            assertThrows(NullPointerException.class, () -> subject.parallelFoldMap(null, Object::toString));
+            assertThrows(NullPointerException.class, () -> subject.parallelFoldMap(Join.join(), null));
+            assertThrows(NullPointerException.class,
+                    () -> subject.parallelFoldMap(Join.join(), Object::toString, null));
+        }
+
+        @Test
+        void emptyReturnsIdentity() {
+            assertEquals("",
+                    EnhancedIterables.<Integer>emptyEnhancedIterable().parallelFoldMap(Join.join(), Object::toString));
+        }
+
+        @Test
+        void preservesOrder() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 10_000));
+            assertEquals(subject.foldLeft((acc, n) -> acc + n, ""),
+                    subject.parallelFoldMap(Join.join(), Object::toString));
+        }
+
+        @Test
+        void unsizedSource() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 10_000))
+                    .filter(n -> n % 3 != 0);
+            assertEquals(subject.foldLeft((acc, n) -> acc + n, ""),
+                    subject.parallelFoldMap(Join.join(), Object::toString));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("parallelGroupBy")
+    class ParallelGroupBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1);
+            assertThrows(NullPointerException.class, () -> subject.parallelGroupBy(null));
+            assertThrows(NullPointerException.class, () -> subject.parallelGroupBy(id(), null));
+        }
+
+        @Test
+        void agreesWithGroupBy() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 10_000))
+                    .filter(n -> n % 7 != 0);
+            Map<Integer, ImmutableNonEmptyFiniteIterable<Integer>> expected = subject.groupBy(n -> n % 10);
+            Map<Integer, ImmutableNonEmptyFiniteIterable<Integer>> actual = subject.parallelGroupBy(n -> n % 10);
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+            for (Integer key : expected.keySet()) {
+                List<Integer> group = actual.get(key).toCollection(ArrayList::new);
+                assertEquals(expected.get(key).toCollection(ArrayList::new), group);
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("parallelReduce")
+    class ParallelReduce {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3));
+            assertThrows(NullPointerException.class, () -> subject.parallelReduce(0L, null, Long::sum));
+            assertThrows(NullPointerException.class, () -> subject.parallelReduce(0L, (acc, n) -> acc + n, null));
+            assertThrows(NullPointerException.class,
+                    () -> subject.parallelReduce(0L, (acc, n) -> acc + n, Long::sum, null));
+        }
+
+        @Test
+        void emptyReturnsIdentity() {
+            assertEquals(0L, (long) EnhancedIterables.<Integer>emptyEnhancedIterable()
+                    .parallelReduce(0L, (acc, n) -> acc + n, Long::sum));
+        }
+
+        @Test
+        void sum() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 1_000_000));
+            assertEquals(500_000_500_000L, (long) subject.parallelReduce(0L, (acc, n) -> acc + n, Long::sum));
+        }
+
+        @Test
+        void usesGivenPool() {
+            ForkJoinPool pool = new ForkJoinPool(3);
+            try {
+                FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 100_000))
+                        .fmap(n -> n * 2);
+                assertEquals(10_000_100_000L, (long) subject.parallelReduce(0L, (acc, n) -> acc + n, Long::sum, pool));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapAsync")
+    class MapAsync {
+
+        @Test
+        void preservesOrder() {
+            FiniteIterable<Integer> subject = FiniteIterable.finiteIterable(IntSequence.integers(1, 20))
+                    .mapAsync(4, x -> {
+                        Thread.sleep((20 - x) % 5);
+                        return x * 10;
+                    });
+            assertThat(subject, contains(10, 20, 30, 40, 50, 60, 70, 80, 90, 100, 110, 120, 130, 140, 150, 160, 170,
+                    180, 190, 200));
+        }
+
+        @Test
+        void unorderedYieldsEveryResult() {
+            FiniteIterable<Integer> subject = FiniteIterable.finiteIterable(IntSequence.integers(1, 10))
+                    .mapAsyncUnordered(3, x -> {
+                        Thread.sleep((10 - x) % 4);
+                        return x * 10;
+                    });
+            assertThat(subject, containsInAnyOrder(10, 20, 30, 40, 50, 60, 70, 80, 90, 100));
+        }
+
+        @Test
+        void unorderedYieldsCompletedResultsFirst() {
+            CountDownLatch release = new CountDownLatch(1);
+            Iterator<Integer> iterator = FiniteIterable.of(1, 2)
+                    .mapAsyncUnordered(2, x -> {
+                        if (x == 1) {
+                            release.await();
+                        }
+                        return x;
+                    })
+                    .iterator();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(2, iterator.next());
+                release.countDown();
+                assertEquals(1, iterator.next());
+                assertFalse(iterator.hasNext());
+            });
+        }
+
+        @Test
+        void appliesConcurrently() {
+            CountDownLatch allStarted = new CountDownLatch(3);
+            FiniteIterable<Boolean> subject = FiniteIterable.of(1, 2, 3)
+                    .mapAsync(3, x -> {
+                        allStarted.countDown();
+                        return allStarted.await(5, TimeUnit.SECONDS);
+                    });
+            assertThat(subject, contains(true, true, true));
+        }
+
+        @Test
+        void boundsApplicationsInFlight() {
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            FiniteIterable<Integer> subject = FiniteIterable.finiteIterable(IntSequence.integers(1, 30))
+                    .mapAsync(3, x -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        Thread.sleep(2);
+                        inFlight.decrementAndGet();
+                        return x;
+                    });
+            assertEquals(30, subject.size());
+            assertEquals(465, subject.foldLeft(Integer::sum, 0));
+            assertTrue(maxInFlight.get() <= 3);
+        }
+
+        @Test
+        void runsOnSuppliedExecutor() {
+            AtomicInteger executed = new AtomicInteger();
+            Executor executor = runnable -> {
+                executed.incrementAndGet();
+                runnable.run();
+            };
+            assertThat(FiniteIterable.of(1, 2, 3).mapAsync(2, x -> x + 1, executor), contains(2, 3, 4));
+            assertThat(FiniteIterable.of(1, 2, 3).mapAsyncUnordered(2, x -> x + 1, executor),
+                    containsInAnyOrder(2, 3, 4));
+            assertEquals(6, executed.get());
+        }
+
+        @Test
+        void rethrowsExceptionFromFunction() {
+            Iterator<Integer> iterator = FiniteIterable.of(1, 2, 3)
+                    .<Integer>mapAsync(2, x -> {
+                        if (x == 2) {
+                            throw new IllegalStateException("boom");
+                        }
+                        return x;
+                    })
+                    .iterator();
+            assertEquals(1, iterator.next());
+            assertThrows(IllegalStateException.class, iterator::next);
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(3, EnhancedIterables.knownSize(FiniteIterable.of(1, 2, 3).mapAsync(2, x -> x)));
+            assertEquals(3, EnhancedIterables.knownSize(FiniteIterable.of(1, 2, 3).mapAsyncUnordered(2, x -> x)));
+        }
+
+        @Test
+        void emptySource() {
+            assertThat(FiniteIterable.<Integer>emptyFiniteIterable().mapAsync(2, x -> x), emptyIterable());
+            assertThat(FiniteIterable.<Integer>emptyFiniteIterable().mapAsyncUnordered(2, x -> x), emptyIterable());
+        }
+
+        @Test
+        void throwsOnNonPositiveParallelism() {
+            assertThrows(IllegalArgumentException.class, () -> FiniteIterable.of(1, 2, 3).mapAsync(0, x -> x));
+            assertThrows(IllegalArgumentException.class, () -> FiniteIterable.of(1, 2, 3).mapAsyncUnordered(0, x -> x));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mergeJoin")
+    class MergeJoin {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2);
+            assertThrows(NullPointerException.class, () -> subject.mergeJoin(null, id(), id(), tupler()));
+            assertThrows(NullPointerException.class, () -> subject.mergeJoin(subject, id(), id(), null));
+        }
+
+        @Test
+        void emptySides() {
+            FiniteIterable<Integer> empty = FiniteIterable.emptyFiniteIterable();
+            FiniteIterable<Integer> nonEmpty = FiniteIterable.of(1, 2);
+            assertThat(empty.mergeJoin(nonEmpty, id(), id(), tupler()), emptyIterable());
+            assertThat(nonEmpty.mergeJoin(empty, id(), id(), tupler()), emptyIterable());
+        }
+
+        @Test
+        void joinsUniqueKeys() {
+            FiniteIterable<Integer> left = FiniteIterable.of(1, 3, 4, 7, 9);
+            FiniteIterable<Integer> right = FiniteIterable.of(2, 3, 7, 8, 9, 10);
+            assertThat(left.mergeJoin(right, id(), id(), tupler()), contains(tuple(3, 3), tuple(7, 7), tuple(9, 9)));
+        }
+
+        @Test
+        void joinsRunsOfDuplicateKeys() {
+            FiniteIterable<String> left = FiniteIterable.of("a1", "b1", "b3", "c1", "d1");
+            FiniteIterable<String> right = FiniteIterable.of("a2", "a4", "b2", "b4", "d2");
+            assertThat(left.mergeJoin(right, s -> s.charAt(0), s -> s.charAt(0), (x, y) -> x + y),
+                    contains("a1a2", "a1a4", "b1b2", "b1b4", "b3b2", "b3b4", "d1d2"));
+        }
+
+        @Test
+        void agreesWithHashJoinOnSortedInputs() {
+            List<Integer> left = new ArrayList<>();
+            List<Integer> right = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                left.add((i * 7919) % 211);
+                right.add((i * 104729) % 199);
+            }
+            FiniteIterable<Integer> l = EnhancedIterables.finiteIterable(left).sorted(Comparator.naturalOrder());
+            FiniteIterable<Integer> r = EnhancedIterables.finiteIterable(right).sorted(Comparator.naturalOrder());
+            List<Tuple2<Integer, Integer>> expected = l.hashJoin(r, n -> n / 3, n -> n / 3, tupler())
+                    .toCollection(ArrayList::new);
+            List<Tuple2<Integer, Integer>> actual = l.mergeJoin(r, n -> n / 3, n -> n / 3, tupler())
+                    .toCollection(ArrayList::new);
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        void throwsIfASideIsNotSorted() {
+            FiniteIterable<Tuple2<Integer, Integer>> unsortedLeft = FiniteIterable.of(1, 3, 2)
+                    .mergeJoin(FiniteIterable.of(1, 2, 3), id(), id(), tupler());
+            assertThrows(IllegalArgumentException.class, () -> unsortedLeft.forEach(__ -> {
+            }));
+            FiniteIterable<Tuple2<Integer, Integer>> unsortedRight = FiniteIterable.of(1, 2, 3)
+                    .mergeJoin(FiniteIterable.of(1, 3, 2), id(), id(), tupler());
+            assertThrows(IllegalArgumentException.class, () -> unsortedRight.forEach(__ -> {
+            }));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mergeSorted")
+    class MergeSorted {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.mergeSorted(null, emptyList()));
+            assertThrows(NullPointerException.class,
+                    () -> FiniteIterable.<Integer>mergeSorted(Comparator.naturalOrder(), null));
+        }
+
+        @Test
+        void noSources() {
+            assertThat(FiniteIterable.<Integer>mergeSorted(Comparator.naturalOrder(), emptyList()), emptyIterable());
+        }
+
+        @Test
+        void skipsEmptySources() {
+            List<FiniteIterable<Integer>> sources = asList(FiniteIterable.emptyFiniteIterable(),
+                    FiniteIterable.of(2, 5), FiniteIterable.emptyFiniteIterable(), FiniteIterable.of(1, 3, 4));
+            assertThat(FiniteIterable.mergeSorted(Comparator.naturalOrder(), sources), contains(1, 2, 3, 4, 5));
+        }
+
+        @Test
+        void isStable() {
+            List<FiniteIterable<String>> sources = asList(FiniteIterable.of("a1", "b1"), FiniteIterable.of("a2", "b2"),
+                    FiniteIterable.of("a3", "c3"));
+            assertThat(FiniteIterable.mergeSorted(Comparator.comparing(s -> s.charAt(0)), sources),
+                    contains("a1", "a2", "a3", "b1", "b2", "c3"));
+        }
+
+        @Test
+        void agreesWithConcatAndSort() {
+            for (int k = 1; k <= 37; k++) {
+                List<FiniteIterable<Integer>> sources = new ArrayList<>();
+                List<Integer> all = new ArrayList<>();
+                for (int i = 0; i < k; i++) {
+                    List<Integer> source = new ArrayList<>();
+                    for (int j = 0; j < (i * 7) % 11; j++) {
+                        source.add((i * 7919 + j * 104729) % 53);
+                    }
+                    Collections.sort(source);
+                    all.addAll(source);
+                    sources.add(EnhancedIterables.finiteIterable(source));
+                }
+                Collections.sort(all);
+                assertEquals(all, FiniteIterable.mergeSorted(Comparator.<Integer>naturalOrder(), sources)
+                        .toCollection(ArrayList::new), "k = " + k);
+            }
+        }
+
+        @Test
+        void supportsNullElements() {
+            List<FiniteIterable<Integer>> sources = asList(EnhancedIterables.finiteIterable(asList(null, 3)),
+                    EnhancedIterables.finiteIterable(asList(1, null)));
+            assertThrows(NullPointerException.class,
+                    () -> FiniteIterable.mergeSorted(Comparator.<Integer>naturalOrder(), sources).forEach(__ -> {
+                    }));
+            assertThat(FiniteIterable.mergeSorted(Comparator.nullsFirst(Comparator.<Integer>naturalOrder()),
+                            asList(EnhancedIterables.finiteIterable(asList(null, 3)),
+                            EnhancedIterables.finiteIterable(asList(null, 1)))),
+                    contains(null, null, 1, 3));
+        }
+
+        @Test
+        void holdsOneElementPerSource() {
+            AtomicInteger pulled = new AtomicInteger();
+            List<FiniteIterable<Integer>> sources = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int offset = i;
+                sources.add(EnhancedIterables.finiteIterable(() -> new Iterator<Integer>() {
+                    private int next = offset;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < 100;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        pulled.incrementAndGet();
+                        int n = next;
+                        next += 4;
+                        return n;
+                    }
+                }));
+            }
+            Iterator<Integer> iterator =
+                    FiniteIterable.mergeSorted(Comparator.<Integer>naturalOrder(), sources).iterator();
+            assertEquals(0, pulled.get());
+            assertEquals(0, (int) iterator.next());
+            assertEquals(5, pulled.get());
+            assertEquals(1, (int) iterator.next());
+            assertEquals(6, pulled.get());
+        }
+
+    }
+
     @Nested
     @DisplayName("partition")
     class Partition {
@@ -554,13 +1970,149 @@ class FiniteIterableTest {
         }
 
         @Test
-        void lambdaTestCase() {
-            FiniteIterable<String> strings = EnhancedIterables.finiteIterable(asList("one", "two", "three", "four", "five"));
-            Tuple2<? extends FiniteIterable<String>, ? extends FiniteIterable<Integer>> partition =
-                    strings.partition(s -> s.length() % 2 == 1 ? a(s) : b(s.length()));
+        void lambdaTestCase() {
+            FiniteIterable<String> strings = EnhancedIterables.finiteIterable(asList("one", "two", "three", "four", "five"));
+            Tuple2<? extends FiniteIterable<String>, ? extends FiniteIterable<Integer>> partition =
+                    strings.partition(s -> s.length() % 2 == 1 ? a(s) : b(s.length()));
+
+            assertThat(partition._1(), contains("one", "two", "three"));
+            assertThat(partition._2(), contains(4, 4));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("prefetch")
+    class Prefetch {
+
+        @Test
+        void yieldsElementsInOrder() {
+            assertTrue(iterablesContainSameElements(IntSequence.integers(1, 10_000),
+                    FiniteIterable.finiteIterable(IntSequence.integers(1, 10_000)).prefetch(16)));
+            assertTrue(iterablesContainSameElements(IntSequence.integers(1, 1_000),
+                    FiniteIterable.finiteIterable(IntSequence.integers(1, 1_000)).prefetch(1)));
+        }
+
+        @Test
+        void eachIteratorHasItsOwnProducer() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2, 3).prefetch(2);
+            assertThat(subject, contains(1, 2, 3));
+            assertThat(subject, contains(1, 2, 3));
+        }
+
+        @Test
+        void staysAtMostBufferSizeAhead() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                AtomicInteger pulled = new AtomicInteger();
+                Iterator<Integer> iterator = FiniteIterable.finiteIterable(IntSequence.integers(1, 100))
+                        .fmap(x -> {
+                            pulled.incrementAndGet();
+                            return x;
+                        })
+                        .prefetch(4)
+                        .iterator();
+                assertEquals(1, iterator.next());
+                while (pulled.get() < 5) {
+                    Thread.sleep(1);
+                }
+                Thread.sleep(50);
+                assertTrue(pulled.get() <= 6);
+                assertEquals(2, iterator.next());
+            });
+        }
+
+        @Test
+        void runsOnSuppliedExecutor() {
+            AtomicInteger executed = new AtomicInteger();
+            Executor executor = runnable -> {
+                executed.incrementAndGet();
+                new Thread(runnable).start();
+            };
+            assertThat(FiniteIterable.of(1, 2, 3).prefetch(2, executor), contains(1, 2, 3));
+            assertEquals(1, executed.get());
+        }
+
+        @Test
+        void rejectedProducerIsRetried() {
+            AtomicInteger attempts = new AtomicInteger();
+            Executor executor = runnable -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new RejectedExecutionException();
+                }
+                new Thread(runnable).start();
+            };
+            Iterator<Integer> iterator = FiniteIterable.of(1, 2, 3).prefetch(2, executor).iterator();
+            assertThrows(RejectedExecutionException.class, iterator::hasNext);
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(1, iterator.next());
+                assertEquals(2, iterator.next());
+                assertEquals(3, iterator.next());
+                assertFalse(iterator.hasNext());
+            });
+            assertEquals(2, attempts.get());
+        }
+
+        @Test
+        void interruptedConsumerStopsWaiting() {
+            CountDownLatch release = new CountDownLatch(1);
+            Iterator<Integer> iterator = FiniteIterable.of(1, 2)
+                    .fmap(x -> {
+                        if (x == 2) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                throw new AssertionError(e);
+                            }
+                        }
+                        return x;
+                    })
+                    .prefetch(2)
+                    .iterator();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(1, iterator.next());
+                Thread.currentThread().interrupt();
+                try {
+                    CompletionException thrown = assertThrows(CompletionException.class, iterator::hasNext);
+                    assertTrue(thrown.getCause() instanceof InterruptedException);
+                    assertTrue(Thread.currentThread().isInterrupted());
+                } finally {
+                    Thread.interrupted();
+                }
+                release.countDown();
+                assertEquals(2, iterator.next());
+                assertFalse(iterator.hasNext());
+            });
+        }
+
+        @Test
+        void rethrowsExceptionAfterPrecedingElements() {
+            Iterator<Integer> iterator = FiniteIterable.of(1, 2, 3)
+                    .fmap(x -> {
+                        if (x == 3) {
+                            throw new IllegalStateException("boom");
+                        }
+                        return x;
+                    })
+                    .prefetch(8)
+                    .iterator();
+            assertEquals(1, iterator.next());
+            assertEquals(2, iterator.next());
+            assertThrows(IllegalStateException.class, iterator::hasNext);
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(3, EnhancedIterables.knownSize(FiniteIterable.of(1, 2, 3).prefetch(2)));
+        }
+
+        @Test
+        void emptySource() {
+            assertThat(FiniteIterable.emptyFiniteIterable().prefetch(2), emptyIterable());
+        }
 
-            assertThat(partition._1(), contains("one", "two", "three"));
-            assertThat(partition._2(), contains(4, 4));
+        @Test
+        void throwsOnNonPositiveBufferSize() {
+            assertThrows(IllegalArgumentException.class, () -> FiniteIterable.of(1, 2, 3).prefetch(0));
         }
 
     }
@@ -626,6 +2178,105 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("sample")
+    class Sample {
+
+        private FiniteIterable<Integer> iteratorOnly(int n) {
+            return EnhancedIterables.finiteIterable(() -> IntSequence.integers(0, n - 1).iterator());
+        }
+
+        @Test
+        void throwsOnInvalidArguments() {
+            FiniteIterable<Integer> subject = FiniteIterable.of(1, 2, 3);
+            assertThrows(IllegalArgumentException.class, () -> subject.sample(0));
+            assertThrows(IllegalArgumentException.class, () -> subject.sample(0, new Random(1)));
+            assertThrows(NullPointerException.class, () -> subject.sample(1, null));
+            assertThrows(IllegalArgumentException.class, () -> subject.sampleFraction(-0.1));
+            assertThrows(IllegalArgumentException.class, () -> subject.sampleFraction(1.1));
+            assertThrows(IllegalArgumentException.class, () -> subject.sampleFraction(Double.NaN));
+            assertThrows(NullPointerException.class, () -> subject.sampleFraction(0.5, null));
+        }
+
+        @Test
+        void returnsEverythingWhenFewerThanK() {
+            assertThat(FiniteIterable.of(3, 1, 2).sample(5, new Random(1)), contains(3, 1, 2));
+            assertThat(iteratorOnly(3).sample(3, new Random(1)), contains(0, 1, 2));
+            assertThat(FiniteIterable.<Integer>emptyFiniteIterable().sample(2), emptyIterable());
+        }
+
+        @Test
+        void sampleIsAnOrderedSubsequence() {
+            Random random = new Random(42);
+            for (FiniteIterable<Integer> source : asList(EnhancedIterables.finiteIterable(IntSequence.integers(0, 999)),
+                    iteratorOnly(1000))) {
+                ImmutableFiniteIterable<Integer> sample = source.sample(10, random);
+                assertEquals(10, sample.size());
+                int previous = -1;
+                for (int x : sample) {
+                    assertTrue(x > previous && x < 1000);
+                    previous = x;
+                }
+            }
+        }
+
+        @Test
+        void sameSeedGivesSameSample() {
+            List<Integer> first = iteratorOnly(10000).sample(20, new Random(7)).toCollection(ArrayList::new);
+            List<Integer> second = iteratorOnly(10000).sample(20, new Random(7)).toCollection(ArrayList::new);
+            assertEquals(first, second);
+        }
+
+        @Test
+        void everyElementIsEquallyLikely() {
+            Random random = new Random(123);
+            FiniteIterable<Integer> list = EnhancedIterables.finiteIterable(asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+            for (FiniteIterable<Integer> source : asList(list, iteratorOnly(10))) {
+                int[] counts = new int[10];
+                for (int trial = 0; trial < 30000; trial++) {
+                    source.sample(3, random).forEach(x -> counts[x]++);
+                }
+                for (int count : counts) {
+                    assertTrue(Math.abs(count - 9000) < 450, "count " + count);
+                }
+            }
+        }
+
+        @Test
+        void randomAccessSourceSkipsWithoutReading() {
+            AtomicInteger reads = new AtomicInteger();
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(new CountingList(1_000_000, reads));
+            assertEquals(5, subject.sample(5, new Random(3)).size());
+            assertTrue(reads.get() < 1000, "reads " + reads.get());
+            reads.set(0);
+            subject.sampleFraction(0.0001, new Random(3));
+            assertTrue(reads.get() < 1000, "reads " + reads.get());
+        }
+
+        @Test
+        void sampleFractionOfZeroOrOne() {
+            assertThat(iteratorOnly(100).sampleFraction(0), emptyIterable());
+            assertEquals(100, iteratorOnly(100).sampleFraction(1, new Random(1)).size());
+            assertThat(FiniteIterable.of(1, 2, 3).sampleFraction(1), contains(1, 2, 3));
+        }
+
+        @Test
+        void sampleFractionKeepsAboutPOfTheElements() {
+            Random random = new Random(99);
+            ImmutableFiniteIterable<Integer> sample = iteratorOnly(100000).sampleFraction(0.1, random);
+            assertTrue(Math.abs(sample.size() - 10000) < 500, "size " + sample.size());
+            int previous = -1;
+            for (int x : sample) {
+                assertTrue(x > previous);
+                previous = x;
+            }
+            int size = EnhancedIterables.finiteIterable(IntSequence.integers(0, 99999)).sampleFraction(0.1, random)
+                    .size();
+            assertTrue(Math.abs(size - 10000) < 500, "size " + size);
+        }
+
+    }
+
     @Nested
     @DisplayName("size")
     class Size {
@@ -717,6 +2368,69 @@ class FiniteIterableTest {
             Assertions.assertEquals(WEIRD_SIZE_VALUE, EnhancedIterables.finiteIterable(collection).size());
         }
 
+        @Test
+        void derivedSizesDoNotTraverse() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(untraversable(10));
+            FiniteIterable<Integer> other = EnhancedIterables.finiteIterable(untraversable(4));
+            assertEquals(10, subject.fmap(n -> n + 1).fmap(n -> n * 2).size());
+            assertEquals(10, subject.reverse().size());
+            assertEquals(4, subject.take(4).size());
+            assertEquals(10, subject.take(20).size());
+            assertEquals(7, subject.drop(3).size());
+            assertEquals(0, subject.drop(20).size());
+            assertEquals(14, subject.concat(other).size());
+            assertEquals(40, subject.cross(other).size());
+            assertEquals(4, subject.zipWith(tupler(), other).size());
+            assertEquals(19, subject.intersperse(0).size());
+            assertEquals(20, subject.prependAll(0).size());
+            assertEquals(11, subject.append(0).size());
+            assertEquals(11, subject.prepend(0).size());
+            assertEquals(8, subject.slide(3).size());
+            assertEquals(11, subject.inits().size());
+            assertEquals(11, EnhancedIterables.knownSize(subject.tails()));
+        }
+
+        @Test
+        void longChainsOfAppendAndConcat() {
+            FiniteIterable<Integer> subject = EnhancedIterables.emptyEnhancedIterable();
+            for (int i = 0; i < 10_000; i++) {
+                subject = subject.append(i).concat(untraversable(2)).prepend(i);
+            }
+            assertEquals(40_000, subject.size());
+        }
+
+        @Test
+        void followsChangesToUnderlyingCollection() {
+            List<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(underlying).fmap(n -> n * 2).append(0);
+            assertEquals(4, subject.size());
+            underlying.add(4);
+            assertEquals(5, subject.size());
+        }
+
+        @Test
+        void filterFallsBackToTraversal() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4, 5))
+                    .filter(n -> n % 2 == 1)
+                    .fmap(n -> n * 2);
+            assertEquals(3, subject.size());
+            assertEquals(2, subject.take(2).size());
+        }
+
+        private Collection<Integer> untraversable(int size) {
+            return new AbstractCollection<Integer>() {
+                @Override
+                public Iterator<Integer> iterator() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
     }
 
     @Nested
@@ -747,6 +2461,346 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("slidingFold")
+    class SlidingFold {
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> EnhancedIterables.finiteIterable(asList(1, 2))
+                            .slidingFold(0, 0, Integer::sum, (x, y) -> x - y));
+        }
+
+        @Test
+        void onEmpty() {
+            assertThat(EnhancedIterables.<Integer>finiteIterable(emptyList())
+                    .slidingFold(2, 0, Integer::sum, (x, y) -> x - y), emptyIterable());
+        }
+
+        @Test
+        void fewerElementsThanWindow() {
+            assertThat(EnhancedIterables.finiteIterable(asList(1, 2))
+                    .slidingFold(3, 0, Integer::sum, (x, y) -> x - y), emptyIterable());
+        }
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertThat(EnhancedIterables.finiteIterable(asList(1, 2, 3))
+                    .slidingFold(Integer.MAX_VALUE, 0, Integer::sum, (x, y) -> x - y), emptyIterable());
+        }
+
+        @Test
+        void windowsLargerThanTheInitialBuffer() {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                elements.add(i);
+            }
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(elements);
+            for (int k : new int[]{17, 40, 99, 100}) {
+                List<Integer> expected = subject.slide(k).fmap(w -> w.foldLeft(Integer::sum, 0))
+                        .toCollection(ArrayList::new);
+                List<Integer> actual = subject.slidingFold(k, 0, Integer::sum, (x, y) -> x - y)
+                        .toCollection(ArrayList::new);
+                assertEquals(expected, actual, "k = " + k);
+            }
+        }
+
+        @Test
+        void sums() {
+            assertThat(EnhancedIterables.finiteIterable(asList(1, 2, 3, 4, 5))
+                    .slidingFold(3, 0, Integer::sum, (x, y) -> x - y), contains(6, 9, 12));
+        }
+
+        @Test
+        void k1() {
+            assertThat(EnhancedIterables.finiteIterable(asList(1, 2, 3))
+                    .slidingFold(1, 0, Integer::sum, (x, y) -> x - y), contains(1, 2, 3));
+        }
+
+        @Test
+        void sizeIsKnown() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4, 5))
+                    .slidingFold(3, 0, Integer::sum, (x, y) -> x - y);
+            assertEquals(3, subject.size());
+        }
+
+        @Test
+        void isRepeatable() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4))
+                    .slidingFold(2, 0, Integer::sum, (x, y) -> x - y);
+            assertThat(subject, contains(3, 5, 7));
+            assertThat(subject, contains(3, 5, 7));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingReduce")
+    class SlidingReduce {
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> EnhancedIterables.finiteIterable(asList("a", "b")).slidingReduce(0, Join.join()));
+        }
+
+        @Test
+        void onEmpty() {
+            assertThat(EnhancedIterables.<String>finiteIterable(emptyList()).slidingReduce(2, Join.join()),
+                    emptyIterable());
+        }
+
+        @Test
+        void fewerElementsThanWindow() {
+            assertThat(EnhancedIterables.finiteIterable(asList("a", "b")).slidingReduce(3, Join.join()),
+                    emptyIterable());
+        }
+
+        @Test
+        void hugeWindowOverShortSource() {
+            FiniteIterable<String> subject = EnhancedIterables.finiteIterable(asList("a", "b", "c"));
+            assertThat(subject.slidingReduce(Integer.MAX_VALUE, Join.join()), emptyIterable());
+        }
+
+        @Test
+        void preservesOrderWithinEachWindow() {
+            assertThat(EnhancedIterables.finiteIterable(asList("a", "b", "c", "d", "e")).slidingReduce(3, Join.join()),
+                    contains("abc", "bcd", "cde"));
+        }
+
+        @Test
+        void agreesWithSlideForEveryWindowSize() {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                elements.add(String.valueOf((char) ('0' + i)));
+            }
+            FiniteIterable<String> subject = EnhancedIterables.finiteIterable(elements);
+            for (int k = 1; k <= 42; k++) {
+                List<String> expected = subject.slide(k).fmap(w -> w.foldLeft(String::concat, ""))
+                        .toCollection(ArrayList::new);
+                assertEquals(expected, subject.slidingReduce(k, Join.join()).toCollection(ArrayList::new), "k = " + k);
+            }
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(3, EnhancedIterables.finiteIterable(asList("a", "b", "c", "d", "e"))
+                    .slidingReduce(3, Join.join()).size());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("sortBy")
+    class SortBy {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> EnhancedIterables.finiteIterable(emptyList()).sortBy(null));
+        }
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> EnhancedIterables.finiteIterable(asList(1, 2)).sortBy(0, id()));
+        }
+
+        @Test
+        void sortsByIntegerKeys() {
+            assertThat(EnhancedIterables.finiteIterable(asList("ccc", "a", "bb", "", "dddd")).sortBy(String::length),
+                    contains("", "a", "bb", "ccc", "dddd"));
+        }
+
+        @Test
+        void sortsByNegativeIntegerKeys() {
+            assertThat(EnhancedIterables.finiteIterable(asList(3, -1, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, -7))
+                            .sortBy(id()),
+                    contains(Integer.MIN_VALUE, -7, -1, 0, 3, Integer.MAX_VALUE));
+        }
+
+        @Test
+        void sortsByOtherKeys() {
+            assertThat(EnhancedIterables.finiteIterable(asList(3, 11, 2, 100)).sortBy(String::valueOf),
+                    contains(100, 11, 2, 3));
+        }
+
+        @Test
+        void isStable() {
+            assertThat(EnhancedIterables.finiteIterable(asList("b1", "a1", "b2", "a2", "b3", "a3"))
+                            .sortBy(s -> s.charAt(0) == 'a' ? 0 : 1),
+                    contains("a1", "a2", "a3", "b1", "b2", "b3"));
+            assertThat(EnhancedIterables.finiteIterable(asList("b1", "a1", "b2", "a2", "b3", "a3"))
+                            .sortBy(s -> s.substring(0, 1)),
+                    contains("a1", "a2", "a3", "b1", "b2", "b3"));
+        }
+
+        @Test
+        void spilledAgreesWithInMemory() {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                elements.add((i * 7919) % 5_003);
+            }
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(elements);
+            List<Integer> expected = subject.sortBy(n -> n % 100).toCollection(ArrayList::new);
+            for (int budget : new int[]{1, 7, 1_000}) {
+                assertEquals(expected, subject.sortBy(budget, n -> n % 100).toCollection(ArrayList::new),
+                        "budget = " + budget);
+            }
+        }
+
+        @Test
+        void sizeIsKnownIfSourceSizeIsKnown() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(asList(3, 1, 2));
+            assertEquals(3, EnhancedIterables.knownSize(subject.sortBy(id())));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("sorted")
+    class Sorted {
+
+        @Test
+        void throwsOnNullArgument() {
+            FiniteIterable<Object> subject = EnhancedIterables.finiteIterable(emptyList());
+            assertThrows(NullPointerException.class, () -> subject.sorted(null));
+            assertThrows(NullPointerException.class, () -> subject.sorted(1, null));
+        }
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> EnhancedIterables.finiteIterable(asList(1, 2)).sorted(0, Comparator.naturalOrder()));
+        }
+
+        @Test
+        void emptyStaysEmpty() {
+            assertThat(EnhancedIterables.<Integer>finiteIterable(emptyList()).sorted(1, Comparator.naturalOrder()),
+                    emptyIterable());
+        }
+
+        @Test
+        void sortsInMemory() {
+            assertThat(EnhancedIterables.finiteIterable(asList(5, 3, 1, 4, 2)).sorted(Comparator.naturalOrder()),
+                    contains(1, 2, 3, 4, 5));
+            assertThat(EnhancedIterables.finiteIterable(asList(5, 3, 1, 4, 2)).sorted(Comparator.reverseOrder()),
+                    contains(5, 4, 3, 2, 1));
+        }
+
+        @Test
+        void spilledAgreesWithInMemory() {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                elements.add(Integer.toString((i * 7919) % 5_003, 36));
+            }
+            Comparator<String> byLength = Comparator.comparingInt(String::length);
+            FiniteIterable<String> subject = EnhancedIterables.finiteIterable(elements);
+            List<String> expected = new ArrayList<>(elements);
+            expected.sort(byLength);
+            for (int budget : new int[]{1, 7, 1_000, 5_000}) {
+                assertEquals(expected, subject.sorted(budget, byLength).toCollection(ArrayList::new),
+                        "budget = " + budget);
+            }
+        }
+
+        @Test
+        void isLazyAndRepeatable() {
+            AtomicInteger iterations = new AtomicInteger();
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(() -> {
+                iterations.incrementAndGet();
+                return asList(3, 1, 2).iterator();
+            }).sorted(1, Comparator.naturalOrder());
+            assertEquals(0, iterations.get());
+            assertThat(subject, contains(1, 2, 3));
+            assertThat(subject, contains(1, 2, 3));
+            assertEquals(2, iterations.get());
+        }
+
+        @Test
+        void deletesItsFilesOnceExhausted() throws IOException {
+            List<Path> before = spillDirectories();
+            Iterator<Integer> iterator = EnhancedIterables.finiteIterable(asList(4, 2, 5, 1, 3))
+                    .sorted(2, Comparator.naturalOrder())
+                    .iterator();
+            assertEquals(1, (int) iterator.next());
+            assertEquals(before.size() + 1, spillDirectories().size());
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            assertEquals(before, spillDirectories());
+        }
+
+        @Test
+        void mergesRunsInLevels() {
+            int count = 10_000;
+            List<Serialized> elements = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                elements.add(new Serialized((i * 7919) % count));
+            }
+            Serialized.writes.set(0);
+            List<Serialized> sorted = EnhancedIterables.finiteIterable(elements)
+                    .sorted(1, Comparator.comparingInt(e -> e.value))
+                    .toCollection(ArrayList::new);
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, sorted.get(i).value);
+            }
+            assertTrue(Serialized.writes.get() < 4 * count, "writes " + Serialized.writes.get());
+        }
+
+        @Test
+        void deletesItsFilesWhenClosed() throws IOException {
+            List<Path> before = spillDirectories();
+            CloseableIterator<Integer> iterator = (CloseableIterator<Integer>) EnhancedIterables
+                    .finiteIterable(asList(4, 2, 5, 1, 3))
+                    .sorted(2, Comparator.naturalOrder())
+                    .iterator();
+            assertEquals(1, (int) iterator.next());
+            List<Path> created = spillDirectories();
+            created.removeAll(before);
+            assertEquals(1, created.size());
+            iterator.close();
+            assertFalse(Files.exists(created.get(0)));
+            assertFalse(iterator.hasNext());
+            iterator.close();
+        }
+
+        @Test
+        void inMemoryIteratorsAreCloseableToo() {
+            CloseableIterator<Integer> iterator = (CloseableIterator<Integer>) FiniteIterable.of(3, 1, 2)
+                    .sorted(10, Comparator.naturalOrder())
+                    .iterator();
+            assertEquals(1, (int) iterator.next());
+            iterator.close();
+            assertFalse(iterator.hasNext());
+        }
+
+        @Test
+        void throwsIfANonSerializableElementMustBeSpilled() {
+            FiniteIterable<Object> subject = EnhancedIterables.<Object>finiteIterable(
+                    asList(new Object(), new Object())).sorted(1, Comparator.comparingInt(System::identityHashCode));
+            assertThrows(IllegalArgumentException.class, subject::iterator);
+        }
+
+        @Test
+        void nonSerializableElementsAreFineUnderBudget() {
+            Object first = new Object();
+            Object second = new Object();
+            assertThat(EnhancedIterables.finiteIterable(asList(second, first))
+                            .sorted(2, Comparator.comparing(o -> o == first ? 0 : 1)),
+                    contains(first, second));
+        }
+
+        private List<Path> spillDirectories() throws IOException {
+            try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+                return files.filter(file -> file.getFileName().toString().startsWith("enhanced-iterables-sort"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+
+    }
+
     @Nested
     @DisplayName("span")
     class Span {
@@ -766,6 +2820,49 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("spliterator")
+    class Spliterators {
+
+        @Test
+        void delegatesToUnderlyingCollection() {
+            List<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            Spliterator<Integer> spliterator = EnhancedIterables.finiteIterable(underlying).spliterator();
+            assertEquals(underlying.spliterator().characteristics(), spliterator.characteristics());
+            assertEquals(3, spliterator.getExactSizeIfKnown());
+        }
+
+        @Test
+        void sizedWhenSizeIsKnown() {
+            Spliterator<Integer> spliterator = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4, 5))
+                    .fmap(n -> n * 2)
+                    .append(12)
+                    .spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+            assertFalse(spliterator.hasCharacteristics(Spliterator.IMMUTABLE));
+            assertEquals(6, spliterator.getExactSizeIfKnown());
+        }
+
+        @Test
+        void notSizedWhenSizeIsUnknown() {
+            Spliterator<Integer> spliterator = EnhancedIterables.finiteIterable(asList(1, 2, 3, 4, 5))
+                    .filter(n -> n > 2)
+                    .spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+            assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        }
+
+        @Test
+        void parallelStream() {
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(IntSequence.integers(1, 100_000))
+                    .fmap(n -> n * 2);
+            assertEquals(10_000_100_000L, StreamSupport.stream(subject.spliterator(), true)
+                    .mapToLong(Integer::longValue)
+                    .sum());
+        }
+
+    }
+
     @Nested
     @DisplayName("tails")
     class Tails {
@@ -899,6 +2996,54 @@ class FiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("topK")
+    class TopK {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of(1, 2).topK(1, null));
+        }
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> FiniteIterable.of(1, 2).topK(0, Comparator.naturalOrder()));
+        }
+
+        @Test
+        void emptyStaysEmpty() {
+            assertThat(FiniteIterable.<Integer>emptyFiniteIterable().topK(3, Comparator.naturalOrder()),
+                    emptyIterable());
+        }
+
+        @Test
+        void returnsTheLargestInDescendingOrder() {
+            assertThat(FiniteIterable.of(5, 3, 8, 1, 9, 2).topK(3, Comparator.naturalOrder()), contains(9, 8, 5));
+        }
+
+        @Test
+        void tiesAreBrokenByPosition() {
+            assertThat(FiniteIterable.of("a1", "b1", "a2", "b2", "b3").topK(2, Comparator.comparing(s -> s.charAt(0))),
+                    contains("b1", "b2"));
+        }
+
+        @Test
+        void agreesWithSortAndTake() {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                elements.add((i * 7919) % 211);
+            }
+            Comparator<Integer> byLastDigit = Comparator.comparingInt(n -> n % 10);
+            FiniteIterable<Integer> subject = EnhancedIterables.finiteIterable(elements);
+            for (int k : new int[]{1, 2, 17, 100, 1_999, 2_000, 5_000}) {
+                List<Integer> expected = subject.sorted(byLastDigit.reversed()).take(k).toCollection(ArrayList::new);
+                assertEquals(expected, subject.topK(k, byLastDigit).toCollection(ArrayList::new), "k = " + k);
+            }
+        }
+
+    }
+
     @Nested
     @DisplayName("zipWith")
     class ZipWith {
@@ -923,4 +3068,75 @@ class FiniteIterableTest {
 
     }
 
+    private static final class NoIteratorList<A> extends ArrayList<A> {
+        private static final long serialVersionUID = 1L;
+
+        private NoIteratorList(Collection<A> elements) {
+            super(elements);
+        }
+
+        @Override
+        public Iterator<A> iterator() {
+            throw new AssertionError("iterator() should not be called");
+        }
+    }
+
+    private static final class Serialized implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final AtomicInteger writes = new AtomicInteger();
+
+        private final int value;
+
+        private Serialized(int value) {
+            this.value = value;
+        }
+
+        private void writeObject(ObjectOutputStream output) throws IOException {
+            writes.incrementAndGet();
+            output.defaultWriteObject();
+        }
+    }
+
+    private static final class CountingList extends AbstractList<Integer> implements RandomAccess {
+        private final int size;
+        private final AtomicInteger reads;
+
+        private CountingList(int size, AtomicInteger reads) {
+            this.size = size;
+            this.reads = reads;
+        }
+
+        @Override
+        public Integer get(int index) {
+            reads.incrementAndGet();
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static List<Object> scrambledKeys(int count) {
+        List<Object> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = (int) ((i * 2654435761L) % 3_001);
+            switch (i % 4) {
+                case 0:
+                    keys.add(n);
+                    break;
+                case 1:
+                    keys.add((long) n);
+                    break;
+                case 2:
+                    keys.add("key" + n);
+                    break;
+                default:
+                    keys.add(n % 50 == 0 ? null : n);
+            }
+        }
+        return keys;
+    }
+
 }
@@ -18,6 +18,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.StreamSupport;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
@@ -133,6 +136,20 @@ class ImmutableFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("chunked")
+    class Chunked {
+
+        @Test
+        void lastChunkHoldsRemainder() {
+            ImmutableFiniteIterable<? extends ImmutableNonEmptyFiniteIterable<Integer>> subject =
+                    ImmutableFiniteIterable.of(1, 2, 3, 4, 5).chunked(2);
+            assertThat(subject, contains(contains(1, 2), contains(3, 4), contains(5)));
+            assertEquals(3, subject.size());
+        }
+
+    }
+
     @Nested
     @DisplayName("concat")
     class Concat {
@@ -543,6 +560,53 @@ class ImmutableFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("memoize")
+    class Memoize {
+
+        @Test
+        void sizeIsKnownBeforeTraversal() {
+            AtomicInteger calls = new AtomicInteger();
+            ImmutableFiniteIterable<Integer> subject = ImmutableFiniteIterable.of(1, 2, 3)
+                    .fmap(n -> {
+                        calls.incrementAndGet();
+                        return n;
+                    })
+                    .memoize();
+            assertEquals(3, subject.size());
+            assertEquals(0, calls.get());
+        }
+
+        @Test
+        void sizeOfExhaustedSourceComesFromCache() {
+            AtomicInteger calls = new AtomicInteger();
+            ImmutableFiniteIterable<Integer> subject = ImmutableFiniteIterable.of(1, 2, 3, 4)
+                    .filter(n -> {
+                        calls.incrementAndGet();
+                        return n % 2 == 0;
+                    })
+                    .memoize();
+            assertEquals(2, subject.size());
+            assertEquals(2, subject.size());
+            assertThat(subject, contains(2, 4));
+            assertEquals(4, calls.get());
+        }
+
+        @Test
+        void empty() {
+            assertThat(ImmutableFiniteIterable.of(1, 2).filter(n -> n > 2).memoize(), emptyIterable());
+        }
+
+        @Test
+        void nonEmpty() {
+            ImmutableNonEmptyFiniteIterable<Integer> subject = ImmutableFiniteIterable.of(1, 2, 3).fmap(n -> n + 1)
+                    .memoize();
+            assertEquals(2, subject.head());
+            assertThat(subject.tail(), contains(3, 4));
+        }
+
+    }
+
     @Nested
     @DisplayName("partition")
     class Partition {
@@ -672,6 +736,40 @@ class ImmutableFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("spliterator")
+    class Spliterators {
+
+        @Test
+        void immutableAndSized() {
+            Spliterator<Integer> spliterator = ImmutableFiniteIterable.copyFrom(asList(1, 2, 3, 4, 5))
+                    .reverse()
+                    .spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.IMMUTABLE | Spliterator.SIZED | Spliterator.ORDERED));
+            assertEquals(5, spliterator.getExactSizeIfKnown());
+        }
+
+        @Test
+        void immutableWhenBackedByCollection() {
+            Spliterator<Integer> spliterator = ImmutableFiniteIterable.copyFrom(asList(1, 2, 3, 4, 5)).spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.IMMUTABLE | Spliterator.SIZED
+                    | Spliterator.SUBSIZED));
+            Spliterator<Integer> prefix = spliterator.trySplit();
+            assertTrue(prefix.hasCharacteristics(Spliterator.IMMUTABLE));
+            assertEquals(5, prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown());
+        }
+
+        @Test
+        void parallelStream() {
+            ImmutableFiniteIterable<Integer> subject =
+                    ImmutableFiniteIterable.copyFrom(IntSequence.integers(1, 100_000));
+            assertEquals(5_000_050_000L, StreamSupport.stream(subject.spliterator(), true)
+                    .mapToLong(Integer::longValue)
+                    .sum());
+        }
+
+    }
+
     @Nested
     @DisplayName("tails")
     class Tails {
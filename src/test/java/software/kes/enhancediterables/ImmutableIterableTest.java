@@ -18,6 +18,10 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
@@ -37,6 +41,7 @@ import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -428,6 +433,95 @@ class ImmutableIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("memoize")
+    class Memoize {
+
+        @Test
+        void computesEachElementOnce() {
+            AtomicInteger calls = new AtomicInteger();
+            ImmutableIterable<Integer> subject = immutableIterable(asList(1, 2, 3))
+                    .fmap(n -> {
+                        calls.incrementAndGet();
+                        return n * 10;
+                    })
+                    .memoize();
+            assertEquals(0, calls.get());
+            assertThat(subject, contains(10, 20, 30));
+            assertThat(subject, contains(10, 20, 30));
+            assertEquals(just(20), subject.find(n -> n > 10));
+            assertEquals(3, calls.get());
+        }
+
+        @Test
+        void cachesOnlyConsumedPrefixOfInfiniteSource() {
+            AtomicInteger calls = new AtomicInteger();
+            ImmutableIterable<Integer> subject = ImmutableIterable.repeat(1)
+                    .fmap(n -> calls.incrementAndGet())
+                    .memoize();
+            assertThat(subject.take(3), contains(1, 2, 3));
+            assertEquals(3, calls.get());
+            assertThat(subject.take(5), contains(1, 2, 3, 4, 5));
+            assertEquals(5, calls.get());
+        }
+
+        @Test
+        void interleavedIteratorsSeeSameElements() {
+            AtomicInteger calls = new AtomicInteger();
+            ImmutableIterable<Integer> subject = ImmutableIterable.repeat(0)
+                    .fmap(n -> calls.incrementAndGet())
+                    .memoize();
+            Iterator<Integer> first = subject.iterator();
+            Iterator<Integer> second = subject.iterator();
+            assertEquals(1, first.next());
+            assertEquals(2, first.next());
+            assertEquals(1, second.next());
+            assertEquals(2, second.next());
+            assertEquals(3, second.next());
+            assertEquals(3, first.next());
+            assertEquals(3, calls.get());
+        }
+
+        @Test
+        void concurrentTraversals() throws Exception {
+            AtomicInteger calls = new AtomicInteger();
+            ImmutableIterable<Integer> subject = immutableIterable(IntSequence.integers(1, 10_000))
+                    .fmap(n -> {
+                        calls.incrementAndGet();
+                        return n;
+                    })
+                    .memoize();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Long>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> {
+                        long total = 0;
+                        for (int n : subject) {
+                            total += n;
+                        }
+                        return total;
+                    }));
+                }
+                for (Future<Long> result : results) {
+                    assertEquals(50_005_000L, result.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(10_000, calls.get());
+        }
+
+        @Test
+        void alreadyMemoized() {
+            ImmutableIterable<Integer> memoized = ImmutableIterable.repeat(1).memoize();
+            assertSame(memoized, memoized.memoize());
+            ImmutableFiniteIterable<Integer> array = ImmutableIterable.of(1, 2, 3);
+            assertSame(array, array.memoize());
+        }
+
+    }
+
     @Nested
     @DisplayName("partition")
     class Partition {
@@ -13,6 +13,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
@@ -566,6 +567,86 @@ class ImmutableNonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("array-backed")
+    class ArrayBacked {
+
+        @Test
+        void indexedAccess() {
+            ImmutableNonEmptyFiniteIterable<Integer> subject = ImmutableNonEmptyFiniteIterable.of(1, 2, 3, 4, 5);
+            assertEquals(just(3), subject.get(2));
+            assertEquals(nothing(), subject.get(5));
+            assertEquals(5, subject.last());
+            assertEquals(5, subject.size());
+        }
+
+        @Test
+        void slicesShareSizes() {
+            ImmutableNonEmptyFiniteIterable<Integer> subject = ImmutableNonEmptyFiniteIterable.of(1, 2, 3, 4, 5, 6);
+            ImmutableFiniteIterable<Integer> slice = subject.drop(1).take(4).drop(1);
+            assertThat(slice, contains(3, 4, 5));
+            assertEquals(3, EnhancedIterables.knownSize(slice));
+            assertEquals(just(5), slice.get(2));
+            assertEquals(nothing(), slice.get(3));
+        }
+
+        @Test
+        void tailAndInit() {
+            ImmutableNonEmptyFiniteIterable<Integer> subject = ImmutableNonEmptyFiniteIterable.of(1, 2, 3, 4);
+            assertThat(subject.tail(), contains(2, 3, 4));
+            assertThat(subject.init(), contains(1, 2, 3));
+            assertThat(ImmutableNonEmptyFiniteIterable.of(1).tail(), emptyIterable());
+        }
+
+        @Test
+        void reverseThenSlice() {
+            ImmutableNonEmptyFiniteIterable<Integer> reversed = ImmutableNonEmptyFiniteIterable.of(1, 2, 3, 4, 5)
+                    .reverse();
+            assertThat(reversed, contains(5, 4, 3, 2, 1));
+            assertEquals(5, reversed.head());
+            assertEquals(1, reversed.last());
+            assertThat(reversed.drop(1).take(3), contains(4, 3, 2));
+            assertThat(reversed.take(3).reverse(), contains(3, 4, 5));
+            assertEquals(just(2), reversed.drop(2).get(1));
+        }
+
+        @Test
+        void sliceThenReverse() {
+            ImmutableNonEmptyFiniteIterable<Integer> subject = ImmutableNonEmptyFiniteIterable.of(1, 2, 3, 4, 5);
+            assertThat(subject.drop(1).take(3).toNonEmpty().orElseThrow(AssertionError::new).reverse(),
+                    contains(4, 3, 2));
+        }
+
+        @Test
+        void reversedSpliterator() {
+            ImmutableNonEmptyFiniteIterable<Integer> reversed = ImmutableNonEmptyFiniteIterable.of(1, 2, 3).reverse();
+            List<Integer> collected = new ArrayList<>();
+            reversed.spliterator().forEachRemaining(collected::add);
+            assertEquals(asList(3, 2, 1), collected);
+        }
+
+        @Test
+        void copyFromIsNotAffectedByChangesToSource() {
+            List<Integer> source = new ArrayList<>(asList(1, 2, 3));
+            ImmutableFiniteIterable<Integer> subject = FiniteIterable.copyFrom(source);
+            source.set(0, 100);
+            source.add(4);
+            assertThat(subject, contains(1, 2, 3));
+            assertEquals(just(3), subject.get(2));
+            assertEquals(3, EnhancedIterables.knownSize(subject));
+        }
+
+        @Test
+        void copyFromIterableOfUnknownSize() {
+            FiniteIterable<Integer> source = FiniteIterable.finiteIterable(asList(1, 2, 3, 4, 5, 6))
+                    .filter(n -> n % 2 == 0);
+            ImmutableFiniteIterable<Integer> subject = FiniteIterable.copyFrom(source);
+            assertThat(subject, contains(2, 4, 6));
+            assertEquals(3, EnhancedIterables.knownSize(subject));
+        }
+
+    }
+
     @Nested
     @DisplayName("slide")
     class Slide {
@@ -589,6 +670,47 @@ class ImmutableNonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("tail")
+    class Tail {
+
+        @Test
+        void headTailRecursionOverListIsLinear() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                ImmutableNonEmptyFiniteIterable<Integer> current =
+                        EnhancedIterables.immutableFiniteIterable(IntSequence.integers(1, 100_000))
+                                .toNonEmpty().orElseThrow(AssertionError::new);
+                long sum = 0;
+                while (true) {
+                    sum += current.head();
+                    ImmutableFiniteIterable<Integer> tail = current.tail();
+                    if (tail.isEmpty()) {
+                        break;
+                    }
+                    current = tail.toNonEmpty().orElseThrow(AssertionError::new);
+                }
+                assertEquals(5_000_050_000L, sum);
+            });
+        }
+
+        @Test
+        void sizeOfTailOfListIsKnown() {
+            ImmutableFiniteIterable<Integer> tail = EnhancedIterables.immutableFiniteIterable(asList(1, 2, 3, 4))
+                    .toNonEmpty().orElseThrow(AssertionError::new)
+                    .tail();
+            assertThat(tail, contains(2, 3, 4));
+            assertEquals(3, EnhancedIterables.knownSize(tail));
+        }
+
+        @Test
+        void tailOfSingletonListIsEmpty() {
+            assertThat(EnhancedIterables.immutableFiniteIterable(asList(1))
+                    .toNonEmpty().orElseThrow(AssertionError::new)
+                    .tail(), emptyIterable());
+        }
+
+    }
+
     @Nested
     @DisplayName("tails")
     class Tails {
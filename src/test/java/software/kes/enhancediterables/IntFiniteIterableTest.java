@@ -0,0 +1,539 @@
+package software.kes.enhancediterables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import testsupport.IntSequence;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntFiniteIterableTest {
+
+    @Test
+    void iteration() {
+        assertThat(IntFiniteIterable.of(1, 2, 3), contains(1, 2, 3));
+    }
+
+    @Test
+    void iteratorNextThrowsIfNothingRemains() {
+        PrimitiveIterator.OfInt iterator = IntFiniteIterable.of(1).iterator();
+        assertEquals(1, iterator.nextInt());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+    }
+
+    @Test
+    void iteratorThrowsIfRemoveIsCalled() {
+        PrimitiveIterator.OfInt iterator = IntFiniteIterable.of(1, 2).iterator();
+        iterator.nextInt();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Nested
+    @DisplayName("boxed")
+    class Boxed {
+
+        @Test
+        void empty() {
+            assertTrue(IntFiniteIterable.emptyIntFiniteIterable().boxed().isEmpty());
+        }
+
+        @Test
+        void nonEmpty() {
+            NonEmptyFiniteIterable<Integer> result = IntFiniteIterable.of(1, 2, 3).boxed();
+            assertThat(result, contains(1, 2, 3));
+            assertEquals(3, EnhancedIterables.knownSize(result));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("copyFrom")
+    class CopyFrom {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> IntFiniteIterable.copyFrom(null));
+        }
+
+        @Test
+        void empty() {
+            assertSame(IntFiniteIterable.emptyIntFiniteIterable(), IntFiniteIterable.copyFrom(new int[0]));
+        }
+
+        @Test
+        void isNotAffectedByChangesToSource() {
+            int[] source = {1, 2, 3};
+            ImmutableIntFiniteIterable subject = IntFiniteIterable.copyFrom(source);
+            source[0] = 100;
+            assertThat(subject, contains(1, 2, 3));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("drop")
+    class Drop {
+
+        @Test
+        void throwsOnNegativeCount() {
+            assertThrows(IllegalArgumentException.class, () -> IntFiniteIterable.of(1).drop(-1));
+        }
+
+        @Test
+        void dropsElements() {
+            assertThat(IntFiniteIterable.of(1, 2, 3, 4).drop(2), contains(3, 4));
+            assertTrue(IntFiniteIterable.of(1, 2, 3, 4).drop(10).isEmpty());
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(2, EnhancedIterables.knownSize(IntFiniteIterable.of(1, 2, 3, 4).drop(2)));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("filter")
+    class Filter {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> IntFiniteIterable.of(1).filter(null));
+        }
+
+        @Test
+        void filtersElements() {
+            IntFiniteIterable subject = IntFiniteIterable.range(1, 11).filter(n -> n % 3 == 0);
+            assertThat(subject, contains(3, 6, 9));
+            assertEquals(3, subject.size());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("fmap")
+    class Fmap {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> IntFiniteIterable.of(1).fmap(null));
+        }
+
+        @Test
+        void mapsElements() {
+            NonEmptyIntFiniteIterable result = IntFiniteIterable.of(1, 2, 3).fmap(n -> n * 10);
+            assertThat(result, contains(10, 20, 30));
+            assertEquals(3, EnhancedIterables.knownSize(result));
+        }
+
+        @Test
+        void isLazy() {
+            int[] calls = {0};
+            IntFiniteIterable subject = IntFiniteIterable.of(1, 2, 3).fmap(n -> {
+                calls[0]++;
+                return n;
+            });
+            assertEquals(3, subject.size());
+            assertEquals(0, calls[0]);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("foldLeft")
+    class FoldLeft {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> IntFiniteIterable.of(1).foldLeft(null, 0));
+        }
+
+        @Test
+        void emptyReturnsStartValue() {
+            assertEquals(7, IntFiniteIterable.emptyIntFiniteIterable().foldLeft(Integer::sum, 7));
+        }
+
+        @Test
+        void foldsLeftToRight() {
+            assertEquals(((0 - 1) - 2) - 3, IntFiniteIterable.of(1, 2, 3).foldLeft((acc, n) -> acc - n, 0));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapToInt")
+    class MapToInt {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> FiniteIterable.of("a").mapToInt(null));
+        }
+
+        @Test
+        void fromFiniteIterable() {
+            IntFiniteIterable result = EnhancedIterables.finiteIterable(asList("a", "bb", "ccc"))
+                    .mapToInt(String::length);
+            assertThat(result, contains(1, 2, 3));
+            assertEquals(3, EnhancedIterables.knownSize(result));
+        }
+
+        @Test
+        void preservesNonEmptyAndImmutable() {
+            ImmutableNonEmptyIntFiniteIterable result = FiniteIterable.of("a", "bb").mapToInt(String::length);
+            assertEquals(1, result.head());
+        }
+
+        @Test
+        void emptyCollection() {
+            assertTrue(EnhancedIterables.finiteIterable(emptyList()).mapToInt(Object::hashCode).isEmpty());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapToObj")
+    class MapToObj {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> IntFiniteIterable.of(1).mapToObj(null));
+        }
+
+        @Test
+        void mapsElements() {
+            ImmutableNonEmptyFiniteIterable<String> result = IntFiniteIterable.of(1, 2).mapToObj(Integer::toString);
+            assertThat(result, contains("1", "2"));
+            assertEquals(2, EnhancedIterables.knownSize(result));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("min/max")
+    class MinMax {
+
+        @Test
+        void empty() {
+            assertEquals(nothing(), IntFiniteIterable.emptyIntFiniteIterable().min());
+            assertEquals(nothing(), IntFiniteIterable.emptyIntFiniteIterable().max());
+        }
+
+        @Test
+        void nonEmpty() {
+            IntFiniteIterable subject = IntFiniteIterable.of(3, -5, 8, 0);
+            assertEquals(just(-5), subject.min());
+            assertEquals(just(8), subject.max());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("range")
+    class Range {
+
+        @Test
+        void empty() {
+            assertTrue(IntFiniteIterable.range(5, 5).isEmpty());
+            assertTrue(IntFiniteIterable.range(5, 1).isEmpty());
+        }
+
+        @Test
+        void ascending() {
+            assertThat(IntFiniteIterable.range(-2, 3), contains(-2, -1, 0, 1, 2));
+            assertEquals(5, EnhancedIterables.knownSize(IntFiniteIterable.range(-2, 3)));
+        }
+
+        @Test
+        void sizeSaturates() {
+            assertEquals(Integer.MAX_VALUE, IntFiniteIterable.range(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+        }
+
+        @Test
+        void knownSizeIsUnknownWhenTooLong() {
+            ImmutableIntFiniteIterable tooLong = IntFiniteIterable.range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+            assertEquals(-1, EnhancedIterables.knownSize(tooLong));
+            assertEquals(Integer.MAX_VALUE, EnhancedIterables.knownSize(IntFiniteIterable.range(0, Integer.MAX_VALUE)));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("reduceLeft")
+    class ReduceLeft {
+
+        @Test
+        void singleton() {
+            assertEquals(5, IntFiniteIterable.of(5).reduceLeft(Integer::sum));
+        }
+
+        @Test
+        void reducesLeftToRight() {
+            assertEquals((1 - 2) - 3, IntFiniteIterable.of(1, 2, 3).reduceLeft((acc, n) -> acc - n));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingMax")
+    class SlidingMax {
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class, () -> IntFiniteIterable.of(1, 2).slidingMax(0));
+        }
+
+        @Test
+        void fewerElementsThanWindow() {
+            assertFalse(IntFiniteIterable.of(1, 2).slidingMax(3).iterator().hasNext());
+        }
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertFalse(IntFiniteIterable.of(1, 2, 3).slidingMax(Integer.MAX_VALUE).iterator().hasNext());
+        }
+
+        @Test
+        void example() {
+            assertThat(IntFiniteIterable.of(1, 3, -1, -3, 5, 3, 6, 7).slidingMax(3), contains(3, 3, 5, 5, 6, 7));
+        }
+
+        @Test
+        void agreesWithBruteForce() {
+            int[] values = scrambled(200);
+            for (int k = 1; k <= 12; k++) {
+                assertArrayEquals(bruteForce(values, k, true),
+                        IntFiniteIterable.copyFrom(values).slidingMax(k).toArray(), "k = " + k);
+            }
+        }
+
+        @Test
+        void windowsLargerThanTheInitialBuffer() {
+            int[] values = scrambled(200);
+            for (int k : new int[]{17, 33, 64, 150, 200}) {
+                assertArrayEquals(bruteForce(values, k, true),
+                        IntFiniteIterable.copyFrom(values).slidingMax(k).toArray(), "k = " + k);
+            }
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(3, IntFiniteIterable.of(1, 2, 3, 4, 5).slidingMax(3).size());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingMin")
+    class SlidingMin {
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class, () -> IntFiniteIterable.of(1, 2).slidingMin(0));
+        }
+
+        @Test
+        void example() {
+            assertThat(IntFiniteIterable.of(1, 3, -1, -3, 5, 3, 6, 7).slidingMin(3), contains(-1, -3, -3, -3, 3, 3));
+        }
+
+        @Test
+        void agreesWithBruteForce() {
+            int[] values = scrambled(200);
+            for (int k = 1; k <= 12; k++) {
+                assertArrayEquals(bruteForce(values, k, false),
+                        IntFiniteIterable.copyFrom(values).slidingMin(k).toArray(), "k = " + k);
+            }
+        }
+
+        @Test
+        void windowsLargerThanTheInitialBuffer() {
+            int[] values = scrambled(200);
+            for (int k : new int[]{17, 33, 64, 150, 200}) {
+                assertArrayEquals(bruteForce(values, k, false),
+                        IntFiniteIterable.copyFrom(values).slidingMin(k).toArray(), "k = " + k);
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingSum")
+    class SlidingSum {
+
+        @Test
+        void throwsOnZeroArgument() {
+            assertThrows(IllegalArgumentException.class, () -> IntFiniteIterable.of(1, 2).slidingSum(0));
+        }
+
+        @Test
+        void example() {
+            assertThat(IntFiniteIterable.of(1, 2, 3, 4, 5).slidingSum(3), contains(6L, 9L, 12L));
+        }
+
+        @Test
+        void doesNotOverflow() {
+            assertThat(IntFiniteIterable.of(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE).slidingSum(2),
+                    contains(2L * Integer.MAX_VALUE, 2L * Integer.MAX_VALUE));
+        }
+
+        @Test
+        void fewerElementsThanWindow() {
+            assertFalse(IntFiniteIterable.of(1, 2).slidingSum(3).iterator().hasNext());
+        }
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertFalse(IntFiniteIterable.of(1, 2, 3).slidingSum(Integer.MAX_VALUE).iterator().hasNext());
+        }
+
+        @Test
+        void windowsLargerThanTheInitialBuffer() {
+            int[] values = scrambled(200);
+            long[] sums = IntFiniteIterable.copyFrom(values).slidingSum(40).toArray();
+            assertEquals(161, sums.length);
+            for (int i = 0; i < sums.length; i++) {
+                long expected = 0;
+                for (int j = i; j < i + 40; j++) {
+                    expected += values[j];
+                }
+                assertEquals(expected, sums[i], "window " + i);
+            }
+        }
+
+        @Test
+        void sizeIsKnown() {
+            assertEquals(3, IntFiniteIterable.of(1, 2, 3, 4, 5).slidingSum(3).size());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("spliterator")
+    class Spliterators {
+
+        @Test
+        void sizedAndImmutable() {
+            Spliterator.OfInt spliterator = IntFiniteIterable.range(0, 100).spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE));
+            assertEquals(100, spliterator.getExactSizeIfKnown());
+        }
+
+        @Test
+        void parallelStream() {
+            assertEquals(4_950, StreamSupport.intStream(IntFiniteIterable.range(0, 100).spliterator(), true).sum());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("sum")
+    class Sum {
+
+        @Test
+        void empty() {
+            assertEquals(0L, IntFiniteIterable.emptyIntFiniteIterable().sum());
+        }
+
+        @Test
+        void doesNotOverflow() {
+            assertEquals(3L * Integer.MAX_VALUE,
+                    IntFiniteIterable.of(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE).sum());
+        }
+
+        @Test
+        void largeRange() {
+            assertEquals(500_000_500_000L, IntFiniteIterable.range(1, 1_000_001).sum());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("take")
+    class Take {
+
+        @Test
+        void throwsOnNegativeCount() {
+            assertThrows(IllegalArgumentException.class, () -> IntFiniteIterable.of(1).take(-1));
+        }
+
+        @Test
+        void takesElements() {
+            ImmutableIntFiniteIterable result = IntFiniteIterable.of(1, 2, 3).take(2);
+            assertThat(result, contains(1, 2));
+            assertEquals(2, EnhancedIterables.knownSize(result));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("toArray")
+    class ToArray {
+
+        @Test
+        void sizeKnown() {
+            assertArrayEquals(new int[]{1, 2, 3}, IntFiniteIterable.of(1, 2, 3).toArray());
+        }
+
+        @Test
+        void sizeUnknown() {
+            int[] expected = IntSequence.integers(1, 100).stream().filter(n -> n % 2 == 0).mapToInt(n -> n).toArray();
+            assertArrayEquals(expected, IntFiniteIterable.range(1, 101).filter(n -> n % 2 == 0).toArray());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("toNonEmpty")
+    class ToNonEmpty {
+
+        @Test
+        void empty() {
+            assertEquals(nothing(), IntFiniteIterable.emptyIntFiniteIterable().toNonEmpty());
+        }
+
+        @Test
+        void nonEmpty() {
+            IntFiniteIterable subject = IntFiniteIterable.range(0, 10).filter(n -> n > 7);
+            assertThat(subject.toNonEmpty().orElseThrow(AssertionError::new), contains(8, 9));
+        }
+
+    }
+
+    private static int[] scrambled(int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (i * 7919) % 101 - 50;
+        }
+        return values;
+    }
+
+    private static int[] bruteForce(int[] values, int k, boolean max) {
+        int[] result = new int[Math.max(0, values.length - k + 1)];
+        for (int i = 0; i < result.length; i++) {
+            int extreme = values[i];
+            for (int j = i + 1; j < i + k; j++) {
+                extreme = max ? Math.max(extreme, values[j]) : Math.min(extreme, values[j]);
+            }
+            result[i] = extreme;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,177 @@
+package software.kes.enhancediterables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongFiniteIterableTest {
+
+    @Test
+    void iteration() {
+        assertThat(LongFiniteIterable.of(1L, 2L, 3L), contains(1L, 2L, 3L));
+    }
+
+    @Nested
+    @DisplayName("fmap")
+    class Fmap {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class, () -> LongFiniteIterable.of(1L).fmap(null));
+        }
+
+        @Test
+        void mapsElements() {
+            NonEmptyLongFiniteIterable result = LongFiniteIterable.of(1L, 2L).fmap(n -> n * 10);
+            assertThat(result, contains(10L, 20L));
+            assertEquals(2, EnhancedIterables.knownSize(result));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapToInt")
+    class MapToInt {
+
+        @Test
+        void mapsElements() {
+            ImmutableNonEmptyIntFiniteIterable result = LongFiniteIterable.of(1L, 1L << 33)
+                    .mapToInt(n -> (int) (n >>> 32));
+            assertThat(result, contains(0, 2));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mapToLong")
+    class MapToLong {
+
+        @Test
+        void fromFiniteIterable() {
+            LongFiniteIterable result = EnhancedIterables.finiteIterable(asList("a", "bb")).mapToLong(String::length);
+            assertThat(result, contains(1L, 2L));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("min/max")
+    class MinMax {
+
+        @Test
+        void empty() {
+            assertEquals(nothing(), LongFiniteIterable.emptyLongFiniteIterable().min());
+            assertEquals(nothing(), LongFiniteIterable.emptyLongFiniteIterable().max());
+        }
+
+        @Test
+        void nonEmpty() {
+            LongFiniteIterable subject = LongFiniteIterable.of(3L, Long.MIN_VALUE, Long.MAX_VALUE);
+            assertEquals(just(Long.MIN_VALUE), subject.min());
+            assertEquals(just(Long.MAX_VALUE), subject.max());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("range")
+    class Range {
+
+        @Test
+        void ascending() {
+            assertThat(LongFiniteIterable.range(-1L, 2L), contains(-1L, 0L, 1L));
+        }
+
+        @Test
+        void sizeSaturates() {
+            assertEquals(Integer.MAX_VALUE, LongFiniteIterable.range(Long.MIN_VALUE, Long.MAX_VALUE).size());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingMin/slidingMax")
+    class SlidingMinMax {
+
+        @Test
+        void slidingMin() {
+            assertThat(LongFiniteIterable.of(4L, 2L, 12L, 3L, 8L).slidingMin(2), contains(2L, 2L, 3L, 3L));
+        }
+
+        @Test
+        void slidingMax() {
+            assertThat(LongFiniteIterable.of(4L, 2L, 12L, 3L, 8L).slidingMax(2), contains(4L, 12L, 12L, 8L));
+        }
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertFalse(LongFiniteIterable.of(1L, 2L, 3L).slidingMin(Integer.MAX_VALUE).iterator().hasNext());
+            assertFalse(LongFiniteIterable.of(1L, 2L, 3L).slidingMax(Integer.MAX_VALUE).iterator().hasNext());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("slidingSum")
+    class SlidingSum {
+
+        @Test
+        void hugeWindowOverShortSource() {
+            assertFalse(LongFiniteIterable.of(1L, 2L, 3L).slidingSum(Integer.MAX_VALUE).iterator().hasNext());
+        }
+
+        @Test
+        void sums() {
+            assertThat(LongFiniteIterable.of(1L, 2L, 3L, 4L).slidingSum(2), contains(3L, 5L, 7L));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("spliterator")
+    class Spliterators {
+
+        @Test
+        void sizedAndImmutable() {
+            Spliterator.OfLong spliterator = LongFiniteIterable.of(1L, 2L).spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.IMMUTABLE));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("sum")
+    class Sum {
+
+        @Test
+        void sums() {
+            assertEquals(5_000_050_000L, LongFiniteIterable.range(1L, 100_001L).sum());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("toArray")
+    class ToArray {
+
+        @Test
+        void toArray() {
+            assertArrayEquals(new long[]{2L, 4L}, LongFiniteIterable.range(1L, 5L).filter(n -> n % 2 == 0).toArray());
+        }
+
+    }
+
+}
@@ -12,9 +12,13 @@ import org.junit.jupiter.api.Test;
 import testsupport.IntSequence;
 
 import java.time.Duration;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.RandomAccess;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
@@ -147,6 +151,21 @@ class NonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("bottomK")
+    class BottomK {
+
+        @Test
+        void staysNonEmpty() {
+            ImmutableNonEmptyFiniteIterable<Integer> result =
+                    NonEmptyFiniteIterable.nonEmptyFiniteIterable(3, asList(1, 2))
+                    .bottomK(2, Comparator.naturalOrder());
+            assertEquals(1, result.head());
+            assertThat(result, contains(1, 2));
+        }
+
+    }
+
     @Nested
     @DisplayName("concat")
     class Concat {
@@ -224,6 +243,20 @@ class NonEmptyFiniteIterableTest {
                     contains(1, 2, 3, 4));
         }
 
+        @Test
+        void withMemoryBudget() {
+            NonEmptyFiniteIterable<Integer> subject =
+                    NonEmptyFiniteIterable.nonEmptyFiniteIterable(1, asList(2, 2, 3, 3, 3, 2, 2, 1, 4)).distinct(2);
+            assertThat(subject, contains(1, 2, 3, 4));
+        }
+
+        @Test
+        void distinctBy() {
+            NonEmptyFiniteIterable<Integer> subject =
+                    NonEmptyFiniteIterable.nonEmptyFiniteIterable(1, asList(2, 3, 4, 5, 6)).distinctBy(n -> n % 3);
+            assertThat(subject, contains(1, 2, 3));
+        }
+
     }
 
     @Nested
@@ -512,6 +545,61 @@ class NonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("mergeSorted")
+    class MergeSorted {
+
+        @Test
+        void throwsOnNullArgument() {
+            assertThrows(NullPointerException.class,
+                    () -> NonEmptyFiniteIterable.mergeSorted(Comparator.<Integer>naturalOrder(), null, emptyList()));
+            assertThrows(NullPointerException.class,
+                    () -> NonEmptyFiniteIterable.mergeSorted(Comparator.<Integer>naturalOrder(),
+                            NonEmptyFiniteIterable.of(1), null));
+        }
+
+        @Test
+        void mergesAndStaysNonEmpty() {
+            NonEmptyFiniteIterable<Integer> result = NonEmptyFiniteIterable.mergeSorted(Comparator.naturalOrder(),
+                    NonEmptyFiniteIterable.of(2, 4),
+                    asList(FiniteIterable.of(1, 5), FiniteIterable.emptyFiniteIterable(), FiniteIterable.of(3)));
+            assertEquals(1, result.head());
+            assertThat(result, contains(1, 2, 3, 4, 5));
+        }
+
+        @Test
+        void noOtherSources() {
+            assertThat(NonEmptyFiniteIterable.mergeSorted(Comparator.<Integer>naturalOrder(),
+                    NonEmptyFiniteIterable.of(1, 2), emptyList()), contains(1, 2));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("parallelReduceLeft")
+    class ParallelReduceLeft {
+
+        @Test
+        void throwsOnNullArgument() {
+            NonEmptyFiniteIterable<Integer> subject = NonEmptyFiniteIterable.of(1, 2, 3);
+            assertThrows(NullPointerException.class, () -> subject.parallelReduceLeft(null));
+            assertThrows(NullPointerException.class, () -> subject.parallelReduceLeft(Integer::sum, null));
+        }
+
+        @Test
+        void singleton() {
+            assertEquals(1, NonEmptyFiniteIterable.of(1).parallelReduceLeft(Integer::sum));
+        }
+
+        @Test
+        void preservesOrder() {
+            NonEmptyFiniteIterable<String> subject = NonEmptyFiniteIterable.of("a", "b", "c")
+                    .concat(EnhancedIterables.finiteIterable(IntSequence.integers(1, 10_000)).fmap(Object::toString));
+            assertEquals(subject.reduceLeft(String::concat), subject.parallelReduceLeft(String::concat));
+        }
+
+    }
+
     @Nested
     @DisplayName("prepend")
     class Prepend {
@@ -600,6 +688,25 @@ class NonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("sample")
+    class Sample {
+
+        @Test
+        void staysNonEmpty() {
+            ImmutableNonEmptyFiniteIterable<Integer> result =
+                    NonEmptyFiniteIterable.nonEmptyFiniteIterable(1, asList(2, 3, 4, 5)).sample(2, new Random(5));
+            assertEquals(2, result.size());
+            assertTrue(result.head() < result.last());
+        }
+
+        @Test
+        void returnsEverythingWhenFewerThanK() {
+            assertThat(NonEmptyFiniteIterable.nonEmptyFiniteIterable(3, asList(1, 2)).sample(3), contains(3, 1, 2));
+        }
+
+    }
+
     @Nested
     @DisplayName("slide")
     class Slide {
@@ -623,6 +730,173 @@ class NonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("sorted")
+    class Sorted {
+
+        @Test
+        void sortsAndStaysNonEmpty() {
+            NonEmptyFiniteIterable<Integer> subject = NonEmptyFiniteIterable.nonEmptyFiniteIterable(3, asList(1, 2));
+            NonEmptyFiniteIterable<Integer> sorted = subject.sorted(1, Comparator.naturalOrder());
+            assertEquals(1, sorted.head());
+            assertThat(sorted, contains(1, 2, 3));
+        }
+
+        @Test
+        void sortByStaysNonEmpty() {
+            NonEmptyFiniteIterable<String> sorted =
+                    NonEmptyFiniteIterable.nonEmptyFiniteIterable("ccc", asList("a", "bb")).sortBy(String::length);
+            assertEquals("a", sorted.head());
+            assertThat(sorted, contains("a", "bb", "ccc"));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("tail")
+    class Tail {
+
+        @Test
+        void headTailRecursionOverListIsLinear() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                FiniteIterable<Integer> source = FiniteIterable.finiteIterable(IntSequence.integers(1, 100_000));
+                NonEmptyFiniteIterable<Integer> current = source.toNonEmpty().orElseThrow(AssertionError::new);
+                long sum = 0;
+                while (true) {
+                    sum += current.head();
+                    FiniteIterable<Integer> tail = current.tail();
+                    if (tail.isEmpty()) {
+                        break;
+                    }
+                    current = tail.toNonEmpty().orElseThrow(AssertionError::new);
+                }
+                assertEquals(5_000_050_000L, sum);
+            });
+        }
+
+        @Test
+        void sizeOfTailOfListIsKnown() {
+            NonEmptyFiniteIterable<Integer> subject = FiniteIterable.finiteIterable(asList(1, 2, 3, 4))
+                    .toNonEmpty().orElseThrow(AssertionError::new);
+            FiniteIterable<Integer> tail = subject.tail().toNonEmpty().orElseThrow(AssertionError::new).tail();
+            assertThat(tail, contains(3, 4));
+            assertEquals(2, EnhancedIterables.knownSize(tail));
+        }
+
+        @Test
+        void tailOfListFollowsChangesToUnderlying() {
+            ArrayList<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            FiniteIterable<Integer> tail = FiniteIterable.finiteIterable(underlying)
+                    .toNonEmpty().orElseThrow(AssertionError::new)
+                    .tail();
+            underlying.add(4);
+            assertThat(tail, contains(2, 3, 4));
+            underlying.clear();
+            assertThat(tail, emptyIterable());
+            assertEquals(0, tail.size());
+        }
+
+        @Test
+        void tailIteratorDoesNotSupportRemove() {
+            ArrayList<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            Iterator<Integer> iterator = FiniteIterable.finiteIterable(underlying)
+                    .toNonEmpty().orElseThrow(AssertionError::new)
+                    .tail().iterator();
+            iterator.next();
+            assertThrows(UnsupportedOperationException.class, iterator::remove);
+            assertThat(underlying, contains(1, 2, 3));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("random-access list")
+    class RandomAccessList {
+
+        @Test
+        void sliceAndLastWithoutTraversing() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                NonEmptyFiniteIterable<Integer> subject = FiniteIterable.finiteIterable(new HugeList())
+                        .toNonEmpty().orElseThrow(AssertionError::new);
+                assertEquals(999_999_999, subject.last());
+                assertThat(subject.drop(999_999_998), contains(999_999_998, 999_999_999));
+                assertThat(subject.take(3).drop(1), contains(1, 2));
+                assertEquals(999_999_998, subject.init().toNonEmpty().orElseThrow(AssertionError::new).last());
+                assertThat(subject.reverse().take(2), contains(999_999_999, 999_999_998));
+                assertThat(subject.slide(3).drop(999_999_997),
+                        contains(contains(999_999_997, 999_999_998, 999_999_999)));
+            });
+        }
+
+        @Test
+        void immutableSliceAndLastWithoutTraversing() {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                ImmutableNonEmptyFiniteIterable<Integer> subject =
+                        EnhancedIterables.immutableFiniteIterable(new HugeList())
+                        .toNonEmpty().orElseThrow(AssertionError::new);
+                assertEquals(999_999_999, subject.last());
+                assertThat(subject.drop(999_999_998), contains(999_999_998, 999_999_999));
+                assertThat(subject.reverse().init().drop(999_999_997), contains(2, 1));
+                assertThat(subject.slide(2).take(2), contains(contains(0, 1), contains(1, 2)));
+            });
+        }
+
+        @Test
+        void sizesAreKnown() {
+            NonEmptyFiniteIterable<Integer> subject = FiniteIterable.finiteIterable(asList(1, 2, 3, 4, 5))
+                    .toNonEmpty().orElseThrow(AssertionError::new);
+            assertEquals(3, EnhancedIterables.knownSize(subject.drop(1).take(3)));
+            assertEquals(4, EnhancedIterables.knownSize(subject.init()));
+            assertEquals(5, EnhancedIterables.knownSize(subject.reverse()));
+            assertEquals(3, EnhancedIterables.knownSize(subject.slide(3)));
+            assertEquals(0, EnhancedIterables.knownSize(subject.slide(6)));
+        }
+
+        @Test
+        void reverseOfReverse() {
+            NonEmptyFiniteIterable<Integer> subject = FiniteIterable.finiteIterable(asList(1, 2, 3))
+                    .toNonEmpty().orElseThrow(AssertionError::new);
+            assertThat(subject.reverse(), contains(3, 2, 1));
+            assertThat(subject.reverse().reverse(), contains(1, 2, 3));
+            assertThat(subject.reverse().drop(1).reverse(), contains(1, 2));
+        }
+
+        @Test
+        void viewsFollowChangesToUnderlying() {
+            ArrayList<Integer> underlying = new ArrayList<>(asList(1, 2, 3));
+            NonEmptyFiniteIterable<Integer> subject = FiniteIterable.finiteIterable(underlying)
+                    .toNonEmpty().orElseThrow(AssertionError::new);
+            FiniteIterable<Integer> dropped = subject.drop(1);
+            FiniteIterable<Integer> taken = subject.take(2);
+            FiniteIterable<Integer> init = subject.init();
+            NonEmptyFiniteIterable<Integer> reversed = subject.reverse();
+            FiniteIterable<? extends NonEmptyFiniteIterable<Integer>> windows = subject.slide(2);
+            underlying.add(0, 0);
+            underlying.add(4);
+            assertEquals(4, subject.last());
+            assertThat(dropped, contains(1, 2, 3, 4));
+            assertThat(taken, contains(0, 1));
+            assertThat(init, contains(0, 1, 2, 3));
+            assertThat(reversed, contains(4, 3, 2, 1, 0));
+            assertThat(windows, contains(contains(0, 1), contains(1, 2), contains(2, 3), contains(3, 4)));
+            underlying.subList(1, 5).clear();
+            assertThat(dropped, emptyIterable());
+            assertThat(taken, contains(0));
+            assertThat(init, emptyIterable());
+            assertThat(windows, emptyIterable());
+        }
+
+        @Test
+        void validatesArguments() {
+            NonEmptyFiniteIterable<Integer> subject = FiniteIterable.finiteIterable(asList(1, 2, 3))
+                    .toNonEmpty().orElseThrow(AssertionError::new);
+            assertThrows(IllegalArgumentException.class, () -> subject.drop(-1));
+            assertThrows(IllegalArgumentException.class, () -> subject.take(-1));
+            assertThrows(IllegalArgumentException.class, () -> subject.slide(0));
+        }
+
+    }
+
     @Nested
     @DisplayName("tails")
     class Tails {
@@ -750,6 +1024,21 @@ class NonEmptyFiniteIterableTest {
 
     }
 
+    @Nested
+    @DisplayName("topK")
+    class TopK {
+
+        @Test
+        void staysNonEmpty() {
+            ImmutableNonEmptyFiniteIterable<Integer> result =
+                    NonEmptyFiniteIterable.nonEmptyFiniteIterable(3, asList(1, 2))
+                    .topK(5, Comparator.naturalOrder());
+            assertEquals(3, result.head());
+            assertThat(result, contains(3, 2, 1));
+        }
+
+    }
+
     @Nested
     @DisplayName("zipWith")
     class ZipWith {
@@ -774,4 +1063,22 @@ class NonEmptyFiniteIterableTest {
 
     }
 
+    private static final class HugeList extends AbstractList<Integer> implements RandomAccess {
+
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return 1_000_000_000;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            throw new AssertionError("iterator() should not be called");
+        }
+    }
+
 }